@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares {@link DefaultParallelEvaluator} with a sequential loop over the batch.
+ * <p>
+ * {@link #cost} is the number of {@link Blackhole#consumeCPU(long)} tokens spent per evaluation, so small costs show
+ * the overhead of splitting the batch and large ones the speedup on the pool.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelEvaluatorBenchmark {
+
+	@Param({"100", "10000"}) public int batchSize;
+
+	@Param({"10", "1000"}) public long cost;
+
+	private List<Long> candidates;
+
+	private ForkJoinPool pool;
+
+	private DefaultParallelEvaluator evaluator;
+
+	@Setup public void setUp() {
+		candidates = IntStream.range(0, batchSize).mapToObj(Long::valueOf).collect(Collectors.toList());
+		pool = new ForkJoinPool();
+		evaluator = new DefaultParallelEvaluator();
+		new DirectFieldAccessor(evaluator).setPropertyValue("pool", pool);
+	}
+
+	@TearDown public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Benchmark public List<Long> sequential() {
+		final List<Long> results = new ArrayList<>(candidates.size());
+		for (final Long candidate : candidates) {
+			results.add(evaluate(candidate));
+		}
+		return results;
+	}
+
+	@Benchmark public List<Long> evaluator() {
+		return evaluator.evaluate(candidates, this::evaluate);
+	}
+
+	private Long evaluate(final Long candidate) {
+		Blackhole.consumeCPU(cost);
+		return candidate + 1;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.util.fsm;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares dispatch modes of {@link DefaultStateMachineService}.
+ * <p>
+ * {@link #eventLatency} measures the time from firing an event to the notification about the finished transition.
+ * {@link #idle} reports the CPU time (in microseconds per second) used by the process while all state machines are
+ * idle.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class StateMachineDispatchBenchmark {
+
+	private enum Phase {
+		PING,
+		PONG,
+		FAILED
+	}
+
+	private enum Signal {
+		TOGGLE,
+		FAIL
+	}
+
+	@Param({"POLLING", "SIGNALLED"}) public DispatchMode mode;
+
+	@Param({"16"}) public int idleMachines;
+
+	private final List<StateMachineService<Phase, Signal>> machines = new ArrayList<>();
+
+	private final TransitionCounter counter = new TransitionCounter();
+
+	private StateMachineService<Phase, Signal> machine;
+
+	@Setup public void setUp() {
+		final EventBus eventBus = new EventBus();
+		eventBus.register(counter);
+		machine = createMachine("benchmark", eventBus);
+		for (int i = 0; i < idleMachines; i++) {
+			createMachine("idle-" + i, new EventBus());
+		}
+	}
+
+	@TearDown public void tearDown() {
+		machines.forEach(StateMachineService::forceShutdown);
+		machines.clear();
+	}
+
+	@Benchmark @BenchmarkMode(Mode.SampleTime) @OutputTimeUnit(TimeUnit.MICROSECONDS) public long eventLatency() {
+		final long expected = counter.transitions.get() + 1;
+		machine.fire(Signal.TOGGLE);
+		long transitions;
+		do {
+			transitions = counter.transitions.get();
+		} while (transitions < expected);
+		return transitions;
+	}
+
+	@Benchmark @BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS)
+	public void idle(final CpuUsage usage) throws InterruptedException {
+		final long before = processCpuTime();
+		TimeUnit.MILLISECONDS.sleep(10L);
+		usage.cpuMicros += TimeUnit.NANOSECONDS.toMicros(processCpuTime() - before);
+	}
+
+	private StateMachineService<Phase, Signal> createMachine(final String name, final EventBus eventBus) {
+		final StateMachineService<Phase, Signal> service =
+				StateMachineServiceBuilder.withStatesAndEvents(Phase.class, Signal.class)
+				                          .withName(name)
+				                          .withEventBus(eventBus)
+				                          .withDispatchMode(mode)
+				                          .startWith(Phase.PING)
+				                          .terminateIn(Phase.FAILED)
+				                          .ifFailed().fireAndCall(Signal.FAIL, t -> {})
+				                          .inAnyState().on(Signal.FAIL).goTo(Phase.FAILED).commit()
+				                          .in(Phase.PING).on(Signal.TOGGLE).goTo(Phase.PONG).commit()
+				                          .in(Phase.PONG).on(Signal.TOGGLE).goTo(Phase.PING).commit()
+				                          .build();
+		machines.add(service);
+		return service;
+	}
+
+	private static long processCpuTime() {
+		return ((com.sun.management.OperatingSystemMXBean)ManagementFactory.getOperatingSystemMXBean())
+				.getProcessCpuTime();
+	}
+
+	/**
+	 * CPU time is reported as a rate, i.e. in microseconds per second of the benchmark.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters
+	public static class CpuUsage {
+		public long cpuMicros;
+	}
+
+	public static final class TransitionCounter {
+		private final AtomicLong transitions = new AtomicLong();
+
+		@Subscribe public void onStateChanged(final StateChangedEvent<?, ?> event) {
+			transitions.incrementAndGet();
+		}
+	}
+}
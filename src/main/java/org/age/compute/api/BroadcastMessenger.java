@@ -45,6 +45,18 @@ public interface    BroadcastMessenger {
 	 */
 	<T extends Serializable> void send(@NonNull T message);
 
+	/**
+	 * Sends the message to all workers in the topology (not only the neighbouring ones).
+	 *
+	 * <p>The message is relayed by the nodes of the topology, so it reaches all of them in a logarithmic number of
+	 * hops, and every worker receives it at most once. Workers of the sender's node, including the sender itself,
+	 * receive the message immediately.
+	 *
+	 * @param message a message to send.
+	 * @param <T> a type of the payload.
+	 */
+	<T extends Serializable> void gossip(@NonNull T message);
+
 	/**
 	 * Registers a listener that will receive all incoming messages.
 	 *
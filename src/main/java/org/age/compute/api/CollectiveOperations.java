@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.compute.api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Collective operations performed together by workers of all nodes in the topology.
+ *
+ * <p>Every worker must invoke the same collective operations in the same order (a worker should invoke them from a
+ * single thread). Operations block until all workers take part in them. Messages are relayed over a tree spanning the
+ * topology and rooted at the master node, so the cost of an operation is logarithmic in the number of nodes.
+ *
+ * <p>Operations throw {@link IllegalStateException} when there is no topology or when other workers did not take part
+ * in the operation within the configured timeout.
+ *
+ * <p>Implementations need to be thread-safe, as they are presented to possibly multi-threaded compute code.
+ */
+@ThreadSafe
+public interface CollectiveOperations {
+
+	/**
+	 * Returns the rank of this worker: a number from 0 (the master) to {@link #size()} - 1.
+	 */
+	int rank();
+
+	/**
+	 * Returns the number of workers taking part in collective operations.
+	 */
+	int size();
+
+	/**
+	 * Blocks until all workers reach the barrier.
+	 *
+	 * @throws InterruptedException if the thread was interrupted while waiting.
+	 */
+	void barrier() throws InterruptedException;
+
+	/**
+	 * Combines values of all workers and returns the result to every worker.
+	 *
+	 * @param value a value of this worker.
+	 * @param combiner an associative function combining two values. Values are combined in the order of ranks of
+	 * workers.
+	 * @param <T> a type of the values.
+	 *
+	 * @return the combined value.
+	 *
+	 * @throws InterruptedException if the thread was interrupted while waiting.
+	 */
+	@NonNull <T extends Serializable> T allReduce(@NonNull T value, @NonNull BinaryOperator<T> combiner)
+			throws InterruptedException;
+
+	/**
+	 * Collects values of all workers on the master.
+	 *
+	 * @param value a value of this worker.
+	 * @param <T> a type of the values.
+	 *
+	 * @return on the master: values of all workers ordered by their ranks, on other workers: empty.
+	 *
+	 * @throws InterruptedException if the thread was interrupted while waiting.
+	 */
+	@NonNull <T extends Serializable> Optional<List<T>> gather(@NonNull T value) throws InterruptedException;
+
+	/**
+	 * Distributes values from the master to all workers.
+	 *
+	 * @param values on the master: values for all workers ordered by their ranks (the size must be equal to
+	 * {@link #size()}), ignored on other workers.
+	 * @param <T> a type of the values.
+	 *
+	 * @return the value for this worker.
+	 *
+	 * @throws InterruptedException if the thread was interrupted while waiting.
+	 */
+	@NonNull <T extends Serializable> T scatter(@NonNull List<T> values) throws InterruptedException;
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.compute.api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Evaluates batches of candidates (e.g. computes their fitness) in parallel on the local node.
+ *
+ * <p>Batches are split into chunks executed by a work-stealing pool shared by all workers of the node. The size of
+ * chunks is tuned from the measured cost of evaluations, so batches of cheap evaluations are not slowed down by the
+ * scheduling overhead (small enough batches are evaluated directly by the calling thread).
+ *
+ * <p>If enabled in the configuration of the node, parts of batches submitted when the local pool is saturated are
+ * sent to idle neighbour nodes. Only batches whose evaluation function and candidates are {@link java.io.Serializable}
+ * are spilled this way (a lambda can be made serializable with a cast, e.g.
+ * {@code (Function<T, R> & Serializable)candidate -> ...}). Results of remote evaluations must be serializable too.
+ *
+ * <p>Implementations need to be thread-safe, as they are presented to possibly multi-threaded compute code.
+ */
+@ThreadSafe
+public interface ParallelEvaluator {
+
+	/**
+	 * Evaluates all candidates and waits for the results.
+	 *
+	 * @param candidates candidates to evaluate.
+	 * @param evaluation a function without side effects that evaluates a single candidate. It may be called
+	 * concurrently by many threads.
+	 * @param <T> a type of candidates.
+	 * @param <R> a type of results.
+	 *
+	 * @return results in the order of candidates.
+	 *
+	 * @throws RuntimeException if any evaluation failed (the exception thrown by the evaluation function).
+	 */
+	@NonNull <T, R> List<@Nullable R> evaluate(@NonNull List<? extends T> candidates,
+	                                           @NonNull Function<? super T, ? extends R> evaluation);
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.compute.api;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Service provider interface for compact serialization of message payloads.
+ * <p>
+ * By default payloads sent with messengers are serialized with the Java serialization. Implementations of this
+ * interface registered in {@code META-INF/services/org.age.compute.api.PayloadSerializer} are used instead for
+ * payloads of exactly {@link #payloadClass()} type. The same set of serializers must be available on all nodes.
+ *
+ * <p>Implementations need to be thread-safe and have a public no-argument constructor.
+ *
+ * @param <T>
+ * 		a type of the payload.
+ */
+public interface PayloadSerializer<T extends Serializable> {
+
+	/**
+	 * Returns an identifier of the serializer, unique in the cluster. Must be positive.
+	 */
+	int typeId();
+
+	/**
+	 * Returns a class of payloads handled by this serializer.
+	 */
+	@NonNull Class<T> payloadClass();
+
+	/**
+	 * Writes the payload.
+	 *
+	 * @param out an output to write to.
+	 * @param payload a payload to write.
+	 *
+	 * @throws IOException when the output cannot be written.
+	 */
+	void write(@NonNull DataOutput out, @NonNull T payload) throws IOException;
+
+	/**
+	 * Reads the payload.
+	 *
+	 * @param in an input to read from.
+	 *
+	 * @return a payload.
+	 *
+	 * @throws IOException when the input cannot be read.
+	 */
+	@NonNull T read(@NonNull DataInput in) throws IOException;
+}
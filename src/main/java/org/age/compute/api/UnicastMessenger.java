@@ -22,6 +22,8 @@
 
 package org.age.compute.api;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -34,6 +36,10 @@ import javax.annotation.concurrent.ThreadSafe;
  * Messenger for the unicast communication between workers.
  *
  * <p>Implementations need to be thread-safe, as they are presented to possibly multi-threaded compute code.
+ *
+ * <p>Communication between each pair of workers is flow-controlled with credits: a receiver grants the sender a
+ * limited number of messages in flight. {@link #trySend} and {@link #sendAsync} respect the credits, while
+ * {@link #send} always sends the message (but still consumes the credits).
  */
 @ThreadSafe
 public interface UnicastMessenger {
@@ -60,6 +66,55 @@ public interface UnicastMessenger {
 	 */
 	<T extends Serializable> void send(@NonNull Set<WorkerAddress> receivers, @NonNull T message);
 
+	/**
+	 * Sends the message to the specified worker only if the receiver has capacity for it. Never blocks.
+	 *
+	 * @param receiver a recipient of the message.
+	 * @param message a message to send.
+	 * @param <T> a type of the payload.
+	 *
+	 * @return true if the message was sent, false if the receiver has no capacity now.
+	 */
+	<T extends Serializable> boolean trySend(@NonNull WorkerAddress receiver, @NonNull T message);
+
+	/**
+	 * Sends the message to the specified workers only if all of them have capacity for it. Never blocks.
+	 *
+	 * @param receivers a set of recipients of the message.
+	 * @param message a message to send.
+	 * @param <T> a type of the payload.
+	 *
+	 * @return true if the message was sent, false if any of the receivers has no capacity now.
+	 */
+	<T extends Serializable> boolean trySend(@NonNull Set<WorkerAddress> receivers, @NonNull T message);
+
+	/**
+	 * Sends the message to the specified worker as soon as the receiver has capacity for it.
+	 *
+	 * @param receiver a recipient of the message.
+	 * @param message a message to send.
+	 * @param <T> a type of the payload.
+	 *
+	 * @return a future completed when the message is sent. Messages sent with this method to the same receiver are
+	 * sent in order. The future fails with a {@link java.util.concurrent.TimeoutException} if the receiver has no
+	 * capacity within a configured timeout and with an {@link IllegalStateException} if the receiver leaves.
+	 */
+	@NonNull <T extends Serializable> ListenableFuture<Void> sendAsync(@NonNull WorkerAddress receiver,
+	                                                                    @NonNull T message);
+
+	/**
+	 * Sends the message to the specified workers as soon as all of them have capacity for it.
+	 *
+	 * @param receivers a set of recipients of the message.
+	 * @param message a message to send.
+	 * @param <T> a type of the payload.
+	 *
+	 * @return a future completed when the message is sent. Messages sent with this method to the same receiver are
+	 * sent in order. The future fails as for {@link #sendAsync(WorkerAddress, Serializable)}.
+	 */
+	@NonNull <T extends Serializable> ListenableFuture<Void> sendAsync(@NonNull Set<WorkerAddress> receivers,
+	                                                                    @NonNull T message);
+
 	/**
 	 * Registers a listener that will receive all incoming messages target for this address (obtained via {@link #address()}).
 	 *
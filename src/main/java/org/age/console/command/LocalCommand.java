@@ -71,6 +71,9 @@ public class LocalCommand implements Command {
 		printWriter.println("\tid = " + identity.id());
 		printWriter.println("\ttype = " + identity.type());
 		printWriter.println("\tservices = " + identity.services());
+		printWriter.println("\thost = " + identity.host());
+		printWriter.println("\track = " + identity.rack());
+		printWriter.println("\tcores = " + identity.cores());
 		printWriter.println("}");
 	}
 
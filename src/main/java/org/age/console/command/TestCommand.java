@@ -25,6 +25,7 @@ package org.age.console.command;
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import org.age.services.worker.ComputationSetup;
 import org.age.services.worker.WorkerMessage;
 
 import com.beust.jcommander.JCommander;
@@ -74,6 +75,13 @@ public class TestCommand implements Command {
 
 	@Parameter(names = "--config") private String config;
 
+	@Parameter(names = "--computation") private String computation = WorkerMessage.DEFAULT_COMPUTATION;
+
+	/**
+	 * Workers per node, 0 for one worker per processor.
+	 */
+	@Parameter(names = "--workers") private int workers = 1;
+
 	@MonotonicNonNull private ITopic<WorkerMessage<?>> topic;
 
 	@PostConstruct private void construct() {
@@ -109,13 +117,16 @@ public class TestCommand implements Command {
 		log.debug("Running example.");
 		final String className = EXAMPLES_PACKAGE + '.' + example;
 
-		topic.publish(WorkerMessage.createBroadcastWithPayload(WorkerMessage.Type.LOAD_CLASS, className));
+		topic.publish(WorkerMessage.createBroadcastWithPayload(WorkerMessage.Type.LOAD_CLASS,
+		                                                       ComputationSetup.of(className, workers))
+		                           .withComputation(computation));
 		try {
 			TimeUnit.SECONDS.sleep(1L);
 		} catch (final InterruptedException e) {
 			log.debug("Interrupted.", e);
 		}
-		topic.publish(WorkerMessage.createBroadcastWithoutPayload(WorkerMessage.Type.START_COMPUTATION));
+		topic.publish(WorkerMessage.createBroadcastWithoutPayload(WorkerMessage.Type.START_COMPUTATION)
+		                           .withComputation(computation));
 	}
 
 	private void runConfig(final @NonNull PrintWriter printWriter) {
@@ -126,13 +137,16 @@ public class TestCommand implements Command {
 			return;
 		}
 		topic.publish(WorkerMessage.createBroadcastWithPayload(WorkerMessage.Type.LOAD_CONFIGURATION,
-		                                                       path.normalize().toString()));
+		                                                       ComputationSetup.of(path.normalize().toString(),
+		                                                                           workers))
+		                           .withComputation(computation));
 		try {
 			TimeUnit.SECONDS.sleep(1L);
 		} catch (final InterruptedException e) {
 			log.debug("Interrupted.", e);
 		}
-		topic.publish(WorkerMessage.createBroadcastWithoutPayload(WorkerMessage.Type.START_COMPUTATION));
+		topic.publish(WorkerMessage.createBroadcastWithoutPayload(WorkerMessage.Type.START_COMPUTATION)
+		                           .withComputation(computation));
 	}
 
 	@Override public String toString() {
@@ -26,4 +26,9 @@ package org.age.services.discovery;
  * Event generated by {@link org.age.services.discovery.DiscoveryService}.
  */
 public interface DiscoveryEvent {
+
+	/**
+	 * Returns the version of the local membership view after the change (see {@link MembershipSnapshot#version()}).
+	 */
+	long version();
 }
@@ -24,10 +24,12 @@
 package org.age.services.discovery;
 
 import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeType;
 
 import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -51,4 +53,35 @@ public interface DiscoveryService {
 	 * @return A set of node descriptors.
 	 */
 	@NonNull @Immutable Set<@NonNull NodeDescriptor> allMembers();
+
+	/**
+	 * Returns {@link NodeDescriptor}s of cluster members of the given type.
+	 *
+	 * @param type Type of members.
+	 * @return A set of node descriptors.
+	 */
+	@NonNull @Immutable Set<@NonNull NodeDescriptor> membersOfType(@NonNull NodeType type);
+
+	/**
+	 * Returns {@link NodeDescriptor}s of cluster members providing the given service.
+	 *
+	 * @param service Name of the service (see {@link NodeDescriptor#services()}).
+	 * @return A set of node descriptors.
+	 */
+	@NonNull @Immutable Set<@NonNull NodeDescriptor> membersProviding(@NonNull String service);
+
+	/**
+	 * Returns the {@link NodeDescriptor} of the cluster member with the given ID.
+	 *
+	 * @param id ID of the member.
+	 * @return An Optional containing the node descriptor or empty if there is no such member.
+	 */
+	@NonNull Optional<NodeDescriptor> member(@NonNull String id);
+
+	/**
+	 * Returns a consistent snapshot of all cluster members together with the version of the membership.
+	 *
+	 * @return A membership snapshot.
+	 */
+	@NonNull MembershipSnapshot snapshot();
 }
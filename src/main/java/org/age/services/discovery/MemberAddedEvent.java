@@ -22,12 +22,38 @@
  */
 package org.age.services.discovery;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
 import org.age.services.identity.NodeDescriptor;
 
+import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+/**
+ * Posted immediately when a member joins the cluster.
+ */
+@Immutable
 public class MemberAddedEvent implements DiscoveryEvent {
-	public MemberAddedEvent(final @NonNull NodeDescriptor value) {
 
+	private final NodeDescriptor descriptor;
+
+	private final long version;
+
+	public MemberAddedEvent(final @NonNull NodeDescriptor descriptor, final long version) {
+		this.descriptor = requireNonNull(descriptor);
+		this.version = version;
+	}
+
+	public @NonNull NodeDescriptor descriptor() {
+		return descriptor;
+	}
+
+	@Override public long version() {
+		return version;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).addValue(descriptor).add("version", version).toString();
 	}
 }
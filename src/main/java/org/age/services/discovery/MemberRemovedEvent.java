@@ -23,5 +23,44 @@
 
 package org.age.services.discovery;
 
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
 
-public class MemberRemovedEvent implements DiscoveryEvent {}
+import org.age.services.identity.NodeDescriptor;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Posted immediately when a member leaves the cluster (or is detected to have failed).
+ */
+@Immutable
+public class MemberRemovedEvent implements DiscoveryEvent {
+
+	private final NodeDescriptor descriptor;
+
+	private final long version;
+
+	/**
+	 * @param descriptor
+	 * 		the last known descriptor of the member.
+	 * @param version
+	 * 		the membership version after the removal.
+	 */
+	public MemberRemovedEvent(final @NonNull NodeDescriptor descriptor, final long version) {
+		this.descriptor = requireNonNull(descriptor);
+		this.version = version;
+	}
+
+	public @NonNull NodeDescriptor descriptor() {
+		return descriptor;
+	}
+
+	@Override public long version() {
+		return version;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).addValue(descriptor).add("version", version).toString();
+	}
+}
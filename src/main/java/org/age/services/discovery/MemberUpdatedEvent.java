@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.identity.NodeDescriptor;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Posted immediately when a member publishes a changed descriptor (e.g. new services or round-trip times).
+ */
+@Immutable
+public class MemberUpdatedEvent implements DiscoveryEvent {
+
+	private final NodeDescriptor descriptor;
+
+	private final long version;
+
+	public MemberUpdatedEvent(final @NonNull NodeDescriptor descriptor, final long version) {
+		this.descriptor = requireNonNull(descriptor);
+		this.version = version;
+	}
+
+	public @NonNull NodeDescriptor descriptor() {
+		return descriptor;
+	}
+
+	@Override public long version() {
+		return version;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).addValue(descriptor).add("version", version).toString();
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.identity.NodeDescriptor;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+
+/**
+ * Posted after a burst of joins and leaves, coalesced within a configurable window.
+ * <p>
+ * Subscribers that recompute state from the whole membership (e.g. the topology) should listen to this event instead
+ * of {@link MemberAddedEvent} and {@link MemberRemovedEvent}: a startup of many nodes results in a few events.
+ */
+@Immutable
+public class MembershipChangedEvent implements DiscoveryEvent {
+
+	private final MembershipSnapshot snapshot;
+
+	private final ImmutableSet<NodeDescriptor> added;
+
+	private final ImmutableSet<NodeDescriptor> removed;
+
+	/**
+	 * @param snapshot
+	 * 		the membership after the changes.
+	 * @param added
+	 * 		members that joined in the window.
+	 * @param removed
+	 * 		members that left in the window (a member that left and joined again is both removed and added).
+	 */
+	public MembershipChangedEvent(final @NonNull MembershipSnapshot snapshot,
+	                              final @NonNull Collection<NodeDescriptor> added,
+	                              final @NonNull Collection<NodeDescriptor> removed) {
+		this.snapshot = requireNonNull(snapshot);
+		this.added = ImmutableSet.copyOf(added);
+		this.removed = ImmutableSet.copyOf(removed);
+	}
+
+	public @NonNull MembershipSnapshot snapshot() {
+		return snapshot;
+	}
+
+	public @NonNull ImmutableSet<NodeDescriptor> added() {
+		return added;
+	}
+
+	public @NonNull ImmutableSet<NodeDescriptor> removed() {
+		return removed;
+	}
+
+	@Override public long version() {
+		return snapshot.version();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("version", version())
+		                           .add("added", added.size())
+		                           .add("removed", removed.size())
+		                           .toString();
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeType;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A consistent view of cluster members at a given version.
+ * <p>
+ * Versions are local to the node: they increase with every change of the local membership view, so they can be used
+ * to check whether a snapshot is outdated, but they are not comparable between nodes.
+ */
+@Immutable
+public final class MembershipSnapshot {
+
+	private final long version;
+
+	private final ImmutableMap<String, NodeDescriptor> members;
+
+	public MembershipSnapshot(final long version, final @NonNull Collection<NodeDescriptor> members) {
+		this.version = version;
+		this.members = ImmutableMap.copyOf(
+				requireNonNull(members).stream().collect(Collectors.toMap(NodeDescriptor::id, Function.identity())));
+	}
+
+	public long version() {
+		return version;
+	}
+
+	public @NonNull ImmutableSet<NodeDescriptor> members() {
+		return ImmutableSet.copyOf(members.values());
+	}
+
+	public @NonNull ImmutableSet<NodeDescriptor> membersOfType(final @NonNull NodeType type) {
+		requireNonNull(type);
+		return ImmutableSet.copyOf(
+				members.values().stream().filter(member -> member.type() == type).collect(Collectors.toList()));
+	}
+
+	public @NonNull Optional<NodeDescriptor> member(final @NonNull String id) {
+		return Optional.ofNullable(members.get(requireNonNull(id)));
+	}
+
+	public int size() {
+		return members.size();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("version", version).add("members", members.size()).toString();
+	}
+}
@@ -23,74 +23,182 @@
 
 package org.age.services.discovery.internal;
 
-import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
-import static com.google.common.util.concurrent.MoreExecutors.shutdownAndAwaitTermination;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
 import org.age.services.discovery.DiscoveryService;
 import org.age.services.discovery.MemberAddedEvent;
 import org.age.services.discovery.MemberRemovedEvent;
+import org.age.services.discovery.MemberUpdatedEvent;
+import org.age.services.discovery.MembershipChangedEvent;
+import org.age.services.discovery.MembershipSnapshot;
+import org.age.services.executor.ExecutorRegistry;
 import org.age.services.identity.NodeDescriptor;
 import org.age.services.identity.NodeIdentityService;
+import org.age.services.identity.NodeType;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableScheduledFuture;
-import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.hazelcast.core.EntryAdapter;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.LifecycleEvent;
 import com.hazelcast.core.MapEvent;
-import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.core.MultiMap;
 
 import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.SmartLifecycle;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.concurrent.GuardedBy;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+/**
+ * Discovery service that keeps node descriptors in a Hazelcast map.
+ * <p>
+ * Queries are answered from a local, indexed copy of the map (see {@link MemberView}) that is maintained from map
+ * events.
+ * <p>
+ * Failures are detected by a {@link PhiAccrualFailureDetector} running on every node. A suspicion is only a vote: a
+ * node that suspects another one records it in a shared multimap and withdraws it when the suspect shows a sign of
+ * life again. The descriptor of the suspect is removed from the map (which notifies all nodes) only when a majority of
+ * the other members suspects it, so a single stalled node cannot remove healthy ones. A node whose descriptor was
+ * removed while it is alive publishes it again.
+ * <p>
+ * Every change of the membership is posted immediately as {@link MemberAddedEvent}, {@link MemberUpdatedEvent} or
+ * {@link MemberRemovedEvent}. Joins and leaves are additionally coalesced within a configurable window into a single
+ * {@link MembershipChangedEvent}, so a burst of changes (e.g. a startup of the cluster) results in a few events.
+ */
 @Named
 public final class HazelcastDiscoveryService implements SmartLifecycle, DiscoveryService {
 
+	/**
+	 * Ways of signalling that a node is alive.
+	 */
+	public enum Liveness {
+		/**
+		 * Nodes periodically write their whole descriptors to the members map.
+		 */
+		DESCRIPTOR,
+		/**
+		 * Nodes write a timestamp to the heartbeat map in short intervals. Descriptors are written only when they
+		 * change.
+		 */
+		HEARTBEAT
+	}
+
 	private static final String MEMBERS_MAP = "discovery/members";
 
+	private static final String HEARTBEATS_MAP = "discovery/heartbeats";
+
+	private static final String SUSPICIONS_MAP = "discovery/suspicions";
+
+	private static final long DESCRIPTOR_INTERVAL_SECONDS = 10L;
+
+	private static final int SAMPLE_SIZE = 100;
+
 	private static final Logger log = LoggerFactory.getLogger(HazelcastDiscoveryService.class);
 
-	private final ListeningScheduledExecutorService executorService = listeningDecorator(
-			newSingleThreadScheduledExecutor());
+	private final Set<ListenableScheduledFuture<?>> periodicTasks = Sets.newConcurrentHashSet();
 
 	private final AtomicBoolean running = new AtomicBoolean(false);
 
+	private final MemberView view = new MemberView();
+
+	/**
+	 * Members this node has voted against (see {@link #detectFailures}).
+	 */
+	private final Set<String> suspected = Sets.newConcurrentHashSet();
+
+	private final Object pendingLock = new Object();
+
+	@GuardedBy("pendingLock") private final Map<String, NodeDescriptor> pendingAdded = new LinkedHashMap<>();
+
+	@GuardedBy("pendingLock") private final Map<String, NodeDescriptor> pendingRemoved = new LinkedHashMap<>();
+
+	@GuardedBy("pendingLock") private boolean flushScheduled;
+
+	@Value("${age.discovery.liveness:HEARTBEAT}") private @NonNull Liveness liveness = Liveness.HEARTBEAT;
+
+	@Value("${age.discovery.heartbeat-interval-millis:2000}") private long heartbeatIntervalMillis = 2000L;
+
+	@Value("${age.discovery.phi-threshold:8.0}") private double phiThreshold = 8.0;
+
+	@Value("${age.discovery.min-std-deviation-millis:100}") private long minStdDeviationMillis = 100L;
+
+	@Value("${age.discovery.acceptable-pause-millis:1000}") private long acceptablePauseMillis = 1000L;
+
+	@Value("${age.discovery.coalesce-window-millis:500}") private long coalesceWindowMillis = 500L;
+
 	@Inject private @MonotonicNonNull HazelcastInstance hazelcastInstance;
 
 	@Inject private @MonotonicNonNull NodeIdentityService identityService;
 
 	@Inject private @MonotonicNonNull EventBus eventBus;
 
+	@Inject private @MonotonicNonNull ExecutorRegistry executors;
+
 	private @MonotonicNonNull IMap<@NonNull String, @NonNull NodeDescriptor> members;
 
+	private @MonotonicNonNull IMap<@NonNull String, @NonNull Long> heartbeats;
+
+	/**
+	 * IDs of the observers that suspect a member, by the ID of the member.
+	 */
+	private @MonotonicNonNull MultiMap<@NonNull String, @NonNull String> suspicions;
+
 	private @MonotonicNonNull String nodeId;
 
 	private @MonotonicNonNull String entryListenerId;
 
+	private @Nullable String heartbeatListenerId;
+
+	private @MonotonicNonNull PhiAccrualFailureDetector failureDetector;
+
+	/**
+	 * Contents of the last published descriptor (see {@link #contentOf}).
+	 */
+	private @Nullable List<Object> publishedDescriptor;
+
 	@PostConstruct private void construct() {
 		nodeId = identityService.nodeId();
 		members = hazelcastInstance.getMap(MEMBERS_MAP);
+		heartbeats = hazelcastInstance.getMap(HEARTBEATS_MAP);
+		suspicions = hazelcastInstance.getMultiMap(SUSPICIONS_MAP);
+		final long expectedInterval = (liveness == Liveness.HEARTBEAT)
+		                              ? heartbeatIntervalMillis
+		                              : TimeUnit.SECONDS.toMillis(DESCRIPTOR_INTERVAL_SECONDS);
+		failureDetector = new PhiAccrualFailureDetector(phiThreshold, SAMPLE_SIZE, minStdDeviationMillis,
+		                                                acceptablePauseMillis, expectedInterval);
+		log.debug("Liveness: {}, failure detector: {}.", liveness, failureDetector);
 		entryListenerId = members.addEntryListener(new NeighbourMapListener(), true);
+		// Events received before loading the map are newer than its values
+		members.values().forEach(view::putIfAbsent);
+		log.debug("Member view: {}.", view);
+		if (liveness == Liveness.HEARTBEAT) {
+			heartbeatListenerId = heartbeats.addEntryListener(new HeartbeatListener(), false);
+		}
 	}
 
 	@Override public boolean isAutoStartup() {
@@ -110,27 +218,28 @@ public final class HazelcastDiscoveryService implements SmartLifecycle, Discover
 		hazelcastInstance.getLifecycleService().addLifecycleListener(this::onHazelcastStateChange);
 		log.debug("Waiting for initialization to complete.");
 		updateMap();
-		final ListenableScheduledFuture<?> mapUpdateTask = executorService.scheduleAtFixedRate(this::updateMap, 10L,
-		                                                                                       10L, TimeUnit.SECONDS);
-		Futures.addCallback(mapUpdateTask, new FutureCallback<Object>() {
-			@Override public void onSuccess(final Object result) {
-				// Empty
-			}
-
-			@Override public void onFailure(final @NonNull Throwable t) {
-				log.error("Map update failed.", t);
-			}
-		});
+		final long checkInterval;
+		if (liveness == Liveness.HEARTBEAT) {
+			sendHeartbeat();
+			schedule(this::sendHeartbeat, heartbeatIntervalMillis, "Heartbeat");
+			schedule(this::updateMapIfChanged, TimeUnit.SECONDS.toMillis(DESCRIPTOR_INTERVAL_SECONDS),
+			         "Map update");
+			checkInterval = Math.max(heartbeatIntervalMillis / 2, 1L);
+		} else {
+			schedule(this::updateMap, TimeUnit.SECONDS.toMillis(DESCRIPTOR_INTERVAL_SECONDS), "Map update");
+			checkInterval = TimeUnit.SECONDS.toMillis(1L);
+		}
+		schedule(this::detectFailures, checkInterval, "Failure detection");
 		log.info("Discovery service started.");
 	}
 
 	@Override public void stop() {
 		log.debug("Discovery service stopping.");
+		running.set(false);
 		if (hazelcastInstance.getLifecycleService().isRunning()) {
 			cleanUp();
 		}
-		shutdownAndAwaitTermination(executorService, 10L, TimeUnit.SECONDS);
-		running.set(false);
+		periodicTasks.forEach(future -> future.cancel(false));
 		log.info("Discovery service stopped.");
 	}
 
@@ -143,11 +252,35 @@ public final class HazelcastDiscoveryService implements SmartLifecycle, Discover
 	}
 
 	@Override public @NonNull @Immutable Set<@NonNull NodeDescriptor> membersMatching(@NonNull final String criteria) {
-		return ImmutableSet.copyOf(members.values(new SqlPredicate(requireNonNull(criteria))));
+		return view.matching(requireNonNull(criteria));
 	}
 
 	@Override public @NonNull @Immutable Set<@NonNull NodeDescriptor> allMembers() {
-		return ImmutableSet.copyOf(members.values());
+		return view.all();
+	}
+
+	@Override public @NonNull @Immutable Set<@NonNull NodeDescriptor> membersOfType(@NonNull final NodeType type) {
+		return view.ofType(requireNonNull(type));
+	}
+
+	@Override public @NonNull @Immutable Set<@NonNull NodeDescriptor> membersProviding(
+			@NonNull final String service) {
+		return view.providing(requireNonNull(service));
+	}
+
+	@Override public @NonNull Optional<NodeDescriptor> member(@NonNull final String id) {
+		return view.member(requireNonNull(id));
+	}
+
+	@Override public @NonNull MembershipSnapshot snapshot() {
+		return view.snapshot();
+	}
+
+	/**
+	 * Returns the current suspicion level of the node (see {@link PhiAccrualFailureDetector}).
+	 */
+	public double phi(@NonNull final String memberId) {
+		return failureDetector.phi(requireNonNull(memberId), System.currentTimeMillis());
 	}
 
 	// Wait for "shutting down" event to clean up
@@ -158,37 +291,211 @@ public final class HazelcastDiscoveryService implements SmartLifecycle, Discover
 		}
 	}
 
+	private void schedule(@NonNull final Runnable task, final long periodMillis, @NonNull final String name) {
+		final ListenableScheduledFuture<?> future = executors.scheduled().scheduleAtFixedRate(task, periodMillis,
+		                                                                                      periodMillis,
+		                                                                                      TimeUnit.MILLISECONDS);
+		periodicTasks.add(future);
+		Futures.addCallback(future, new FutureCallback<Object>() {
+			@Override public void onSuccess(final Object result) {
+				// Empty
+			}
+
+			@Override public void onFailure(final @NonNull Throwable t) {
+				log.error("{} failed.", name, t);
+			}
+		});
+	}
+
 	private void updateMap() {
 		log.debug("Updating my info in the members map.");
-		members.set(nodeId, identityService.descriptor());
+		final NodeDescriptor descriptor = identityService.descriptor();
+		members.set(nodeId, descriptor);
+		publishedDescriptor = contentOf(descriptor);
 		log.debug("Finished update.");
 	}
 
+	private void updateMapIfChanged() {
+		if (!contentOf(identityService.descriptor()).equals(publishedDescriptor)) {
+			updateMap();
+		}
+	}
+
+	/**
+	 * The heartbeat expires after a number of missed intervals, so the map does not keep entries of dead nodes.
+	 */
+	private void sendHeartbeat() {
+		final long ttl = Math.max(10 * heartbeatIntervalMillis, TimeUnit.SECONDS.toMillis(5L));
+		heartbeats.set(nodeId, System.currentTimeMillis(), ttl, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Votes against the suspected members and removes the ones suspected by a majority of their observers.
+	 * <p>
+	 * Suspects stay in the failure detector until they are removed or show a sign of life, so the votes are counted
+	 * again in every check.
+	 */
+	private void detectFailures() {
+		final Set<String> suspects = failureDetector.suspects(System.currentTimeMillis());
+		for (final String suspect : suspects) {
+			if (suspected.add(suspect)) {
+				log.info("Node {} is suspected to have failed (phi = {}).", suspect, phi(suspect));
+				suspicions.put(suspect, nodeId);
+			}
+			// Votes of observers that left do not count
+			final long votes = suspicions.get(suspect).stream().filter(observer -> view.member(observer).isPresent())
+			                             .count();
+			final long quorum = (observersOf(suspect) / 2) + 1;
+			if (votes >= quorum) {
+				log.info("Node {} is suspected by {} of its observers. Removing it.", suspect, votes);
+				members.delete(suspect);
+				suspicions.remove(suspect);
+			} else {
+				log.debug("Node {} is suspected by {} of its observers, {} needed.", suspect, votes, quorum);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of known members (including this one) that observe the given member.
+	 */
+	private int observersOf(@NonNull final String memberId) {
+		final int known = view.all().size();
+		return view.member(memberId).isPresent() ? (known - 1) : known;
+	}
+
+	private void withdrawSuspicion(@NonNull final String memberId) {
+		log.info("Node {} is alive. Withdrawing the suspicion.", memberId);
+		suspicions.remove(memberId, nodeId);
+	}
+
 	private void cleanUp() {
 		members.removeEntryListener(entryListenerId);
+		suspected.forEach(suspect -> suspicions.remove(suspect, nodeId));
+		suspected.clear();
 		log.debug("Deleting myself from the members map.");
 		members.delete(nodeId);
+		if (heartbeatListenerId != null) {
+			heartbeats.removeEntryListener(heartbeatListenerId);
+			heartbeats.delete(nodeId);
+		}
+	}
+
+	private void onSignOfLife(@NonNull final String memberId) {
+		if (nodeId.equals(memberId)) {
+			return;
+		}
+		failureDetector.heartbeat(memberId, System.currentTimeMillis());
+		if (suspected.remove(memberId)) {
+			executors.io().execute(() -> withdrawSuspicion(memberId));
+		}
+	}
+
+	private void memberAdded(@NonNull final NodeDescriptor descriptor) {
+		synchronized (pendingLock) {
+			pendingAdded.put(descriptor.id(), descriptor);
+			scheduleFlush();
+		}
+	}
+
+	/**
+	 * A member that joined and left within the same window is not reported at all.
+	 */
+	private void memberRemoved(@NonNull final NodeDescriptor descriptor) {
+		synchronized (pendingLock) {
+			final boolean joinedInWindow = pendingAdded.remove(descriptor.id()) != null;
+			if (!joinedInWindow || pendingRemoved.containsKey(descriptor.id())) {
+				pendingRemoved.put(descriptor.id(), descriptor);
+			}
+			scheduleFlush();
+		}
+	}
+
+	private void scheduleFlush() {
+		assert Thread.holdsLock(pendingLock);
+		if (flushScheduled) {
+			return;
+		}
+		try {
+			executors.scheduled().schedule(this::flushMembershipChanges, Math.max(coalesceWindowMillis, 0L),
+			                               TimeUnit.MILLISECONDS);
+			flushScheduled = true;
+		} catch (final RejectedExecutionException e) {
+			log.debug("Node is shutting down. Membership changes will not be posted.", e);
+		}
+	}
+
+	private void flushMembershipChanges() {
+		final List<NodeDescriptor> added;
+		final List<NodeDescriptor> removed;
+		synchronized (pendingLock) {
+			flushScheduled = false;
+			added = ImmutableList.copyOf(pendingAdded.values());
+			removed = ImmutableList.copyOf(pendingRemoved.values());
+			pendingAdded.clear();
+			pendingRemoved.clear();
+		}
+		if (added.isEmpty() && removed.isEmpty()) {
+			return;
+		}
+		final MembershipChangedEvent event = new MembershipChangedEvent(view.snapshot(), added, removed);
+		log.debug("Membership changed: {}.", event);
+		eventBus.post(event);
+	}
+
+	/**
+	 * Returns the values of the descriptor that are published (descriptors are equal when their IDs are).
+	 */
+	@NonNull private static List<Object> contentOf(@NonNull final NodeDescriptor descriptor) {
+		return ImmutableList.of(descriptor.id(), descriptor.type(), descriptor.services(), descriptor.host(),
+		                        descriptor.rack(), descriptor.cores(), descriptor.roundTripTimes());
 	}
 
 	@Immutable
 	private class NeighbourMapListener implements EntryListener<@NonNull String, @NonNull NodeDescriptor> {
 		@Override public void entryAdded(final EntryEvent<@NonNull String, @NonNull NodeDescriptor> event) {
 			log.debug("NeighbourMapListener add event: {}.", event);
-			eventBus.post(new MemberAddedEvent(event.getValue()));
+			final long version = view.put(event.getValue());
+			onSignOfLife(event.getKey());
+			eventBus.post(new MemberAddedEvent(event.getValue(), version));
+			memberAdded(event.getValue());
 		}
 
 		@Override public void entryRemoved(final EntryEvent<@NonNull String, @NonNull NodeDescriptor> event) {
 			log.debug("NeighbourMapListener remove event: {}.", event);
-			eventBus.post(new MemberRemovedEvent());
+			removeMember(event.getKey());
+			if (nodeId.equals(event.getKey()) && running.get()) {
+				log.warn("I was removed from the members map. Publishing my descriptor again.");
+				executors.io().execute(HazelcastDiscoveryService.this::updateMap);
+			}
 		}
 
 		@Override public void entryUpdated(final EntryEvent<@NonNull String, @NonNull NodeDescriptor> event) {
 			log.debug("NeighbourMapListener update event: {}.", event);
+			if (liveness == Liveness.DESCRIPTOR) {
+				onSignOfLife(event.getKey());
+			}
+			// Descriptors are republished periodically in the DESCRIPTOR mode, so most updates change nothing
+			final Optional<NodeDescriptor> previous = view.member(event.getKey());
+			if (previous.isPresent() && contentOf(previous.get()).equals(contentOf(event.getValue()))) {
+				return;
+			}
+			final long version = view.put(event.getValue());
+			eventBus.post(new MemberUpdatedEvent(event.getValue(), version));
 		}
 
 		@Override public void entryEvicted(final EntryEvent<@NonNull String, @NonNull NodeDescriptor> event) {
 			log.debug("NeighbourMapListener evict event: {}.", event);
-			eventBus.post(new MemberRemovedEvent());
+			removeMember(event.getKey());
+		}
+
+		private void removeMember(@NonNull final String memberId) {
+			failureDetector.remove(memberId);
+			suspected.remove(memberId);
+			view.remove(memberId).ifPresent(descriptor -> {
+				eventBus.post(new MemberRemovedEvent(descriptor, view.version()));
+				memberRemoved(descriptor);
+			});
 		}
 
 		@Override public void mapEvicted(final MapEvent event) {
@@ -199,4 +506,17 @@ public final class HazelcastDiscoveryService implements SmartLifecycle, Discover
 			log.debug("NeighbourMapListener map clear event: {}.", event);
 		}
 	}
+
+	/**
+	 * Listens for heartbeats without their values - only the arrival time is needed.
+	 */
+	private class HeartbeatListener extends EntryAdapter<@NonNull String, @NonNull Long> {
+		@Override public void entryAdded(final EntryEvent<@NonNull String, @NonNull Long> event) {
+			onSignOfLife(event.getKey());
+		}
+
+		@Override public void entryUpdated(final EntryEvent<@NonNull String, @NonNull Long> event) {
+			onSignOfLife(event.getKey());
+		}
+	}
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.collect.Maps.newEnumMap;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+
+import org.age.services.discovery.MembershipSnapshot;
+import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeType;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.AttributeType;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.ReflectionHelper;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A local copy of the members map with secondary indexes.
+ * <p>
+ * The view is maintained from map events, so queries are answered without a cluster round trip. SQL criteria are
+ * compiled once and evaluated against the local descriptors with the same semantics as in Hazelcast. Results of
+ * queries are cached until the next change of the view.
+ * <p>
+ * Writes are serialized. Reads are not blocked and may observe the view during an update of a single member.
+ */
+@ThreadSafe
+final class MemberView {
+
+	private static final int MAX_CACHED_PREDICATES = 256;
+
+	private final ConcurrentMap<String, NodeDescriptor> members = new ConcurrentHashMap<>();
+
+	private final Map<NodeType, Set<String>> byType = newEnumMap(NodeType.class);
+
+	private final ConcurrentMap<String, Set<String>> byService = new ConcurrentHashMap<>();
+
+	/**
+	 * Compiled criteria.
+	 */
+	private final LoadingCache<String, SqlPredicate> predicates = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_PREDICATES)
+			.build(new CacheLoader<String, SqlPredicate>() {
+				@Override public SqlPredicate load(@NonNull final String criteria) {
+					return new SqlPredicate(criteria);
+				}
+			});
+
+	/**
+	 * Results of queries by their criteria, valid for the current {@link #version}.
+	 */
+	private final ConcurrentMap<String, ImmutableSet<NodeDescriptor>> results = new ConcurrentHashMap<>();
+
+	private volatile long version;
+
+	MemberView() {
+		Arrays.stream(NodeType.values()).forEach(type -> byType.put(type, newConcurrentHashSet()));
+	}
+
+	/**
+	 * Adds or replaces the descriptor of a member.
+	 *
+	 * @return the version of the view after the change.
+	 */
+	synchronized long put(@NonNull final NodeDescriptor descriptor) {
+		assert descriptor != null;
+		final NodeDescriptor previous = members.put(descriptor.id(), descriptor);
+		if (previous != null) {
+			unindex(previous);
+		}
+		byType.get(descriptor.type()).add(descriptor.id());
+		descriptor.services()
+		          .forEach(service -> byService.computeIfAbsent(service, key -> newConcurrentHashSet())
+		                                       .add(descriptor.id()));
+		invalidateResults();
+		return version;
+	}
+
+	/**
+	 * Adds the descriptor unless the member is already known (used when loading the initial state, which may be older
+	 * than the received events).
+	 */
+	synchronized void putIfAbsent(@NonNull final NodeDescriptor descriptor) {
+		if (!members.containsKey(descriptor.id())) {
+			put(descriptor);
+		}
+	}
+
+	/**
+	 * Removes the member.
+	 *
+	 * @return the removed descriptor or empty if the member was not known.
+	 */
+	synchronized @NonNull Optional<NodeDescriptor> remove(@NonNull final String memberId) {
+		assert memberId != null;
+		final NodeDescriptor previous = members.remove(memberId);
+		if (previous != null) {
+			unindex(previous);
+			invalidateResults();
+		}
+		return Optional.ofNullable(previous);
+	}
+
+	/**
+	 * Returns the version of the view, incremented with every change.
+	 */
+	long version() {
+		return version;
+	}
+
+	/**
+	 * Returns a consistent snapshot of the view.
+	 */
+	synchronized @NonNull MembershipSnapshot snapshot() {
+		return new MembershipSnapshot(version, members.values());
+	}
+
+	@NonNull ImmutableSet<NodeDescriptor> all() {
+		return ImmutableSet.copyOf(members.values());
+	}
+
+	@NonNull Optional<NodeDescriptor> member(@NonNull final String memberId) {
+		return Optional.ofNullable(members.get(memberId));
+	}
+
+	@NonNull ImmutableSet<NodeDescriptor> ofType(@NonNull final NodeType type) {
+		return resolve(byType.get(type));
+	}
+
+	@NonNull ImmutableSet<NodeDescriptor> providing(@NonNull final String service) {
+		final Set<String> ids = byService.get(service);
+		return (ids != null) ? resolve(ids) : ImmutableSet.of();
+	}
+
+	/**
+	 * Returns members matching the SQL criteria (see {@link SqlPredicate}).
+	 *
+	 * @throws QueryException
+	 * 		when the criteria cannot be evaluated.
+	 */
+	@NonNull ImmutableSet<NodeDescriptor> matching(@NonNull final String criteria) {
+		final ImmutableSet<NodeDescriptor> cached = results.get(criteria);
+		if (cached != null) {
+			return cached;
+		}
+		final long startVersion = version;
+		final SqlPredicate predicate = predicates.getUnchecked(criteria);
+		final ImmutableSet.Builder<NodeDescriptor> builder = ImmutableSet.builder();
+		members.forEach((id, descriptor) -> {
+			if (predicate.apply(new LocalEntry(id, descriptor))) {
+				builder.add(descriptor);
+			}
+		});
+		final ImmutableSet<NodeDescriptor> result = builder.build();
+		synchronized (this) {
+			// The view could have changed during the evaluation
+			if (version == startVersion) {
+				results.put(criteria, result);
+			}
+		}
+		return result;
+	}
+
+	int size() {
+		return members.size();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("members", members.size())
+		                           .add("cachedPredicates", predicates.size())
+		                           .toString();
+	}
+
+	private void invalidateResults() {
+		assert Thread.holdsLock(this);
+		version++;
+		results.clear();
+	}
+
+	private void unindex(@NonNull final NodeDescriptor descriptor) {
+		assert Thread.holdsLock(this);
+		byType.get(descriptor.type()).remove(descriptor.id());
+		descriptor.services().forEach(service -> {
+			final Set<String> ids = byService.get(service);
+			if (ids != null) {
+				ids.remove(descriptor.id());
+			}
+		});
+	}
+
+	@NonNull private ImmutableSet<NodeDescriptor> resolve(@NonNull final Collection<String> ids) {
+		final ImmutableSet.Builder<NodeDescriptor> builder = ImmutableSet.builder();
+		ids.forEach(id -> {
+			final NodeDescriptor descriptor = members.get(id);
+			if (descriptor != null) {
+				builder.add(descriptor);
+			}
+		});
+		return builder.build();
+	}
+
+	/**
+	 * An entry of the view that can be evaluated by Hazelcast predicates. Attributes are extracted the same way as from
+	 * the entries of the distributed map.
+	 */
+	private static final class LocalEntry implements QueryableEntry {
+
+		private static final String KEY_ATTRIBUTE = "__key";
+
+		private static final String THIS_ATTRIBUTE = "this";
+
+		private final String key;
+
+		private final NodeDescriptor value;
+
+		private LocalEntry(@NonNull final String key, @NonNull final NodeDescriptor value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override public Object getKey() {
+			return key;
+		}
+
+		@Override public Object getValue() {
+			return value;
+		}
+
+		@Override public Object setValue(final Object newValue) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override public Comparable<?> getAttribute(final String attributeName) {
+			if (KEY_ATTRIBUTE.equals(attributeName)) {
+				return key;
+			}
+			if (THIS_ATTRIBUTE.equals(attributeName)) {
+				return (Comparable<?>)value;
+			}
+			try {
+				return ReflectionHelper.extractValue(value, attributeName);
+			} catch (final QueryException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new QueryException(e);
+			}
+		}
+
+		@Override public AttributeType getAttributeType(final String attributeName) {
+			if (KEY_ATTRIBUTE.equals(attributeName)) {
+				return ReflectionHelper.getAttributeType(key.getClass());
+			}
+			return ReflectionHelper.getAttributeType(value, attributeName);
+		}
+
+		@Override public @Nullable Data getKeyData() {
+			return null;
+		}
+
+		@Override public @Nullable Data getValueData() {
+			return null;
+		}
+
+		@Override public @Nullable Data getIndexKey() {
+			return null;
+		}
+	}
+}
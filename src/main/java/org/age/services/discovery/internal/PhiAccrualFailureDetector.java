@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Phi accrual failure detector (Hayashibara et al.).
+ * <p>
+ * Instead of a fixed timeout, the detector keeps a window of intervals between heartbeats of every monitored node and
+ * computes phi - the suspicion level that the node has failed, given the time since its last heartbeat. Phi grows
+ * continuously with the delay, so a fixed threshold adapts to the observed jitter: a threshold of 8 means the
+ * probability of a mistake of about 10^-8, assuming the normal distribution of intervals.
+ * <p>
+ * Timestamps are supplied by the caller (in milliseconds), so the detector does not depend on the clock.
+ */
+@ThreadSafe
+final class PhiAccrualFailureDetector {
+
+	private final double threshold;
+
+	private final int maxSampleSize;
+
+	private final double minStdDeviation;
+
+	private final long acceptablePause;
+
+	private final long firstHeartbeatEstimate;
+
+	private final ConcurrentMap<String, History> histories = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a detector.
+	 *
+	 * @param threshold
+	 * 		the phi value above which a node is suspected.
+	 * @param maxSampleSize
+	 * 		the number of intervals remembered for every node.
+	 * @param minStdDeviation
+	 * 		the lower bound of the standard deviation of intervals (in milliseconds), so perfectly regular heartbeats
+	 * 		do not make the detector oversensitive.
+	 * @param acceptablePause
+	 * 		the duration of a pause (in milliseconds), for example caused by garbage collection, that is added to the
+	 * 		mean interval.
+	 * @param firstHeartbeatEstimate
+	 * 		the expected interval (in milliseconds) used until the actual intervals are known.
+	 */
+	PhiAccrualFailureDetector(final double threshold, final int maxSampleSize, final long minStdDeviation,
+	                          final long acceptablePause, final long firstHeartbeatEstimate) {
+		checkArgument(threshold > 0, "Threshold must be positive.");
+		checkArgument(maxSampleSize > 0, "Sample size must be positive.");
+		checkArgument(minStdDeviation > 0, "Minimal standard deviation must be positive.");
+		checkArgument(acceptablePause >= 0, "Acceptable pause cannot be negative.");
+		checkArgument(firstHeartbeatEstimate > 0, "Heartbeat estimate must be positive.");
+		this.threshold = threshold;
+		this.maxSampleSize = maxSampleSize;
+		this.minStdDeviation = minStdDeviation;
+		this.acceptablePause = acceptablePause;
+		this.firstHeartbeatEstimate = firstHeartbeatEstimate;
+	}
+
+	/**
+	 * Records a heartbeat of the node. Starts monitoring the node if it was not monitored.
+	 */
+	void heartbeat(@NonNull final String nodeId, final long timestamp) {
+		histories.computeIfAbsent(requireNonNull(nodeId), key -> new History()).heartbeat(timestamp);
+	}
+
+	/**
+	 * Returns the suspicion level of the node at the given time (0 if the node is not monitored).
+	 */
+	double phi(@NonNull final String nodeId, final long timestamp) {
+		final History history = histories.get(requireNonNull(nodeId));
+		return (history != null) ? history.phi(timestamp) : 0.0;
+	}
+
+	boolean isAvailable(@NonNull final String nodeId, final long timestamp) {
+		return phi(nodeId, timestamp) < threshold;
+	}
+
+	/**
+	 * Returns monitored nodes that are suspected at the given time.
+	 */
+	@NonNull ImmutableSet<String> suspects(final long timestamp) {
+		final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+		histories.forEach((nodeId, history) -> {
+			if (history.phi(timestamp) >= threshold) {
+				builder.add(nodeId);
+			}
+		});
+		return builder.build();
+	}
+
+	/**
+	 * Stops monitoring the node and forgets its history.
+	 */
+	void remove(@NonNull final String nodeId) {
+		histories.remove(requireNonNull(nodeId));
+	}
+
+	@NonNull ImmutableSet<String> monitoredNodes() {
+		return ImmutableSet.copyOf(histories.keySet());
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("threshold", threshold).add("monitored", histories.size()).toString();
+	}
+
+	/**
+	 * Heartbeat intervals of a single node, kept in a ring buffer with running sums.
+	 */
+	private final class History {
+
+		@GuardedBy("this") private final long[] intervals = new long[maxSampleSize];
+
+		@GuardedBy("this") private int count;
+
+		@GuardedBy("this") private int next;
+
+		@GuardedBy("this") private double sum;
+
+		@GuardedBy("this") private double squaresSum;
+
+		@GuardedBy("this") private long lastTimestamp = -1L;
+
+		private synchronized void heartbeat(final long timestamp) {
+			if (lastTimestamp < 0) {
+				// Bootstrap with the estimate, so the first missing heartbeat is detected
+				final long deviation = firstHeartbeatEstimate / 4;
+				add(firstHeartbeatEstimate - deviation);
+				add(firstHeartbeatEstimate + deviation);
+			} else if (timestamp > lastTimestamp) {
+				add(timestamp - lastTimestamp);
+			}
+			lastTimestamp = Math.max(lastTimestamp, timestamp);
+		}
+
+		private synchronized double phi(final long timestamp) {
+			if (lastTimestamp < 0) {
+				return 0.0;
+			}
+			final double elapsed = timestamp - lastTimestamp;
+			final double mean = (sum / count) + acceptablePause;
+			final double variance = Math.max((squaresSum / count) - ((sum / count) * (sum / count)), 0.0);
+			final double stdDeviation = Math.max(Math.sqrt(variance), minStdDeviation);
+
+			// Logistic approximation of the cumulative normal distribution
+			final double y = (elapsed - mean) / stdDeviation;
+			final double e = Math.exp(-y * (1.5976 + (0.070566 * y * y)));
+			if (elapsed > mean) {
+				return -Math.log10(e / (1.0 + e));
+			}
+			return -Math.log10(1.0 - (1.0 / (1.0 + e)));
+		}
+
+		private void add(final long interval) {
+			assert Thread.holdsLock(this);
+			if (count == intervals.length) {
+				final long removed = intervals[next];
+				sum -= removed;
+				squaresSum -= (double)removed * removed;
+			} else {
+				count++;
+			}
+			intervals[next] = interval;
+			next = (next + 1) % intervals.length;
+			sum += interval;
+			squaresSum += (double)interval * interval;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.executor;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Node-wide registry of thread pools shared by all services.
+ * <p>
+ * Pools are owned by the registry: services must not shut them down, but they should cancel their periodic tasks when
+ * they stop. Long-running tasks that would hold threads of the shared pools for a long time, such as workers of a
+ * computation, run in dedicated pools created by the registry (see {@link #dedicated}).
+ */
+public interface ExecutorRegistry {
+
+	/**
+	 * Returns the pool for periodic and delayed tasks. Tasks should be short and should not block.
+	 */
+	@NonNull ListeningScheduledExecutorService scheduled();
+
+	/**
+	 * Returns the pool for CPU-bound tasks, such as computations.
+	 */
+	@NonNull ListeningExecutorService compute();
+
+	/**
+	 * Returns the pool for tasks that may block, such as remote calls or listeners.
+	 */
+	@NonNull ListeningExecutorService io();
+
+	/**
+	 * Returns the work-stealing pool for fine-grained data-parallel tasks, such as evaluations of candidates.
+	 */
+	@NonNull ForkJoinPool parallel();
+
+	/**
+	 * Creates a pool with a fixed number of threads dedicated to long-running tasks. The pool is owned by the caller,
+	 * who must shut it down, and is reported in the statistics until it terminates.
+	 *
+	 * @param name
+	 * 		a name of the pool, unique among the running dedicated pools (threads are named after it).
+	 * @param threads
+	 * 		the number of threads.
+	 *
+	 * @return a new pool.
+	 */
+	@NonNull ListeningExecutorService dedicated(@NonNull String name, int threads);
+
+	/**
+	 * Returns the current statistics of all pools (including the dedicated ones), by their names.
+	 */
+	@NonNull ImmutableMap<String, ExecutorStatistics> statistics();
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.executor;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.primitives.Ints;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * A snapshot of the state of a thread pool.
+ */
+@Immutable
+public final class ExecutorStatistics {
+
+	private final String name;
+
+	private final int threads;
+
+	private final int maxThreads;
+
+	private final int activeThreads;
+
+	private final int queueDepth;
+
+	private final long completedTasks;
+
+	private ExecutorStatistics(@NonNull final String name, final int threads, final int maxThreads,
+	                           final int activeThreads, final int queueDepth, final long completedTasks) {
+		this.name = name;
+		this.threads = threads;
+		this.maxThreads = maxThreads;
+		this.activeThreads = activeThreads;
+		this.queueDepth = queueDepth;
+		this.completedTasks = completedTasks;
+	}
+
+	/**
+	 * Creates a snapshot of the given pool.
+	 *
+	 * @param name
+	 * 		a name of the pool.
+	 * @param executor
+	 * 		a pool.
+	 *
+	 * @return a new snapshot.
+	 */
+	@NonNull public static ExecutorStatistics of(@NonNull final String name,
+	                                             @NonNull final ThreadPoolExecutor executor) {
+		requireNonNull(name);
+		requireNonNull(executor);
+		// Scheduled pools never grow above the core size
+		final int maxThreads = (executor instanceof ScheduledThreadPoolExecutor)
+		                       ? executor.getCorePoolSize()
+		                       : executor.getMaximumPoolSize();
+		return new ExecutorStatistics(name, executor.getPoolSize(), maxThreads, executor.getActiveCount(),
+		                              executor.getQueue().size(), executor.getCompletedTaskCount());
+	}
+
+	/**
+	 * Creates a snapshot of the given fork/join pool. Such pools do not count completed tasks.
+	 *
+	 * @param name
+	 * 		a name of the pool.
+	 * @param pool
+	 * 		a pool.
+	 *
+	 * @return a new snapshot.
+	 */
+	@NonNull public static ExecutorStatistics of(@NonNull final String name, @NonNull final ForkJoinPool pool) {
+		requireNonNull(name);
+		requireNonNull(pool);
+		final long queued = pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+		return new ExecutorStatistics(name, pool.getPoolSize(), pool.getParallelism(), pool.getActiveThreadCount(),
+		                              Ints.saturatedCast(queued), 0L);
+	}
+
+	@NonNull public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of threads currently in the pool.
+	 */
+	public int threads() {
+		return threads;
+	}
+
+	/**
+	 * Returns the maximum number of threads in the pool.
+	 */
+	public int maxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Returns the number of threads that are executing tasks.
+	 */
+	public int activeThreads() {
+		return activeThreads;
+	}
+
+	/**
+	 * Returns the number of tasks waiting in the queue (including delayed tasks of scheduled pools).
+	 */
+	public int queueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * Returns the approximate number of completed tasks.
+	 */
+	public long completedTasks() {
+		return completedTasks;
+	}
+
+	/**
+	 * Returns the fraction of the maximum number of threads that are executing tasks.
+	 */
+	public double utilization() {
+		return (maxThreads > 0) ? ((double)activeThreads / maxThreads) : 0.0;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).addValue(name)
+		                           .add("threads", threads + "/" + maxThreads)
+		                           .add("active", activeThreads)
+		                           .add("queued", queueDepth)
+		                           .add("completed", completedTasks)
+		                           .toString();
+	}
+}
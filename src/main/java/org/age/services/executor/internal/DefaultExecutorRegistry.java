@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.executor.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static com.google.common.util.concurrent.MoreExecutors.shutdownAndAwaitTermination;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.executor.ExecutorStatistics;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Named;
+
+/**
+ * Default executor registry with pools sized from the number of available processors.
+ * <p>
+ * Sizes can be set with the {@code age.executors.scheduled-threads}, {@code age.executors.compute-threads},
+ * {@code age.executors.io-threads} and {@code age.executors.parallel-threads} properties (0 selects the default).
+ * Threads of the compute, I/O and parallel pools are released when idle. Sizes of dedicated pools are chosen by their
+ * owners. Dedicated pools still running when the registry is destroyed are shut down with it.
+ */
+@Named
+@ThreadSafe
+public final class DefaultExecutorRegistry implements ExecutorRegistry {
+
+	private static final Logger log = LoggerFactory.getLogger(DefaultExecutorRegistry.class);
+
+	private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+	private static final long KEEP_ALIVE_SECONDS = 60L;
+
+	private final ConcurrentMap<String, ThreadPoolExecutor> dedicatedPools = new ConcurrentHashMap<>();
+
+	@Value("${age.executors.scheduled-threads:0}") private int scheduledThreads = 0;
+
+	@Value("${age.executors.compute-threads:0}") private int computeThreads = 0;
+
+	@Value("${age.executors.io-threads:0}") private int ioThreads = 0;
+
+	@Value("${age.executors.parallel-threads:0}") private int parallelThreads = 0;
+
+	private @MonotonicNonNull ScheduledThreadPoolExecutor scheduledPool;
+
+	private @MonotonicNonNull ThreadPoolExecutor computePool;
+
+	private @MonotonicNonNull ThreadPoolExecutor ioPool;
+
+	private @MonotonicNonNull ListeningScheduledExecutorService scheduled;
+
+	private @MonotonicNonNull ListeningExecutorService compute;
+
+	private @MonotonicNonNull ListeningExecutorService io;
+
+	private @MonotonicNonNull ForkJoinPool parallel;
+
+	@PostConstruct private void construct() {
+		scheduledPool = new ScheduledThreadPoolExecutor(sizeOf(scheduledThreads, Math.max(2, CORES / 2)),
+		                                                threadFactory("scheduled", false));
+		scheduledPool.setRemoveOnCancelPolicy(true);
+		computePool = fixedPool(sizeOf(computeThreads, CORES), threadFactory("compute", false));
+		ioPool = fixedPool(sizeOf(ioThreads, Math.max(4, 2 * CORES)), threadFactory("io", true));
+		scheduled = listeningDecorator(scheduledPool);
+		compute = listeningDecorator(computePool);
+		io = listeningDecorator(ioPool);
+		parallel = new ForkJoinPool(sizeOf(parallelThreads, CORES), new ParallelThreadFactory(), null, false);
+		log.info("Executors: {}.", statistics().values());
+	}
+
+	@PreDestroy private void destroy() {
+		log.info("Executors: {}.", statistics().values());
+		shutdownAndAwaitTermination(scheduledPool, 10L, TimeUnit.SECONDS);
+		shutdownAndAwaitTermination(computePool, 10L, TimeUnit.SECONDS);
+		shutdownAndAwaitTermination(ioPool, 10L, TimeUnit.SECONDS);
+		shutdownAndAwaitTermination(parallel, 10L, TimeUnit.SECONDS);
+		dedicatedPools.values().forEach(pool -> shutdownAndAwaitTermination(pool, 10L, TimeUnit.SECONDS));
+		log.debug("Executors shut down.");
+	}
+
+	@Override @NonNull public ListeningScheduledExecutorService scheduled() {
+		return scheduled;
+	}
+
+	@Override @NonNull public ListeningExecutorService compute() {
+		return compute;
+	}
+
+	@Override @NonNull public ListeningExecutorService io() {
+		return io;
+	}
+
+	@Override @NonNull public ForkJoinPool parallel() {
+		return parallel;
+	}
+
+	@Override @NonNull public ListeningExecutorService dedicated(@NonNull final String name, final int threads) {
+		requireNonNull(name);
+		checkArgument(threads > 0, "Number of threads must be positive.");
+		final ThreadPoolExecutor pool = new DedicatedPool(name, threads);
+		checkState(dedicatedPools.putIfAbsent(name, pool) == null, "Dedicated pool %s is already running.", name);
+		log.debug("Created dedicated pool {} with {} threads.", name, threads);
+		return listeningDecorator(pool);
+	}
+
+	@Override @NonNull public ImmutableMap<String, ExecutorStatistics> statistics() {
+		final ImmutableMap.Builder<String, ExecutorStatistics> builder = ImmutableMap.builder();
+		builder.put("scheduled", ExecutorStatistics.of("scheduled", scheduledPool))
+		       .put("compute", ExecutorStatistics.of("compute", computePool))
+		       .put("io", ExecutorStatistics.of("io", ioPool))
+		       .put("parallel", ExecutorStatistics.of("parallel", parallel));
+		dedicatedPools.forEach((name, pool) -> builder.put(name, ExecutorStatistics.of(name, pool)));
+		return builder.build();
+	}
+
+	private static int sizeOf(final int configured, final int defaultSize) {
+		return (configured > 0) ? configured : defaultSize;
+	}
+
+	@NonNull private static ThreadPoolExecutor fixedPool(final int threads,
+	                                                     @NonNull final ThreadFactory threadFactory) {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS,
+		                                                           TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+		                                                           threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	@NonNull private static ThreadFactory threadFactory(@NonNull final String name, final boolean daemon) {
+		return new ThreadFactoryBuilder().setNameFormat("age-" + name + "-%d").setDaemon(daemon).build();
+	}
+
+	/**
+	 * A fixed pool that leaves the statistics when it terminates.
+	 */
+	private final class DedicatedPool extends ThreadPoolExecutor {
+
+		private final String name;
+
+		private DedicatedPool(@NonNull final String name, final int threads) {
+			super(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory(name, false));
+			this.name = name;
+		}
+
+		@Override protected void terminated() {
+			dedicatedPools.remove(name, this);
+			log.debug("Dedicated pool {} terminated.", name);
+		}
+	}
+
+	/**
+	 * Names fork/join threads like the threads of other pools.
+	 */
+	private static final class ParallelThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("age-parallel-" + count.getAndIncrement());
+			return thread;
+		}
+	}
+}
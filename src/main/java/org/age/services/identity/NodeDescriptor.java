@@ -26,6 +26,7 @@ import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -49,4 +50,23 @@ public interface NodeDescriptor extends Serializable {
 	 */
 	@NonNull Set<@NonNull String> services();
 
+	/**
+	 * Returns the name of the host the node runs on.
+	 */
+	@NonNull String host();
+
+	/**
+	 * Returns the label of the rack the node runs in (empty if unknown).
+	 */
+	@NonNull String rack();
+
+	/**
+	 * Returns the number of processors available to the node.
+	 */
+	int cores();
+
+	/**
+	 * Returns measured round-trip times (in microseconds) to other nodes, by their IDs.
+	 */
+	@NonNull Map<@NonNull String, @NonNull Long> roundTripTimes();
 }
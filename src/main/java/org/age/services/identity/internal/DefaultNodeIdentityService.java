@@ -30,6 +30,7 @@ import org.age.services.identity.NodeIdentityService;
 import org.age.services.identity.NodeType;
 import org.age.services.worker.WorkerService;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -37,8 +38,12 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -65,6 +70,15 @@ public class DefaultNodeIdentityService implements NodeIdentityService {
 
 	private @NonNull NodeType nodeType = NodeType.UNKNOWN;
 
+	/**
+	 * The host name (by default, the name of the local host).
+	 */
+	@Value("${age.node.host:}") private @NonNull String host = "";
+
+	@Value("${age.node.rack:}") private @NonNull String rack = "";
+
+	private volatile @NonNull ImmutableMap<@NonNull String, @NonNull Long> roundTripTimes = ImmutableMap.of();
+
 	@Inject private @MonotonicNonNull ApplicationContext applicationContext;
 
 	@PostConstruct private void construct() {
@@ -75,8 +89,21 @@ public class DefaultNodeIdentityService implements NodeIdentityService {
 		} catch (final NoSuchBeanDefinitionException ignored) {
 			nodeType = NodeType.SATELLITE;
 		}
+		if (host.isEmpty()) {
+			host = localHostName();
+		}
 		log.info("Node type: {}.", nodeType);
 		log.info("Node id: {}.", encodedNodeId);
+		log.info("Node location: host {}, rack '{}'.", host, rack);
+	}
+
+	private static @NonNull String localHostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (final UnknownHostException e) {
+			log.warn("Cannot determine the local host name.", e);
+			return "localhost";
+		}
 	}
 
 	@Override public @NonNull String nodeId() {
@@ -88,7 +115,15 @@ public class DefaultNodeIdentityService implements NodeIdentityService {
 	}
 
 	@Override public @NonNull NodeDescriptor descriptor() {
-		return new NodeDescriptor(encodedNodeId, nodeType, services());
+		return new NodeDescriptor(encodedNodeId, nodeType, services(), host, rack,
+		                          Runtime.getRuntime().availableProcessors(), roundTripTimes);
+	}
+
+	/**
+	 * Replaces round-trip times published in the descriptor.
+	 */
+	void updateRoundTripTimes(@NonNull final Map<@NonNull String, @NonNull Long> times) {
+		roundTripTimes = ImmutableMap.copyOf(times);
 	}
 
 	@Override public @NonNull Set<@NonNull String> services() {
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.identity.internal;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import org.age.services.discovery.DiscoveryService;
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeType;
+
+import com.google.common.collect.ImmutableMap;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Measures round-trip times to other compute nodes and publishes them in the node descriptor.
+ * <p>
+ * Every interval the monitor pings a random sample of compute nodes through their latency topics (the same transport
+ * that is used by the worker inboxes) and smooths the results with an exponentially weighted moving average.
+ * <p>
+ * Times are published when all probes of a round return (or the round times out). Only the nearest peers are
+ * published, so the size of the descriptor does not grow with the cluster. A published time is kept until the
+ * measured one differs from it by more than the tolerance, so jitter does not cause updates of the descriptor (and, in
+ * turn, of the members map of the cluster).
+ */
+@Named
+public class LatencyMonitor implements SmartLifecycle {
+
+	public static final String TOPIC_PREFIX = "identity/latency/";
+
+	/**
+	 * Weight of a new sample in the moving average (1/8, as for TCP).
+	 */
+	private static final int SMOOTHING_SHIFT = 3;
+
+	private static final Logger log = LoggerFactory.getLogger(LatencyMonitor.class);
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	private final ConcurrentMap<String, Long> roundTripTimes = new ConcurrentHashMap<>();
+
+	/**
+	 * Probes of the current round that have not returned yet.
+	 */
+	private final AtomicInteger outstandingProbes = new AtomicInteger();
+
+	/**
+	 * Pongs of probes sent before this time belong to previous rounds.
+	 */
+	private volatile long roundStartNanos;
+
+	@Inject private @MonotonicNonNull HazelcastInstance hazelcastInstance;
+
+	@Inject private @MonotonicNonNull DiscoveryService discoveryService;
+
+	@Inject private @MonotonicNonNull DefaultNodeIdentityService identityService;
+
+	@Inject private @MonotonicNonNull ExecutorRegistry executors;
+
+	@Value("${age.node.latency.interval-seconds:30}") private int intervalSeconds = 30;
+
+	@Value("${age.node.latency.peers:16}") private int peersPerRound = 16;
+
+	@Value("${age.node.latency.probe-timeout-millis:2000}") private long probeTimeoutMillis = 2000L;
+
+	@Value("${age.node.latency.published-peers:8}") private int publishedPeers = 8;
+
+	@Value("${age.node.latency.publish-tolerance-percent:25}") private int publishTolerancePercent = 25;
+
+	@GuardedBy("this") private ImmutableMap<String, Long> publishedTimes = ImmutableMap.of();
+
+	private @MonotonicNonNull ITopic<LatencyProbe> topic;
+
+	private @Nullable String listenerId;
+
+	private @Nullable ScheduledFuture<?> probeFuture;
+
+	@Override public boolean isAutoStartup() {
+		return identityService.isCompute();
+	}
+
+	@Override public void start() {
+		log.debug("Latency monitor starting.");
+		topic = hazelcastInstance.getTopic(TOPIC_PREFIX + identityService.nodeId());
+		listenerId = topic.addMessageListener(this::onProbe);
+		probeFuture = executors.scheduled().scheduleWithFixedDelay(this::probe, intervalSeconds, intervalSeconds,
+		                                                           TimeUnit.SECONDS);
+		running.set(true);
+		log.info("Latency monitor started.");
+	}
+
+	@Override public void stop() {
+		log.debug("Latency monitor stopping.");
+		if (probeFuture != null) {
+			probeFuture.cancel(false);
+		}
+		if (hazelcastInstance.getLifecycleService().isRunning() && (listenerId != null)) {
+			topic.removeMessageListener(listenerId);
+			topic.destroy();
+		}
+		running.set(false);
+		log.info("Latency monitor stopped.");
+	}
+
+	@Override public void stop(final Runnable callback) {
+		stop();
+		callback.run();
+	}
+
+	@Override public boolean isRunning() {
+		return running.get();
+	}
+
+	@Override public int getPhase() {
+		return 0;
+	}
+
+	/**
+	 * Returns smoothed round-trip times (in microseconds) to other nodes.
+	 */
+	@NonNull public ImmutableMap<String, Long> roundTripTimes() {
+		return ImmutableMap.copyOf(roundTripTimes);
+	}
+
+	private void probe() {
+		try {
+			final String self = identityService.nodeId();
+			final Set<String> peers = discoveryService.membersOfType(NodeType.COMPUTE)
+			                                          .stream()
+			                                          .map(NodeDescriptor::id)
+			                                          .filter(id -> !id.equals(self))
+			                                          .collect(toSet());
+			roundTripTimes.keySet().retainAll(peers);
+
+			final List<String> sample = peers.stream().collect(toList());
+			Collections.shuffle(sample);
+			final List<String> targets = sample.subList(0, Math.min(peersPerRound, sample.size()));
+			if (targets.isEmpty()) {
+				publishRoundTripTimes();
+				return;
+			}
+			log.debug("Probing latency of {}.", targets);
+			roundStartNanos = System.nanoTime();
+			outstandingProbes.set(targets.size());
+			targets.forEach(peer -> topicOf(peer).publish(LatencyProbe.ping(self, System.nanoTime())));
+			executors.scheduled().schedule(this::timeOutRound, probeTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (final RuntimeException e) {
+			log.warn("Cannot probe latency.", e);
+		}
+	}
+
+	private void timeOutRound() {
+		final int outstanding = outstandingProbes.getAndSet(0);
+		if (outstanding > 0) {
+			log.debug("{} latency probes did not return in time.", outstanding);
+			publishRoundTripTimes();
+		}
+	}
+
+	/**
+	 * Publishes round-trip times to the nearest peers in the descriptor if they have changed significantly.
+	 */
+	private synchronized void publishRoundTripTimes() {
+		final Map<String, Long> times = newHashMap();
+		roundTripTimes.forEach((peer, time) -> {
+			final Long published = publishedTimes.get(peer);
+			final boolean significant = (published == null) || (Math.abs(time - published) * 100
+			                                                     > published * publishTolerancePercent);
+			times.put(peer, significant ? time : published);
+		});
+		final ImmutableMap.Builder<String, Long> builder = ImmutableMap.builder();
+		times.entrySet()
+		     .stream()
+		     .sorted(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+		     .limit(publishedPeers)
+		     .forEachOrdered(builder::put);
+		final ImmutableMap<String, Long> nearest = builder.build();
+		if (nearest.equals(publishedTimes)) {
+			log.debug("Round-trip times have not changed significantly.");
+			return;
+		}
+		log.debug("Publishing round-trip times {}.", nearest);
+		publishedTimes = nearest;
+		identityService.updateRoundTripTimes(nearest);
+	}
+
+	private void onProbe(@NonNull final Message<LatencyProbe> message) {
+		final LatencyProbe probe = message.getMessageObject();
+		if (probe.isPing()) {
+			topicOf(probe.sender()).publish(probe.pong(identityService.nodeId()));
+			return;
+		}
+
+		final long sample = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - probe.token());
+		final Long smoothed = roundTripTimes.merge(probe.sender(), sample,
+		                                           (old, current) -> old + ((current - old) >> SMOOTHING_SHIFT));
+		log.debug("Round-trip time to {}: {} us (smoothed {} us).", probe.sender(), sample, smoothed);
+		// Late pongs of previous rounds are still valid samples, but do not complete the current round
+		if ((probe.token() - roundStartNanos >= 0) && (outstandingProbes.decrementAndGet() == 0)) {
+			publishRoundTripTimes();
+		}
+	}
+
+	@NonNull private ITopic<LatencyProbe> topicOf(@NonNull final String nodeId) {
+		return hazelcastInstance.getTopic(TOPIC_PREFIX + nodeId);
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.identity.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * A ping or a pong exchanged by {@link LatencyMonitor}s.
+ */
+@Immutable
+final class LatencyProbe implements Serializable {
+
+	private static final long serialVersionUID = -6640209745219587021L;
+
+	private final boolean ping;
+
+	private final String sender;
+
+	private final long token;
+
+	private LatencyProbe(final boolean ping, @NonNull final String sender, final long token) {
+		assert sender != null;
+		this.ping = ping;
+		this.sender = sender;
+		this.token = token;
+	}
+
+	/**
+	 * Creates a ping.
+	 *
+	 * @param sender
+	 * 		the ID of the sending node.
+	 * @param token
+	 * 		the send time of the ping (in the sender's {@link System#nanoTime()} units).
+	 */
+	@NonNull static LatencyProbe ping(@NonNull final String sender, final long token) {
+		return new LatencyProbe(true, sender, token);
+	}
+
+	/**
+	 * Creates a pong answering the given ping.
+	 */
+	@NonNull LatencyProbe pong(@NonNull final String responder) {
+		assert ping;
+		return new LatencyProbe(false, responder, token);
+	}
+
+	boolean isPing() {
+		return ping;
+	}
+
+	@NonNull String sender() {
+		return sender;
+	}
+
+	long token() {
+		return token;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("ping", ping).add("sender", sender).add("token", token).toString();
+	}
+}
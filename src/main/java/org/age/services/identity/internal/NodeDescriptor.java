@@ -28,11 +28,14 @@ import static java.util.Objects.requireNonNull;
 
 import org.age.services.identity.NodeType;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -42,7 +45,7 @@ import java.util.Set;
 @Immutable
 public final class NodeDescriptor implements org.age.services.identity.NodeDescriptor {
 
-	private static final long serialVersionUID = -4461499899468219523L;
+	private static final long serialVersionUID = 5826108340937468017L;
 
 	private final String id;
 
@@ -50,11 +53,33 @@ public final class NodeDescriptor implements org.age.services.identity.NodeDescr
 
 	private final ImmutableSet<@NonNull String> services;
 
+	private final String host;
+
+	private final String rack;
+
+	private final int cores;
+
+	private final ImmutableMap<@NonNull String, @NonNull Long> roundTripTimes;
+
+	/**
+	 * Creates a descriptor without locality information.
+	 */
 	public NodeDescriptor(final @NonNull String id, final @NonNull NodeType type,
 	                      final @NonNull Set<@NonNull String> services) {
+		this(id, type, services, "", "", 1, Collections.emptyMap());
+	}
+
+	public NodeDescriptor(final @NonNull String id, final @NonNull NodeType type,
+	                      final @NonNull Set<@NonNull String> services, final @NonNull String host,
+	                      final @NonNull String rack, final int cores,
+	                      final @NonNull Map<@NonNull String, @NonNull Long> roundTripTimes) {
 		this.id = requireNonNull(id);
 		this.type = requireNonNull(type);
 		this.services = ImmutableSet.copyOf(requireNonNull(services));
+		this.host = requireNonNull(host);
+		this.rack = requireNonNull(rack);
+		this.cores = cores;
+		this.roundTripTimes = ImmutableMap.copyOf(requireNonNull(roundTripTimes));
 	}
 
 	@Override public @NonNull Set<@NonNull String> services() {
@@ -69,6 +94,22 @@ public final class NodeDescriptor implements org.age.services.identity.NodeDescr
 		return type;
 	}
 
+	@Override public @NonNull String host() {
+		return host;
+	}
+
+	@Override public @NonNull String rack() {
+		return rack;
+	}
+
+	@Override public int cores() {
+		return cores;
+	}
+
+	@Override public @NonNull Map<@NonNull String, @NonNull Long> roundTripTimes() {
+		return roundTripTimes;
+	}
+
 	@Override public int hashCode() {
 		return Objects.hash(id, type);
 	}
@@ -85,6 +126,6 @@ public final class NodeDescriptor implements org.age.services.identity.NodeDescr
 	}
 
 	@Override public String toString() {
-		return toStringHelper(this).addValue(id).add("type", type).toString();
+		return toStringHelper(this).addValue(id).add("type", type).add("host", host).add("rack", rack).toString();
 	}
 }
@@ -22,6 +22,7 @@
 
 package org.age.services.lifecycle.internal;
 
+import org.age.services.executor.ExecutorRegistry;
 import org.age.services.lifecycle.NodeLifecycleService;
 import org.age.util.fsm.StateMachineService;
 import org.age.util.fsm.StateMachineServiceBuilder;
@@ -91,6 +92,8 @@ public class DefaultNodeLifecycleService implements SmartLifecycle, NodeLifecycl
 
 	@Inject @MonotonicNonNull private EventBus eventBus;
 
+	@Inject @MonotonicNonNull private ExecutorRegistry executors;
+
 	@MonotonicNonNull private StateMachineService<State, Event> service;
 
 	@PostConstruct public final void construct() {
@@ -114,6 +117,7 @@ public class DefaultNodeLifecycleService implements SmartLifecycle, NodeLifecycl
 				.fireAndCall(Event.ERROR, new ExceptionHandler())
 
 			.withEventBus(eventBus)
+			.dispatchOn(executors.io())
 			//.notifyWithType(LifecycleStateChangedEvent.class)
 			.build();
 		//@formatter:on
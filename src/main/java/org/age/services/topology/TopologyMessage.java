@@ -38,7 +38,14 @@ public class TopologyMessage implements Serializable {
 
 	public enum Type {
 		MASTER_ELECTED(false),
-		TOPOLOGY_SELECTED(false);
+		/**
+		 * The master configured a new topology. The payload is the epoch of the topology ({@link Long}).
+		 */
+		TOPOLOGY_SELECTED(true),
+		/**
+		 * The master changed the topology incrementally. The payload describes the change and its base epoch.
+		 */
+		TOPOLOGY_UPDATED(true);
 
 		private final boolean payloadRequired;
 
@@ -67,6 +74,11 @@ public class TopologyMessage implements Serializable {
 		return new TopologyMessage(type, null);
 	}
 
+	@NonNull public static TopologyMessage createWithPayload(@NonNull final Type type,
+	                                                         @NonNull final Serializable payload) {
+		return new TopologyMessage(type, requireNonNull(payload));
+	}
+
 	@NonNull public Type getType() {
 		return type;
 	}
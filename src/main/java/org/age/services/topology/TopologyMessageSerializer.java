@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Hazelcast serializer of {@link TopologyMessage}s.
+ * <p>
+ * Format: type (byte), presence of the payload (boolean), payload.
+ */
+public final class TopologyMessageSerializer implements StreamSerializer<TopologyMessage> {
+
+	public static final int TYPE_ID = 110;
+
+	private static final TopologyMessage.Type[] TYPES = TopologyMessage.Type.values();
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final TopologyMessage message)
+			throws IOException {
+		out.writeByte(message.getType().ordinal());
+		final Serializable payload = message.getPayload().orElse(null);
+		out.writeBoolean(payload != null);
+		if (payload != null) {
+			out.writeObject(payload);
+		}
+	}
+
+	@Override @NonNull public TopologyMessage read(@NonNull final ObjectDataInput in) throws IOException {
+		final TopologyMessage.Type type = TYPES[in.readByte()];
+		final Serializable payload = in.readBoolean() ? in.readObject() : null;
+		return new TopologyMessage(type, payload);
+	}
+
+	@Override public int getTypeId() {
+		return TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
@@ -22,6 +22,8 @@
 
 package org.age.services.topology;
 
+import org.age.services.topology.processors.CompactTopology;
+
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
@@ -31,13 +33,21 @@ import java.util.Set;
 
 public interface TopologyService {
 
+	/**
+	 * The epoch returned when there is no topology.
+	 */
+	long NO_EPOCH = 0L;
+
 	/**
 	 * Returns a set of neighbours of the current node.
 	 *
+	 * While the topology is being reconfigured, neighbours from the previous topology are returned until the new one
+	 * is installed.
+	 *
 	 * @return set of {@link String}, possibly empty when there is no topology or the node has no neighbours.
 	 *
 	 * @throws IllegalStateException
-	 * 		when the topology cannot get the list of neighbours because it has not finished discovery.
+	 * 		when no topology has been installed yet.
 	 */
 	@NonNull Set<String> neighbours();
 
@@ -48,9 +58,34 @@ public interface TopologyService {
 	 */
 	@NonNull Optional<DirectedGraph<String, DefaultEdge>> topologyGraph();
 
+	/**
+	 * Returns the current topology in the compact form. Prefer it to {@link #topologyGraph()} when only nodes or
+	 * neighbourhoods are needed, as the graph may need to be materialized.
+	 *
+	 * @return an Optional containing the topology or empty when no topology was set.
+	 */
+	@NonNull Optional<CompactTopology> topology();
+
+	/**
+	 * Returns the snapshot of the current topology.
+	 *
+	 * @return an Optional containing the snapshot or empty when no topology was configured for this node.
+	 */
+	@NonNull Optional<TopologySnapshot> snapshot();
+
 	@NonNull Optional<String> topologyType();
 
 	@NonNull Optional<String> masterId();
 
+	/**
+	 * Returns the epoch of the installed topology. Epochs increase monotonically with every topology change.
+	 *
+	 * @return the epoch or {@link #NO_EPOCH} when no topology was installed.
+	 */
+	long epoch();
+
+	/**
+	 * Returns whether a topology is installed. The topology stays installed (and usable) during reconfiguration.
+	 */
 	boolean hasTopology();
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.topology.processors.CompactTopology;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+/**
+ * An immutable view of the topology configured in the given epoch.
+ * <p>
+ * Epochs are assigned by the master and increase with every configured topology. The neighbourhood of the local node
+ * is computed when the snapshot is created, so querying it does not allocate. The jgrapht graph is materialized only
+ * when requested.
+ */
+@Immutable
+public final class TopologySnapshot {
+
+	private final long epoch;
+
+	private final CompactTopology topology;
+
+	private final Supplier<DirectedGraph<String, DefaultEdge>> graph;
+
+	private final ImmutableSet<String> neighbours;
+
+	private TopologySnapshot(final long epoch, @NonNull final CompactTopology topology,
+	                         @NonNull final String localNodeId) {
+		this.epoch = epoch;
+		this.topology = topology;
+		graph = Suppliers.memoize(topology::toGraph);
+		neighbours = topology.neighboursOf(localNodeId);
+	}
+
+	/**
+	 * Creates a snapshot of the topology.
+	 *
+	 * @param epoch
+	 * 		the epoch of the topology.
+	 * @param topology
+	 * 		the topology.
+	 * @param localNodeId
+	 * 		the ID of the local node.
+	 */
+	@NonNull public static TopologySnapshot create(final long epoch, @NonNull final CompactTopology topology,
+	                                               @NonNull final String localNodeId) {
+		return new TopologySnapshot(epoch, requireNonNull(topology), requireNonNull(localNodeId));
+	}
+
+	/**
+	 * Creates a snapshot of the graph.
+	 *
+	 * @param epoch
+	 * 		the epoch of the topology.
+	 * @param graph
+	 * 		the topology graph (it is converted to the compact form).
+	 * @param localNodeId
+	 * 		the ID of the local node.
+	 */
+	@NonNull public static TopologySnapshot create(final long epoch,
+	                                               @NonNull final DirectedGraph<String, DefaultEdge> graph,
+	                                               @NonNull final String localNodeId) {
+		return create(epoch, CompactTopology.fromGraph(requireNonNull(graph)), localNodeId);
+	}
+
+	public long epoch() {
+		return epoch;
+	}
+
+	@NonNull public CompactTopology topology() {
+		return topology;
+	}
+
+	/**
+	 * Returns an unmodifiable view of the topology graph (materialized on the first call).
+	 */
+	@NonNull public DirectedGraph<String, DefaultEdge> graph() {
+		return graph.get();
+	}
+
+	@NonNull public ImmutableSortedSet<String> nodes() {
+		return topology.nodes();
+	}
+
+	/**
+	 * Returns the neighbours of the local node (empty if it is not a part of the topology).
+	 */
+	@NonNull public ImmutableSet<String> neighbours() {
+		return neighbours;
+	}
+
+	/**
+	 * Returns the neighbours of the given node (empty if it is not a part of the topology).
+	 */
+	@NonNull public ImmutableSet<String> neighboursOf(@NonNull final String nodeId) {
+		return topology.neighboursOf(requireNonNull(nodeId));
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("epoch", epoch).add("topology", topology).toString();
+	}
+}
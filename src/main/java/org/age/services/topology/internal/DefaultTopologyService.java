@@ -23,26 +23,30 @@
 
 package org.age.services.topology.internal;
 
-import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
-import static com.google.common.util.concurrent.MoreExecutors.shutdownAndAwaitTermination;
-import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.stream.Collectors.toSet;
 import static org.age.services.topology.TopologyMessage.Type.MASTER_ELECTED;
 import static org.age.services.topology.TopologyMessage.Type.TOPOLOGY_SELECTED;
+import static org.age.services.topology.TopologyMessage.Type.TOPOLOGY_UPDATED;
 
-import org.age.services.discovery.DiscoveryEvent;
 import org.age.services.discovery.DiscoveryService;
+import org.age.services.discovery.MembershipChangedEvent;
+import org.age.services.executor.ExecutorRegistry;
 import org.age.services.identity.NodeDescriptor;
 import org.age.services.identity.NodeIdentityService;
+import org.age.services.identity.NodeType;
 import org.age.services.topology.TopologyMessage;
 import org.age.services.topology.TopologyService;
+import org.age.services.topology.TopologySnapshot;
+import org.age.services.topology.processors.CompactTopology;
+import org.age.services.topology.processors.TopologyDelta;
 import org.age.services.topology.processors.TopologyProcessor;
 import org.age.util.fsm.FSM;
 import org.age.util.fsm.StateMachineService;
 import org.age.util.fsm.StateMachineServiceBuilder;
 
+import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
-import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.hazelcast.core.EntryAdapter;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
@@ -65,9 +69,11 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -88,7 +94,7 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 		STARTING,
 		MASTER_ELECTED_MASTER,
 		MASTER_ELECTED_SLAVE,
-		// Only in this state we can communicate
+		// The topology is up to date (the previous one is still usable in other states)
 		WITH_TOPOLOGY,
 		FAILED,
 		TERMINATED
@@ -109,9 +115,6 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 
 	private static final Logger log = LoggerFactory.getLogger(DefaultTopologyService.class);
 
-	private final ListeningScheduledExecutorService executorService = listeningDecorator(
-			newSingleThreadScheduledExecutor());
-
 	@Inject @MonotonicNonNull private HazelcastInstance hazelcastInstance;
 
 	@Inject private @MonotonicNonNull DiscoveryService discoveryService;
@@ -120,6 +123,8 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 
 	@Inject @MonotonicNonNull private EventBus eventBus;
 
+	@Inject @MonotonicNonNull private ExecutorRegistry executors;
+
 	@Inject @MonotonicNonNull private List<TopologyProcessor> topologyProcessors;
 
 	@MonotonicNonNull private TopologyProcessor currentTopologyProcessor;
@@ -136,7 +141,23 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 
 	@Nullable private String listenerKey;
 
-	@Nullable private DirectedGraph<String, DefaultEdge> cachedTopology;
+	/**
+	 * The highest epoch announced by the master.
+	 */
+	private final AtomicLong announcedEpoch = new AtomicLong();
+
+	@Nullable private volatile TopologySnapshot snapshot;
+
+	/**
+	 * Incremental updates received from the master that have not been applied yet (by their base epoch).
+	 */
+	private final ConcurrentNavigableMap<Long, TopologyUpdate> pendingUpdates = new ConcurrentSkipListMap<>();
+
+	/**
+	 * The processor that created the local snapshot, if this node is the master that published it. Only then the
+	 * snapshot can be a base for incremental updates.
+	 */
+	@Nullable private TopologyProcessor snapshotProcessor;
 
 	@PostConstruct private void construct() {
 		log.debug("Constructing DefaultTopologyService.");
@@ -183,6 +204,7 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 				.fireAndCall(Event.ERROR, new ExceptionHandler())
 
 			.withEventBus(eventBus)
+			.dispatchOn(executors.io())
 			.build();
 		//@formatter:on
 
@@ -231,7 +253,6 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 
 	private void internalStop(@NonNull final FSM<State, Event> fsm) {
 		log.debug("Topology service stopping.");
-		shutdownAndAwaitTermination(executorService, 10, TimeUnit.SECONDS);
 		log.info("Topology service stopped.");
 	}
 
@@ -283,6 +304,7 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 		} else {
 			log.debug("I am slave.");
 			master = false;
+			snapshotProcessor = null;
 			if (listenerKey != null) {
 				runtimeConfig.removeEntryListener(listenerKey);
 			}
@@ -299,6 +321,9 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 	 * <li>type changed</li>
 	 * </ul>
 	 *
+	 * If the processor did not change and supports incremental maintenance, only the delta is published. Otherwise the
+	 * topology is rebuilt from scratch.
+	 *
 	 * Executed only on master.
 	 */
 	private void topologyChanged(final FSM<State, Event> stateEventFSM) {
@@ -313,21 +338,147 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 		currentTopologyProcessor = topologyProcessor.get();
 
 		final Set<NodeDescriptor> computeNodes = getComputeNodes();
-		cachedTopology = currentTopologyProcessor.createGraphFrom(computeNodes);
-		log.debug("Topology: {}.", cachedTopology);
-		runtimeConfig.put(ConfigKeys.TOPOLOGY_GRAPH, cachedTopology);
-		topic.publish(TopologyMessage.createWithoutPayload(TOPOLOGY_SELECTED));
+		final TopologySnapshot currentSnapshot = snapshot;
+		if ((currentSnapshot != null) && (snapshotProcessor == currentTopologyProcessor)
+		    && updateIncrementally(currentSnapshot, computeNodes)) {
+			return;
+		}
+
+		final CompactTopology topology = currentTopologyProcessor.createTopologyFrom(computeNodes);
+		final long epoch = nextEpoch();
+		log.debug("Topology (epoch {}): {}.", epoch, topology);
+		storeTopology(epoch, topology);
+		topic.publish(TopologyMessage.createWithPayload(TOPOLOGY_SELECTED, epoch));
+	}
+
+	/**
+	 * Computes the change of the topology from the given snapshot as a sequence of single-node deltas and publishes
+	 * it.
+	 *
+	 * @return false if the current processor does not support incremental maintenance.
+	 */
+	private boolean updateIncrementally(@NonNull final TopologySnapshot base,
+	                                    @NonNull final Set<NodeDescriptor> computeNodes) {
+		CompactTopology topology = base.topology();
+		final TopologyDelta.Builder builder = TopologyDelta.builder();
+
+		final Set<String> nodeIds = computeNodes.stream().map(NodeDescriptor::id).collect(toSet());
+		for (final String removedNode : Sets.difference(base.nodes(), nodeIds)) {
+			final Optional<TopologyDelta> delta = currentTopologyProcessor.nodeRemoved(topology, removedNode);
+			if (!delta.isPresent()) {
+				log.debug("{} does not support incremental changes.", currentTopologyProcessor);
+				return false;
+			}
+			topology = topology.withDelta(delta.get());
+			builder.merge(delta.get());
+		}
+		for (final NodeDescriptor addedNode : computeNodes) {
+			if (base.nodes().contains(addedNode.id())) {
+				continue;
+			}
+			final Optional<TopologyDelta> delta = currentTopologyProcessor.nodeAdded(topology, addedNode);
+			if (!delta.isPresent()) {
+				log.debug("{} does not support incremental changes.", currentTopologyProcessor);
+				return false;
+			}
+			topology = topology.withDelta(delta.get());
+			builder.merge(delta.get());
+		}
+
+		// Even an empty update must be published, as slaves wait for a topology after every election
+		final long epoch = nextEpoch();
+		final TopologyUpdate update = new TopologyUpdate(base.epoch(), epoch, builder.build());
+		log.debug("Topology update: {}.", update);
+		storeTopology(epoch, topology);
+		topic.publish(TopologyMessage.createWithPayload(TOPOLOGY_UPDATED, update));
+		return true;
+	}
+
+	/**
+	 * Stores the topology in the runtime configuration (for late joiners and slaves that missed some updates) and
+	 * caches it locally.
+	 */
+	private void storeTopology(final long epoch, @NonNull final CompactTopology topology) {
+		runtimeConfig.set(ConfigKeys.TOPOLOGY_GRAPH, new VersionedTopology(epoch, topology));
+		runtimeConfig.set(ConfigKeys.TOPOLOGY_EPOCH, epoch);
+		install(TopologySnapshot.create(epoch, topology, identityService.nodeId()));
+		snapshotProcessor = currentTopologyProcessor;
+	}
+
+	/**
+	 * Atomically replaces the local snapshot, unless it is already newer. Until then, the previous snapshot stays in
+	 * use, so the neighbourhood is available during the whole reconfiguration.
+	 */
+	private void install(@NonNull final TopologySnapshot newSnapshot) {
+		final TopologySnapshot currentSnapshot = snapshot;
+		if ((currentSnapshot != null) && (currentSnapshot.epoch() >= newSnapshot.epoch())) {
+			log.debug("Ignoring topology of epoch {}, epoch {} is already installed.", newSnapshot.epoch(),
+			          currentSnapshot.epoch());
+			return;
+		}
+		snapshot = newSnapshot;
+		log.info("Installed topology of epoch {}.", newSnapshot.epoch());
+	}
+
+	/**
+	 * Returns the epoch for a new topology. Takes the local snapshot into account, as the new master may not have seen
+	 * the last write of the previous one.
+	 */
+	private long nextEpoch() {
+		final Long lastEpoch = (Long)runtimeConfig.get(ConfigKeys.TOPOLOGY_EPOCH);
+		final TopologySnapshot currentSnapshot = snapshot;
+		final long localEpoch = (currentSnapshot != null) ? currentSnapshot.epoch() : 0L;
+		return Math.max((lastEpoch != null) ? lastEpoch : 0L, localEpoch) + 1;
 	}
 
 	/**
 	 * Called on all nodes when the topology has been configured by master.
+	 *
+	 * Pending incremental updates are applied to the cached topology. If some of them are missing (or there is no
+	 * cached topology), the whole topology is read from the runtime configuration.
 	 */
 	private void topologyConfigured(final FSM<State, Event> stateEventFSM) {
 		assert !master || (currentTopologyProcessor != null) : "Current topology processor null for master";
-		assert runtimeConfig.get(ConfigKeys.TOPOLOGY_GRAPH) != null : "No topology graph in config";
 
-		log.debug("Topology has been configured. Caching the graph.");
-		cachedTopology = getCurrentTopologyGraph();
+		final long epoch = announcedEpoch.get();
+		TopologySnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null) {
+			currentSnapshot = applyPendingUpdates(currentSnapshot);
+			if (currentSnapshot.epoch() >= epoch) {
+				log.debug("Topology of epoch {} is already cached.", currentSnapshot.epoch());
+				return;
+			}
+			log.debug("Missing updates between epochs {} and {}.", currentSnapshot.epoch(), epoch);
+		}
+
+		final VersionedTopology topology = getCurrentTopology();
+		assert topology != null : "No topology graph in config";
+		log.debug("Topology of epoch {} has been configured. Caching it.", topology.epoch());
+		install(TopologySnapshot.create(topology.epoch(), topology.topology(), identityService.nodeId()));
+	}
+
+	/**
+	 * Applies all pending updates that form a continuous chain starting from the given snapshot.
+	 */
+	@NonNull private TopologySnapshot applyPendingUpdates(@NonNull final TopologySnapshot base) {
+		// Updates based on older epochs are already included in the snapshot
+		pendingUpdates.headMap(base.epoch()).clear();
+		TopologyUpdate update = pendingUpdates.remove(base.epoch());
+		if (update == null) {
+			return base;
+		}
+
+		CompactTopology topology = base.topology();
+		long epoch = base.epoch();
+		while (update != null) {
+			log.debug("Applying topology update: {}.", update);
+			topology = topology.withDelta(update.delta());
+			epoch = update.epoch();
+			update = pendingUpdates.remove(epoch);
+		}
+		final TopologySnapshot updatedSnapshot = TopologySnapshot.create(epoch, topology, identityService.nodeId());
+		install(updatedSnapshot);
+		return updatedSnapshot;
 	}
 
 	@NonNull private Optional<TopologyProcessor> getTopologyProcessorWithName(@NonNull final String processorName) {
@@ -337,8 +488,8 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 		                         .findFirst();
 	}
 
-	@Nullable private DirectedGraph<String, DefaultEdge> getCurrentTopologyGraph() {
-		return (DirectedGraph<String, DefaultEdge>)runtimeConfig.get(ConfigKeys.TOPOLOGY_GRAPH);
+	@Nullable private VersionedTopology getCurrentTopology() {
+		return (VersionedTopology)runtimeConfig.get(ConfigKeys.TOPOLOGY_GRAPH);
 	}
 
 
@@ -346,12 +497,29 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 		return Optional.ofNullable((String)runtimeConfig.get(ConfigKeys.MASTER));
 	}
 
+	@Override public long epoch() {
+		final TopologySnapshot currentSnapshot = snapshot;
+		return (currentSnapshot != null) ? currentSnapshot.epoch() : NO_EPOCH;
+	}
+
+	/**
+	 * Returns whether a topology is installed. It is also true during reconfiguration (when the service is not in the
+	 * {@link State#WITH_TOPOLOGY} state), as the previous topology stays usable until the new one is installed.
+	 */
 	@Override public boolean hasTopology() {
-		return service.isInState(State.WITH_TOPOLOGY);
+		return snapshot != null;
 	}
 
 	@Override @NonNull public Optional<DirectedGraph<String, DefaultEdge>> topologyGraph() {
-		return Optional.ofNullable(cachedTopology);
+		return Optional.ofNullable(snapshot).map(TopologySnapshot::graph);
+	}
+
+	@Override @NonNull public Optional<CompactTopology> topology() {
+		return Optional.ofNullable(snapshot).map(TopologySnapshot::topology);
+	}
+
+	@Override @NonNull public Optional<TopologySnapshot> snapshot() {
+		return Optional.ofNullable(snapshot);
 	}
 
 	@Override @NonNull public Optional<String> topologyType() {
@@ -359,22 +527,28 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 	}
 
 	@Override @NonNull public Set<String> neighbours() {
-		if (!hasTopology()) {
+		final TopologySnapshot currentSnapshot = snapshot;
+		if (currentSnapshot == null) {
 			throw new IllegalStateException("Topology not ready.");
 		}
 
-		final DirectedGraph<String, DefaultEdge> graph = getCurrentTopologyGraph();
-		final Set<DefaultEdge> outEdges = graph.outgoingEdgesOf(identityService.nodeId());
-		return outEdges.stream().map(graph::getEdgeTarget).collect(Collectors.toSet());
+		return currentSnapshot.neighbours();
 	}
 
-	@Subscribe public void membershipChange(final DiscoveryEvent event) {
+	/**
+	 * Reacts to coalesced membership changes. Changes that do not involve compute nodes do not affect the topology.
+	 */
+	@Subscribe public void membershipChange(final MembershipChangedEvent event) {
 		log.debug("Membership change: {}.", event);
-		service.fire(Event.MEMBERSHIP_CHANGED);
+		final boolean computeNodesChanged = Stream.concat(event.added().stream(), event.removed().stream())
+		                                          .anyMatch(member -> member.type() == NodeType.COMPUTE);
+		if (computeNodesChanged) {
+			service.fire(Event.MEMBERSHIP_CHANGED);
+		}
 	}
 
 	@NonNull protected Set<@NonNull NodeDescriptor> getComputeNodes() {
-		return discoveryService.membersMatching("type = 'compute'");
+		return discoveryService.membersOfType(NodeType.COMPUTE);
 	}
 
 	private static class ConfigKeys {
@@ -383,6 +557,8 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 		public static final String TOPOLOGY_GRAPH = "topologyGraph";
 
 		public static final String TOPOLOGY_TYPE = "topologyType";
+
+		public static final String TOPOLOGY_EPOCH = "topologyEpoch";
 	}
 
 	private class TopologyTypeChangeListener extends EntryAdapter<String, Object> {
@@ -398,6 +574,17 @@ public class DefaultTopologyService implements SmartLifecycle, TopologyService {
 			final TopologyMessage topologyMessage = message.getMessageObject();
 			switch (topologyMessage.getType()) {
 				case TOPOLOGY_SELECTED:
+					final long epoch = (Long)topologyMessage.getPayload().get();
+					announcedEpoch.accumulateAndGet(epoch, Math::max);
+					service.fire(Event.TOPOLOGY_CONFIGURED);
+					break;
+				case TOPOLOGY_UPDATED:
+					final TopologyUpdate update = (TopologyUpdate)topologyMessage.getPayload().get();
+					final TopologySnapshot currentSnapshot = snapshot;
+					if ((currentSnapshot == null) || (update.epoch() > currentSnapshot.epoch())) {
+						pendingUpdates.put(update.baseEpoch(), update);
+					}
+					announcedEpoch.accumulateAndGet(update.epoch(), Math::max);
 					service.fire(Event.TOPOLOGY_CONFIGURED);
 					break;
 			}
@@ -25,8 +25,11 @@ package org.age.services.topology.internal;
 
 import org.age.services.discovery.DiscoveryService;
 import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeType;
 import org.age.services.topology.TopologyMessage;
 import org.age.services.topology.TopologyService;
+import org.age.services.topology.TopologySnapshot;
+import org.age.services.topology.processors.CompactTopology;
 
 import com.google.common.eventbus.EventBus;
 import com.hazelcast.core.HazelcastInstance;
@@ -86,12 +89,29 @@ public class NonParticipatingTopologyService implements TopologyService {
 		return Optional.ofNullable((String)runtimeConfig.get(ConfigKeys.MASTER));
 	}
 
+	@Override public long epoch() {
+		final VersionedTopology topology = (VersionedTopology)runtimeConfig.get(ConfigKeys.TOPOLOGY_GRAPH);
+		return (topology != null) ? topology.epoch() : NO_EPOCH;
+	}
+
 	@Override public boolean hasTopology() {
 		return false;
 	}
 
 	@Override @NonNull public Optional<DirectedGraph<String, DefaultEdge>> topologyGraph() {
-		return Optional.ofNullable((DirectedGraph<String, DefaultEdge>)runtimeConfig.get(ConfigKeys.TOPOLOGY_GRAPH));
+		return topology().map(CompactTopology::toGraph);
+	}
+
+	@Override @NonNull public Optional<CompactTopology> topology() {
+		return Optional.ofNullable((VersionedTopology)runtimeConfig.get(ConfigKeys.TOPOLOGY_GRAPH))
+		               .map(VersionedTopology::topology);
+	}
+
+	/**
+	 * Non-participating nodes do not keep snapshots of the topology.
+	 */
+	@Override @NonNull public Optional<TopologySnapshot> snapshot() {
+		return Optional.empty();
 	}
 
 	@Override @NonNull public Optional<String> topologyType() {
@@ -99,7 +119,7 @@ public class NonParticipatingTopologyService implements TopologyService {
 	}
 
 	@NonNull protected Set<@NonNull NodeDescriptor> getComputeNodes() {
-		return discoveryService.membersMatching("type = 'compute'");
+		return discoveryService.membersOfType(NodeType.COMPUTE);
 	}
 
 	private static class ConfigKeys {
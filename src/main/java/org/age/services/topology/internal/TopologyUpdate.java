@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.age.services.topology.processors.TopologyDelta;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * An incremental change of the topology published by the master: applying the delta to the topology of the base
+ * epoch gives the topology of the new epoch.
+ */
+@Immutable
+final class TopologyUpdate implements Serializable {
+
+	private static final long serialVersionUID = 8217164725581364370L;
+
+	private final long baseEpoch;
+
+	private final long epoch;
+
+	private final TopologyDelta delta;
+
+	TopologyUpdate(final long baseEpoch, final long epoch, @NonNull final TopologyDelta delta) {
+		assert baseEpoch < epoch;
+		assert delta != null;
+		this.baseEpoch = baseEpoch;
+		this.epoch = epoch;
+		this.delta = delta;
+	}
+
+	long baseEpoch() {
+		return baseEpoch;
+	}
+
+	long epoch() {
+		return epoch;
+	}
+
+	@NonNull TopologyDelta delta() {
+		return delta;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("baseEpoch", baseEpoch).add("epoch", epoch).add("delta", delta).toString();
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.age.services.topology.processors.CompactTopology;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * The topology together with its epoch, as stored in the runtime configuration.
+ * <p>
+ * Both are stored in a single entry, so readers can never see a topology with an epoch of another one.
+ */
+@Immutable
+final class VersionedTopology implements Serializable {
+
+	private static final long serialVersionUID = -1470542337006436217L;
+
+	private final long epoch;
+
+	private final CompactTopology topology;
+
+	VersionedTopology(final long epoch, @NonNull final CompactTopology topology) {
+		assert topology != null;
+		this.epoch = epoch;
+		this.topology = topology;
+	}
+
+	long epoch() {
+		return epoch;
+	}
+
+	@NonNull CompactTopology topology() {
+		return topology;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("epoch", epoch).add("topology", topology).toString();
+	}
+}
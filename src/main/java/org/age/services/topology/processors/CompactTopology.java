@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.UnmodifiableDirectedGraph;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * A compact, immutable representation of a topology graph.
+ * <p>
+ * Nodes are identified by their indices in the sorted dictionary of node IDs. Edges are stored in the compressed
+ * sparse row form: targets of the node {@code i} are {@code targets[offsets[i]]} to {@code targets[offsets[i + 1] -
+ * 1]}, in ascending order. Fully connected topologies (with or without local loops) are implicit and store no edges
+ * at all.
+ * <p>
+ * Use {@link #toGraph()} to obtain an equivalent jgrapht graph.
+ */
+@Immutable
+public abstract class CompactTopology implements Serializable {
+
+	private static final long serialVersionUID = 2919167549470917052L;
+
+	private static final CompactTopology EMPTY = new SparseTopology(ImmutableSortedSet.of(), new int[1], new int[0]);
+
+	final ImmutableSortedSet<String> nodes;
+
+	CompactTopology(@NonNull final ImmutableSortedSet<String> nodes) {
+		this.nodes = nodes;
+	}
+
+	@NonNull public static CompactTopology empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Creates an implicit fully connected topology.
+	 *
+	 * @param nodeIds
+	 * 		IDs of the nodes.
+	 * @param withLoops
+	 * 		whether every node is also connected to itself.
+	 */
+	@NonNull public static CompactTopology fullyConnected(@NonNull final Collection<String> nodeIds,
+	                                                      final boolean withLoops) {
+		return new FullyConnectedTopology(ImmutableSortedSet.copyOf(nodeIds), withLoops);
+	}
+
+	/**
+	 * Creates a topology equivalent to the given graph.
+	 */
+	@NonNull public static CompactTopology fromGraph(@NonNull final DirectedGraph<String, DefaultEdge> graph) {
+		final Builder builder = builder(graph.vertexSet());
+		graph.edgeSet().forEach(edge -> builder.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge)));
+		return builder.build();
+	}
+
+	/**
+	 * Creates a builder of a topology with the given nodes.
+	 */
+	@NonNull public static Builder builder(@NonNull final Collection<String> nodeIds) {
+		return new Builder(ImmutableSortedSet.copyOf(nodeIds));
+	}
+
+	/**
+	 * Returns IDs of all nodes in the order of their indices.
+	 */
+	@NonNull public ImmutableSortedSet<String> nodes() {
+		return nodes;
+	}
+
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Returns the index of the node or -1 if the node is not a part of the topology.
+	 */
+	public int indexOf(@NonNull final String nodeId) {
+		final int index = Collections.binarySearch(nodes.asList(), requireNonNull(nodeId));
+		return (index >= 0) ? index : -1;
+	}
+
+	@NonNull public String nodeAt(final int index) {
+		return nodes.asList().get(index);
+	}
+
+	public abstract long edgeCount();
+
+	public abstract int outDegree(int index);
+
+	/**
+	 * Returns the {@code k}-th (in ascending order) target of the node with the given index.
+	 */
+	public abstract int targetAt(int index, int k);
+
+	/**
+	 * Returns whether the topology is implicit (stores no edges).
+	 */
+	public abstract boolean isImplicit();
+
+	/**
+	 * Calls the consumer with indices of all targets of the given node (in ascending order).
+	 */
+	public void forEachTarget(final int index, @NonNull final IntConsumer consumer) {
+		final int degree = outDegree(index);
+		for (int k = 0; k < degree; k++) {
+			consumer.accept(targetAt(index, k));
+		}
+	}
+
+	public boolean containsEdge(@NonNull final String source, @NonNull final String target) {
+		final int sourceIndex = indexOf(source);
+		final int targetIndex = indexOf(target);
+		if ((sourceIndex < 0) || (targetIndex < 0)) {
+			return false;
+		}
+		final int degree = outDegree(sourceIndex);
+		int low = 0;
+		int high = degree - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int value = targetAt(sourceIndex, middle);
+			if (value < targetIndex) {
+				low = middle + 1;
+			} else if (value > targetIndex) {
+				high = middle - 1;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns IDs of targets of the given node (empty if it is not a part of the topology).
+	 */
+	@NonNull public ImmutableSet<String> neighboursOf(@NonNull final String nodeId) {
+		final int index = indexOf(nodeId);
+		if (index < 0) {
+			return ImmutableSet.of();
+		}
+		final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+		forEachTarget(index, target -> builder.add(nodeAt(target)));
+		return builder.build();
+	}
+
+	/**
+	 * Materializes the topology as an unmodifiable jgrapht graph.
+	 */
+	@NonNull public DirectedGraph<String, DefaultEdge> toGraph() {
+		final DefaultDirectedGraph<String, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+		nodes.forEach(graph::addVertex);
+		for (int i = 0; i < size(); i++) {
+			final String source = nodeAt(i);
+			forEachTarget(i, target -> graph.addEdge(source, nodeAt(target)));
+		}
+		return new UnmodifiableDirectedGraph<>(graph);
+	}
+
+	/**
+	 * Returns a topology with the delta applied.
+	 */
+	@NonNull public CompactTopology withDelta(@NonNull final TopologyDelta delta) {
+		requireNonNull(delta);
+		final Set<String> removedNodes = delta.removedNodes();
+		final Builder builder = builder(updatedNodes(delta));
+		for (int i = 0; i < size(); i++) {
+			final String source = nodeAt(i);
+			if (removedNodes.contains(source)) {
+				continue;
+			}
+			final Set<String> removedTargets = delta.removedEdges().get(source);
+			forEachTarget(i, targetIndex -> {
+				final String target = nodeAt(targetIndex);
+				if (!removedNodes.contains(target) && !removedTargets.contains(target)) {
+					builder.addEdge(source, target);
+				}
+			});
+		}
+		delta.addedEdges().entries().forEach(edge -> builder.addEdge(edge.getKey(), edge.getValue()));
+		return builder.build();
+	}
+
+	@NonNull final ImmutableSortedSet<String> updatedNodes(@NonNull final TopologyDelta delta) {
+		return ImmutableSortedSet.copyOf(Sets.union(Sets.difference(nodes, delta.removedNodes()), delta.addedNodes()));
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("nodes", size()).add("edges", edgeCount()).add("implicit", isImplicit())
+		                           .toString();
+	}
+
+	/**
+	 * Builder of topologies. Duplicated edges are ignored.
+	 * <p>
+	 * The builder detects fully connected topologies and creates their implicit representations.
+	 */
+	public static final class Builder {
+
+		private final ImmutableSortedSet<String> nodes;
+
+		private final List<String> nodeList;
+
+		/**
+		 * Edges packed as {@code (source << 32) | target}.
+		 */
+		private long[] edges = new long[16];
+
+		private int edgeCount;
+
+		private Builder(@NonNull final ImmutableSortedSet<String> nodes) {
+			this.nodes = nodes;
+			nodeList = nodes.asList();
+		}
+
+		/**
+		 * Returns the number of nodes (valid indices are from 0 to {@code size() - 1}).
+		 */
+		public int size() {
+			return nodes.size();
+		}
+
+		@NonNull public Builder addEdge(@NonNull final String source, @NonNull final String target) {
+			final int sourceIndex = Collections.binarySearch(nodeList, requireNonNull(source));
+			final int targetIndex = Collections.binarySearch(nodeList, requireNonNull(target));
+			checkArgument(sourceIndex >= 0, "Unknown node %s.", source);
+			checkArgument(targetIndex >= 0, "Unknown node %s.", target);
+			return addEdge(sourceIndex, targetIndex);
+		}
+
+		@NonNull public Builder addEdge(final int source, final int target) {
+			checkArgument((source >= 0) && (source < nodes.size()), "Wrong source index %s.", source);
+			checkArgument((target >= 0) && (target < nodes.size()), "Wrong target index %s.", target);
+			if (edgeCount == edges.length) {
+				edges = Arrays.copyOf(edges, 2 * edges.length);
+			}
+			edges[edgeCount++] = ((long)source << 32) | target;
+			return this;
+		}
+
+		@NonNull public CompactTopology build() {
+			Arrays.sort(edges, 0, edgeCount);
+			final int size = nodes.size();
+			final int[] offsets = new int[size + 1];
+			final int[] targets = new int[edgeCount];
+			int count = 0;
+			int loops = 0;
+			for (int i = 0; i < edgeCount; i++) {
+				if ((i > 0) && (edges[i] == edges[i - 1])) {
+					continue;
+				}
+				final int source = (int)(edges[i] >>> 32);
+				final int target = (int)edges[i];
+				if (source == target) {
+					loops++;
+				}
+				offsets[source + 1]++;
+				targets[count++] = target;
+			}
+			for (int i = 0; i < size; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+
+			final long n = size;
+			if ((size > 0) && (count == (n * n))) {
+				return new FullyConnectedTopology(nodes, true);
+			}
+			if ((size > 0) && (loops == 0) && (count == (n * (n - 1)))) {
+				return new FullyConnectedTopology(nodes, false);
+			}
+			return new SparseTopology(nodes, offsets, Arrays.copyOf(targets, count));
+		}
+	}
+
+	/**
+	 * Topology stored in the compressed sparse row form.
+	 */
+	private static final class SparseTopology extends CompactTopology {
+
+		private static final long serialVersionUID = -3318212436361834785L;
+
+		private final int[] offsets;
+
+		private final int[] targets;
+
+		private SparseTopology(@NonNull final ImmutableSortedSet<String> nodes, final int @NonNull [] offsets,
+		                       final int @NonNull [] targets) {
+			super(nodes);
+			assert offsets.length == (nodes.size() + 1);
+			this.offsets = offsets;
+			this.targets = targets;
+		}
+
+		@Override public long edgeCount() {
+			return targets.length;
+		}
+
+		@Override public int outDegree(final int index) {
+			return offsets[index + 1] - offsets[index];
+		}
+
+		@Override public int targetAt(final int index, final int k) {
+			assert (k >= 0) && (k < outDegree(index));
+			return targets[offsets[index] + k];
+		}
+
+		@Override public boolean isImplicit() {
+			return false;
+		}
+	}
+
+	/**
+	 * Implicit fully connected topology.
+	 */
+	private static final class FullyConnectedTopology extends CompactTopology {
+
+		private static final long serialVersionUID = 6262505596519367130L;
+
+		private final boolean withLoops;
+
+		private FullyConnectedTopology(@NonNull final ImmutableSortedSet<String> nodes, final boolean withLoops) {
+			super(nodes);
+			this.withLoops = withLoops;
+		}
+
+		@Override public long edgeCount() {
+			final long n = size();
+			return withLoops ? (n * n) : (n * (n - 1));
+		}
+
+		@Override public int outDegree(final int index) {
+			return withLoops ? size() : (size() - 1);
+		}
+
+		@Override public int targetAt(final int index, final int k) {
+			assert (k >= 0) && (k < outDegree(index));
+			return (withLoops || (k < index)) ? k : (k + 1);
+		}
+
+		@Override public boolean isImplicit() {
+			return true;
+		}
+
+		/**
+		 * Keeps the topology implicit if the delta connects added nodes with all nodes (and does nothing else), which
+		 * is the case for deltas created by fully connected processors.
+		 */
+		@Override @NonNull public CompactTopology withDelta(@NonNull final TopologyDelta delta) {
+			requireNonNull(delta);
+			final ImmutableSortedSet<String> updatedNodes = updatedNodes(delta);
+			if (delta.removedEdges().isEmpty() && connectsAddedNodes(delta, updatedNodes)) {
+				return new FullyConnectedTopology(updatedNodes, withLoops);
+			}
+			return super.withDelta(delta);
+		}
+
+		private boolean connectsAddedNodes(@NonNull final TopologyDelta delta,
+		                                   @NonNull final ImmutableSortedSet<String> updatedNodes) {
+			final Set<String> addedNodes = delta.addedNodes();
+			final long n = updatedNodes.size();
+			final long old = n - addedNodes.size();
+			final long expected = withLoops ? ((n * n) - (old * old)) : ((n * (n - 1)) - (old * (old - 1)));
+			if (delta.addedEdges().size() != expected) {
+				return false;
+			}
+			for (final Map.Entry<String, String> edge : delta.addedEdges().entries()) {
+				final String source = edge.getKey();
+				final String target = edge.getValue();
+				if (!addedNodes.contains(source) && !addedNodes.contains(target)) {
+					return false;
+				}
+				if (!updatedNodes.contains(source) || !updatedNodes.contains(target)) {
+					return false;
+				}
+				if (!withLoops && source.equals(target)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
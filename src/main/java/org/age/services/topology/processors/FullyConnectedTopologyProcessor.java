@@ -23,8 +23,10 @@
 
 package org.age.services.topology.processors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Sets.cartesianProduct;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
 
 import org.age.services.identity.NodeDescriptor;
 
@@ -34,6 +36,7 @@ import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.UnmodifiableDirectedGraph;
 
+import java.util.Optional;
 import java.util.Set;
 
 import javax.inject.Named;
@@ -68,6 +71,32 @@ public final class FullyConnectedTopologyProcessor implements TopologyProcessor
 		return new UnmodifiableDirectedGraph<>(graph);
 	}
 
+	/**
+	 * Returns an implicit topology (no edges are stored).
+	 */
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+		return CompactTopology.fullyConnected(identities.stream().map(NodeDescriptor::id).collect(toSet()), false);
+	}
+
+	@Override public @NonNull Optional<TopologyDelta> nodeAdded(final @NonNull CompactTopology topology,
+	                                                            final @NonNull NodeDescriptor identity) {
+		final String nodeId = identity.id();
+		checkArgument(topology.indexOf(nodeId) < 0, "Node %s is already in the topology.", nodeId);
+
+		final TopologyDelta.Builder delta = TopologyDelta.builder().addNode(nodeId);
+		topology.nodes().forEach(node -> delta.addEdge(nodeId, node).addEdge(node, nodeId));
+		return Optional.of(delta.build());
+	}
+
+	@Override public @NonNull Optional<TopologyDelta> nodeRemoved(final @NonNull CompactTopology topology,
+	                                                              final @NonNull String nodeId) {
+		checkArgument(topology.indexOf(nodeId) >= 0, "Node %s is not in the topology.", nodeId);
+
+		return Optional.of(TopologyDelta.builder().removeNode(nodeId).build());
+	}
+
 	@Override public String toString() {
 		return name();
 	}
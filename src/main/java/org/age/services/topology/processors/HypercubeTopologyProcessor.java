@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+import org.age.services.identity.NodeDescriptor;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.Set;
+
+import javax.inject.Named;
+
+/**
+ * Hypercube topology generator.
+ * <p>
+ * Nodes (sorted by their IDs) are connected in both directions with nodes whose indices differ in exactly one bit.
+ * If the number of nodes is not a power of two, the hypercube is incomplete but still connected. The degree and the
+ * diameter are at most {@code ceil(log2(N))}.
+ */
+@Named
+public final class HypercubeTopologyProcessor implements TopologyProcessor {
+
+	@Override public @NonNull String name() {
+		return "hypercube";
+	}
+
+	@Override public @NonNull DirectedGraph<String, DefaultEdge> createGraphFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		return createTopologyFrom(identities).toGraph();
+	}
+
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+
+		final CompactTopology.Builder builder = CompactTopology.builder(
+				identities.stream().map(NodeDescriptor::id).collect(toSet()));
+		final int size = builder.size();
+		for (int i = 0; i < size; i++) {
+			for (int bit = 1; bit < size; bit <<= 1) {
+				final int neighbour = i ^ bit;
+				if (neighbour < size) {
+					builder.addEdge(i, neighbour);
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	@Override public String toString() {
+		return name();
+	}
+}
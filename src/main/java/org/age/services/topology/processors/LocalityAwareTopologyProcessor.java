@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import org.age.services.identity.NodeDescriptor;
+
+import com.google.common.collect.ImmutableList;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.inject.Named;
+
+/**
+ * Locality-aware topology generator.
+ * <p>
+ * Groups nodes by their racks and hosts (see {@link NodeDescriptor#rack()} and {@link NodeDescriptor#host()}), so
+ * that most of the edges connect co-located nodes:
+ * <ul>
+ * <li>nodes on the same host are fully connected (or form a ring when there are more than {@code host-clique} of
+ * them),</li>
+ * <li>hosts in the same rack form a ring, in which consecutive hosts are connected by a single bidirectional bridge
+ * edge,</li>
+ * <li>racks form a ring in the same way.</li>
+ * </ul>
+ * A bridge connects the pair of nodes with the lowest measured round-trip time (see
+ * {@link NodeDescriptor#roundTripTimes()}). When no measurements are available, bridges are spread over the nodes of
+ * the groups.
+ */
+@Named
+public final class LocalityAwareTopologyProcessor implements TopologyProcessor {
+
+	@Value("${age.topology.locality.host-clique:8}") private int hostClique = 8;
+
+	@Override public @NonNull String name() {
+		return "locality aware";
+	}
+
+	@Override public @NonNull DirectedGraph<String, DefaultEdge> createGraphFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		return createTopologyFrom(identities).toGraph();
+	}
+
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+		checkArgument(hostClique > 0, "Host clique size must be positive.");
+
+		final SortedMap<String, SortedMap<String, List<NodeDescriptor>>> racks = new TreeMap<>();
+		identities.stream().sorted(Comparator.comparing(NodeDescriptor::id)).forEach(
+				identity -> racks.computeIfAbsent(identity.rack(), key -> new TreeMap<>())
+				                 .computeIfAbsent(identity.host(), key -> new ArrayList<>())
+				                 .add(identity));
+
+		final CompactTopology.Builder builder = CompactTopology.builder(
+				identities.stream().map(NodeDescriptor::id).collect(toSet()));
+		final List<List<NodeDescriptor>> rackGroups = new ArrayList<>(racks.size());
+		racks.values().forEach(hosts -> {
+			hosts.values().forEach(nodes -> connectHost(builder, nodes));
+			connectGroups(builder, ImmutableList.copyOf(hosts.values()));
+			rackGroups.add(hosts.values().stream().flatMap(List::stream).collect(toList()));
+		});
+		connectGroups(builder, rackGroups);
+		return builder.build();
+	}
+
+	@Override public String toString() {
+		return name();
+	}
+
+	private void connectHost(final CompactTopology.@NonNull Builder builder,
+	                         @NonNull final List<NodeDescriptor> nodes) {
+		assert (builder != null) && (nodes != null);
+		final int size = nodes.size();
+		if (size <= hostClique) {
+			for (final NodeDescriptor source : nodes) {
+				for (final NodeDescriptor target : nodes) {
+					if (source != target) {
+						builder.addEdge(source.id(), target.id());
+					}
+				}
+			}
+			return;
+		}
+		for (int i = 0; i < size; i++) {
+			connect(builder, nodes.get(i), nodes.get((i + 1) % size));
+		}
+	}
+
+	/**
+	 * Connects consecutive groups (in a ring) with bridge edges.
+	 */
+	private static void connectGroups(final CompactTopology.@NonNull Builder builder,
+	                                  @NonNull final List<List<NodeDescriptor>> groups) {
+		assert (builder != null) && (groups != null);
+		final int count = groups.size();
+		if (count < 2) {
+			return;
+		}
+		// With two groups the ring degenerates to a single bridge
+		final int bridges = (count == 2) ? 1 : count;
+		for (int i = 0; i < bridges; i++) {
+			final List<NodeDescriptor> first = groups.get(i);
+			final List<NodeDescriptor> second = groups.get((i + 1) % count);
+			NodeDescriptor source = first.get(first.size() - 1);
+			NodeDescriptor target = second.get(0);
+			long best = Long.MAX_VALUE;
+			for (final NodeDescriptor a : first) {
+				for (final NodeDescriptor b : second) {
+					final long roundTripTime = roundTripTime(a, b);
+					if (roundTripTime < best) {
+						best = roundTripTime;
+						source = a;
+						target = b;
+					}
+				}
+			}
+			connect(builder, source, target);
+		}
+	}
+
+	/**
+	 * Returns the round-trip time measured by either of the nodes or {@link Long#MAX_VALUE} if it is not known.
+	 */
+	private static long roundTripTime(@NonNull final NodeDescriptor a, @NonNull final NodeDescriptor b) {
+		final Map<String, Long> fromA = a.roundTripTimes();
+		final Map<String, Long> fromB = b.roundTripTimes();
+		final long ab = fromA.getOrDefault(b.id(), Long.MAX_VALUE);
+		final long ba = fromB.getOrDefault(a.id(), Long.MAX_VALUE);
+		return Math.min(ab, ba);
+	}
+
+	private static void connect(final CompactTopology.@NonNull Builder builder, @NonNull final NodeDescriptor a,
+	                            @NonNull final NodeDescriptor b) {
+		if (a != b) {
+			builder.addEdge(a.id(), b.id());
+			builder.addEdge(b.id(), a.id());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+import org.age.services.identity.NodeDescriptor;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Random;
+import java.util.Set;
+
+import javax.inject.Named;
+
+/**
+ * Random regular topology generator.
+ * <p>
+ * Creates a connected, undirected graph in which every node has the same degree (by default 4). The generator starts
+ * from a circulant graph (every node connected with the nearest nodes on a ring) and randomizes it with
+ * degree-preserving edge switches. The random generator is seeded, so the same set of nodes always gives the same
+ * topology on every node.
+ * <p>
+ * If both the degree and the number of nodes are odd, the degree is decreased by one.
+ */
+@Named
+public final class RandomRegularTopologyProcessor implements TopologyProcessor {
+
+	private static final int SWITCHES_PER_EDGE = 10;
+
+	private static final int MAX_ATTEMPTS = 10;
+
+	@Value("${age.topology.random-regular.degree:4}") private int degree = 4;
+
+	@Value("${age.topology.random-regular.seed:0}") private long seed = 0L;
+
+	@Override public @NonNull String name() {
+		return "random regular";
+	}
+
+	@Override public @NonNull DirectedGraph<String, DefaultEdge> createGraphFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		return createTopologyFrom(identities).toGraph();
+	}
+
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+		checkArgument(degree > 0, "Degree must be positive.");
+
+		final CompactTopology.Builder builder = CompactTopology.builder(
+				identities.stream().map(NodeDescriptor::id).collect(toSet()));
+		final int size = builder.size();
+		int k = Math.min(degree, size - 1);
+		if (((k % 2) == 1) && ((size % 2) == 1)) {
+			k--;
+		}
+		if (k <= 0) {
+			return builder.build();
+		}
+
+		final Random random = new Random(seed ^ size);
+		UndirectedEdges edges = null;
+		for (int attempt = 0; (attempt < MAX_ATTEMPTS) && ((edges == null) || !edges.isConnected()); attempt++) {
+			edges = UndirectedEdges.circulant(size, k);
+			edges.randomize(random, SWITCHES_PER_EDGE * edges.count());
+		}
+		if (!edges.isConnected()) {
+			// Very unlikely - falling back to the circulant graph, which is always connected
+			edges = UndirectedEdges.circulant(size, k);
+		}
+		edges.addTo(builder);
+		return builder.build();
+	}
+
+	@Override public String toString() {
+		return name();
+	}
+}
@@ -23,6 +23,7 @@
 
 package org.age.services.topology.processors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Iterables.getLast;
 import static java.util.Objects.requireNonNull;
 
@@ -35,6 +36,8 @@ import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.UnmodifiableDirectedGraph;
 
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -49,6 +52,8 @@ import javax.inject.Named;
  * <li> for two nodes: [(2,1), (1,2)]
  * <li> for three nodes: (3,1), (1,2), (2,3)
  * </ul>
+ * <p>
+ * Incremental changes affect only the neighbours of the added or removed node in the ring.
  */
 @Named
 public final class RingTopologyProcessor implements TopologyProcessor {
@@ -68,13 +73,77 @@ public final class RingTopologyProcessor implements TopologyProcessor {
 		                                         .map(NodeDescriptor::id)
 		                                         .sorted()
 		                                         .collect(Collectors.toList());
-		sortedIds.stream().reduce(getLast(sortedIds), (nodeIdentity1, nodeIdentity2) -> {
-			graph.addEdge(nodeIdentity1, nodeIdentity2);
-			return nodeIdentity2;
-		});
+		if (!sortedIds.isEmpty()) {
+			sortedIds.stream().reduce(getLast(sortedIds), (nodeIdentity1, nodeIdentity2) -> {
+				graph.addEdge(nodeIdentity1, nodeIdentity2);
+				return nodeIdentity2;
+			});
+		}
 		return new UnmodifiableDirectedGraph<>(graph);
 	}
 
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+
+		final Set<String> nodeIds = identities.stream().map(NodeDescriptor::id).collect(Collectors.toSet());
+		final CompactTopology.Builder builder = CompactTopology.builder(nodeIds);
+		final int size = nodeIds.size();
+		for (int i = 0; i < size; i++) {
+			builder.addEdge(i, (i + 1) % size);
+		}
+		return builder.build();
+	}
+
+	@Override public @NonNull Optional<TopologyDelta> nodeAdded(final @NonNull CompactTopology topology,
+	                                                            final @NonNull NodeDescriptor identity) {
+		final String nodeId = identity.id();
+		final NavigableSet<String> nodes = topology.nodes();
+		checkArgument(!nodes.contains(nodeId), "Node %s is already in the topology.", nodeId);
+
+		final TopologyDelta.Builder delta = TopologyDelta.builder().addNode(nodeId);
+		if (nodes.isEmpty()) {
+			delta.addEdge(nodeId, nodeId);
+		} else {
+			final String predecessor = predecessorOf(nodes, nodeId);
+			final String successor = successorOf(nodes, nodeId);
+			delta.removeEdge(predecessor, successor).addEdge(predecessor, nodeId).addEdge(nodeId, successor);
+		}
+		return Optional.of(delta.build());
+	}
+
+	@Override public @NonNull Optional<TopologyDelta> nodeRemoved(final @NonNull CompactTopology topology,
+	                                                              final @NonNull String nodeId) {
+		final NavigableSet<String> nodes = topology.nodes();
+		checkArgument(nodes.contains(nodeId), "Node %s is not in the topology.", nodeId);
+
+		final TopologyDelta.Builder delta = TopologyDelta.builder().removeNode(nodeId);
+		if (nodes.size() > 1) {
+			delta.addEdge(predecessorOf(nodes, nodeId), successorOf(nodes, nodeId));
+		}
+		return Optional.of(delta.build());
+	}
+
+	/**
+	 * Returns the largest node smaller than the given one or the largest node if there is no such node (the ring
+	 * wraps). Requires at least one other node.
+	 */
+	private static @NonNull String predecessorOf(final @NonNull NavigableSet<String> nodes,
+	                                            final @NonNull String nodeId) {
+		final String lower = nodes.lower(nodeId);
+		return (lower != null) ? lower : nodes.last();
+	}
+
+	/**
+	 * Returns the smallest node larger than the given one or the smallest node if there is no such node (the ring
+	 * wraps). Requires at least one other node.
+	 */
+	private static @NonNull String successorOf(final @NonNull NavigableSet<String> nodes,
+	                                          final @NonNull String nodeId) {
+		final String higher = nodes.higher(nodeId);
+		return (higher != null) ? higher : nodes.first();
+	}
+
 	@Override public String toString() {
 		return name();
 	}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+import org.age.services.identity.NodeDescriptor;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Random;
+import java.util.Set;
+
+import javax.inject.Named;
+
+/**
+ * Watts-Strogatz small-world topology generator.
+ * <p>
+ * Starts from a ring lattice in which every node is connected with {@code k / 2} nearest nodes on each side (by
+ * default {@code k = 4}). Then every lattice edge is rewired to a random node with the given probability (by default
+ * 0.1). Edges between direct ring neighbours are never rewired, so the topology is always connected. Rewired edges
+ * only target nodes with the degree lower than {@code 2k}, which bounds the degree of every node.
+ * <p>
+ * The random generator is seeded, so the same set of nodes always gives the same topology on every node.
+ */
+@Named
+public final class SmallWorldTopologyProcessor implements TopologyProcessor {
+
+	private static final int MAX_TARGET_DRAWS = 16;
+
+	@Value("${age.topology.small-world.neighbours:4}") private int neighbours = 4;
+
+	@Value("${age.topology.small-world.rewiring:0.1}") private double rewiringProbability = 0.1;
+
+	@Value("${age.topology.small-world.seed:0}") private long seed = 0L;
+
+	@Override public @NonNull String name() {
+		return "small world";
+	}
+
+	@Override public @NonNull DirectedGraph<String, DefaultEdge> createGraphFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		return createTopologyFrom(identities).toGraph();
+	}
+
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+		checkArgument(neighbours >= 2, "Number of neighbours must be at least 2.");
+		checkArgument((rewiringProbability >= 0) && (rewiringProbability <= 1), "Wrong rewiring probability.");
+
+		final CompactTopology.Builder builder = CompactTopology.builder(
+				identities.stream().map(NodeDescriptor::id).collect(toSet()));
+		final int size = builder.size();
+		final int k = Math.min(neighbours - (neighbours % 2), size - 1);
+		if (k <= 0) {
+			return builder.build();
+		}
+
+		final UndirectedEdges edges = UndirectedEdges.circulant(size, k);
+		final int maxDegree = 2 * k;
+		final Random random = new Random(seed ^ size);
+		for (int edge = 0; edge < edges.count(); edge++) {
+			final int source = edges.source(edge);
+			final int target = edges.target(edge);
+			if (isRingEdge(source, target, size) || (random.nextDouble() >= rewiringProbability)) {
+				continue;
+			}
+			for (int draw = 0; draw < MAX_TARGET_DRAWS; draw++) {
+				final int newTarget = random.nextInt(size);
+				if ((edges.degree(newTarget) < maxDegree) && edges.replace(edge, source, newTarget)) {
+					break;
+				}
+			}
+		}
+		edges.addTo(builder);
+		return builder.build();
+	}
+
+	private static boolean isRingEdge(final int source, final int target, final int size) {
+		final int distance = Math.abs(source - target);
+		return (distance == 1) || (distance == (size - 1));
+	}
+
+	@Override public String toString() {
+		return name();
+	}
+}
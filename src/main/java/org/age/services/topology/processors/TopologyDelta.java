@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A change of a topology graph caused by added or removed nodes.
+ * <p>
+ * The delta is applied in the following order: removal of nodes (together with all their edges), removal of edges,
+ * addition of nodes, addition of edges. Thus, a node that is both removed and added loses all its previous edges.
+ */
+@Immutable
+public final class TopologyDelta implements Serializable {
+
+	private static final long serialVersionUID = 3406475470536457312L;
+
+	private static final TopologyDelta EMPTY = builder().build();
+
+	private final ImmutableSet<String> removedNodes;
+
+	private final ImmutableSetMultimap<String, String> removedEdges;
+
+	private final ImmutableSet<String> addedNodes;
+
+	private final ImmutableSetMultimap<String, String> addedEdges;
+
+	private TopologyDelta(@NonNull final Builder builder) {
+		removedNodes = ImmutableSet.copyOf(builder.removedNodes);
+		removedEdges = ImmutableSetMultimap.copyOf(builder.removedEdges);
+		addedNodes = ImmutableSet.copyOf(builder.addedNodes);
+		addedEdges = ImmutableSetMultimap.copyOf(builder.addedEdges);
+	}
+
+	@NonNull public static TopologyDelta empty() {
+		return EMPTY;
+	}
+
+	@NonNull public static Builder builder() {
+		return new Builder();
+	}
+
+	@NonNull public ImmutableSet<String> removedNodes() {
+		return removedNodes;
+	}
+
+	/**
+	 * Returns removed edges (source to targets). Edges of removed nodes are not included.
+	 */
+	@NonNull public ImmutableSetMultimap<String, String> removedEdges() {
+		return removedEdges;
+	}
+
+	@NonNull public ImmutableSet<String> addedNodes() {
+		return addedNodes;
+	}
+
+	/**
+	 * Returns added edges (source to targets).
+	 */
+	@NonNull public ImmutableSetMultimap<String, String> addedEdges() {
+		return addedEdges;
+	}
+
+	public boolean isEmpty() {
+		return removedNodes.isEmpty() && removedEdges.isEmpty() && addedNodes.isEmpty() && addedEdges.isEmpty();
+	}
+
+	/**
+	 * Applies the delta to the given (modifiable) graph.
+	 *
+	 * @param graph
+	 * 		a graph to modify.
+	 */
+	public void applyTo(@NonNull final DirectedGraph<String, DefaultEdge> graph) {
+		requireNonNull(graph);
+		removedNodes.forEach(graph::removeVertex);
+		removedEdges.entries().forEach(edge -> {
+			if (graph.containsVertex(edge.getKey()) && graph.containsVertex(edge.getValue())) {
+				graph.removeEdge(edge.getKey(), edge.getValue());
+			}
+		});
+		addedNodes.forEach(graph::addVertex);
+		addedEdges.entries().forEach(edge -> graph.addEdge(edge.getKey(), edge.getValue()));
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("-nodes", removedNodes.size())
+		                           .add("-edges", removedEdges.size())
+		                           .add("+nodes", addedNodes.size())
+		                           .add("+edges", addedEdges.size())
+		                           .toString();
+	}
+
+	/**
+	 * Builder of deltas. Operations are composed, so the built delta has the same effect as all operations applied in
+	 * the order of calls.
+	 */
+	public static final class Builder {
+
+		private final Set<String> removedNodes = new LinkedHashSet<>();
+
+		private final SetMultimap<String, String> removedEdges = HashMultimap.create();
+
+		private final Set<String> addedNodes = new LinkedHashSet<>();
+
+		private final SetMultimap<String, String> addedEdges = HashMultimap.create();
+
+		private Builder() {}
+
+		@NonNull public Builder removeNode(@NonNull final String node) {
+			requireNonNull(node);
+			addedNodes.remove(node);
+			addedEdges.removeAll(node);
+			addedEdges.entries().removeIf(edge -> edge.getValue().equals(node));
+			removedEdges.removeAll(node);
+			removedEdges.entries().removeIf(edge -> edge.getValue().equals(node));
+			removedNodes.add(node);
+			return this;
+		}
+
+		@NonNull public Builder removeEdge(@NonNull final String source, @NonNull final String target) {
+			requireNonNull(source);
+			requireNonNull(target);
+			addedEdges.remove(source, target);
+			removedEdges.put(source, target);
+			return this;
+		}
+
+		@NonNull public Builder addNode(@NonNull final String node) {
+			addedNodes.add(requireNonNull(node));
+			return this;
+		}
+
+		@NonNull public Builder addEdge(@NonNull final String source, @NonNull final String target) {
+			requireNonNull(source);
+			requireNonNull(target);
+			removedEdges.remove(source, target);
+			addedEdges.put(source, target);
+			return this;
+		}
+
+		/**
+		 * Appends all operations of the given delta.
+		 */
+		@NonNull public Builder merge(@NonNull final TopologyDelta delta) {
+			requireNonNull(delta);
+			delta.removedNodes.forEach(this::removeNode);
+			delta.removedEdges.entries().forEach(edge -> removeEdge(edge.getKey(), edge.getValue()));
+			delta.addedNodes.forEach(this::addNode);
+			delta.addedEdges.entries().forEach(edge -> addEdge(edge.getKey(), edge.getValue()));
+			return this;
+		}
+
+		@NonNull public TopologyDelta build() {
+			return new TopologyDelta(this);
+		}
+	}
+}
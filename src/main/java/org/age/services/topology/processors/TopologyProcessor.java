@@ -25,10 +25,15 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * Topology processor generates a topology graph from the given set of nodes.
+ * <p>
+ * Processors may also support incremental maintenance of the topology: for a single added or removed node they
+ * return a delta that transforms the current topology into the one that {@link #createTopologyFrom} would create.
+ * Processors that do not support it return an empty optional and the topology is rebuilt.
  */
 @FunctionalInterface
 public interface TopologyProcessor {
@@ -62,4 +67,52 @@ public interface TopologyProcessor {
 	 * @return a directed graph of node connections.
 	 */
 	@NonNull DirectedGraph<String, DefaultEdge> createGraphFrom(@NonNull Set<? extends NodeDescriptor> identities);
+
+	/**
+	 * Returns a compact topology based on the given set of nodes.
+	 *
+	 * By default converts the result of {@link #createGraphFrom}.
+	 *
+	 * @param identities
+	 * 		node identities.
+	 *
+	 * @return a compact topology equivalent to the graph created by {@link #createGraphFrom}.
+	 */
+	default @NonNull CompactTopology createTopologyFrom(@NonNull final Set<? extends NodeDescriptor> identities) {
+		return CompactTopology.fromGraph(createGraphFrom(identities));
+	}
+
+	/**
+	 * Returns a delta that adds the given node to the topology.
+	 *
+	 * By default returns an empty optional (incremental maintenance is not supported).
+	 *
+	 * @param topology
+	 * 		the current topology (created by this processor).
+	 * @param identity
+	 * 		the identity of the added node.
+	 *
+	 * @return a delta to apply to the topology or empty if the topology must be rebuilt.
+	 */
+	default @NonNull Optional<TopologyDelta> nodeAdded(@NonNull final CompactTopology topology,
+	                                                  @NonNull final NodeDescriptor identity) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns a delta that removes the given node from the topology.
+	 *
+	 * By default returns an empty optional (incremental maintenance is not supported).
+	 *
+	 * @param topology
+	 * 		the current topology (created by this processor).
+	 * @param nodeId
+	 * 		the ID of the removed node.
+	 *
+	 * @return a delta to apply to the topology or empty if the topology must be rebuilt.
+	 */
+	default @NonNull Optional<TopologyDelta> nodeRemoved(@NonNull final CompactTopology topology,
+	                                                    @NonNull final String nodeId) {
+		return Optional.empty();
+	}
 }
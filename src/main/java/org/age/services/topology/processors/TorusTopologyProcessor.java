@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+import org.age.services.identity.NodeDescriptor;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.Set;
+
+import javax.inject.Named;
+
+/**
+ * Two-dimensional torus topology generator.
+ * <p>
+ * Nodes (sorted by their IDs) are laid out row by row on a grid with {@code floor(sqrt(N))} rows. Every node is
+ * connected in both directions with its right and lower neighbours, wrapping around the edges of the grid (the last
+ * row may be shorter). Thus, the degree of every node is at most 4 and the diameter is O(sqrt(N)).
+ */
+@Named
+public final class TorusTopologyProcessor implements TopologyProcessor {
+
+	@Override public @NonNull String name() {
+		return "torus";
+	}
+
+	@Override public @NonNull DirectedGraph<String, DefaultEdge> createGraphFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		return createTopologyFrom(identities).toGraph();
+	}
+
+	@Override public @NonNull CompactTopology createTopologyFrom(
+			final @NonNull Set<? extends NodeDescriptor> identities) {
+		requireNonNull(identities);
+
+		final CompactTopology.Builder builder = CompactTopology.builder(
+				identities.stream().map(NodeDescriptor::id).collect(toSet()));
+		final int size = builder.size();
+		if (size == 0) {
+			return builder.build();
+		}
+
+		final int rows = (int)Math.sqrt(size);
+		final int columns = (size + rows - 1) / rows;
+		for (int i = 0; i < size; i++) {
+			final int rowStart = (i / columns) * columns;
+			final int rowLength = Math.min(columns, size - rowStart);
+			connect(builder, i, rowStart + (((i - rowStart) + 1) % rowLength));
+			connect(builder, i, ((i + columns) < size) ? (i + columns) : (i % columns));
+		}
+		return builder.build();
+	}
+
+	private static void connect(final CompactTopology.@NonNull Builder builder, final int first, final int second) {
+		if (first != second) {
+			builder.addEdge(first, second).addEdge(second, first);
+		}
+	}
+
+	@Override public String toString() {
+		return name();
+	}
+}
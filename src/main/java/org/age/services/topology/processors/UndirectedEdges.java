@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A mutable list of undirected edges between node indices, without loops and parallel edges.
+ * <p>
+ * Used by generators of random topologies.
+ */
+final class UndirectedEdges {
+
+	private final int size;
+
+	private final int[] degrees;
+
+	private final Set<Long> keys = new HashSet<>();
+
+	private int[] sources = new int[16];
+
+	private int[] targets = new int[16];
+
+	private int count;
+
+	UndirectedEdges(final int size) {
+		assert size >= 0;
+		this.size = size;
+		degrees = new int[size];
+	}
+
+	/**
+	 * Creates a circulant graph in which every node is connected with {@code k / 2} nearest nodes on each side of the
+	 * ring and, for odd {@code k}, with the opposite node.
+	 */
+	@NonNull static UndirectedEdges circulant(final int size, final int k) {
+		assert (k < size) && (((k % 2) == 0) || ((size % 2) == 0));
+		final UndirectedEdges edges = new UndirectedEdges(size);
+		for (int i = 0; i < size; i++) {
+			for (int j = 1; j <= (k / 2); j++) {
+				edges.add(i, (i + j) % size);
+			}
+		}
+		if ((k % 2) == 1) {
+			for (int i = 0; i < (size / 2); i++) {
+				edges.add(i, i + (size / 2));
+			}
+		}
+		return edges;
+	}
+
+	int count() {
+		return count;
+	}
+
+	int source(final int edge) {
+		return sources[edge];
+	}
+
+	int target(final int edge) {
+		return targets[edge];
+	}
+
+	int degree(final int node) {
+		return degrees[node];
+	}
+
+	boolean contains(final int first, final int second) {
+		return keys.contains(key(first, second));
+	}
+
+	/**
+	 * Adds an edge.
+	 *
+	 * @return false if the edge is a loop or already exists.
+	 */
+	boolean add(final int first, final int second) {
+		if ((first == second) || !keys.add(key(first, second))) {
+			return false;
+		}
+		if (count == sources.length) {
+			sources = Arrays.copyOf(sources, 2 * count);
+			targets = Arrays.copyOf(targets, 2 * count);
+		}
+		sources[count] = first;
+		targets[count] = second;
+		count++;
+		degrees[first]++;
+		degrees[second]++;
+		return true;
+	}
+
+	/**
+	 * Replaces the given edge with a new one.
+	 *
+	 * @return false if the new edge is a loop or already exists (nothing is changed then).
+	 */
+	boolean replace(final int edge, final int first, final int second) {
+		if ((first == second) || contains(first, second)) {
+			return false;
+		}
+		keys.remove(key(sources[edge], targets[edge]));
+		degrees[sources[edge]]--;
+		degrees[targets[edge]]--;
+		keys.add(key(first, second));
+		sources[edge] = first;
+		targets[edge] = second;
+		degrees[first]++;
+		degrees[second]++;
+		return true;
+	}
+
+	/**
+	 * Performs the given number of random degree-preserving switches: edges (a, b) and (c, d) are replaced with (a, d)
+	 * and (c, b).
+	 */
+	void randomize(@NonNull final Random random, final int switches) {
+		if (count < 2) {
+			return;
+		}
+		for (int i = 0; i < switches; i++) {
+			final int edge1 = random.nextInt(count);
+			final int edge2 = random.nextInt(count);
+			final int a = sources[edge1];
+			final int b = targets[edge1];
+			final boolean flip = random.nextBoolean();
+			final int c = flip ? targets[edge2] : sources[edge2];
+			final int d = flip ? sources[edge2] : targets[edge2];
+			if ((a == c) || (a == d) || (b == c) || (b == d) || contains(a, d) || contains(c, b)) {
+				continue;
+			}
+			replace(edge1, a, d);
+			replace(edge2, c, b);
+		}
+	}
+
+	boolean isConnected() {
+		if (size == 0) {
+			return true;
+		}
+		final int[] parents = new int[size];
+		for (int i = 0; i < size; i++) {
+			parents[i] = i;
+		}
+		int components = size;
+		for (int i = 0; i < count; i++) {
+			final int root1 = find(parents, sources[i]);
+			final int root2 = find(parents, targets[i]);
+			if (root1 != root2) {
+				parents[root1] = root2;
+				components--;
+			}
+		}
+		return components == 1;
+	}
+
+	/**
+	 * Adds all edges to the builder (in both directions).
+	 */
+	void addTo(final CompactTopology.@NonNull Builder builder) {
+		for (int i = 0; i < count; i++) {
+			builder.addEdge(sources[i], targets[i]).addEdge(targets[i], sources[i]);
+		}
+	}
+
+	private static int find(final int[] parents, final int node) {
+		int root = node;
+		while (parents[root] != root) {
+			parents[root] = parents[parents[root]];
+			root = parents[root];
+		}
+		return root;
+	}
+
+	private static long key(final int first, final int second) {
+		return ((long)Math.min(first, second) << 32) | Math.max(first, second);
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("nodes", size).add("edges", count).toString();
+	}
+}
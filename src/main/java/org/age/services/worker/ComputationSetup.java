@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * Payload of {@link WorkerMessage.Type#LOAD_CLASS} and {@link WorkerMessage.Type#LOAD_CONFIGURATION} messages that
+ * requests a pool of workers on every node.
+ * <p>
+ * Each worker is an independent instance of the task with its own address. A plain class name or config path as the
+ * payload sets up a single worker.
+ */
+@Immutable
+public final class ComputationSetup implements Serializable {
+
+	/**
+	 * Requests one worker per available processor.
+	 */
+	public static final int ALL_PROCESSORS = 0;
+
+	private static final long serialVersionUID = -1404934431938547711L;
+
+	private final String source;
+
+	private final int workers;
+
+	private ComputationSetup(@NonNull final String source, final int workers) {
+		this.source = requireNonNull(source);
+		this.workers = workers;
+	}
+
+	/**
+	 * Creates a setup request.
+	 *
+	 * @param source
+	 * 		a class name or a config path (depending on the message type).
+	 * @param workers
+	 * 		a number of workers per node or {@link #ALL_PROCESSORS}.
+	 */
+	@NonNull public static ComputationSetup of(@NonNull final String source, final int workers) {
+		checkArgument(workers >= ALL_PROCESSORS, "Number of workers cannot be negative.");
+		return new ComputationSetup(source, workers);
+	}
+
+	@NonNull public String source() {
+		return source;
+	}
+
+	/**
+	 * Returns the requested number of workers per node (or {@link #ALL_PROCESSORS}).
+	 */
+	public int workers() {
+		return workers;
+	}
+
+	/**
+	 * Returns the number of workers to create on a node with the given number of processors.
+	 */
+	public int workersFor(final int availableProcessors) {
+		checkArgument(availableProcessors > 0, "Number of processors must be positive.");
+		return (workers == ALL_PROCESSORS) ? availableProcessors : workers;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("source", source).add("workers", workers).toString();
+	}
+}
@@ -54,7 +54,28 @@ public class WorkerMessage<T extends Serializable> implements Serializable {
 		START_COMPUTATION(false),
 		BROADCAST_MESSAGE(true, false),
 		UNICAST_CONTROL(true, false),
-		UNICAST_MESSAGE(true, false);
+		UNICAST_MESSAGE(true, false),
+		/**
+		 * An envelope for several messages sent to the same destination (see {@code MessageBatch}).
+		 */
+		BATCH,
+		/**
+		 * Flow control credits returned by a receiver of unicast messages (see {@code CreditGrant}).
+		 */
+		UNICAST_CREDIT(true, false),
+		/**
+		 * A message relayed through the whole topology (see {@code GossipMessage}).
+		 */
+		GOSSIP_MESSAGE(true, false),
+		/**
+		 * A partial result of a collective operation (see {@code CollectiveMessage}).
+		 */
+		COLLECTIVE_MESSAGE(true, false),
+		/**
+		 * Load information or a part of a batch of evaluations spilled to another node (see
+		 * {@code EvaluationMessage}).
+		 */
+		EVALUATION_MESSAGE(true, false);
 
 		private final boolean payloadRequired;
 
@@ -82,7 +103,17 @@ public class WorkerMessage<T extends Serializable> implements Serializable {
 		}
 	}
 
-	private static final long serialVersionUID = -6353101926420379298L;
+	/**
+	 * The epoch of messages sent without a topology (such messages are never considered stale).
+	 */
+	public static final long NO_EPOCH = 0L;
+
+	/**
+	 * The ID of the computation that messages belong to unless they are addressed to another one.
+	 */
+	public static final String DEFAULT_COMPUTATION = "default";
+
+	private static final long serialVersionUID = 4108227386319528461L;
 
 	private final Type type;
 
@@ -92,12 +123,18 @@ public class WorkerMessage<T extends Serializable> implements Serializable {
 
 	private final T payload;
 
+	private final long epoch;
+
+	private final String computation;
+
 	WorkerMessage(@NonNull final Type type, @Nullable final T payload) {
 		this.type = requireNonNull(type);
 		checkArgument(type.isBroadcast(), "Message type must allow broadcasts.");
 		this.payload = payload;
 		recipients = ImmutableSet.of();
 		broadcast = true;
+		epoch = NO_EPOCH;
+		computation = DEFAULT_COMPUTATION;
 	}
 
 	WorkerMessage(@NonNull final Type type, @NonNull final Set<String> recipients, @Nullable final T payload) {
@@ -106,6 +143,18 @@ public class WorkerMessage<T extends Serializable> implements Serializable {
 		checkArgument(!recipients.isEmpty(), "Recipients cannot be empty.");
 		broadcast = false;
 		this.payload = payload;
+		epoch = NO_EPOCH;
+		computation = DEFAULT_COMPUTATION;
+	}
+
+	private WorkerMessage(@NonNull final WorkerMessage<T> source, @NonNull final Set<String> recipients,
+	                      final long epoch, @NonNull final String computation) {
+		type = source.type;
+		broadcast = source.broadcast;
+		this.recipients = ImmutableSet.copyOf(recipients);
+		payload = source.payload;
+		this.epoch = epoch;
+		this.computation = computation;
 	}
 
 	@NonNull public static WorkerMessage<Serializable> createBroadcastWithoutPayload(@NonNull final Type type) {
@@ -150,10 +199,58 @@ public class WorkerMessage<T extends Serializable> implements Serializable {
 		return (X)payload;
 	}
 
-	@NonNull protected Set<String> recipients() {
+	@NonNull public Set<String> recipients() {
 		return recipients;
 	}
 
+	/**
+	 * Returns a copy of this message addressed to the given recipients.
+	 *
+	 * @param newRecipients
+	 * 		recipients of the copy, cannot be empty.
+	 */
+	@NonNull public WorkerMessage<T> withRecipients(@NonNull final Set<String> newRecipients) {
+		checkState(!broadcast, "Cannot readdress a broadcast message.");
+		checkArgument(!newRecipients.isEmpty(), "Recipients cannot be empty.");
+		return new WorkerMessage<>(this, newRecipients, epoch, computation);
+	}
+
+	/**
+	 * Returns the epoch of the topology the message was sent in ({@link #NO_EPOCH} if unknown).
+	 */
+	public long epoch() {
+		return epoch;
+	}
+
+	/**
+	 * Returns a copy of this message stamped with the given topology epoch.
+	 *
+	 * @param newEpoch
+	 * 		the epoch of the topology used by the sender.
+	 */
+	@NonNull public WorkerMessage<T> withEpoch(final long newEpoch) {
+		checkArgument(newEpoch >= NO_EPOCH, "Epoch cannot be negative.");
+		return new WorkerMessage<>(this, recipients, newEpoch, computation);
+	}
+
+	/**
+	 * Returns the ID of the computation this message belongs to ({@link #DEFAULT_COMPUTATION} if not set).
+	 */
+	@NonNull public String computation() {
+		return computation;
+	}
+
+	/**
+	 * Returns a copy of this message addressed to the given computation.
+	 *
+	 * @param newComputation
+	 * 		ID of the computation, cannot be empty.
+	 */
+	@NonNull public WorkerMessage<T> withComputation(@NonNull final String newComputation) {
+		checkArgument(!newComputation.isEmpty(), "Computation ID cannot be empty.");
+		return new WorkerMessage<>(this, recipients, epoch, newComputation);
+	}
+
 	public boolean isRecipient(@NonNull final String id) {
 		return broadcast || recipients.contains(requireNonNull(id));
 	}
@@ -166,6 +263,8 @@ public class WorkerMessage<T extends Serializable> implements Serializable {
 		return toStringHelper(this).add("type", type)
 		                           .add("broadcast", broadcast)
 		                           .add("recipients", recipients)
+		                           .add("epoch", epoch)
+		                           .add("computation", computation)
 		                           .addValue(payload)
 		                           .toString();
 	}
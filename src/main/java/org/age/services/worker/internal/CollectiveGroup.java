@@ -0,0 +1,468 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.discovery.DiscoveryService;
+import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeIdentityService;
+import org.age.services.topology.TopologyService;
+import org.age.services.topology.processors.CompactTopology;
+import org.age.services.worker.ComputationSetup;
+import org.age.services.worker.WorkerMessage;
+import org.age.services.worker.internal.CollectiveMessage.Direction;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * The node part of collective operations of a computation, shared by its local workers (see
+ * {@link DefaultCollectiveOperations}).
+ * <p>
+ * Every operation has two phases. First, values of the local workers are combined. Then the last worker that arrives
+ * performs the operation across nodes over a {@link MemberTree} spanning the topology nodes and rooted at the master:
+ * partial results travel up the tree (from children to parents) and final results travel down. Messages that arrive
+ * before the local workers start an operation wait in the mailbox of the operation.
+ * <p>
+ * Workers are ranked by the ranks of their nodes in the tree and then by their indexes on the node. Numbers of workers
+ * on other nodes are computed from the setup of the computation and the numbers of cores of the nodes.
+ */
+@Named
+@Lazy
+@ThreadSafe
+final class CollectiveGroup implements CommunicationFacility {
+
+	private static final Logger log = LoggerFactory.getLogger(CollectiveGroup.class);
+
+	private final AtomicInteger localWorkers = new AtomicInteger();
+
+	private final ConcurrentMap<Long, LocalRound> rounds = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+	/**
+	 * The sequence of the last finished operation. Operations of a group finish in the order of their sequences.
+	 */
+	private final AtomicLong completedSequence = new AtomicLong();
+
+	@Value("${age.worker.collective.arity:2}") private int arity = 2;
+
+	@Value("${age.worker.collective.timeout-seconds:60}") private long timeoutSeconds = 60L;
+
+	@Inject @Named("default") private @MonotonicNonNull TopologyService topologyService;
+
+	@Inject private @MonotonicNonNull WorkerCommunication workerCommunication;
+
+	@Inject private @MonotonicNonNull NodeIdentityService identityService;
+
+	@Inject private @MonotonicNonNull DiscoveryService discoveryService;
+
+	@Inject private @MonotonicNonNull ComputationSetup setup;
+
+	/**
+	 * Adds a local worker to the group.
+	 *
+	 * @return the index of the worker on this node.
+	 */
+	int join() {
+		return localWorkers.getAndIncrement();
+	}
+
+	int rankOf(final int worker) {
+		return layout().offsetOf(identityService.nodeId()) + worker;
+	}
+
+	int size() {
+		return layout().size();
+	}
+
+	@NonNull <T extends Serializable> T allReduce(final long sequence, final int worker, @NonNull final T value,
+	                                              @NonNull final BinaryOperator<T> combiner)
+			throws InterruptedException {
+		return exchange(sequence, worker, value, (operation, values) -> {
+			T partial = null;
+			for (final T localValue : values) {
+				partial = (partial == null) ? localValue : combiner.apply(partial, localValue);
+			}
+			for (final T childValue : operation.<T>receiveFromChildren()) {
+				partial = combiner.apply(partial, childValue);
+			}
+			final T result;
+			if (operation.isRoot()) {
+				result = partial;
+			} else {
+				operation.sendToParent(partial);
+				result = operation.receiveFromParent();
+			}
+			operation.sendToChildren(child -> result);
+			return Collections.nCopies(values.size(), result);
+		});
+	}
+
+	@NonNull <T extends Serializable> Optional<List<T>> gather(final long sequence, final int worker,
+	                                                           @NonNull final T value) throws InterruptedException {
+		return exchange(sequence, worker, value, (operation, values) -> {
+			final List<T> subtreeValues = newArrayList(values);
+			for (final List<T> childValues : operation.<List<T>>receiveFromChildren()) {
+				subtreeValues.addAll(childValues);
+			}
+			final List<Optional<List<T>>> results = newArrayList(
+					Collections.<Optional<List<T>>>nCopies(values.size(), Optional.empty()));
+			if (operation.isRoot()) {
+				results.set(0, Optional.of(ImmutableList.copyOf(subtreeValues)));
+			} else {
+				operation.sendToParent(ImmutableList.copyOf(subtreeValues));
+			}
+			return results;
+		});
+	}
+
+	@NonNull <T extends Serializable> T scatter(final long sequence, final int worker, @NonNull final List<T> values)
+			throws InterruptedException {
+		return exchange(sequence, worker, ImmutableList.copyOf(values), (operation, workerValues) -> {
+			final Layout layout = operation.layout;
+			final List<T> subtreeValues;
+			if (operation.isRoot()) {
+				// Only values of the first worker (rank 0) are used
+				final List<T> allValues = workerValues.get(0);
+				checkArgument(allValues.size() == layout.size(), "Expected %s values, got %s.", layout.size(),
+				              allValues.size());
+				subtreeValues = allValues;
+			} else {
+				subtreeValues = operation.receiveFromParent();
+			}
+			final int offset = layout.offsetOf(operation.self);
+			operation.sendToChildren(child -> {
+				final int from = layout.offsetOf(child) - offset;
+				return ImmutableList.copyOf(subtreeValues.subList(from, from + layout.subtreeSizeOf(child)));
+			});
+			return subtreeValues.subList(0, workerValues.size());
+		});
+	}
+
+	@Override public <T extends Serializable> boolean onMessage(@NonNull final WorkerMessage<T> workerMessage) {
+		log.debug("Received worker message {}.", workerMessage);
+		requireNonNull(workerMessage);
+
+		if (!workerMessage.hasType(WorkerMessage.Type.COLLECTIVE_MESSAGE)) {
+			return false;
+		}
+		final CollectiveMessage message = (CollectiveMessage)workerMessage.requiredPayload();
+		final long sequence = message.sequence();
+		if (sequence <= completedSequence.get()) {
+			log.debug("Collective operation {} has already finished. Dropping {}.", sequence, message);
+			return true;
+		}
+		mailboxes.computeIfAbsent(sequence, key -> new Mailbox()).queue(message.direction()).add(message);
+		// The operation may have finished in the meantime
+		if (sequence <= completedSequence.get()) {
+			mailboxes.remove(sequence);
+		}
+		return true;
+	}
+
+	@Override @NonNull public Set<WorkerMessage.Type> subscribedTypes() {
+		return ImmutableSet.of(WorkerMessage.Type.COLLECTIVE_MESSAGE);
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("workers", localWorkers.get()).add("rounds", rounds.size()).toString();
+	}
+
+	/**
+	 * Waits for all local workers to take part in the operation. The last one performs the operation across nodes.
+	 *
+	 * @param nodeOperation
+	 * 		performs the operation across nodes with values of the local workers (ordered by their indexes) and
+	 * 		returns results for the local workers.
+	 *
+	 * @return the result for the given worker.
+	 */
+	@NonNull private <V extends Serializable, R> R exchange(final long sequence, final int worker,
+	                                                        @NonNull final V value,
+	                                                        @NonNull final NodeOperation<V, R> nodeOperation)
+			throws InterruptedException {
+		assert nonNull(value) && nonNull(nodeOperation);
+
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		final LocalRound round = rounds.computeIfAbsent(sequence, key -> new LocalRound(localWorkers.get()));
+		if (round.arrive(worker, value)) {
+			rounds.remove(sequence);
+			final Operation operation = begin(sequence);
+			try {
+				round.results.set(nodeOperation.apply(operation, round.<V>values()));
+			} catch (final InterruptedException | RuntimeException e) {
+				round.results.setException(e);
+				throw e;
+			} finally {
+				operation.end();
+			}
+		}
+
+		try {
+			return cast(round.results.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS).get(worker));
+		} catch (final TimeoutException ignored) {
+			throw new IllegalStateException(String.format("Local workers did not take part in collective operation "
+			                                              + "%d in time.", sequence));
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(String.format("Collective operation %d failed.", sequence), e.getCause());
+		}
+	}
+
+	@NonNull private Operation begin(final long sequence) {
+		final Layout layout = layout();
+		log.debug("Starting collective operation {} over {}.", sequence, layout.tree);
+		return new Operation(sequence, layout);
+	}
+
+	@NonNull private Layout layout() {
+		final Optional<CompactTopology> topology = topologyService.topology();
+		final Optional<String> masterId = topologyService.masterId();
+		checkState(topology.isPresent() && masterId.isPresent(), "No topology.");
+		final String self = identityService.nodeId();
+		final MemberTree tree = MemberTree.create(topology.get().nodes(), masterId.get(), arity)
+		                                  .filter(t -> t.contains(self))
+		                                  .orElseThrow(() -> new IllegalStateException(
+				                                  "This node is not a part of the topology."));
+		return new Layout(tree);
+	}
+
+	private int workersOn(@NonNull final String nodeId) {
+		if (nodeId.equals(identityService.nodeId())) {
+			return localWorkers.get();
+		}
+		final NodeDescriptor descriptor = discoveryService.member(nodeId).orElseThrow(
+				() -> new IllegalStateException("Unknown node " + nodeId + '.'));
+		return setup.workersFor(descriptor.cores());
+	}
+
+	/**
+	 * Casts a value exchanged in a collective operation. All workers of the computation perform the same operations
+	 * in the same order, so values of a round and of the messages of an operation always have the expected type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V> V cast(final Object value) {
+		return (V)value;
+	}
+
+	@FunctionalInterface
+	private interface NodeOperation<V extends Serializable, R> {
+		@NonNull List<R> apply(@NonNull Operation operation, @NonNull List<V> localValues) throws InterruptedException;
+	}
+
+	/**
+	 * Positions of workers in the order of ranks.
+	 */
+	private final class Layout {
+
+		private final MemberTree tree;
+
+		/**
+		 * Ranks of the first workers of nodes, indexed by ranks of the nodes (with the total size at the end).
+		 */
+		private final int[] offsets;
+
+		private Layout(@NonNull final MemberTree tree) {
+			this.tree = tree;
+			final List<String> nodes = tree.membersByRank();
+			offsets = new int[nodes.size() + 1];
+			for (int rank = 0; rank < nodes.size(); rank++) {
+				offsets[rank + 1] = offsets[rank] + workersOn(nodes.get(rank));
+			}
+		}
+
+		private int size() {
+			return offsets[offsets.length - 1];
+		}
+
+		private int offsetOf(@NonNull final String nodeId) {
+			return offsets[tree.rankOf(nodeId)];
+		}
+
+		/**
+		 * Returns the number of workers in the subtree rooted at the given node.
+		 */
+		private int subtreeSizeOf(@NonNull final String nodeId) {
+			final int rank = tree.rankOf(nodeId);
+			return offsets[rank + tree.subtreeSizeOf(nodeId)] - offsets[rank];
+		}
+	}
+
+	/**
+	 * Values of local workers taking part in an operation.
+	 */
+	private static final class LocalRound {
+
+		private final Serializable[] values;
+
+		private final AtomicInteger arrived = new AtomicInteger();
+
+		private final SettableFuture<List<?>> results = SettableFuture.create();
+
+		private LocalRound(final int workers) {
+			values = new Serializable[workers];
+		}
+
+		/**
+		 * @return true if all workers have arrived.
+		 */
+		private boolean arrive(final int worker, @NonNull final Serializable value) {
+			values[worker] = value;
+			return arrived.incrementAndGet() == values.length;
+		}
+
+		@NonNull private <V extends Serializable> List<V> values() {
+			return cast(Arrays.asList(values));
+		}
+	}
+
+	private final class Operation {
+
+		private final long sequence;
+
+		private final Layout layout;
+
+		private final MemberTree tree;
+
+		private final String self;
+
+		private final Mailbox mailbox;
+
+		private final long deadline;
+
+		private Operation(final long sequence, @NonNull final Layout layout) {
+			this.sequence = sequence;
+			this.layout = layout;
+			tree = layout.tree;
+			self = identityService.nodeId();
+			mailbox = mailboxes.computeIfAbsent(sequence, key -> new Mailbox());
+			deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		}
+
+		private boolean isRoot() {
+			return !tree.parentOf(self).isPresent();
+		}
+
+		/**
+		 * Waits for values from all children and returns them ordered by ranks of the children.
+		 */
+		@NonNull private <M> List<M> receiveFromChildren() throws InterruptedException {
+			final List<String> children = tree.childrenOf(self);
+			final Map<String, Serializable> received = newHashMap();
+			while (received.size() < children.size()) {
+				final CollectiveMessage message = poll(mailbox.up);
+				received.put(message.sender(), message.value());
+			}
+			return cast(children.stream().map(received::get).collect(Collectors.toList()));
+		}
+
+		@NonNull private <M> M receiveFromParent() throws InterruptedException {
+			return cast(poll(mailbox.down).value());
+		}
+
+		private void sendToParent(@NonNull final Serializable value) {
+			send(tree.parentOf(self).get(), Direction.UP, value);
+		}
+
+		private void sendToChildren(@NonNull final Function<String, Serializable> valueForChild) {
+			tree.childrenOf(self)
+			    .forEach(child -> send(child, Direction.DOWN, valueForChild.apply(child)));
+		}
+
+		private void send(@NonNull final String nodeId, @NonNull final Direction direction,
+		                  @NonNull final Serializable value) {
+			assert nonNull(nodeId) && nonNull(direction) && nonNull(value);
+			workerCommunication.sendMessage(
+					WorkerMessage.createWithPayload(WorkerMessage.Type.COLLECTIVE_MESSAGE, ImmutableSet.of(nodeId),
+					                                new CollectiveMessage(sequence, direction, self, value)));
+		}
+
+		@NonNull private CollectiveMessage poll(@NonNull final BlockingQueue<CollectiveMessage> queue)
+				throws InterruptedException {
+			final CollectiveMessage message = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (message == null) {
+				throw new IllegalStateException(String.format("Collective operation %d timed out.", sequence));
+			}
+			return message;
+		}
+
+		private void end() {
+			completedSequence.accumulateAndGet(sequence, Math::max);
+			mailboxes.remove(sequence);
+			log.debug("Collective operation {} finished.", sequence);
+		}
+	}
+
+	private static final class Mailbox {
+
+		private final BlockingQueue<CollectiveMessage> up = new LinkedBlockingQueue<>();
+
+		private final BlockingQueue<CollectiveMessage> down = new LinkedBlockingQueue<>();
+
+		@NonNull private BlockingQueue<CollectiveMessage> queue(@NonNull final Direction direction) {
+			return (direction == Direction.UP) ? up : down;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * Payload of {@link org.age.services.worker.WorkerMessage.Type#COLLECTIVE_MESSAGE} messages: a partial result of a
+ * collective operation sent along the spanning tree.
+ */
+@Immutable
+final class CollectiveMessage implements Serializable {
+
+	/**
+	 * Directions of messages in the tree.
+	 */
+	enum Direction {
+		/**
+		 * From a child to its parent.
+		 */
+		UP,
+		/**
+		 * From a parent to its children.
+		 */
+		DOWN
+	}
+
+	private static final long serialVersionUID = 6412399245364744813L;
+
+	private final long sequence;
+
+	private final Direction direction;
+
+	private final String sender;
+
+	private final Serializable value;
+
+	CollectiveMessage(final long sequence, @NonNull final Direction direction, @NonNull final String sender,
+	                  @NonNull final Serializable value) {
+		this.sequence = sequence;
+		this.direction = requireNonNull(direction);
+		this.sender = requireNonNull(sender);
+		this.value = requireNonNull(value);
+	}
+
+	/**
+	 * Returns the number of the operation this message belongs to.
+	 */
+	long sequence() {
+		return sequence;
+	}
+
+	@NonNull Direction direction() {
+		return direction;
+	}
+
+	/**
+	 * Returns the ID of the sending node.
+	 */
+	@NonNull String sender() {
+		return sender;
+	}
+
+	@NonNull Serializable value() {
+		return value;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("seq", sequence)
+		                           .add("direction", direction)
+		                           .add("sender", sender)
+		                           .addValue(value)
+		                           .toString();
+	}
+}
@@ -31,6 +31,12 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.io.Serializable;
 import java.util.Set;
 
+/**
+ * A communication facility available to computations.
+ * <p>
+ * Facilities are defined as lazy beans of the node context and instantiated separately in the context of every
+ * computation, so each computation has its own namespace of messages.
+ */
 public interface CommunicationFacility {
 
 	/**
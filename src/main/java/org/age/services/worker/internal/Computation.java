@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * A computation set up on the local node.
+ * <p>
+ * Every computation has its own Spring context (a child of the node context) with its own instances of communication
+ * facilities, so messages of different computations do not interfere. The computation runs a pool of independent
+ * workers: each of them has a context (a child of the computation context) with its own instance of the task and its
+ * own unicast address. Workers run on a pool dedicated to the computation, created by the {@link ExecutorRegistry}.
+ */
+final class Computation {
+
+	static final String TASK_BEAN_NAME = "runnable";
+
+	private final String id;
+
+	private final GenericApplicationContext context;
+
+	private final ImmutableList<GenericApplicationContext> workerContexts;
+
+	private final String className;
+
+	private final ImmutableSetMultimap<WorkerMessage.Type, CommunicationFacility> listeners;
+
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+
+	@GuardedBy("this") private @Nullable ListeningExecutorService workerPool;
+
+	@GuardedBy("this") private @Nullable ListenableFuture<?> future;
+
+	/**
+	 * @param id
+	 * 		ID of the computation.
+	 * @param context
+	 * 		an already refreshed context of the computation.
+	 * @param workerContexts
+	 * 		already refreshed contexts of workers (children of the computation context).
+	 */
+	Computation(@NonNull final String id, @NonNull final GenericApplicationContext context,
+	            @NonNull final List<GenericApplicationContext> workerContexts) {
+		checkArgument(!workerContexts.isEmpty(), "Computation requires at least one worker.");
+		this.id = requireNonNull(id);
+		this.context = requireNonNull(context);
+		this.workerContexts = ImmutableList.copyOf(workerContexts);
+		className = workerContexts.get(0).getType(TASK_BEAN_NAME).getCanonicalName();
+
+		final ImmutableSetMultimap.Builder<WorkerMessage.Type, CommunicationFacility> builder =
+				ImmutableSetMultimap.builder();
+		Stream.concat(Stream.of(context), workerContexts.stream())
+		      .flatMap(c -> c.getBeansOfType(CommunicationFacility.class).values().stream())
+		      .forEach(facility -> facility.subscribedTypes().forEach(type -> builder.put(type, facility)));
+		listeners = builder.build();
+	}
+
+	@NonNull String id() {
+		return id;
+	}
+
+	@NonNull String className() {
+		return className;
+	}
+
+	int workers() {
+		return workerContexts.size();
+	}
+
+	/**
+	 * Passes the message to the facilities of this computation.
+	 *
+	 * @return true if any facility consumed the message.
+	 */
+	boolean onMessage(@NonNull final WorkerMessage<Serializable> message) {
+		for (final CommunicationFacility listener : listeners.get(message.type())) {
+			if (listener.onMessage(message)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Starts the contexts and submits the tasks of all workers.
+	 *
+	 * @param executors
+	 * 		the registry creating the pool of the workers.
+	 *
+	 * @return the future of all workers (fails as soon as any of them fails).
+	 */
+	@NonNull synchronized ListenableFuture<?> start(@NonNull final ExecutorRegistry executors) {
+		requireNonNull(executors);
+		checkState(future == null, "Computation %s has already been started.", id);
+		checkState(!closed.get(), "Computation %s has been closed.", id);
+
+		workerPool = executors.dedicated("worker-" + id, workers());
+		context.start();
+		final List<ListenableFuture<?>> futures = Lists.newArrayListWithCapacity(workers());
+		for (final GenericApplicationContext workerContext : workerContexts) {
+			workerContext.start();
+			futures.add(workerPool.submit((Runnable)workerContext.getBean(TASK_BEAN_NAME)));
+		}
+		// Threads finish with the tasks
+		workerPool.shutdown();
+		future = Futures.allAsList(futures);
+		return future;
+	}
+
+	@NonNull synchronized Optional<ListenableFuture<?>> future() {
+		return Optional.ofNullable(future);
+	}
+
+	boolean isStarted() {
+		return future().isPresent();
+	}
+
+	boolean isRunning() {
+		return future().map(f -> !f.isDone()).orElse(false);
+	}
+
+	/**
+	 * Interrupts workers that are still running, then stops and closes the contexts. Subsequent calls have no
+	 * effect.
+	 */
+	void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		synchronized (this) {
+			if ((workerPool != null) && !future.isDone()) {
+				workerPool.shutdownNow();
+			}
+		}
+		workerContexts.forEach(workerContext -> {
+			workerContext.stop();
+			workerContext.close();
+		});
+		context.stop();
+		context.close();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("id", id)
+		                           .add("class", className)
+		                           .add("workers", workers())
+		                           .add("running", isRunning())
+		                           .toString();
+	}
+}
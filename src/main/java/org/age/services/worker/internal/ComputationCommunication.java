@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ListenableScheduledFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WorkerCommunication} of a single computation.
+ * <p>
+ * Sent messages are addressed to the computation, so they reach only facilities of the same computation on other
+ * nodes. Periodic tasks are cancelled when the computation is closed.
+ * <p>
+ * Contexts of computations can be prepared before the ID of the computation is known. Messages sent before the
+ * communication is bound to a computation are held and sent when it is bound. Periodic tasks skip their runs until
+ * then (so they do not pile up messages), and the ones that skipped a run are run once when the communication is
+ * bound.
+ */
+final class ComputationCommunication implements WorkerCommunication, AutoCloseable {
+
+	private final WorkerCommunication delegate;
+
+	private final Set<ListenableScheduledFuture<?>> periodicTasks = Sets.newConcurrentHashSet();
+
+	private final List<PeriodicTask> unboundTasks = new CopyOnWriteArrayList<>();
+
+	@GuardedBy("this") private final List<WorkerMessage<Serializable>> heldMessages = new ArrayList<>();
+
+	private volatile @Nullable String computation;
+
+	/**
+	 * Creates a communication that is not bound to any computation yet.
+	 */
+	ComputationCommunication(@NonNull final WorkerCommunication delegate) {
+		this.delegate = requireNonNull(delegate);
+	}
+
+	/**
+	 * Binds this communication to the computation, sends the held messages and runs periodic tasks that skipped their
+	 * runs.
+	 *
+	 * @throws IllegalStateException
+	 * 		if it is already bound.
+	 */
+	void bind(@NonNull final String computation) {
+		synchronized (this) {
+			checkState(this.computation == null, "Communication is already bound to %s.", this.computation);
+			this.computation = requireNonNull(computation);
+			heldMessages.forEach(message -> delegate.sendMessage(message.withComputation(computation)));
+			heldMessages.clear();
+		}
+		unboundTasks.stream().filter(task -> task.skipped).forEach(PeriodicTask::run);
+		unboundTasks.clear();
+	}
+
+	@Override public void sendMessage(@NonNull final WorkerMessage<Serializable> message) {
+		String boundComputation = computation;
+		if (boundComputation == null) {
+			synchronized (this) {
+				boundComputation = computation;
+				if (boundComputation == null) {
+					heldMessages.add(requireNonNull(message));
+					return;
+				}
+			}
+		}
+		delegate.sendMessage(message.withComputation(boundComputation));
+	}
+
+	@Override public ListenableScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay,
+	                                                                  final long period, final TimeUnit unit) {
+		final PeriodicTask task = new PeriodicTask(requireNonNull(command));
+		if (computation == null) {
+			unboundTasks.add(task);
+		}
+		final ListenableScheduledFuture<?> future = delegate.scheduleAtFixedRate(task, initialDelay, period, unit);
+		periodicTasks.add(future);
+		future.addListener(() -> periodicTasks.remove(future), MoreExecutors.directExecutor());
+		return future;
+	}
+
+	@Override public void close() {
+		periodicTasks.forEach(future -> future.cancel(false));
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("computation", computation).add("periodic", periodicTasks.size()).toString();
+	}
+
+	private final class PeriodicTask implements Runnable {
+
+		private final Runnable command;
+
+		private volatile boolean skipped;
+
+		private PeriodicTask(@NonNull final Runnable command) {
+			this.command = command;
+		}
+
+		@Override public void run() {
+			if (computation == null) {
+				skipped = true;
+				return;
+			}
+			command.run();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * Payload of {@link org.age.services.worker.WorkerMessage.Type#UNICAST_CREDIT} messages: the number of messages from
+ * the sender that the receiver has delivered so far (see {@link FlowControl}).
+ */
+@Immutable
+final class CreditGrant implements Serializable {
+
+	private static final long serialVersionUID = 4139466702461797018L;
+
+	private final WorkerAddress receiver;
+
+	private final WorkerAddress sender;
+
+	private final long delivered;
+
+	CreditGrant(@NonNull final WorkerAddress receiver, @NonNull final WorkerAddress sender, final long delivered) {
+		checkArgument(delivered >= 0, "Delivered count cannot be negative.");
+		this.receiver = requireNonNull(receiver);
+		this.sender = requireNonNull(sender);
+		this.delivered = delivered;
+	}
+
+	/**
+	 * Returns the address of the worker granting credits.
+	 */
+	@NonNull WorkerAddress receiver() {
+		return receiver;
+	}
+
+	/**
+	 * Returns the address of the worker the credits are granted to.
+	 */
+	@NonNull WorkerAddress sender() {
+		return sender;
+	}
+
+	long delivered() {
+		return delivered;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("from", receiver).add("to", sender).add("delivered", delivered).toString();
+	}
+}
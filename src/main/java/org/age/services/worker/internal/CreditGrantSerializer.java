@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of {@link CreditGrant}s.
+ */
+public final class CreditGrantSerializer implements StreamSerializer<CreditGrant> {
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final CreditGrant grant)
+			throws IOException {
+		WireFormat.writeAddress(out, grant.receiver());
+		WireFormat.writeAddress(out, grant.sender());
+		out.writeLong(grant.delivered());
+	}
+
+	@Override @NonNull public CreditGrant read(@NonNull final ObjectDataInput in) throws IOException {
+		return new CreditGrant(WireFormat.readAddress(in), WireFormat.readAddress(in), in.readLong());
+	}
+
+	@Override public int getTypeId() {
+		return WireFormat.CREDIT_GRANT_TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
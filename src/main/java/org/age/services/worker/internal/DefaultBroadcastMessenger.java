@@ -24,56 +24,160 @@
 package org.age.services.worker.internal;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
-import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 
 import org.age.compute.api.BroadcastMessenger;
 import org.age.compute.api.MessageListener;
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.identity.NodeIdentityService;
 import org.age.services.topology.TopologyService;
+import org.age.services.topology.TopologySnapshot;
 import org.age.services.worker.WorkerMessage;
+import org.age.services.worker.internal.ListenerDispatcher.OverflowPolicy;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 @Named
+@Lazy
 @ThreadSafe
 public final class DefaultBroadcastMessenger implements BroadcastMessenger, CommunicationFacility {
 
 	private static final Logger log = LoggerFactory.getLogger(DefaultBroadcastMessenger.class);
 
-	private final Set<MessageListener<Serializable>> listeners = newConcurrentHashSet();
+	/**
+	 * IDs of gossip messages already received, used to suppress duplicates.
+	 */
+	private final Cache<UUID, Boolean> seenGossip = CacheBuilder.newBuilder()
+	                                                            .expireAfterWrite(1L, TimeUnit.MINUTES)
+	                                                            .maximumSize(100_000L)
+	                                                            .build();
+
+	@Value("${age.worker.gossip.mode:TREE}") @NonNull private GossipMode gossipMode = GossipMode.TREE;
+
+	@Value("${age.worker.gossip.fanout:3}") private int gossipFanout = 3;
+
+	/**
+	 * Maximum number of hops of a gossip message, 0 means twice the number of rounds needed by a binary tree.
+	 */
+	@Value("${age.worker.gossip.ttl:0}") private int gossipTtl = 0;
+
+	@Value("${age.worker.dispatch.queue-capacity:1024}") private int dispatchQueueCapacity = 1024;
+
+	/**
+	 * Broadcasts are not flow controlled, so the oldest messages are dropped when the listeners are slow.
+	 */
+	@Value("${age.worker.dispatch.broadcast-overflow:DROP_OLDEST}") @NonNull private OverflowPolicy overflowPolicy =
+			OverflowPolicy.DROP_OLDEST;
+
+	@Value("${age.worker.stale-messages:ACCEPT}") @NonNull private StaleMessagePolicy stalePolicy =
+			StaleMessagePolicy.ACCEPT;
 
 	@Inject @Named("default") @MonotonicNonNull private TopologyService topologyService;
 
 	@Inject @MonotonicNonNull private WorkerCommunication workerCommunication;
 
+	@Inject @MonotonicNonNull private NodeIdentityService identityService;
+
+	@Inject @MonotonicNonNull private ExecutorRegistry executors;
+
+	@MonotonicNonNull private ListenerDispatcher dispatcher;
+
+	@PostConstruct private void construct() {
+		checkArgument(gossipFanout > 1, "Gossip fanout must be greater than 1.");
+		checkArgument(gossipTtl >= 0, "Gossip TTL cannot be negative.");
+		dispatcher = new ListenerDispatcher(dispatchQueueCapacity, overflowPolicy, executors.io());
+		log.debug("Listener dispatcher: {}.", dispatcher);
+	}
+
+	@PreDestroy private void destroy() {
+		log.debug("Dropped messages: {}.", dispatcher.droppedMessages());
+	}
+
 	@Override public void send(@NonNull final Serializable message) {
 		log.debug("Sending message {}.", message);
-		final Set<String> neighbours = topologyService.neighbours();
+		final Optional<TopologySnapshot> snapshot = topologyService.snapshot();
+		checkState(snapshot.isPresent(), "Topology not ready.");
+		final Set<String> neighbours = snapshot.get().neighbours();
+		if (neighbours.isEmpty()) {
+			log.debug("No neighbours.");
+			return;
+		}
 		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
-				WorkerMessage.Type.BROADCAST_MESSAGE, neighbours, message);
+				WorkerMessage.Type.BROADCAST_MESSAGE, neighbours, message).withEpoch(snapshot.get().epoch());
 		log.debug("Prepared message to send: {}.", workerMessage);
 		workerCommunication.sendMessage(workerMessage);
 	}
 
+	@Override public <T extends Serializable> void gossip(@NonNull final T message) {
+		requireNonNull(message);
+
+		// Workers of this node share the messenger, so they get the message here and not through the relay
+		dispatcher.dispatch(message);
+		final Optional<TopologySnapshot> snapshot = topologyService.snapshot();
+		if (!snapshot.isPresent()) {
+			log.debug("No topology, cannot gossip {}.", message);
+			return;
+		}
+		final int size = snapshot.get().nodes().size();
+		final int ttl = (gossipTtl > 0) ? gossipTtl : (2 * (32 - Integer.numberOfLeadingZeros(size)));
+		final GossipMessage gossipMessage = new GossipMessage(UUID.randomUUID(), identityService.nodeId(), ttl,
+		                                                      message);
+		log.debug("Starting gossip {}.", gossipMessage);
+		seenGossip.put(gossipMessage.id(), Boolean.TRUE);
+		relay(gossipMessage, snapshot.get());
+	}
+
 	@Override public <T extends Serializable> boolean onMessage(@NonNull final WorkerMessage<T> workerMessage) {
 		log.debug("Received worker service message {}.", workerMessage);
 		requireNonNull(workerMessage);
 
-		if (!workerMessage.hasType(WorkerMessage.Type.BROADCAST_MESSAGE)) {
-			final Serializable message = workerMessage.requiredPayload();
-			listeners.parallelStream().forEach(listener -> listener.onMessage(message));
+		// Neighbours and next hops are always chosen from the current topology, so there is nothing to reroute
+		if ((stalePolicy == StaleMessagePolicy.DROP) && StaleMessagePolicy.isStale(workerMessage,
+		                                                                            topologyService.epoch())) {
+			log.debug("Dropping message {} from a stale epoch.", workerMessage);
+			return true;
+		}
+
+		if (workerMessage.hasType(WorkerMessage.Type.BROADCAST_MESSAGE)) {
+			dispatcher.dispatch(workerMessage.requiredPayload());
+
+			return true;
+		}
+
+		if (workerMessage.hasType(WorkerMessage.Type.GOSSIP_MESSAGE)) {
+			final GossipMessage gossipMessage = (GossipMessage)workerMessage.requiredPayload();
+			if (nonNull(seenGossip.asMap().putIfAbsent(gossipMessage.id(), Boolean.TRUE))) {
+				log.debug("Gossip {} was already received.", gossipMessage.id());
+				return true;
+			}
+			dispatcher.dispatch(gossipMessage.payload());
+			topologyService.snapshot().ifPresent(snapshot -> relay(gossipMessage, snapshot));
 
 			return true;
 		}
@@ -82,17 +186,44 @@ public final class DefaultBroadcastMessenger implements BroadcastMessenger, Comm
 	}
 
 	@Override @NonNull public Set<WorkerMessage.Type> subscribedTypes() {
-		return ImmutableSet.of(WorkerMessage.Type.BROADCAST_MESSAGE);
+		return ImmutableSet.of(WorkerMessage.Type.BROADCAST_MESSAGE, WorkerMessage.Type.GOSSIP_MESSAGE);
 	}
 
 	@Override public <T extends Serializable> void registerListener(@NonNull final MessageListener<T> listener) {
 		log.debug("Adding listener {}.", listener);
-		listeners.add((MessageListener<Serializable>)listener);
+		dispatcher.register((MessageListener<Serializable>)listener);
 	}
 
 	@Override public <T extends Serializable> void removeListener(@NonNull final MessageListener<T> listener) {
 		log.debug("Removing listener {}.", listener);
-		listeners.remove(listener);
+		dispatcher.remove((MessageListener<Serializable>)listener);
+	}
+
+	/**
+	 * Returns the number of messages waiting for each registered listener.
+	 */
+	@NonNull public ImmutableMap<MessageListener<Serializable>, Integer> listenerQueueDepths() {
+		return dispatcher.queueDepths();
+	}
+
+	private void relay(@NonNull final GossipMessage gossipMessage,
+	                   @NonNull final TopologySnapshot snapshot) {
+		assert nonNull(gossipMessage) && nonNull(snapshot);
+
+		if (gossipMessage.ttl() == 0) {
+			log.debug("Gossip {} expired.", gossipMessage.id());
+			return;
+		}
+		final List<String> members = snapshot.nodes().asList();
+		final Set<String> nextHops = gossipMode.nextHops(members, snapshot.neighbours(), gossipMessage.origin(),
+		                                                 identityService.nodeId(), gossipFanout);
+		if (nextHops.isEmpty()) {
+			return;
+		}
+		log.debug("Relaying gossip {} to {}.", gossipMessage.id(), nextHops);
+		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.GOSSIP_MESSAGE, nextHops, gossipMessage.nextHop());
+		workerCommunication.sendMessage(workerMessage.withEpoch(snapshot.epoch()));
 	}
 
 	@Override public String toString() {
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.CollectiveOperations;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Collective operations of a single worker.
+ * <p>
+ * Every worker has its own instance. Operations are numbered in the order the worker invokes them, so all workers of
+ * the computation must invoke the same operations in the same order. Values of the local workers are combined by the
+ * {@link CollectiveGroup} of the computation, which then performs the operation across nodes.
+ */
+@Named
+@Lazy
+@ThreadSafe
+public final class DefaultCollectiveOperations implements CollectiveOperations, CommunicationFacility {
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	@Inject private @MonotonicNonNull CollectiveGroup group;
+
+	private int index;
+
+	@PostConstruct private void construct() {
+		index = group.join();
+	}
+
+	@Override public int rank() {
+		return group.rankOf(index);
+	}
+
+	@Override public int size() {
+		return group.size();
+	}
+
+	@Override public void barrier() throws InterruptedException {
+		allReduce(Boolean.TRUE, (left, right) -> left);
+	}
+
+	@Override @NonNull public <T extends Serializable> T allReduce(@NonNull final T value,
+	                                                              @NonNull final BinaryOperator<T> combiner)
+			throws InterruptedException {
+		requireNonNull(value);
+		requireNonNull(combiner);
+
+		return group.allReduce(sequence.incrementAndGet(), index, value, combiner);
+	}
+
+	@Override @NonNull public <T extends Serializable> Optional<List<T>> gather(@NonNull final T value)
+			throws InterruptedException {
+		requireNonNull(value);
+
+		return group.gather(sequence.incrementAndGet(), index, value);
+	}
+
+	@Override @NonNull public <T extends Serializable> T scatter(@NonNull final List<T> values)
+			throws InterruptedException {
+		requireNonNull(values);
+
+		return group.scatter(sequence.incrementAndGet(), index, values);
+	}
+
+	/**
+	 * Collective messages are received by the group.
+	 */
+	@Override public <T extends Serializable> boolean onMessage(@NonNull final WorkerMessage<T> workerMessage) {
+		return false;
+	}
+
+	@Override @NonNull public Set<WorkerMessage.Type> subscribedTypes() {
+		return ImmutableSet.of();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("index", index).add("seq", sequence.get()).toString();
+	}
+}
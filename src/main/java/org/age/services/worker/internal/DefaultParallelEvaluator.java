@@ -0,0 +1,437 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.ParallelEvaluator;
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.identity.NodeIdentityService;
+import org.age.services.topology.TopologyService;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.math.IntMath;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.Serializable;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Parallel evaluator running on the node-wide fork/join pool (see {@link ExecutorRegistry#parallel()}).
+ * <p>
+ * Batches are split recursively until chunks reach the size computed from the estimated cost of a single evaluation
+ * (an exponential moving average of measured costs), so that a chunk takes about
+ * {@code age.worker.evaluator.target-chunk-micros}. Every thread of the pool gets at least a few chunks, so work
+ * stealing can balance uneven costs. Batches cheaper than a single chunk are evaluated by the calling thread.
+ * <p>
+ * With {@code age.worker.evaluator.spill} enabled, evaluators advertise the number of idle threads of their node to
+ * neighbours. Batches submitted when the local pool is saturated are split between the local node and the most idle
+ * neighbour, proportionally to the numbers of threads. Parts that were not evaluated remotely within
+ * {@code age.worker.evaluator.spill-timeout-seconds} are evaluated locally.
+ */
+@Named
+@Lazy
+@ThreadSafe
+public final class DefaultParallelEvaluator implements ParallelEvaluator, CommunicationFacility {
+
+	/**
+	 * Minimal number of chunks per thread of the pool.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/**
+	 * Weight of the last batch in the estimated cost of an evaluation.
+	 */
+	private static final double COST_SMOOTHING = 0.3;
+
+	private static final Logger log = LoggerFactory.getLogger(DefaultParallelEvaluator.class);
+
+	private final AtomicLong requestSequence = new AtomicLong();
+
+	private final ConcurrentMap<Long, SettableFuture<List<?>>> pendingRequests = new ConcurrentHashMap<>();
+
+	/**
+	 * Idle threads advertised by neighbours. A neighbour is claimed (set to 0) when a batch is spilled to it.
+	 */
+	private final ConcurrentMap<String, Integer> idleNeighbours = new ConcurrentHashMap<>();
+
+	/**
+	 * Estimated cost of a single evaluation in nanoseconds ({@code NaN} before the first batch). Updates may race, but
+	 * the estimate stays usable.
+	 */
+	private volatile double evaluationNanos = Double.NaN;
+
+	@Value("${age.worker.evaluator.target-chunk-micros:100}") private long targetChunkMicros = 100L;
+
+	@Value("${age.worker.evaluator.spill:false}") private boolean spill = false;
+
+	@Value("${age.worker.evaluator.spill-timeout-seconds:30}") private long spillTimeoutSeconds = 30L;
+
+	@Inject @Named("default") private @MonotonicNonNull TopologyService topologyService;
+
+	@Inject private @MonotonicNonNull WorkerCommunication workerCommunication;
+
+	@Inject private @MonotonicNonNull NodeIdentityService identityService;
+
+	@Inject private @MonotonicNonNull ExecutorRegistry executors;
+
+	private @MonotonicNonNull ForkJoinPool pool;
+
+	@PostConstruct private void construct() {
+		pool = executors.parallel();
+		log.debug("Evaluating with parallelism {} (spill: {}).", pool.getParallelism(), spill);
+		if (spill) {
+			workerCommunication.scheduleAtFixedRate(this::advertiseLoad, 1L, 1L, TimeUnit.SECONDS);
+		}
+	}
+
+	@Override @NonNull public <T, R> List<@Nullable R> evaluate(@NonNull final List<? extends T> candidates,
+	                                                           @NonNull final Function<? super T, ? extends R>
+			                                                           evaluation) {
+		requireNonNull(evaluation);
+		final List<? extends T> list = (candidates instanceof RandomAccess)
+		                               ? candidates
+		                               : new ArrayList<>(requireNonNull(candidates));
+		final Object[] results = new Object[list.size()];
+
+		final Optional<SpilledPart> spilled = spill ? trySpill(list, evaluation) : Optional.empty();
+		evaluateLocally(list, evaluation, results, 0, spilled.map(part -> part.from).orElse(list.size()));
+		spilled.ifPresent(part -> collect(part, list, evaluation, results));
+
+		return Collections.unmodifiableList(Arrays.asList((R[])results));
+	}
+
+	@Override public <T extends Serializable> boolean onMessage(@NonNull final WorkerMessage<T> workerMessage) {
+		final EvaluationMessage message = (EvaluationMessage)workerMessage.requiredPayload();
+		log.debug("Received {}.", message);
+		switch (message.kind()) {
+			case LOAD:
+				idleNeighbours.put(message.sender(), message.value());
+				break;
+			case REQUEST:
+				pool.execute(() -> evaluateRequest(message));
+				break;
+			case RESULT:
+				Optional.ofNullable(pendingRequests.get(message.id()))
+				        .ifPresent(future -> future.set(message.<ArrayList<?>>value()));
+				break;
+			case FAILURE:
+				Optional.ofNullable(pendingRequests.get(message.id()))
+				        .ifPresent(future -> future.setException(new IllegalStateException(message.<String>value())));
+				break;
+		}
+		return true;
+	}
+
+	@Override @Immutable @NonNull public Set<WorkerMessage.Type> subscribedTypes() {
+		return ImmutableSet.of(WorkerMessage.Type.EVALUATION_MESSAGE);
+	}
+
+	/**
+	 * Evaluates candidates from the given range in the calling thread or in the pool, depending on their estimated
+	 * cost.
+	 */
+	private <T, R> void evaluateLocally(@NonNull final List<? extends T> candidates,
+	                                    @NonNull final Function<? super T, ? extends R> evaluation,
+	                                    @NonNull final Object[] results, final int from, final int to) {
+		assert nonNull(candidates) && nonNull(evaluation) && nonNull(results) && (from <= to);
+
+		final int count = to - from;
+		if (count == 0) {
+			return;
+		}
+		final Batch<T, R> batch = new Batch<>(candidates, evaluation, results, chunkSize(count));
+		if (batch.chunkSize >= count) {
+			batch.evaluate(from, to);
+		} else {
+			pool.invoke(new EvaluationTask<>(batch, from, to));
+		}
+		updateCost(batch.busyNanos.sum(), count);
+	}
+
+	/**
+	 * Returns the size of chunks for a batch of the given size.
+	 */
+	private int chunkSize(final int count) {
+		assert count > 0;
+
+		final int balancedSize = IntMath.divide(count, pool.getParallelism() * CHUNKS_PER_THREAD,
+		                                        RoundingMode.CEILING);
+		final double nanos = evaluationNanos;
+		if (Double.isNaN(nanos)) {
+			return balancedSize;
+		}
+		final double costSize = TimeUnit.MICROSECONDS.toNanos(targetChunkMicros) / Math.max(nanos, 1.0);
+		if (costSize >= count) {
+			return count;
+		}
+		return Math.max(1, Math.min(balancedSize, (int)costSize));
+	}
+
+	private void updateCost(final long busyNanos, final int count) {
+		final double measured = (double)busyNanos / count;
+		final double current = evaluationNanos;
+		evaluationNanos = Double.isNaN(current) ? measured : (current + (COST_SMOOTHING * (measured - current)));
+	}
+
+	/**
+	 * Sends the tail of the batch to the most idle neighbour if the local pool is saturated.
+	 */
+	@NonNull private <T, R> Optional<SpilledPart> trySpill(@NonNull final List<? extends T> candidates,
+	                                                       @NonNull final Function<? super T, ? extends R>
+			                                                       evaluation) {
+		assert nonNull(candidates) && nonNull(evaluation);
+
+		final boolean saturated = (pool.getActiveThreadCount() >= pool.getParallelism())
+		                          || pool.hasQueuedSubmissions();
+		if (!saturated || !(evaluation instanceof Serializable)) {
+			return Optional.empty();
+		}
+		final Optional<Map.Entry<String, Integer>> neighbour = idleNeighbours.entrySet()
+		                                                                     .stream()
+		                                                                     .filter(entry -> entry.getValue() > 0)
+		                                                                     .max(Map.Entry.comparingByValue());
+		if (!neighbour.isPresent() || !candidates.stream().allMatch(candidate -> candidate instanceof Serializable)) {
+			return Optional.empty();
+		}
+		final String node = neighbour.get().getKey();
+		final int idleThreads = neighbour.get().getValue();
+		// Other batches should not be spilled to the same node until it advertises its load again
+		if (!idleNeighbours.replace(node, idleThreads, 0)) {
+			return Optional.empty();
+		}
+
+		final int remoteCount = (int)(((long)candidates.size() * idleThreads) / (idleThreads + pool.getParallelism()));
+		if (remoteCount == 0) {
+			return Optional.empty();
+		}
+		final int from = candidates.size() - remoteCount;
+		final long id = requestSequence.incrementAndGet();
+		final SettableFuture<List<?>> future = SettableFuture.create();
+		pendingRequests.put(id, future);
+		log.debug("Spilling {} of {} evaluations to {}.", remoteCount, candidates.size(), node);
+		send(node, EvaluationMessage.request(id, identityService.nodeId(), evaluation,
+		                                     candidates.subList(from, candidates.size())));
+		return Optional.of(new SpilledPart(id, node, from, future));
+	}
+
+	/**
+	 * Copies results of the spilled part of the batch. Evaluates the part locally if the neighbour failed or did not
+	 * respond in time.
+	 */
+	private <T, R> void collect(@NonNull final SpilledPart part, @NonNull final List<? extends T> candidates,
+	                            @NonNull final Function<? super T, ? extends R> evaluation,
+	                            @NonNull final Object[] results) {
+		assert nonNull(part) && nonNull(candidates) && nonNull(evaluation) && nonNull(results);
+
+		try {
+			final List<?> remoteResults = part.future.get(spillTimeoutSeconds, TimeUnit.SECONDS);
+			if (remoteResults.size() == (candidates.size() - part.from)) {
+				System.arraycopy(remoteResults.toArray(), 0, results, part.from, remoteResults.size());
+				return;
+			}
+			log.warn("Evaluation spilled to {} returned {} results instead of {}. Evaluating locally.", part.node,
+			         remoteResults.size(), candidates.size() - part.from);
+		} catch (final TimeoutException ignored) {
+			log.warn("Evaluation spilled to {} timed out. Evaluating locally.", part.node);
+		} catch (final ExecutionException e) {
+			log.warn("Evaluation spilled to {} failed. Evaluating locally.", part.node, e.getCause());
+		} catch (final InterruptedException ignored) {
+			log.debug("Interrupted while waiting for {}. Evaluating locally.", part.node);
+			Thread.currentThread().interrupt();
+		} finally {
+			pendingRequests.remove(part.id);
+		}
+		evaluateLocally(candidates, evaluation, results, part.from, candidates.size());
+	}
+
+	/**
+	 * Evaluates a part of a batch spilled by a neighbour and sends back the results.
+	 */
+	private void evaluateRequest(@NonNull final EvaluationMessage message) {
+		assert nonNull(message);
+
+		final EvaluationMessage.Request request = message.value();
+		final List<?> candidates = request.candidates();
+		final String nodeId = identityService.nodeId();
+		EvaluationMessage response;
+		try {
+			final Object[] results = new Object[candidates.size()];
+			evaluateLocally(candidates, request.evaluation(), results, 0, candidates.size());
+			response = Arrays.stream(results).allMatch(result -> (result == null) || (result instanceof Serializable))
+			           ? EvaluationMessage.result(message.id(), nodeId, Arrays.asList(results))
+			           : EvaluationMessage.failure(message.id(), nodeId, "Results are not serializable.");
+		} catch (final RuntimeException e) {
+			log.debug("Evaluation requested by {} failed.", message.sender(), e);
+			response = EvaluationMessage.failure(message.id(), nodeId, e.toString());
+		}
+		send(message.sender(), response);
+	}
+
+	/**
+	 * Advertises the number of idle threads of the local pool to the topology neighbours.
+	 */
+	private void advertiseLoad() {
+		final Set<String> neighbours = topologyService.neighbours();
+		idleNeighbours.keySet().retainAll(neighbours);
+		if (neighbours.isEmpty()) {
+			return;
+		}
+		final int idleThreads = pool.hasQueuedSubmissions()
+		                        ? 0
+		                        : Math.max(0, pool.getParallelism() - pool.getActiveThreadCount());
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.EVALUATION_MESSAGE, neighbours,
+				EvaluationMessage.load(identityService.nodeId(), idleThreads));
+		workerCommunication.sendMessage(message);
+	}
+
+	private void send(@NonNull final String node, @NonNull final EvaluationMessage message) {
+		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.EVALUATION_MESSAGE, ImmutableSet.of(node), message);
+		workerCommunication.sendMessage(workerMessage);
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("cost-nanos", evaluationNanos)
+		                           .add("pending", pendingRequests.size())
+		                           .toString();
+	}
+
+	/**
+	 * A batch (or its part) evaluated locally.
+	 */
+	private static final class Batch<T, R> {
+
+		private final List<? extends T> candidates;
+
+		private final Function<? super T, ? extends R> evaluation;
+
+		private final Object[] results;
+
+		private final int chunkSize;
+
+		private final LongAdder busyNanos = new LongAdder();
+
+		private Batch(final List<? extends T> candidates, final Function<? super T, ? extends R> evaluation,
+		              final Object[] results, final int chunkSize) {
+			this.candidates = candidates;
+			this.evaluation = evaluation;
+			this.results = results;
+			this.chunkSize = chunkSize;
+		}
+
+		private void evaluate(final int from, final int to) {
+			final long start = System.nanoTime();
+			for (int i = from; i < to; i++) {
+				results[i] = evaluation.apply(candidates.get(i));
+			}
+			busyNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Splits the range in halves until it fits in a chunk.
+	 */
+	private static final class EvaluationTask<T, R> extends RecursiveAction {
+
+		private static final long serialVersionUID = 8318453127395862521L;
+
+		private final Batch<T, R> batch;
+
+		private final int from;
+
+		private final int to;
+
+		private EvaluationTask(final Batch<T, R> batch, final int from, final int to) {
+			this.batch = batch;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override protected void compute() {
+			if ((to - from) <= batch.chunkSize) {
+				batch.evaluate(from, to);
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new EvaluationTask<>(batch, from, middle), new EvaluationTask<>(batch, middle, to));
+		}
+	}
+
+	/**
+	 * The tail of a batch (from the given index) sent to a neighbour.
+	 */
+	private static final class SpilledPart {
+
+		private final long id;
+
+		private final String node;
+
+		private final int from;
+
+		private final SettableFuture<List<?>> future;
+
+		private SpilledPart(final long id, final String node, final int from, final SettableFuture<List<?>> future) {
+			this.id = id;
+			this.node = node;
+			this.from = from;
+			this.future = future;
+		}
+	}
+}
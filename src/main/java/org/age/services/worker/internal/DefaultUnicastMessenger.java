@@ -24,58 +24,128 @@ package org.age.services.worker.internal;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkState;
-import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
 import org.age.compute.api.MessageListener;
 import org.age.compute.api.UnicastMessenger;
 import org.age.compute.api.WorkerAddress;
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.identity.NodeIdentityService;
 import org.age.services.topology.TopologyService;
+import org.age.services.topology.TopologySnapshot;
 import org.age.services.worker.WorkerMessage;
+import org.age.services.worker.internal.ListenerDispatcher.OverflowPolicy;
 
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import org.checkerframework.checker.igj.qual.Immutable;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 @Named
+@Lazy
 public final class DefaultUnicastMessenger implements UnicastMessenger, CommunicationFacility {
 
 	private static final Logger log = LoggerFactory.getLogger(DefaultUnicastMessenger.class);
 
-	private final Set<MessageListener<Serializable>> listeners = newConcurrentHashSet();
-
-	private final Set<WorkerAddress> computeNeighbours = newConcurrentHashSet();
+	/**
+	 * Announced worker addresses of neighbours, with IDs of their nodes.
+	 */
+	private final ConcurrentMap<WorkerAddress, String> computeNeighbours = new ConcurrentHashMap<>();
 
 	private final WorkerAddress localWorkerAddress = new DefaultWorkerAddress();
 
+	@Value("${age.worker.flow.window:256}") private int flowWindow = 256;
+
+	@Value("${age.worker.flow.send-timeout-millis:30000}") private long sendTimeoutMillis = 30000L;
+
+	@Value("${age.worker.dispatch.queue-capacity:1024}") private int dispatchQueueCapacity = 1024;
+
+	/**
+	 * Messages are queued regardless of the capacity: credits bound their number, as they are granted only for
+	 * messages handled by the listeners.
+	 */
+	@Value("${age.worker.dispatch.unicast-overflow:ACCEPT}") private @NonNull OverflowPolicy overflowPolicy =
+			OverflowPolicy.ACCEPT;
+
+	@Value("${age.worker.stale-messages:ACCEPT}") private @NonNull StaleMessagePolicy stalePolicy =
+			StaleMessagePolicy.ACCEPT;
+
 	@Inject @Named("default") private @MonotonicNonNull TopologyService topologyService;
 
 	@Inject private @MonotonicNonNull WorkerCommunication workerCommunication;
 
+	@Inject private @MonotonicNonNull NodeIdentityService identityService;
+
+	@Inject private @MonotonicNonNull WorkerRoutingTable routingTable;
+
+	@Inject private @MonotonicNonNull ExecutorRegistry executors;
+
+	private @MonotonicNonNull ListenerDispatcher dispatcher;
+
+	private @MonotonicNonNull FlowControl flowControl;
+
 	@PostConstruct private void construct() {
 		log.debug("Initializing local unicast messenger.");
+		dispatcher = new ListenerDispatcher(dispatchQueueCapacity, overflowPolicy, executors.io());
+		log.debug("Listener dispatcher: {}.", dispatcher);
+		flowControl = new FlowControl(flowWindow);
 		workerCommunication.scheduleAtFixedRate(this::broadcastMyAddress, 1L, 5L, TimeUnit.SECONDS);
 	}
 
+	@PreDestroy private void destroy() {
+		log.debug("Dropped messages: {}.", dispatcher.droppedMessages());
+	}
+
 	@Override @Immutable @NonNull public WorkerAddress address() {
 		return localWorkerAddress;
 	}
 
+	/**
+	 * Returns addresses announced by other workers on this node and on the nodes that are neighbours in the current
+	 * topology. Addresses of nodes that are not neighbours anymore are skipped.
+	 */
 	@Override @NonNull public Set<WorkerAddress> neighbours() {
-		return ImmutableSet.copyOf(computeNeighbours);
+		final Optional<TopologySnapshot> snapshot = topologyService.snapshot();
+		if (!snapshot.isPresent()) {
+			return ImmutableSet.copyOf(computeNeighbours.keySet());
+		}
+		final Set<String> neighbourNodes = snapshot.get().neighbours();
+		final String nodeId = identityService.nodeId();
+		return ImmutableSet.copyOf(computeNeighbours.entrySet()
+		                                            .stream()
+		                                            .filter(entry -> neighbourNodes.contains(entry.getValue())
+		                                                             || nodeId.equals(entry.getValue()))
+		                                            .map(Map.Entry::getKey)
+		                                            .collect(toList()));
 	}
 
 	@Override public <T extends Serializable> void send(@NonNull final WorkerAddress receiver,
@@ -86,24 +156,64 @@ public final class DefaultUnicastMessenger implements UnicastMessenger, Communic
 	@Override public <T extends Serializable> void send(@NonNull final Set<WorkerAddress> receivers,
 	                                                    @NonNull final T message) {
 		checkState(isInitialized(), "Messenger was not initialized.");
+		requireNonNull(receivers);
+		requireNonNull(message);
 
-		final UnicastMessage unicastMessage = new UnicastMessage(requireNonNull(receivers), requireNonNull(message));
-		log.debug("Sending message {}.", unicastMessage);
-		final Set<String> neighbours = topologyService.neighbours();
-		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
-				WorkerMessage.Type.UNICAST_MESSAGE, neighbours, unicastMessage);
-		log.debug("Prepared message to send: {}.", workerMessage);
-		workerCommunication.sendMessage(workerMessage);
+		flowControl.acquire(receivers);
+		publish(receivers, message);
+	}
+
+	@Override public <T extends Serializable> boolean trySend(@NonNull final WorkerAddress receiver,
+	                                                          @NonNull final T message) {
+		return trySend(ImmutableSet.of(requireNonNull(receiver)), message);
+	}
+
+	@Override public <T extends Serializable> boolean trySend(@NonNull final Set<WorkerAddress> receivers,
+	                                                          @NonNull final T message) {
+		checkState(isInitialized(), "Messenger was not initialized.");
+		requireNonNull(receivers);
+		requireNonNull(message);
+
+		if (!flowControl.tryAcquire(receivers)) {
+			log.debug("No credits to send to {}.", receivers);
+			return false;
+		}
+		publish(receivers, message);
+		return true;
+	}
+
+	@Override @NonNull public <T extends Serializable> ListenableFuture<Void> sendAsync(
+			@NonNull final WorkerAddress receiver, @NonNull final T message) {
+		return sendAsync(ImmutableSet.of(requireNonNull(receiver)), message);
+	}
+
+	@Override @NonNull public <T extends Serializable> ListenableFuture<Void> sendAsync(
+			@NonNull final Set<WorkerAddress> receivers, @NonNull final T message) {
+		checkState(isInitialized(), "Messenger was not initialized.");
+		requireNonNull(message);
+
+		final ImmutableSet<WorkerAddress> receiversCopy = ImmutableSet.copyOf(requireNonNull(receivers));
+		final ListenableFuture<Void> acquired = flowControl.acquireAsync(receiversCopy);
+		if (!acquired.isDone()) {
+			final ScheduledFuture<?> timeout = executors.scheduled().schedule(() -> flowControl.timeOut(acquired),
+			                                                                  sendTimeoutMillis,
+			                                                                  TimeUnit.MILLISECONDS);
+			acquired.addListener(() -> timeout.cancel(false), MoreExecutors.directExecutor());
+		}
+		return Futures.transform(acquired, (Function<Void, Void>)ignored -> {
+			publish(receiversCopy, message);
+			return null;
+		});
 	}
 
 	@Override public <T extends Serializable> void registerListener(@NonNull final MessageListener<T> listener) {
 		log.debug("Adding listener {}.", listener);
-		listeners.add((MessageListener<Serializable>)listener);
+		dispatcher.register((MessageListener<Serializable>)listener);
 	}
 
 	@Override public <T extends Serializable> void removeListener(@NonNull final MessageListener<T> listener) {
 		log.debug("Removing listener {}.", listener);
-		listeners.remove(listener);
+		dispatcher.remove((MessageListener<Serializable>)listener);
 	}
 
 	@Override public <T extends Serializable> boolean onMessage(@NonNull final WorkerMessage<T> workerMessage) {
@@ -115,74 +225,156 @@ public final class DefaultUnicastMessenger implements UnicastMessenger, Communic
 		}
 
 		if (workerMessage.hasType(WorkerMessage.Type.UNICAST_MESSAGE)) {
+			// Stale messages are forwarded once per node by UnicastRerouter, not by every worker
 			final UnicastMessage unicastMessage = (UnicastMessage)workerMessage.requiredPayload();
-
 			if (unicastMessage.isRecipient(localWorkerAddress)) {
-				log.debug("Delivering the message {}.", unicastMessage);
-				listeners.parallelStream().forEach(listener -> listener.onMessage(unicastMessage.payload()));
+				final WorkerAddress sender = unicastMessage.sender();
+				if ((stalePolicy == StaleMessagePolicy.DROP) && StaleMessagePolicy.isStale(workerMessage,
+				                                                                            topologyService.epoch())) {
+					log.debug("Dropping the message {} from a stale epoch.", unicastMessage);
+					// Dropped messages return credits too, so the sender is not stalled
+					grantCredits(sender);
+				} else {
+					log.debug("Delivering the message {}.", unicastMessage);
+					dispatcher.dispatch(unicastMessage.payload(), () -> grantCredits(sender));
+				}
 			}
 		} else if (workerMessage.hasType(WorkerMessage.Type.UNICAST_CONTROL)) {
-			final WorkerAddress neighbourWorkerAddress = workerMessage.requiredPayload();
-			log.debug("Adding new neighbour: {}.", neighbourWorkerAddress);
-			computeNeighbours.add(neighbourWorkerAddress);
+			final WorkerAnnouncement announcement = (WorkerAnnouncement)workerMessage.requiredPayload();
+			if (announcement.address().equals(localWorkerAddress)) {
+				return false;
+			}
+			log.debug("Adding new neighbour: {}.", announcement);
+			computeNeighbours.put(announcement.address(), announcement.nodeId());
+			routingTable.learn(announcement.address(), announcement.nodeId());
+		} else if (workerMessage.hasType(WorkerMessage.Type.UNICAST_CREDIT)) {
+			final CreditGrant grant = (CreditGrant)workerMessage.requiredPayload();
+			// Other workers of the computation on this node may be the recipients
+			if (grant.sender().equals(localWorkerAddress)) {
+				log.debug("Received credits: {}.", grant);
+				flowControl.onGrant(grant.receiver(), grant.delivered());
+				return true;
+			}
 		}
 
 		return false;
 	}
 
 	@Override @NonNull public Set<WorkerMessage.Type> subscribedTypes() {
-		return ImmutableSet.of(WorkerMessage.Type.UNICAST_CONTROL, WorkerMessage.Type.UNICAST_MESSAGE);
+		return ImmutableSet.of(WorkerMessage.Type.UNICAST_CONTROL, WorkerMessage.Type.UNICAST_MESSAGE,
+		                       WorkerMessage.Type.UNICAST_CREDIT);
 	}
 
-	private void broadcastMyAddress() {
-		log.debug("Broadcasting my unicast address: {}.", localWorkerAddress);
-		try {
-			final Set<String> neighbours = topologyService.neighbours();
-			if (neighbours.isEmpty()) {
-				log.debug("No neighbours.");
-				return;
-			}
-			final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
-					WorkerMessage.Type.UNICAST_CONTROL, neighbours, localWorkerAddress);
-			workerCommunication.sendMessage(workerMessage);
-		} catch (final IllegalStateException e) {
-			log.debug("Topology is not available yet.");
-		}
-	}
+	private void publish(@NonNull final Set<WorkerAddress> receivers, @NonNull final Serializable message) {
+		assert nonNull(receivers) && nonNull(message);
 
-	private boolean isInitialized() {
-		return localWorkerAddress != null;
+		final UnicastMessage unicastMessage = new UnicastMessage(localWorkerAddress, receivers, message);
+		log.debug("Sending message {}.", unicastMessage);
+		final Set<WorkerAddress> unroutable = newHashSet();
+		final Set<String> recipients = ownersOf(receivers, unroutable);
+		if (!unroutable.isEmpty()) {
+			log.info("No route to {}. Dropping the message {} for them.", unroutable, unicastMessage);
+			flowControl.release(unroutable);
+		}
+		if (recipients.isEmpty()) {
+			return;
+		}
+		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_MESSAGE, recipients, unicastMessage);
+		log.debug("Prepared message to send: {}.", workerMessage);
+		workerCommunication.sendMessage(workerMessage);
 	}
 
-	private static final class UnicastMessage implements Serializable {
+	/**
+	 * Returns credits to the sender once enough of its messages were handled by the listeners. Slow listeners hold
+	 * back the grants and, in turn, the sender, without blocking the thread that delivers messages to the node.
+	 */
+	private void grantCredits(@NonNull final WorkerAddress sender) {
+		assert nonNull(sender);
 
-		private static final long serialVersionUID = 8710738856544239311L;
-
-		@NonNull private final Set<WorkerAddress> recipients;
-
-		@NonNull private final Serializable payload;
-
-		UnicastMessage(final Set<WorkerAddress> recipients, final Serializable payload) {
-			this.recipients = ImmutableSet.copyOf(requireNonNull(recipients));
-			this.payload = requireNonNull(payload);
+		final OptionalLong delivered = flowControl.onDelivered(sender);
+		if (!delivered.isPresent()) {
+			return;
 		}
-
-		@NonNull public Set<WorkerAddress> recipients() {
-			return recipients;
+		final Set<String> owners = ownersOf(ImmutableSet.of(sender), newHashSet());
+		if (owners.isEmpty()) {
+			log.debug("No route to {}, cannot grant credits.", sender);
+			return;
 		}
+		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_CREDIT, owners,
+				new CreditGrant(localWorkerAddress, sender, delivered.getAsLong()));
+		workerCommunication.sendMessage(workerMessage);
+	}
 
-		public boolean isRecipient(@NonNull final WorkerAddress workerAddress) {
-			assert nonNull(workerAddress);
-			return recipients.contains(workerAddress);
+	private void broadcastMyAddress() {
+		log.debug("Broadcasting my unicast address: {}.", localWorkerAddress);
+		routingTable.publish(localWorkerAddress, identityService.nodeId());
+		forgetDepartedWorkers();
+		final Optional<TopologySnapshot> snapshot = topologyService.snapshot();
+		if (!snapshot.isPresent()) {
+			log.debug("Topology is not available yet.");
+			return;
 		}
+		// Forget workers of nodes that left the topology
+		computeNeighbours.values().removeIf(nodeId -> !snapshot.get().nodes().contains(nodeId));
+		// Other workers of the computation on this node are neighbours too
+		final Set<String> recipients = Sets.union(snapshot.get().neighbours(),
+		                                          ImmutableSet.of(identityService.nodeId()));
+		final WorkerMessage<Serializable> workerMessage = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_CONTROL, recipients,
+				new WorkerAnnouncement(localWorkerAddress, identityService.nodeId()));
+		workerCommunication.sendMessage(workerMessage.withEpoch(snapshot.get().epoch()));
+	}
 
-		@NonNull public Serializable payload() {
-			return payload;
+	/**
+	 * Drops the flow control state of workers that disappeared from the routing table, so credits of messages they
+	 * never granted back do not stall senders and the state does not grow with every worker ever seen.
+	 */
+	private void forgetDepartedWorkers() {
+		for (final WorkerAddress worker : flowControl.workers()) {
+			if (!routingTable.ownerOf(worker).isPresent()) {
+				log.debug("Worker {} left. Forgetting its flow control state.", worker);
+				flowControl.forget(worker);
+			}
 		}
+	}
 
-		@Override public String toString() {
-			return toStringHelper(this).add("recipients", recipients).addValue(payload).toString();
+	/**
+	 * Resolves nodes owning the given addresses.
+	 * <p>
+	 * Messages are sent directly to the owners, so a worker can reach any worker with a known address, not only
+	 * the ones on neighbouring nodes ({@link #neighbours()} only suggests whom to talk to). Unknown addresses (of
+	 * workers that have not announced themselves yet or that left) are skipped.
+	 *
+	 * @param unresolved
+	 * 		collects the unknown addresses.
+	 */
+	@NonNull private Set<String> ownersOf(@NonNull final Set<WorkerAddress> receivers,
+	                                      @NonNull final Set<WorkerAddress> unresolved) {
+		assert nonNull(receivers) && nonNull(unresolved);
+
+		final Set<String> owners = newHashSet();
+		for (final WorkerAddress receiver : receivers) {
+			final Optional<String> owner = routingTable.ownerOf(receiver);
+			if (owner.isPresent()) {
+				owners.add(owner.get());
+			} else {
+				unresolved.add(receiver);
+			}
 		}
+		return owners;
+	}
+
+	private boolean isInitialized() {
+		return localWorkerAddress != null;
+	}
+
+	/**
+	 * Returns the number of messages waiting for each registered listener.
+	 */
+	@NonNull public ImmutableMap<MessageListener<Serializable>, Integer> listenerQueueDepths() {
+		return dispatcher.queueDepths();
 	}
 
 	@Override public String toString() {
@@ -23,10 +23,12 @@
 package org.age.services.worker.internal;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
 
 import org.age.compute.api.WorkerAddress;
 
 import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -42,9 +44,19 @@ public final class DefaultWorkerAddress implements WorkerAddress {
 
 	private static final long serialVersionUID = 1526560233585684436L;
 
-	private final UUID uuid = UUID.randomUUID();
+	private final UUID uuid;
 
-	private final String encodedUUID = uuid.toString();
+	public DefaultWorkerAddress() {
+		this(UUID.randomUUID());
+	}
+
+	DefaultWorkerAddress(@NonNull final UUID uuid) {
+		this.uuid = requireNonNull(uuid);
+	}
+
+	@NonNull UUID uuid() {
+		return uuid;
+	}
 
 	@Override public boolean equals(final Object obj) {
 		if (this == obj) {
@@ -62,6 +74,6 @@ public final class DefaultWorkerAddress implements WorkerAddress {
 	}
 
 	@Override public String toString() {
-		return toStringHelper(this).addValue(encodedUUID).toString();
+		return toStringHelper(this).addValue(uuid).toString();
 	}
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Hazelcast serializer of {@link DefaultWorkerAddress}es - an address is written as a 128-bit value.
+ */
+public final class DefaultWorkerAddressSerializer implements StreamSerializer<DefaultWorkerAddress> {
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final DefaultWorkerAddress address)
+			throws IOException {
+		out.writeLong(address.uuid().getMostSignificantBits());
+		out.writeLong(address.uuid().getLeastSignificantBits());
+	}
+
+	@Override @NonNull public DefaultWorkerAddress read(@NonNull final ObjectDataInput in) throws IOException {
+		return new DefaultWorkerAddress(new UUID(in.readLong(), in.readLong()));
+	}
+
+	@Override public int getTypeId() {
+		return WireFormat.WORKER_ADDRESS_TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
@@ -23,107 +23,219 @@
 
 package org.age.services.worker.internal;
 
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newEnumMap;
-import static com.google.common.collect.Sets.newHashSet;
-import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
 import static com.google.common.util.concurrent.MoreExecutors.shutdownAndAwaitTermination;
-import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 
+import org.age.compute.api.CollectiveOperations;
+import org.age.compute.api.UnicastMessenger;
+import org.age.services.discovery.MemberRemovedEvent;
+import org.age.services.executor.ExecutorRegistry;
 import org.age.services.identity.NodeIdentityService;
+import org.age.services.topology.TopologyService;
+import org.age.services.worker.ComputationSetup;
 import org.age.services.worker.WorkerMessage;
 import org.age.services.worker.WorkerService;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableScheduledFuture;
-import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Message;
 import com.hazelcast.core.MessageListener;
 
-import org.checkerframework.checker.lock.qual.GuardedBy;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.BeanCreationException;
-import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.SmartLifecycle;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
-import org.springframework.context.support.AbstractApplicationContext;
-import org.springframework.context.support.FileSystemXmlApplicationContext;
-
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.EnumMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.inject.Named;
 
 public class DefaultWorkerService implements SmartLifecycle, WorkerCommunication, WorkerService {
 
 	public static final String CHANNEL_NAME = "worker/channel";
 
+	public static final String INBOX_PREFIX = "worker/inbox/";
+
+	/**
+	 * Routing modes for messages with an explicit set of recipients.
+	 * <p>
+	 * Broadcast messages are always published on the shared channel. Every node listens both on the shared channel
+	 * and on its own inbox, so nodes using different modes can coexist in one cluster.
+	 */
+	public enum Routing {
+		/**
+		 * All messages are published on the shared {@link #CHANNEL_NAME} topic and filtered by the receivers.
+		 */
+		CHANNEL,
+		/**
+		 * Messages are published only on the inboxes of their recipients.
+		 */
+		INBOX
+	}
+
+	/**
+	 * Delivery modes for messages addressed to the local node.
+	 */
+	public enum LocalDelivery {
+		/**
+		 * Local messages go through Hazelcast like all other messages.
+		 */
+		DISABLED,
+		/**
+		 * Local messages are handed to the listeners directly, without serialization. Listeners receive the same
+		 * payload instance that was sent.
+		 */
+		BY_REFERENCE,
+		/**
+		 * Local messages are handed to the listeners directly, but with a copy of the payload, so the sender and
+		 * the receivers can safely mutate their instances.
+		 */
+		BY_COPY
+	}
+
 	private static final Logger log = LoggerFactory.getLogger(WorkerService.class);
 
+	private static final int MAX_CACHED_TASKS = 16;
+
 	private final AtomicBoolean running = new AtomicBoolean(false);
 
-	private final ListeningScheduledExecutorService executorService = listeningDecorator(newScheduledThreadPool(5));
+	/**
+	 * Local messages are delivered in order, so they need a dedicated thread.
+	 */
+	private final ExecutorService localDeliveryExecutor = newSingleThreadExecutor(
+			new ThreadFactoryBuilder().setNameFormat("age-worker-local-%d").setDaemon(true).build());
+
+	/**
+	 * Control messages (e.g. setups of computations, which refresh Spring contexts) are handled in order, off the
+	 * Hazelcast event threads.
+	 */
+	private final ExecutorService controlExecutor = newSingleThreadExecutor(
+			new ThreadFactoryBuilder().setNameFormat("age-worker-control-%d").setDaemon(true).build());
 
-	private final Map<WorkerMessage.Type, Set<CommunicationFacility>> workerMessageListeners = newEnumMap(
+	private final Set<ListenableScheduledFuture<?>> periodicTasks = Sets.newConcurrentHashSet();
+
+	private final EnumMap<WorkerMessage.Type, Consumer<WorkerMessage<Serializable>>> messageHandlers = newEnumMap(
 			WorkerMessage.Type.class);
 
-	private final Set<CommunicationFacility> communicationFacilities = newHashSet();
+	private final ConcurrentMap<String, Computation> computations = new ConcurrentHashMap<>();
 
-	private final ReadWriteLock taskLock = new ReentrantReadWriteLock();
+	private final ConcurrentMap<String, ITopic<WorkerMessage<Serializable>>> inboxes = new ConcurrentHashMap<>();
 
-	private final EnumMap<WorkerMessage.Type, Consumer<Serializable>> messageHandlers = newEnumMap(
-			WorkerMessage.Type.class);
+	private final TaskDefinitionCache taskDefinitions = new TaskDefinitionCache(MAX_CACHED_TASKS);
+
+	/**
+	 * Contexts prepared for the next computation in the warm mode.
+	 */
+	private final AtomicReference<PreparedComputation> preparedComputation = new AtomicReference<>();
+
+	/**
+	 * Names and types of facilities defined in the node context (they do not change after it is refreshed).
+	 */
+	private volatile @MonotonicNonNull ImmutableMap<String, Class<?>> facilityTypes;
+
+	@Value("${age.worker.routing:INBOX}") private @NonNull Routing routing = Routing.INBOX;
+
+	@Value("${age.worker.local-delivery:BY_REFERENCE}") private @NonNull LocalDelivery localDelivery =
+			LocalDelivery.BY_REFERENCE;
+
+	@Value("${age.worker.batch.max-size:64}") private int maxBatchSize = 64;
+
+	@Value("${age.worker.batch.max-linger-micros:1000}") private long maxLingerMicros = 1000L;
+
+	/**
+	 * In the warm mode, contexts for the next computation with the same task are prepared in the background after a
+	 * computation is set up, so back-to-back computations do not wait for Spring.
+	 */
+	@Value("${age.worker.warm-contexts:false}") private boolean warmContexts = false;
 
 	@Inject private @MonotonicNonNull HazelcastInstance hazelcastInstance;
 
 	@Inject private @MonotonicNonNull NodeIdentityService identityService;
 
+	@Inject @Named("default") private @MonotonicNonNull TopologyService topologyService;
+
 	@Inject private @MonotonicNonNull EventBus eventBus;
 
 	@Inject private @MonotonicNonNull ApplicationContext applicationContext;
 
-	private @MonotonicNonNull ITopic<WorkerMessage<Serializable>> topic;
+	@Inject private @MonotonicNonNull ExecutorRegistry executors;
 
-	@GuardedBy("taskLock") private @Nullable String currentClassName;
+	private @MonotonicNonNull ITopic<WorkerMessage<Serializable>> topic;
 
-	@GuardedBy("taskLock") private @Nullable Runnable currentTask;
+	private @MonotonicNonNull ITopic<WorkerMessage<Serializable>> inbox;
 
-	@GuardedBy("taskLock") private @Nullable AbstractApplicationContext currentContext;
+	private @MonotonicNonNull String inboxListenerId;
 
-	@GuardedBy("taskLock") private @Nullable ListenableScheduledFuture<?> currentTaskFuture;
+	private @MonotonicNonNull OutboundMessagePipeline outboundPipeline;
 
 	protected DefaultWorkerService() {
-		Arrays.stream(WorkerMessage.Type.values()).forEach(type -> workerMessageListeners.put(type, newHashSet()));
-
 		messageHandlers.put(WorkerMessage.Type.LOAD_CLASS, this::handleLoadClass);
 		messageHandlers.put(WorkerMessage.Type.LOAD_CONFIGURATION, this::handleLoadConfig);
 		messageHandlers.put(WorkerMessage.Type.START_COMPUTATION, this::handleStartComputation);
 	}
 
 	@PostConstruct private void construct() {
+		final DistributedMessageListener listener = new DistributedMessageListener();
 		topic = hazelcastInstance.getTopic(CHANNEL_NAME);
-		topic.addMessageListener(new DistributedMessageListener());
+		topic.addMessageListener(listener);
+		inbox = hazelcastInstance.getTopic(inboxName(identityService.nodeId()));
+		inboxListenerId = inbox.addMessageListener(listener);
+		log.debug("Listening on {} and {} (routing: {}, local delivery: {}).", CHANNEL_NAME, inbox.getName(), routing,
+		          localDelivery);
+		outboundPipeline = new OutboundMessagePipeline(maxBatchSize, maxLingerMicros, executors.scheduled(),
+		                                              this::publish);
+		log.debug("Outbound pipeline: {}.", outboundPipeline);
 		eventBus.register(this);
 	}
 
@@ -148,7 +260,19 @@ public class DefaultWorkerService implements SmartLifecycle, WorkerCommunication
 		log.debug("Worker service stopping.");
 
 		running.set(false);
-		shutdownAndAwaitTermination(executorService, 10L, TimeUnit.SECONDS);
+		outboundPipeline.flush();
+		periodicTasks.forEach(future -> future.cancel(false));
+		awaitComputations(10L, TimeUnit.SECONDS);
+		computations.values().forEach(this::discard);
+		Optional.ofNullable(preparedComputation.getAndSet(null)).ifPresent(PreparedComputation::close);
+		log.info("Task definitions: {}.", taskDefinitions);
+		shutdownAndAwaitTermination(localDeliveryExecutor, 10L, TimeUnit.SECONDS);
+		shutdownAndAwaitTermination(controlExecutor, 10L, TimeUnit.SECONDS);
+		log.info("Outbound pipeline: {}, batch sizes: {}.", outboundPipeline, outboundPipeline.batchSizeHistogram());
+		if (hazelcastInstance.getLifecycleService().isRunning()) {
+			inbox.removeMessageListener(inboxListenerId);
+			inbox.destroy();
+		}
 
 		log.info("Worker service stopped.");
 	}
@@ -161,148 +285,471 @@ public class DefaultWorkerService implements SmartLifecycle, WorkerCommunication
 		return Integer.MAX_VALUE;
 	}
 
-	@Override public void sendMessage(@NonNull final WorkerMessage<Serializable> message) {
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Messages without an epoch are stamped with the epoch of the current topology.
+	 */
+	@Override public void sendMessage(@NonNull final WorkerMessage<Serializable> unstampedMessage) {
+		final WorkerMessage<Serializable> message = (unstampedMessage.epoch() == WorkerMessage.NO_EPOCH)
+		                                            ? unstampedMessage.withEpoch(topologyService.epoch())
+		                                            : unstampedMessage;
 		log.debug("Sending message {}.", message);
-		topic.publish(message);
+		final WorkerMessage<Serializable> remoteMessage;
+		if (shouldDeliverLocally(message)) {
+			deliverLocally(message);
+			final Set<String> remoteRecipients = Sets.difference(message.recipients(),
+			                                                     ImmutableSet.of(identityService.nodeId()));
+			if (remoteRecipients.isEmpty()) {
+				return;
+			}
+			remoteMessage = message.withRecipients(remoteRecipients);
+		} else {
+			remoteMessage = message;
+		}
+
+		if (remoteMessage.isBroadcast() || (routing == Routing.CHANNEL)) {
+			outboundPipeline.send(CHANNEL_NAME, remoteMessage);
+			return;
+		}
+		remoteMessage.recipients().forEach(recipient -> outboundPipeline.send(recipient, remoteMessage));
 	}
 
 	@Override public ListenableScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay,
 	                                                                  final long period, final TimeUnit unit) {
-		return executorService.scheduleAtFixedRate(command, initialDelay, period, unit);
+		final ListenableScheduledFuture<?> future = executors.scheduled()
+		                                                     .scheduleAtFixedRate(command, initialDelay, period, unit);
+		periodicTasks.add(future);
+		future.addListener(() -> periodicTasks.remove(future), MoreExecutors.directExecutor());
+		return future;
+	}
+
+	/**
+	 * Returns the histogram of sizes of batches sent by this node. Keys are lower bounds of the buckets.
+	 */
+	@NonNull public ImmutableSortedMap<Integer, Long> batchSizeHistogram() {
+		return outboundPipeline.batchSizeHistogram();
+	}
+
+	/**
+	 * Returns IDs of the computations set up on this node (both running and waiting for the start).
+	 */
+	@NonNull public ImmutableSet<String> computationIds() {
+		return ImmutableSet.copyOf(computations.keySet());
 	}
 
 	public boolean isSetUp() {
-		return currentClassName != null;
+		return !computations.isEmpty();
+	}
+
+	public boolean isSetUp(@NonNull final String computationId) {
+		return computations.containsKey(requireNonNull(computationId));
 	}
 
 	public boolean isTaskRunning() {
-		return (currentTaskFuture != null) && !currentTaskFuture.isDone();
+		return computations.values().stream().anyMatch(Computation::isRunning);
 	}
 
-	private void handleLoadClass(final @NonNull Serializable payload) {
-		assert nonNull(payload) && (payload instanceof String);
-		setupTaskFromClass((String)payload);
+	public boolean isTaskRunning(@NonNull final String computationId) {
+		final Computation computation = computations.get(requireNonNull(computationId));
+		return (computation != null) && computation.isRunning();
 	}
 
-	private void handleLoadConfig(final @NonNull Serializable payload) {
-		assert nonNull(payload) && (payload instanceof String);
-		setupTaskFromConfig((String)payload);
+	/**
+	 * Publishes messages flushed by the outbound pipeline. Multiple messages are wrapped in a single envelope.
+	 *
+	 * @param destination
+	 * 		{@link #CHANNEL_NAME} or ID of the recipient node.
+	 * @param messages
+	 * 		messages to publish.
+	 */
+	private void publish(@NonNull final String destination, @NonNull final List<WorkerMessage<Serializable>> messages) {
+		assert nonNull(destination) && !messages.isEmpty();
+
+		final boolean toChannel = CHANNEL_NAME.equals(destination);
+		final WorkerMessage<Serializable> message;
+		if (messages.size() == 1) {
+			message = messages.get(0);
+		} else if (toChannel) {
+			message = WorkerMessage.createBroadcastWithPayload(WorkerMessage.Type.BATCH, new MessageBatch(messages));
+		} else {
+			message = WorkerMessage.createWithPayload(WorkerMessage.Type.BATCH, ImmutableSet.of(destination),
+			                                          new MessageBatch(messages));
+		}
+		(toChannel ? topic : inboxFor(destination)).publish(message);
 	}
 
-	private void handleStartComputation(final @Nullable Serializable payload) {
-		assert isNull(payload);
-		startTask();
+	/**
+	 * Broadcasts are not delivered locally, as Hazelcast delivers them to the publishing node anyway.
+	 */
+	private boolean shouldDeliverLocally(@NonNull final WorkerMessage<Serializable> message) {
+		return (localDelivery != LocalDelivery.DISABLED) && !message.isBroadcast() && message.isRecipient(
+				identityService.nodeId());
 	}
 
-	private void setupTaskFromClass(final @NonNull String className) {
-		assert nonNull(className);
-		assert !isTaskRunning() : "Task is already running.";
+	/**
+	 * Hands the message to local listeners on a dedicated thread, so local messages are processed asynchronously and
+	 * in the order of sending, like the ones received from Hazelcast.
+	 */
+	private void deliverLocally(@NonNull final WorkerMessage<Serializable> message) {
+		assert nonNull(message);
+
+		final WorkerMessage<Serializable> localMessage = (localDelivery == LocalDelivery.BY_COPY)
+		                                                 ? copyOf(message)
+		                                                 : message;
+		log.debug("Delivering message {} locally.", localMessage);
+		localDeliveryExecutor.execute(() -> dispatch(localMessage));
+	}
+
+	@NonNull private static WorkerMessage<Serializable> copyOf(@NonNull final WorkerMessage<Serializable> message) {
+		assert nonNull(message);
+
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(message);
+			}
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+				return (WorkerMessage<Serializable>)in.readObject();
+			}
+		} catch (final IOException | ClassNotFoundException e) {
+			throw new IllegalArgumentException("Cannot copy the message " + message + ".", e);
+		}
+	}
+
+	/**
+	 * Forgets the inbox of a node that left and drops messages waiting for it.
+	 */
+	@Subscribe public void memberRemoved(@NonNull final MemberRemovedEvent event) {
+		final String nodeId = event.descriptor().id();
+		if (nodeId.equals(identityService.nodeId())) {
+			return;
+		}
+		final int discarded = outboundPipeline.discard(nodeId);
+		final ITopic<WorkerMessage<Serializable>> removedInbox = inboxes.remove(nodeId);
+		log.debug("Node {} left. Dropped {} messages waiting for it.", nodeId, discarded);
+		if (removedInbox != null) {
+			executors.io().execute(removedInbox::destroy);
+		}
+	}
+
+	@NonNull private ITopic<WorkerMessage<Serializable>> inboxFor(@NonNull final String nodeId) {
+		assert nonNull(nodeId);
+		return inboxes.computeIfAbsent(nodeId, id -> hazelcastInstance.getTopic(inboxName(id)));
+	}
+
+	@NonNull private static String inboxName(@NonNull final String nodeId) {
+		return INBOX_PREFIX + nodeId;
+	}
+
+	/**
+	 * Passes control messages to the control thread and handles other messages on the current one.
+	 */
+	private void dispatch(final @NonNull WorkerMessage<Serializable> workerMessage) {
+		if (messageHandlers.containsKey(workerMessage.type())) {
+			controlExecutor.execute(() -> handleMessage(workerMessage));
+		} else {
+			handleMessage(workerMessage);
+		}
+	}
 
-		taskLock.writeLock().lock();
+	/**
+	 * Handles control messages and routes other messages to the facilities of the computation they belong to.
+	 */
+	private void handleMessage(final @NonNull WorkerMessage<Serializable> workerMessage) {
 		try {
-			log.debug("Setting up task from class {}.", className);
+			final Consumer<WorkerMessage<Serializable>> handler = messageHandlers.get(workerMessage.type());
+			if (handler != null) {
+				handler.accept(workerMessage);
+				return;
+			}
+
+			final Computation computation = computations.get(workerMessage.computation());
+			if (computation == null) {
+				log.debug("Computation {} is not set up. Dropping message {}.", workerMessage.computation(),
+				          workerMessage);
+				return;
+			}
+			if (!computation.onMessage(workerMessage)) {
+				log.debug("Message {} was not handled by computation {}.", workerMessage, computation);
+			}
+		} catch (final Throwable t) {
+			log.warn("Cannot handle message {}.", workerMessage, t);
+		}
+	}
 
-			log.debug("Creating internal Spring context.");
+	private void handleLoadClass(final @NonNull WorkerMessage<Serializable> message) {
+		final ComputationSetup setup = setupOf(message);
+		setUpComputation(message.computation(), setup, () -> TaskDefinitionCache.classKey(setup.source()), () -> {
 			final AnnotationConfigApplicationContext taskContext = new AnnotationConfigApplicationContext();
+			final BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(setup.source());
+			taskContext.registerBeanDefinition(Computation.TASK_BEAN_NAME, builder.getBeanDefinition());
+			return taskContext;
+		});
+	}
+
+	private void handleLoadConfig(final @NonNull WorkerMessage<Serializable> message) {
+		final ComputationSetup setup = setupOf(message);
+		setUpComputation(message.computation(), setup, () -> TaskDefinitionCache.configKey(setup.source()), () -> {
+			final GenericXmlApplicationContext taskContext = new GenericXmlApplicationContext();
+			taskContext.load(new FileSystemResource(setup.source()));
+			return taskContext;
+		});
+	}
 
-			// Configure task
-			final BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(className);
-			taskContext.registerBeanDefinition("runnable", builder.getBeanDefinition());
+	/**
+	 * A plain class name or config path sets up a single worker.
+	 */
+	@NonNull private static ComputationSetup setupOf(final @NonNull WorkerMessage<Serializable> message) {
+		final Serializable payload = message.requiredPayload();
+		return (payload instanceof ComputationSetup) ? (ComputationSetup)payload
+		                                             : ComputationSetup.of((String)payload, 1);
+	}
 
-			prepareContext(taskContext);
-			currentClassName = className;
+	private void handleStartComputation(final @NonNull WorkerMessage<Serializable> message) {
+		assert !message.payload().isPresent();
 
-			log.debug("Task setup finished.");
-		} catch (final BeanCreationException e) {
-			log.error("Cannot create the task.", e);
-			cleanUpAfterTask();
-		} finally {
-			taskLock.writeLock().unlock();
+		final String id = message.computation();
+		final Computation computation = computations.get(id);
+		if (computation == null) {
+			log.warn("Cannot start computation {} - it is not set up.", id);
+			return;
 		}
+		if (computation.isStarted()) {
+			log.warn("Computation {} has already been started.", id);
+			return;
+		}
+
+		log.info("Starting computation {}.", computation);
+		Futures.addCallback(computation.start(executors), new ExecutionListener(computation));
 	}
 
-	private void setupTaskFromConfig(final @NonNull String configPath) {
-		assert nonNull(configPath);
-		assert !isTaskRunning() : "Task is already running.";
+	/**
+	 * Creates the context of a new computation and the contexts of its workers or takes the ones prepared in advance.
+	 *
+	 * @param id
+	 * 		ID of the computation.
+	 * @param setup
+	 * 		a class name or a config path with the number of workers.
+	 * @param taskKey
+	 * 		returns the key of the task definitions (see {@link TaskDefinitionCache}).
+	 * @param taskLoader
+	 * 		creates a context with the task bean definitions (called only if they are not cached).
+	 */
+	private void setUpComputation(final @NonNull String id, final @NonNull ComputationSetup setup,
+	                              final @NonNull Supplier<String> taskKey,
+	                              final @NonNull Supplier<GenericApplicationContext> taskLoader) {
+		assert nonNull(id) && nonNull(setup) && nonNull(taskKey) && nonNull(taskLoader);
+
+		if (computations.containsKey(id)) {
+			log.warn("Computation {} is already set up. Ignoring {}.", id, setup);
+			return;
+		}
 
-		taskLock.writeLock().lock();
+		final int workers = setup.workersFor(Runtime.getRuntime().availableProcessors());
+		log.debug("Setting up computation {} from {} with {} workers.", id, setup, workers);
+		final String key;
+		final PreparedComputation prepared;
 		try {
-			log.debug("Setting up task from config {}.", configPath);
+			key = taskKey.get();
+			prepared = takePreparedComputation(key, setup).orElseGet(
+					() -> prepareComputation(key, setup, workers, taskLoader));
+		} catch (final BeansException e) {
+			log.error("Cannot create the computation {}.", id, e);
+			return;
+		}
 
-			log.debug("Creating internal Spring context.");
-			final FileSystemXmlApplicationContext taskContext = new FileSystemXmlApplicationContext(configPath);
-			prepareContext(taskContext);
+		final Computation computation = prepared.bind(id);
+		if (computations.putIfAbsent(id, computation) != null) {
+			log.warn("Computation {} was set up concurrently. Ignoring {}.", id, setup);
+			computation.close();
+			return;
+		}
+		log.debug("Computation {} set up.", computation);
 
-			currentClassName = taskContext.getType("runnable").getCanonicalName();
+		if (warmContexts) {
+			executors.compute().execute(() -> warmUp(key, setup, workers, taskLoader));
+		}
+	}
 
-			log.debug("Task setup finished.");
-		} catch (final BeanCreationException e) {
-			log.error("Cannot create the task.", e);
-			cleanUpAfterTask();
-		} finally {
-			taskLock.writeLock().unlock();
+	/**
+	 * Takes the contexts prepared in advance if they match the task. Contexts prepared for another task are closed.
+	 */
+	@NonNull private Optional<PreparedComputation> takePreparedComputation(final @NonNull String taskKey,
+	                                                                       final @NonNull ComputationSetup setup) {
+		final Optional<PreparedComputation> prepared = Optional.ofNullable(preparedComputation.getAndSet(null));
+		if (prepared.isPresent() && !prepared.get().matches(taskKey, setup)) {
+			log.debug("Discarding contexts {} prepared for another task.", prepared.get());
+			prepared.get().close();
+			return Optional.empty();
 		}
+		prepared.ifPresent(p -> log.debug("Using contexts {} prepared in advance.", p));
+		return prepared;
 	}
 
-	private void prepareContext(final @NonNull AbstractApplicationContext taskContext) {
-		assert nonNull(taskContext);
-
-		// Configure communication facilities (as singletons)
-		final ConfigurableListableBeanFactory beanFactory = taskContext.getBeanFactory();
-		final Map<String, CommunicationFacility> facilitiesMap = applicationContext.getBeansOfType(
-				CommunicationFacility.class);
-		communicationFacilities.addAll(facilitiesMap.values());
-		// Add services
-		log.debug("Registering facilities and adding them as listeners for messages.");
-		communicationFacilities.forEach(service -> {
-			service.subscribedTypes().forEach(key -> workerMessageListeners.get(key).add(service));
-			log.debug("Registering {} as {} in application context.", service.getClass().getSimpleName(), service);
-			beanFactory.registerSingleton(service.getClass().getSimpleName(), service);
-		});
+	/**
+	 * Prepares contexts for the next computation with the same task.
+	 */
+	private void warmUp(final @NonNull String taskKey, final @NonNull ComputationSetup setup, final int workers,
+	                    final @NonNull Supplier<GenericApplicationContext> taskLoader) {
+		final PreparedComputation prepared;
+		try {
+			prepared = prepareComputation(taskKey, setup, workers, taskLoader);
+		} catch (final BeansException e) {
+			log.warn("Cannot prepare contexts for {}.", taskKey, e);
+			return;
+		}
+		final PreparedComputation previous = preparedComputation.getAndSet(prepared);
+		if (previous != null) {
+			previous.close();
+		}
+		log.debug("Contexts {} prepared in advance.", prepared);
+		// The service may have been stopped in the meantime
+		if (!running.get()) {
+			Optional.ofNullable(preparedComputation.getAndSet(null)).ifPresent(PreparedComputation::close);
+		}
+	}
 
-		// Refreshing the context
-		taskContext.refresh();
-		currentContext = taskContext;
+	/**
+	 * Creates and refreshes the context of a computation and the contexts of its workers.
+	 *
+	 * @throws BeansException
+	 * 		if any of the contexts cannot be created (already created ones are closed).
+	 */
+	@NonNull private PreparedComputation prepareComputation(final @NonNull String taskKey,
+	                                                        final @NonNull ComputationSetup setup, final int workers,
+	                                                        final @NonNull Supplier<GenericApplicationContext>
+			                                                        taskLoader) {
+		assert nonNull(taskKey) && nonNull(setup) && (workers > 0) && nonNull(taskLoader);
+
+		final GenericApplicationContext computationContext = new GenericApplicationContext();
+		final List<GenericApplicationContext> workerContexts = newArrayListWithCapacity(workers);
+		try {
+			prepareComputationContext(computationContext, setup);
+			for (int i = 0; i < workers; i++) {
+				final GenericApplicationContext workerContext = taskDefinitions.newContext(taskKey, taskLoader);
+				workerContexts.add(workerContext);
+				prepareWorkerContext(computationContext, workerContext);
+			}
+		} catch (final BeansException e) {
+			workerContexts.forEach(GenericApplicationContext::close);
+			computationContext.close();
+			throw e;
+		}
+		return new PreparedComputation(taskKey, setup, computationContext, workerContexts);
 	}
 
-	private void startTask() {
-		assert (currentClassName != null) && (currentContext != null);
+	/**
+	 * Makes the computation context a child of the node context and registers new instances of communication
+	 * facilities shared by workers in it. Messages sent by the facilities are addressed to the computation, once the
+	 * contexts are bound to it. The setup is available to the facilities as a bean.
+	 */
+	private void prepareComputationContext(final @NonNull GenericApplicationContext computationContext,
+	                                       final @NonNull ComputationSetup setup) {
+		assert nonNull(computationContext) && nonNull(setup);
+
+		configure(computationContext, applicationContext);
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(computationContext);
+
+		// Must take precedence over this service, which is also a WorkerCommunication
+		final AbstractBeanDefinition communication = BeanDefinitionBuilder.rootBeanDefinition(
+				ComputationCommunication.class).addConstructorArgValue(this).getBeanDefinition();
+		communication.setPrimary(true);
+		computationContext.registerBeanDefinition(PreparedComputation.COMMUNICATION_BEAN_NAME, communication);
+		computationContext.getBeanFactory().registerSingleton(PreparedComputation.SETUP_BEAN_NAME, setup);
+
+		registerFacilities(computationContext, type -> !isWorkerFacility(type));
+		computationContext.refresh();
+	}
 
-		log.debug("Starting task from class {}.", currentClassName);
+	/**
+	 * Makes the worker context a child of the computation context and registers new instances of facilities that
+	 * belong to a single worker in it.
+	 */
+	private void prepareWorkerContext(final @NonNull GenericApplicationContext computationContext,
+	                                  final @NonNull GenericApplicationContext workerContext) {
+		assert nonNull(computationContext) && nonNull(workerContext);
+
+		configure(workerContext, computationContext);
+		registerFacilities(workerContext, DefaultWorkerService::isWorkerFacility);
+		workerContext.refresh();
+	}
 
-		taskLock.writeLock().lock();
-		try {
-			currentContext.start();
-			currentTask = (Runnable)currentContext.getBean("runnable");
+	private static void configure(final @NonNull GenericApplicationContext context,
+	                              final @NonNull ApplicationContext parent) {
+		context.setParent(parent);
+		final PropertySourcesPlaceholderConfigurer placeholderConfigurer = new PropertySourcesPlaceholderConfigurer();
+		placeholderConfigurer.setEnvironment(context.getEnvironment());
+		context.addBeanFactoryPostProcessor(placeholderConfigurer);
+	}
 
-			log.info("Starting execution of {}.", currentTask);
+	/**
+	 * Facilities are lazy in the node context - the names are shadowed with new instances.
+	 */
+	private void registerFacilities(final @NonNull GenericApplicationContext context,
+	                                final @NonNull Predicate<Class<?>> filter) {
+		facilityTypes().forEach((name, type) -> {
+			if (filter.test(type)) {
+				log.debug("Registering {} as {} in {}.", type.getSimpleName(), name, context.getDisplayName());
+				context.registerBeanDefinition(name, BeanDefinitionBuilder.rootBeanDefinition(type)
+				                                                          .getBeanDefinition());
+			}
+		});
+	}
 
-			currentTaskFuture = executorService.schedule(currentTask, 0L, TimeUnit.SECONDS);
-			Futures.addCallback(currentTaskFuture, new ExecutionListener());
-		} finally {
-			taskLock.writeLock().unlock();
+	@NonNull private ImmutableMap<String, Class<?>> facilityTypes() {
+		if (facilityTypes == null) {
+			final ImmutableMap.Builder<String, Class<?>> builder = ImmutableMap.builder();
+			for (final String name : applicationContext.getBeanNamesForType(CommunicationFacility.class, true,
+			                                                                 false)) {
+				builder.put(name, applicationContext.getType(name));
+			}
+			facilityTypes = builder.build();
 		}
+		return facilityTypes;
 	}
 
-	private void cleanUpAfterTask() {
-		log.debug("Cleaning up after task {}.", currentTask);
-		taskLock.writeLock().lock();
-		try {
-			currentClassName = null;
-			currentTaskFuture = null;
-			currentTask = null;
-
-			if (currentContext != null) {
-				currentContext.stop();
-				currentContext.close();
-				currentContext = null;
+	/**
+	 * Facilities that give workers their addresses or ranks are created for every worker.
+	 */
+	private static boolean isWorkerFacility(final @NonNull Class<?> type) {
+		return UnicastMessenger.class.isAssignableFrom(type) || CollectiveOperations.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * Waits for running computations to finish and interrupts them after the timeout.
+	 */
+	private void awaitComputations(final long timeout, @NonNull final TimeUnit unit) {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (final Computation computation : computations.values()) {
+			final Optional<ListenableFuture<?>> future = computation.future();
+			if (!future.isPresent()) {
+				continue;
+			}
+			try {
+				future.get().get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (final TimeoutException ignored) {
+				log.warn("Computation {} did not finish in {} {}. Interrupting it.", computation.id(), timeout, unit);
+				future.get().cancel(true);
+			} catch (final InterruptedException ignored) {
+				Thread.currentThread().interrupt();
+				future.get().cancel(true);
+			} catch (final ExecutionException | CancellationException ignored) {
+				// Reported by the execution listener
 			}
-		} finally {
-			taskLock.writeLock().unlock();
 		}
-		log.debug("Clean up finished.");
 	}
 
+	/**
+	 * Removes the computation and closes its context.
+	 */
+	private void discard(final @NonNull Computation computation) {
+		if (computations.remove(computation.id(), computation)) {
+			log.debug("Cleaning up after computation {}.", computation);
+			computation.close();
+			log.debug("Clean up finished.");
+		}
+	}
 
 	private final class DistributedMessageListener implements MessageListener<WorkerMessage<Serializable>> {
 
@@ -310,44 +757,38 @@ public class DefaultWorkerService implements SmartLifecycle, WorkerCommunication
 			final WorkerMessage<Serializable> workerMessage = requireNonNull(message.getMessageObject());
 			log.debug("WorkerMessage received: {}.", workerMessage);
 
-			try {
-				if (!workerMessage.isRecipient(identityService.nodeId())) {
-					log.debug("Message {} was not directed to me.", workerMessage);
-					return;
-				}
-
-				final WorkerMessage.Type type = workerMessage.type();
-				final Set<CommunicationFacility> listeners = workerMessageListeners.get(type);
-				boolean eaten = false;
-				for (final CommunicationFacility listener : listeners) {
-					log.debug("Notifying listener {}.", listener);
-					if (listener.onMessage(workerMessage)) {
-						eaten = true;
-						break;
-					}
-				}
-
-				if (eaten) {
-					return;
-				}
-
-				messageHandlers.get(workerMessage.type()).accept(workerMessage.payload().orElse(null));
-			} catch (final Throwable t) {
-				log.info("T", t);
+			if (!workerMessage.isRecipient(identityService.nodeId())) {
+				log.debug("Message {} was not directed to me.", workerMessage);
+				return;
+			}
+
+			if (workerMessage.hasType(WorkerMessage.Type.BATCH)) {
+				final MessageBatch batch = workerMessage.requiredPayload();
+				log.debug("Unpacking batch of {} messages.", batch.size());
+				batch.messages().stream().filter(inner -> inner.isRecipient(identityService.nodeId()))
+				     .forEach(DefaultWorkerService.this::dispatch);
+			} else {
+				dispatch(workerMessage);
 			}
 		}
 	}
 
 	private final class ExecutionListener implements FutureCallback<Object> {
 
+		private final Computation computation;
+
+		private ExecutionListener(final @NonNull Computation computation) {
+			this.computation = computation;
+		}
+
 		@Override public void onSuccess(final Object result) {
-			log.info("Task {} finished.", currentTask);
-			cleanUpAfterTask();
+			log.info("Computation {} finished.", computation.id());
+			discard(computation);
 		}
 
 		@Override public void onFailure(final @NonNull Throwable t) {
-			log.error("Task {} failed with error.", currentTask, t);
-			cleanUpAfterTask();
+			log.error("Computation {} failed with error.", computation.id(), t);
+			discard(computation);
 		}
 	}
 
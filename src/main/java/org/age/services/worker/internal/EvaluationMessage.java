@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Payload of {@link org.age.services.worker.WorkerMessage.Type#EVALUATION_MESSAGE} messages exchanged by
+ * {@link DefaultParallelEvaluator}s of neighbour nodes.
+ * <p>
+ * These messages carry arbitrary functions and candidates, so they are written with the Java serialization.
+ */
+@Immutable
+final class EvaluationMessage implements Serializable {
+
+	/**
+	 * Kinds of messages.
+	 */
+	enum Kind {
+		/**
+		 * The number of idle threads of the sender ({@link Integer}).
+		 */
+		LOAD,
+		/**
+		 * A part of a batch to evaluate ({@link Request}).
+		 */
+		REQUEST,
+		/**
+		 * Results of a request, in the order of candidates ({@link ArrayList}).
+		 */
+		RESULT,
+		/**
+		 * A description of the failure of a request ({@link String}).
+		 */
+		FAILURE
+	}
+
+	private static final long serialVersionUID = -3212455102452935770L;
+
+	private final Kind kind;
+
+	private final long id;
+
+	private final String sender;
+
+	private final Serializable value;
+
+	private EvaluationMessage(@NonNull final Kind kind, final long id, @NonNull final String sender,
+	                          @NonNull final Serializable value) {
+		this.kind = requireNonNull(kind);
+		this.id = id;
+		this.sender = requireNonNull(sender);
+		this.value = requireNonNull(value);
+	}
+
+	@NonNull static EvaluationMessage load(@NonNull final String sender, final int idleThreads) {
+		return new EvaluationMessage(Kind.LOAD, 0L, sender, idleThreads);
+	}
+
+	@NonNull static EvaluationMessage request(final long id, @NonNull final String sender,
+	                                          @NonNull final Function<?, ?> evaluation,
+	                                          @NonNull final List<?> candidates) {
+		return new EvaluationMessage(Kind.REQUEST, id, sender, new Request(evaluation, candidates));
+	}
+
+	@NonNull static EvaluationMessage result(final long id, @NonNull final String sender,
+	                                         @NonNull final List<?> results) {
+		return new EvaluationMessage(Kind.RESULT, id, sender, new ArrayList<>(results));
+	}
+
+	@NonNull static EvaluationMessage failure(final long id, @NonNull final String sender,
+	                                          @NonNull final String description) {
+		return new EvaluationMessage(Kind.FAILURE, id, sender, description);
+	}
+
+	@NonNull Kind kind() {
+		return kind;
+	}
+
+	/**
+	 * Returns the ID of the request (assigned by its sender).
+	 */
+	long id() {
+		return id;
+	}
+
+	/**
+	 * Returns the ID of the sending node.
+	 */
+	@NonNull String sender() {
+		return sender;
+	}
+
+	@NonNull <X extends Serializable> X value() {
+		return (X)value;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("kind", kind).add("id", id).add("sender", sender).toString();
+	}
+
+	/**
+	 * A part of a batch spilled to another node.
+	 */
+	@Immutable
+	static final class Request implements Serializable {
+
+		private static final long serialVersionUID = 2618093569043707468L;
+
+		private final Function<Object, Object> evaluation;
+
+		private final ArrayList<?> candidates;
+
+		private Request(@NonNull final Function<?, ?> evaluation, @NonNull final List<?> candidates) {
+			this.evaluation = (Function<Object, Object>)requireNonNull(evaluation);
+			this.candidates = new ArrayList<>(candidates);
+		}
+
+		@NonNull Function<Object, Object> evaluation() {
+			return evaluation;
+		}
+
+		@NonNull List<?> candidates() {
+			return candidates;
+		}
+
+		@Override public String toString() {
+			return toStringHelper(this).add("candidates", candidates.size()).toString();
+		}
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Credit-based flow control between pairs of workers.
+ * <p>
+ * A sender may have at most {@code window} messages in flight to each receiver. The receiver counts messages it has
+ * delivered from each sender and periodically grants credits back by sending the cumulative count (see
+ * {@link CreditGrant}). As the counts are cumulative, a lost or reordered grant is healed by the next one.
+ * <p>
+ * Asynchronous sends waiting for credits are queued per receiver and completed in FIFO order for each receiver, so a
+ * slow receiver does not stall sends to other ones. A send to several receivers waits in the queue of each of them.
+ * <p>
+ * The state kept for a worker is dropped with {@link #forget} when the worker leaves. The counts of both sides must
+ * stay in step, so the state cannot be dropped earlier.
+ */
+@ThreadSafe
+final class FlowControl {
+
+	private final int window;
+
+	private final long grantThreshold;
+
+	@GuardedBy("this") private final Map<WorkerAddress, Outbound> outbound = newHashMap();
+
+	private final ConcurrentMap<WorkerAddress, Inbound> inbound = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new flow control.
+	 *
+	 * @param window
+	 * 		the maximum number of messages in flight from a sender to a receiver.
+	 */
+	FlowControl(final int window) {
+		checkArgument(window > 0, "Window must be positive.");
+		this.window = window;
+		grantThreshold = Math.max(1, window / 2);
+	}
+
+	// Sender side
+
+	/**
+	 * Consumes a credit of each receiver if all of them have one available and no other send is waiting for them.
+	 *
+	 * @return true if the credits were consumed.
+	 */
+	synchronized boolean tryAcquire(@NonNull final Set<WorkerAddress> receivers) {
+		requireNonNull(receivers);
+		if (!isReady(receivers)) {
+			return false;
+		}
+		consume(receivers);
+		return true;
+	}
+
+	/**
+	 * Consumes a credit of each receiver regardless of their availability.
+	 */
+	synchronized void acquire(@NonNull final Set<WorkerAddress> receivers) {
+		consume(requireNonNull(receivers));
+	}
+
+	/**
+	 * Consumes a credit of each receiver as soon as all of them have one available.
+	 *
+	 * @return a future completed when the credits are consumed. It fails if any of the receivers is forgotten or the
+	 * send times out (see {@link #timeOut}).
+	 */
+	@NonNull ListenableFuture<Void> acquireAsync(@NonNull final Set<WorkerAddress> receivers) {
+		requireNonNull(receivers);
+		synchronized (this) {
+			if (isReady(receivers)) {
+				consume(receivers);
+				return Futures.immediateFuture(null);
+			}
+			final PendingSend pendingSend = new PendingSend(ImmutableSet.copyOf(receivers));
+			receivers.forEach(receiver -> outbound(receiver).waiting.add(pendingSend));
+			return pendingSend.future;
+		}
+	}
+
+	/**
+	 * Fails the given asynchronous send with a {@link TimeoutException} if it is still waiting for credits.
+	 */
+	void timeOut(@NonNull final ListenableFuture<Void> future) {
+		requireNonNull(future);
+		final List<SettableFuture<Void>> ready;
+		synchronized (this) {
+			final Set<WorkerAddress> affected = Sets.newHashSet();
+			outbound.values().forEach(state -> state.waiting.removeIf(pendingSend -> {
+				if (pendingSend.future != future) {
+					return false;
+				}
+				affected.addAll(pendingSend.receivers);
+				return true;
+			}));
+			if (affected.isEmpty()) {
+				return;
+			}
+			ready = drainPendingSends(affected);
+		}
+		((SettableFuture<Void>)future).setException(new TimeoutException("No credits to send to the receivers."));
+		ready.forEach(readyFuture -> readyFuture.set(null));
+	}
+
+	/**
+	 * Returns credits consumed for a message that was not sent.
+	 */
+	void release(@NonNull final Set<WorkerAddress> receivers) {
+		requireNonNull(receivers);
+		final List<SettableFuture<Void>> ready;
+		synchronized (this) {
+			receivers.stream().map(outbound::get).filter(state -> state != null).forEach(state -> state.sent--);
+			ready = drainPendingSends(receivers);
+		}
+		ready.forEach(future -> future.set(null));
+	}
+
+	/**
+	 * Handles a grant from the receiver. Grants from forgotten receivers are ignored.
+	 *
+	 * @param receiver
+	 * 		the worker that granted credits.
+	 * @param delivered
+	 * 		the cumulative number of messages delivered by the receiver.
+	 */
+	void onGrant(@NonNull final WorkerAddress receiver, final long delivered) {
+		requireNonNull(receiver);
+		final List<SettableFuture<Void>> ready;
+		synchronized (this) {
+			final Outbound state = outbound.get(receiver);
+			if (state == null) {
+				return;
+			}
+			state.acknowledged = Math.max(state.acknowledged, delivered);
+			ready = drainPendingSends(ImmutableSet.of(receiver));
+		}
+		ready.forEach(future -> future.set(null));
+	}
+
+	synchronized long availableCredits(@NonNull final WorkerAddress receiver) {
+		final Outbound state = outbound.get(requireNonNull(receiver));
+		return (state != null) ? state.available() : window;
+	}
+
+	synchronized int pendingSends() {
+		return (int)outbound.values().stream().flatMap(state -> state.waiting.stream()).distinct().count();
+	}
+
+	// Receiver side
+
+	/**
+	 * Records a message delivered from the sender.
+	 *
+	 * @return the cumulative count to grant to the sender, if a grant is due.
+	 */
+	@NonNull OptionalLong onDelivered(@NonNull final WorkerAddress sender) {
+		final Inbound state = inbound.computeIfAbsent(requireNonNull(sender), key -> new Inbound());
+		final long delivered = state.delivered.incrementAndGet();
+		final long granted = state.granted.get();
+		if (((delivered - granted) >= grantThreshold) && state.granted.compareAndSet(granted, delivered)) {
+			return OptionalLong.of(delivered);
+		}
+		return OptionalLong.empty();
+	}
+
+	// Both sides
+
+	/**
+	 * Returns the workers this flow control keeps state for.
+	 */
+	@NonNull synchronized Set<WorkerAddress> workers() {
+		return ImmutableSet.copyOf(Sets.union(outbound.keySet(), inbound.keySet()));
+	}
+
+	/**
+	 * Drops the state kept for a worker that left, reclaiming the credits of messages that it will never grant back.
+	 * Sends waiting for the worker fail with {@link IllegalStateException}.
+	 */
+	void forget(@NonNull final WorkerAddress worker) {
+		requireNonNull(worker);
+		inbound.remove(worker);
+		final Collection<PendingSend> failed;
+		final List<SettableFuture<Void>> ready;
+		synchronized (this) {
+			final Outbound state = outbound.remove(worker);
+			if (state == null) {
+				return;
+			}
+			failed = state.waiting;
+			final Set<WorkerAddress> affected = Sets.newHashSet();
+			failed.forEach(pendingSend -> {
+				pendingSend.receivers.stream().map(outbound::get).filter(other -> other != null)
+				                     .forEach(other -> other.waiting.remove(pendingSend));
+				affected.addAll(pendingSend.receivers);
+			});
+			affected.remove(worker);
+			ready = drainPendingSends(affected);
+		}
+		failed.forEach(pendingSend -> pendingSend.future.setException(
+				new IllegalStateException("Receiver " + worker + " left.")));
+		ready.forEach(future -> future.set(null));
+	}
+
+	@Override public synchronized String toString() {
+		return toStringHelper(this).add("window", window)
+		                           .add("receivers", outbound.size())
+		                           .add("senders", inbound.size())
+		                           .add("pending", pendingSends())
+		                           .toString();
+	}
+
+	/**
+	 * Completes waiting sends that are at the heads of the queues of all their receivers and have credits. Completing
+	 * a send may unblock sends to its other receivers, so they are checked too.
+	 *
+	 * @return futures of the completed sends (to be set outside of the lock).
+	 */
+	@NonNull private List<SettableFuture<Void>> drainPendingSends(@NonNull final Collection<WorkerAddress> receivers) {
+		assert Thread.holdsLock(this);
+
+		final List<SettableFuture<Void>> ready = newArrayList();
+		final Deque<WorkerAddress> toCheck = new ArrayDeque<>(receivers);
+		while (!toCheck.isEmpty()) {
+			final Outbound state = outbound.get(toCheck.poll());
+			if ((state == null) || state.waiting.isEmpty()) {
+				continue;
+			}
+			final PendingSend head = state.waiting.peek();
+			if (head.future.isCancelled()) {
+				remove(head);
+			} else if (head.receivers.stream().allMatch(receiver -> outbound(receiver).canSend(head))) {
+				remove(head);
+				consume(head.receivers);
+				ready.add(head.future);
+			} else {
+				continue;
+			}
+			toCheck.addAll(head.receivers);
+		}
+		return ready;
+	}
+
+	private void remove(@NonNull final PendingSend pendingSend) {
+		pendingSend.receivers.forEach(receiver -> outbound(receiver).waiting.remove(pendingSend));
+	}
+
+	private boolean isReady(@NonNull final Set<WorkerAddress> receivers) {
+		return receivers.stream().allMatch(receiver -> outbound(receiver).canSend(null));
+	}
+
+	private void consume(@NonNull final Set<WorkerAddress> receivers) {
+		receivers.forEach(receiver -> outbound(receiver).sent++);
+	}
+
+	@NonNull private Outbound outbound(@NonNull final WorkerAddress receiver) {
+		assert nonNull(receiver);
+		return outbound.computeIfAbsent(receiver, key -> new Outbound());
+	}
+
+	private final class Outbound {
+
+		private final Deque<PendingSend> waiting = new ArrayDeque<>();
+
+		private long sent;
+
+		private long acknowledged;
+
+		private long available() {
+			return window - (sent - acknowledged);
+		}
+
+		/**
+		 * Checks whether the given send (or a new one, if null) is the next one to this receiver and there is a credit.
+		 */
+		private boolean canSend(@Nullable final PendingSend pendingSend) {
+			return (waiting.peek() == pendingSend) && (available() > 0);
+		}
+	}
+
+	private static final class Inbound {
+
+		private final AtomicLong delivered = new AtomicLong();
+
+		private final AtomicLong granted = new AtomicLong();
+	}
+
+	private static final class PendingSend {
+
+		private final ImmutableSet<WorkerAddress> receivers;
+
+		private final SettableFuture<Void> future = SettableFuture.create();
+
+		private PendingSend(@NonNull final ImmutableSet<WorkerAddress> receivers) {
+			this.receivers = receivers;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Payload of {@link org.age.services.worker.WorkerMessage.Type#GOSSIP_MESSAGE} messages: a user message relayed
+ * through the whole topology.
+ */
+@Immutable
+final class GossipMessage implements Serializable {
+
+	private static final long serialVersionUID = -1857426153720463377L;
+
+	private final UUID id;
+
+	private final String origin;
+
+	private final int ttl;
+
+	private final Serializable payload;
+
+	/**
+	 * Creates a new gossip message.
+	 *
+	 * @param id
+	 * 		an unique ID of the message, used to suppress duplicates.
+	 * @param origin
+	 * 		the ID of the node that started the gossip.
+	 * @param ttl
+	 * 		the number of hops the message can still make.
+	 * @param payload
+	 * 		a user message.
+	 */
+	GossipMessage(@NonNull final UUID id, @NonNull final String origin, final int ttl,
+	              @NonNull final Serializable payload) {
+		checkArgument(ttl >= 0, "TTL cannot be negative.");
+		this.id = requireNonNull(id);
+		this.origin = requireNonNull(origin);
+		this.ttl = ttl;
+		this.payload = requireNonNull(payload);
+	}
+
+	@NonNull UUID id() {
+		return id;
+	}
+
+	@NonNull String origin() {
+		return origin;
+	}
+
+	int ttl() {
+		return ttl;
+	}
+
+	@NonNull Serializable payload() {
+		return payload;
+	}
+
+	/**
+	 * Returns a copy of this message to relay to the next hop.
+	 */
+	@NonNull GossipMessage nextHop() {
+		checkState(ttl > 0, "TTL has expired.");
+		return new GossipMessage(id, origin, ttl - 1, payload);
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("id", id).add("origin", origin).add("ttl", ttl).addValue(payload).toString();
+	}
+}
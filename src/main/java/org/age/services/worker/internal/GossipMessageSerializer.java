@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Hazelcast serializer of {@link GossipMessage}s.
+ * <p>
+ * Format: ID (two longs), origin node ID, TTL (int), payload.
+ */
+public final class GossipMessageSerializer implements StreamSerializer<GossipMessage> {
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final GossipMessage message)
+			throws IOException {
+		out.writeLong(message.id().getMostSignificantBits());
+		out.writeLong(message.id().getLeastSignificantBits());
+		WireFormat.writeNodeId(out, message.origin());
+		out.writeInt(message.ttl());
+		PayloadSerializers.write(out, message.payload());
+	}
+
+	@Override @NonNull public GossipMessage read(@NonNull final ObjectDataInput in) throws IOException {
+		final UUID id = new UUID(in.readLong(), in.readLong());
+		final String origin = WireFormat.readNodeId(in);
+		final int ttl = in.readInt();
+		return new GossipMessage(id, origin, ttl, PayloadSerializers.read(in));
+	}
+
+	@Override public int getTypeId() {
+		return WireFormat.GOSSIP_MESSAGE_TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
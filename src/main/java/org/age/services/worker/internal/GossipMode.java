@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strategies of choosing the next hops of a gossip message.
+ * <p>
+ * Sparse topologies (e.g. a ring) do not allow reaching all nodes in a logarithmic number of rounds when relaying only
+ * over their edges, so both strategies use the topology graph as the membership view and address the chosen nodes
+ * directly.
+ */
+public enum GossipMode {
+	/**
+	 * Members are arranged in a {@code fanout}-ary {@link MemberTree} rooted at the origin. Every member relays the
+	 * message to its children. Reaches all members in ceil(log_fanout(N)) rounds with exactly N - 1 messages, as long
+	 * as all members share the same view.
+	 */
+	TREE {
+		@Override @NonNull Set<String> nextHops(@NonNull final List<String> members,
+		                                        @NonNull final Set<String> neighbours, @NonNull final String origin,
+		                                        @NonNull final String self, final int fanout) {
+			requireNonNull(self);
+			return MemberTree.create(members, origin, fanout)
+			                 .filter(tree -> tree.contains(self))
+			                 .map(tree -> ImmutableSet.copyOf(tree.childrenOf(self)))
+			                 .orElse(ImmutableSet.of());
+		}
+	},
+	/**
+	 * Every member relays the message to its topology neighbours and to {@code fanout} randomly chosen members when it
+	 * receives the message for the first time. Random hops make the number of rounds logarithmic, while relaying over
+	 * the edges reaches the members that were not picked randomly. Tolerates differing views.
+	 */
+	EPIDEMIC {
+		@Override @NonNull Set<String> nextHops(@NonNull final List<String> members,
+		                                        @NonNull final Set<String> neighbours, @NonNull final String origin,
+		                                        @NonNull final String self, final int fanout) {
+			final List<String> candidates = newArrayList(members);
+			candidates.remove(requireNonNull(origin));
+			candidates.remove(requireNonNull(self));
+			Collections.shuffle(candidates, ThreadLocalRandom.current());
+			final Set<String> hops = newHashSet(candidates.subList(0, Math.min(fanout, candidates.size())));
+			hops.addAll(neighbours);
+			hops.remove(origin);
+			hops.remove(self);
+			return hops;
+		}
+	};
+
+	/**
+	 * Chooses the next hops.
+	 *
+	 * @param members
+	 * 		IDs of all members, sorted.
+	 * @param neighbours
+	 * 		IDs of the topology neighbours of the relaying node.
+	 * @param origin
+	 * 		the ID of the node that started the gossip.
+	 * @param self
+	 * 		the ID of the relaying node.
+	 * @param fanout
+	 * 		the number of hops to choose (in addition to the neighbours for {@link #EPIDEMIC}).
+	 *
+	 * @return the IDs of the next hops (never containing the origin or the relaying node).
+	 */
+	@NonNull abstract Set<String> nextHops(@NonNull List<String> members, @NonNull Set<String> neighbours,
+	                                       @NonNull String origin, @NonNull String self, int fanout);
+
+	/**
+	 * Returns the sorted IDs of members of the topology.
+	 */
+	@NonNull static List<String> members(@NonNull final Set<String> vertices) {
+		return Ordering.natural().immutableSortedCopy(vertices);
+	}
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.MessageListener;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Dispatches messages to {@link MessageListener}s, each of them through its own bounded queue.
+ * <p>
+ * Every listener has a lane that is drained by at most one thread of the shared executor at a time, so a listener
+ * receives messages in the order they were dispatched and a slow listener does not delay the others. When a queue is
+ * full, the {@link OverflowPolicy} decides what happens with the message.
+ * <p>
+ * A producer can be notified when all listeners have handled a message (see {@link #dispatch(Serializable,
+ * Runnable)}), so it can hold back new messages while the listeners are slow instead of blocking.
+ */
+@ThreadSafe
+final class ListenerDispatcher {
+
+	/**
+	 * Policies applied when the queue of a listener is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The dispatching thread waits until there is space in the queue.
+		 * <p>
+		 * Unsafe when messages are dispatched by the thread that delivers messages of the cluster: a slow listener
+		 * stalls the delivery of all messages to the node (including credit grants), so a listener waiting for credits
+		 * deadlocks.
+		 */
+		BLOCK,
+		/**
+		 * The message is queued even if the queue is full, so the capacity is not enforced. The producer must bound the
+		 * number of queued messages itself, e.g. with credits returned once messages are handled.
+		 */
+		ACCEPT,
+		/**
+		 * The oldest queued message is dropped to make space for the new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * The new message is dropped.
+		 */
+		DROP_NEWEST
+	}
+
+	/**
+	 * Maximum number of messages delivered by a lane before it yields the thread to other lanes.
+	 */
+	private static final int DRAIN_LIMIT = 64;
+
+	private static final Logger log = LoggerFactory.getLogger(ListenerDispatcher.class);
+
+	private final ConcurrentMap<MessageListener<Serializable>, Lane> lanes = new ConcurrentHashMap<>();
+
+	private final int queueCapacity;
+
+	private final OverflowPolicy overflowPolicy;
+
+	private final Executor executor;
+
+	/**
+	 * Creates a new dispatcher.
+	 *
+	 * @param queueCapacity
+	 * 		the capacity of the queue of each listener.
+	 * @param overflowPolicy
+	 * 		the policy to apply when a queue is full.
+	 * @param executor
+	 * 		an executor running listeners.
+	 */
+	ListenerDispatcher(final int queueCapacity, @NonNull final OverflowPolicy overflowPolicy,
+	                   @NonNull final Executor executor) {
+		checkArgument(queueCapacity > 0, "Queue capacity must be positive.");
+		this.queueCapacity = queueCapacity;
+		this.overflowPolicy = requireNonNull(overflowPolicy);
+		this.executor = requireNonNull(executor);
+	}
+
+	void register(@NonNull final MessageListener<Serializable> listener) {
+		lanes.computeIfAbsent(requireNonNull(listener), Lane::new);
+	}
+
+	/**
+	 * Removes the listener. Messages already queued for it are discarded.
+	 */
+	void remove(@NonNull final MessageListener<Serializable> listener) {
+		final Lane lane = lanes.remove(requireNonNull(listener));
+		if (lane != null) {
+			final List<Delivery> discarded = new ArrayList<>();
+			lane.queue.drainTo(discarded);
+			discarded.forEach(Delivery::handled);
+		}
+	}
+
+	/**
+	 * Enqueues the message for all registered listeners.
+	 */
+	void dispatch(@NonNull final Serializable message) {
+		dispatch(message, () -> {});
+	}
+
+	/**
+	 * Enqueues the message for all registered listeners and runs the callback once all of them have handled the
+	 * message. A message dropped for a listener counts as handled by it.
+	 *
+	 * @param onHandled
+	 * 		a callback run by the thread that handled the message last (it must not block).
+	 */
+	void dispatch(@NonNull final Serializable message, @NonNull final Runnable onHandled) {
+		requireNonNull(message);
+		requireNonNull(onHandled);
+		final Collection<Lane> targets = ImmutableList.copyOf(lanes.values());
+		if (targets.isEmpty()) {
+			onHandled.run();
+			return;
+		}
+		final Delivery delivery = new Delivery(message, targets.size(), onHandled);
+		targets.forEach(lane -> lane.offer(delivery));
+	}
+
+	/**
+	 * Returns the current number of messages waiting for each listener.
+	 */
+	@NonNull ImmutableMap<MessageListener<Serializable>, Integer> queueDepths() {
+		final ImmutableMap.Builder<MessageListener<Serializable>, Integer> builder = ImmutableMap.builder();
+		lanes.forEach((listener, lane) -> builder.put(listener, lane.queue.size()));
+		return builder.build();
+	}
+
+	/**
+	 * Returns the number of messages dropped for each listener because of overflows.
+	 */
+	@NonNull ImmutableMap<MessageListener<Serializable>, Long> droppedMessages() {
+		final ImmutableMap.Builder<MessageListener<Serializable>, Long> builder = ImmutableMap.builder();
+		lanes.forEach((listener, lane) -> builder.put(listener, lane.dropped.get()));
+		return builder.build();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("listeners", lanes.size())
+		                           .add("capacity", queueCapacity)
+		                           .add("overflow", overflowPolicy)
+		                           .toString();
+	}
+
+	/**
+	 * A dispatched message with the number of listeners that have not handled it yet.
+	 */
+	private static final class Delivery {
+
+		private final Serializable message;
+
+		private final AtomicInteger pending;
+
+		private final Runnable onHandled;
+
+		private Delivery(@NonNull final Serializable message, final int listeners, @NonNull final Runnable onHandled) {
+			this.message = message;
+			pending = new AtomicInteger(listeners);
+			this.onHandled = onHandled;
+		}
+
+		private void handled() {
+			if (pending.decrementAndGet() > 0) {
+				return;
+			}
+			try {
+				onHandled.run();
+			} catch (final RuntimeException e) {
+				log.error("Callback of the message {} failed.", message, e);
+			}
+		}
+	}
+
+	private final class Lane implements Runnable {
+
+		private final MessageListener<Serializable> listener;
+
+		private final BlockingQueue<Delivery> queue = (overflowPolicy == OverflowPolicy.ACCEPT)
+		                                              ? new LinkedBlockingQueue<>()
+		                                              : new ArrayBlockingQueue<>(queueCapacity);
+
+		private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+		private final AtomicLong dropped = new AtomicLong();
+
+		private Lane(@NonNull final MessageListener<Serializable> listener) {
+			this.listener = listener;
+		}
+
+		private void offer(@NonNull final Delivery delivery) {
+			switch (overflowPolicy) {
+				case BLOCK:
+					try {
+						queue.put(delivery);
+					} catch (final InterruptedException e) {
+						log.debug("Interrupted while waiting for the queue of {}.", listener);
+						drop(delivery);
+						Thread.currentThread().interrupt();
+						return;
+					}
+					break;
+				case ACCEPT:
+					queue.add(delivery);
+					break;
+				case DROP_OLDEST:
+					while (!queue.offer(delivery)) {
+						final Delivery oldest = queue.poll();
+						if (oldest != null) {
+							drop(oldest);
+						}
+					}
+					break;
+				case DROP_NEWEST:
+					if (!queue.offer(delivery)) {
+						drop(delivery);
+						return;
+					}
+					break;
+			}
+			schedule();
+		}
+
+		private void drop(@NonNull final Delivery delivery) {
+			dropped.incrementAndGet();
+			delivery.handled();
+		}
+
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(this);
+			}
+		}
+
+		@Override public void run() {
+			for (int i = 0; i < DRAIN_LIMIT; i++) {
+				final Delivery delivery = queue.poll();
+				if (delivery == null) {
+					break;
+				}
+				try {
+					listener.onMessage(delivery.message);
+				} catch (final Throwable t) {
+					log.error("Listener {} failed to handle the message {}.", listener, delivery.message, t);
+				} finally {
+					delivery.handled();
+				}
+			}
+			scheduled.set(false);
+			if (!queue.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A balanced tree spanning a set of members, used to relay messages in a logarithmic number of hops.
+ * <p>
+ * Members are sorted by their IDs and the order is rotated so the root comes first. The member at position {@code p}
+ * of this order is the parent of members at positions {@code p * arity + 1} to {@code p * arity + arity}. All members
+ * that build the tree from the same set of IDs and the same root get the same tree.
+ * <p>
+ * Ranks of members are their positions in the pre-order traversal of the tree, so the root has rank 0 and every subtree
+ * occupies a contiguous range of ranks.
+ */
+@Immutable
+final class MemberTree {
+
+	private final ImmutableList<String> members;
+
+	private final ImmutableMap<String, Integer> positions;
+
+	private final int rootPosition;
+
+	private final int arity;
+
+	/**
+	 * Pre-order ranks indexed by positions in the tree.
+	 */
+	private final int[] ranks;
+
+	/**
+	 * Sizes of subtrees indexed by positions in the tree.
+	 */
+	private final int[] subtreeSizes;
+
+	private MemberTree(@NonNull final ImmutableList<String> members, @NonNull final String root, final int arity) {
+		this.members = members;
+		this.arity = arity;
+		final ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+		for (int i = 0; i < members.size(); i++) {
+			builder.put(members.get(i), i);
+		}
+		positions = builder.build();
+		rootPosition = positions.get(root);
+
+		final int size = members.size();
+		ranks = new int[size];
+		subtreeSizes = new int[size];
+		for (int position = size - 1; position >= 0; position--) {
+			subtreeSizes[position] = 1;
+			for (int child = firstChild(position); child < lastChild(position); child++) {
+				subtreeSizes[position] += subtreeSizes[child];
+			}
+		}
+		final Deque<Integer> stack = new ArrayDeque<>();
+		stack.push(0);
+		int rank = 0;
+		while (!stack.isEmpty()) {
+			final int position = stack.pop();
+			ranks[position] = rank++;
+			for (int child = lastChild(position) - 1; child >= firstChild(position); child--) {
+				stack.push(child);
+			}
+		}
+	}
+
+	/**
+	 * Creates a tree spanning the given members.
+	 *
+	 * @param members
+	 * 		IDs of members.
+	 * @param root
+	 * 		ID of the root.
+	 * @param arity
+	 * 		the maximum number of children of a member.
+	 *
+	 * @return the tree or empty if the root is not one of the members.
+	 */
+	@NonNull static Optional<MemberTree> create(@NonNull final Collection<String> members, @NonNull final String root,
+	                                            final int arity) {
+		requireNonNull(members);
+		requireNonNull(root);
+		checkArgument(arity > 0, "Arity must be positive.");
+		if (!members.contains(root)) {
+			return Optional.empty();
+		}
+		return Optional.of(new MemberTree(Ordering.natural().immutableSortedCopy(members), root, arity));
+	}
+
+	int size() {
+		return members.size();
+	}
+
+	boolean contains(@NonNull final String member) {
+		return positions.containsKey(requireNonNull(member));
+	}
+
+	@NonNull String root() {
+		return members.get(rootPosition);
+	}
+
+	int rankOf(@NonNull final String member) {
+		return ranks[positionOf(member)];
+	}
+
+	/**
+	 * Returns the number of members in the subtree rooted at the given member (including it).
+	 */
+	int subtreeSizeOf(@NonNull final String member) {
+		return subtreeSizes[positionOf(member)];
+	}
+
+	@NonNull Optional<String> parentOf(@NonNull final String member) {
+		final int position = positionOf(member);
+		if (position == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(memberAt((position - 1) / arity));
+	}
+
+	/**
+	 * Returns all members ordered by their ranks.
+	 */
+	@NonNull List<String> membersByRank() {
+		final String[] byRank = new String[members.size()];
+		for (int position = 0; position < byRank.length; position++) {
+			byRank[ranks[position]] = memberAt(position);
+		}
+		return ImmutableList.copyOf(byRank);
+	}
+
+	/**
+	 * Returns the children of the member ordered by their ranks.
+	 */
+	@NonNull List<String> childrenOf(@NonNull final String member) {
+		final int position = positionOf(member);
+		final ImmutableList.Builder<String> children = ImmutableList.builder();
+		for (int child = firstChild(position); child < lastChild(position); child++) {
+			children.add(memberAt(child));
+		}
+		return children.build();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("root", root()).add("size", size()).add("arity", arity).toString();
+	}
+
+	private int positionOf(@NonNull final String member) {
+		final Integer index = positions.get(requireNonNull(member));
+		checkArgument(index != null, "%s is not a member.", member);
+		return Math.floorMod(index - rootPosition, members.size());
+	}
+
+	@NonNull private String memberAt(final int position) {
+		return members.get((position + rootPosition) % members.size());
+	}
+
+	private int firstChild(final int position) {
+		return (int)Math.min(((long)position * arity) + 1, members.size());
+	}
+
+	private int lastChild(final int position) {
+		return (int)Math.min(((long)position * arity) + arity + 1, members.size());
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableList;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Payload of {@link WorkerMessage.Type#BATCH} messages: an envelope for several worker messages sent to the same
+ * destination.
+ */
+@Immutable
+final class MessageBatch implements Serializable {
+
+	private static final long serialVersionUID = 3216574583440956610L;
+
+	private final ImmutableList<WorkerMessage<Serializable>> messages;
+
+	MessageBatch(@NonNull final List<WorkerMessage<Serializable>> messages) {
+		checkArgument(!requireNonNull(messages).isEmpty(), "Batch cannot be empty.");
+		this.messages = ImmutableList.copyOf(messages);
+	}
+
+	@NonNull List<WorkerMessage<Serializable>> messages() {
+		return messages;
+	}
+
+	int size() {
+		return messages.size();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("size", messages.size()).toString();
+	}
+}
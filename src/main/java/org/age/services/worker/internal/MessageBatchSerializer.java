@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hazelcast serializer of {@link MessageBatch}es. Messages are written inline with {@link WorkerMessageSerializer}.
+ */
+public final class MessageBatchSerializer implements StreamSerializer<MessageBatch> {
+
+	private final WorkerMessageSerializer messageSerializer = new WorkerMessageSerializer();
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final MessageBatch batch)
+			throws IOException {
+		out.writeInt(batch.size());
+		for (final WorkerMessage<Serializable> message : batch.messages()) {
+			messageSerializer.write(out, message);
+		}
+	}
+
+	@Override @NonNull public MessageBatch read(@NonNull final ObjectDataInput in) throws IOException {
+		final int size = in.readInt();
+		final List<WorkerMessage<Serializable>> messages = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			messages.add(messageSerializer.read(in));
+		}
+		return new MessageBatch(messages);
+	}
+
+	@Override public int getTypeId() {
+		return WireFormat.MESSAGE_BATCH_TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Outbound pipeline that coalesces messages sent to the same destination into batches.
+ * <p>
+ * A batch is flushed when it reaches the maximum size or when its oldest message has waited for the maximum linger
+ * time. Messages for one destination are always flushed in the order they were enqueued.
+ */
+@ThreadSafe
+final class OutboundMessagePipeline {
+
+	/**
+	 * Number of histogram buckets: [1], [2, 3], [4, 7], ..., [2^(n-1), inf).
+	 */
+	private static final int BUCKETS = 11;
+
+	private static final Logger log = LoggerFactory.getLogger(OutboundMessagePipeline.class);
+
+	private final ConcurrentMap<String, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+
+	private final AtomicLongArray batchSizeHistogram = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong sentMessages = new AtomicLong();
+
+	private final AtomicLong sentBatches = new AtomicLong();
+
+	private final int maxBatchSize;
+
+	private final long maxLingerMicros;
+
+	private final ScheduledExecutorService executorService;
+
+	private final BiConsumer<String, List<WorkerMessage<Serializable>>> sink;
+
+	/**
+	 * Creates a new pipeline.
+	 *
+	 * @param maxBatchSize
+	 * 		the maximum number of messages in one batch (1 disables batching).
+	 * @param maxLingerMicros
+	 * 		the maximum time a message can wait for the batch to fill (0 disables batching).
+	 * @param executorService
+	 * 		an executor used to flush lingering batches.
+	 * @param sink
+	 * 		a consumer that publishes a list of messages to the destination.
+	 */
+	OutboundMessagePipeline(final int maxBatchSize, final long maxLingerMicros,
+	                        @NonNull final ScheduledExecutorService executorService,
+	                        @NonNull final BiConsumer<String, List<WorkerMessage<Serializable>>> sink) {
+		checkArgument(maxBatchSize > 0, "Batch size must be positive.");
+		checkArgument(maxLingerMicros >= 0, "Linger time cannot be negative.");
+		this.maxBatchSize = maxBatchSize;
+		this.maxLingerMicros = maxLingerMicros;
+		this.executorService = requireNonNull(executorService);
+		this.sink = requireNonNull(sink);
+	}
+
+	/**
+	 * Enqueues the message for sending to the given destination.
+	 *
+	 * @param destination
+	 * 		a destination (a node ID or a channel name).
+	 * @param message
+	 * 		a message to send.
+	 */
+	void send(@NonNull final String destination, @NonNull final WorkerMessage<Serializable> message) {
+		requireNonNull(destination);
+		requireNonNull(message);
+
+		if (!isBatching()) {
+			record(1);
+			sink.accept(destination, ImmutableList.of(message));
+			return;
+		}
+
+		pendingBatches.computeIfAbsent(destination, PendingBatch::new).add(message);
+	}
+
+	/**
+	 * Flushes all pending batches immediately.
+	 */
+	void flush() {
+		pendingBatches.values().forEach(PendingBatch::flush);
+	}
+
+	/**
+	 * Drops the pending batch of a destination that is gone (e.g. a node that left the cluster).
+	 *
+	 * @return the number of dropped messages.
+	 */
+	int discard(@NonNull final String destination) {
+		final PendingBatch batch = pendingBatches.remove(requireNonNull(destination));
+		return (batch != null) ? batch.discard() : 0;
+	}
+
+	boolean isBatching() {
+		return (maxBatchSize > 1) && (maxLingerMicros > 0);
+	}
+
+	/**
+	 * Returns the histogram of sizes of sent batches. Keys are lower bounds of the buckets.
+	 */
+	@NonNull ImmutableSortedMap<Integer, Long> batchSizeHistogram() {
+		final ImmutableSortedMap.Builder<Integer, Long> builder = ImmutableSortedMap.naturalOrder();
+		for (int i = 0; i < BUCKETS; i++) {
+			builder.put(1 << i, batchSizeHistogram.get(i));
+		}
+		return builder.build();
+	}
+
+	long sentMessages() {
+		return sentMessages.get();
+	}
+
+	long sentBatches() {
+		return sentBatches.get();
+	}
+
+	private void record(final int size) {
+		final int bucket = Math.min(BUCKETS - 1, 31 - Integer.numberOfLeadingZeros(size));
+		batchSizeHistogram.incrementAndGet(bucket);
+		sentMessages.addAndGet(size);
+		sentBatches.incrementAndGet();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("maxSize", maxBatchSize)
+		                           .add("maxLingerMicros", maxLingerMicros)
+		                           .add("messages", sentMessages)
+		                           .add("batches", sentBatches)
+		                           .toString();
+	}
+
+	private final class PendingBatch {
+
+		private final String destination;
+
+		@GuardedBy("this") private List<WorkerMessage<Serializable>> messages = new ArrayList<>();
+
+		@GuardedBy("this") @Nullable private ScheduledFuture<?> lingerFuture;
+
+		PendingBatch(@NonNull final String destination) {
+			this.destination = destination;
+		}
+
+		synchronized void add(@NonNull final WorkerMessage<Serializable> message) {
+			messages.add(message);
+			if (messages.size() >= maxBatchSize) {
+				flush();
+			} else if (messages.size() == 1) {
+				lingerFuture = executorService.schedule(this::flush, maxLingerMicros, TimeUnit.MICROSECONDS);
+			}
+		}
+
+		synchronized int discard() {
+			if (nonNull(lingerFuture)) {
+				lingerFuture.cancel(false);
+				lingerFuture = null;
+			}
+			final int discarded = messages.size();
+			messages.clear();
+			return discarded;
+		}
+
+		/**
+		 * Publishes the batch. The sink is called with the lock held in order to keep the ordering of batches.
+		 */
+		synchronized void flush() {
+			if (nonNull(lingerFuture)) {
+				lingerFuture.cancel(false);
+				lingerFuture = null;
+			}
+			if (messages.isEmpty()) {
+				return;
+			}
+
+			final List<WorkerMessage<Serializable>> toSend = messages;
+			messages = new ArrayList<>(toSend.size());
+			record(toSend.size());
+
+			log.debug("Flushing batch of {} messages to {}.", toSend.size(), destination);
+			try {
+				sink.accept(destination, toSend);
+			} catch (final RuntimeException e) {
+				log.error("Cannot send the batch to {}.", destination, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import org.age.compute.api.PayloadSerializer;
+
+import com.google.common.collect.ImmutableMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Registry of {@link PayloadSerializer}s loaded with {@link ServiceLoader}.
+ * <p>
+ * Payloads without a registered serializer are delegated to Hazelcast (that uses serializers configured for the
+ * instance or the Java serialization).
+ */
+@ThreadSafe
+final class PayloadSerializers {
+
+	private static final Logger log = LoggerFactory.getLogger(PayloadSerializers.class);
+
+	private static final byte NO_PAYLOAD = 0;
+
+	private static final byte HAZELCAST_PAYLOAD = 1;
+
+	private static final byte CUSTOM_PAYLOAD = 2;
+
+	private static final PayloadSerializers INSTANCE = new PayloadSerializers();
+
+	private final ImmutableMap<Class<?>, PayloadSerializer<Serializable>> serializersByClass;
+
+	private final ImmutableMap<Integer, PayloadSerializer<Serializable>> serializersById;
+
+	private PayloadSerializers() {
+		final Map<Class<?>, PayloadSerializer<Serializable>> byClass = new HashMap<>();
+		final Map<Integer, PayloadSerializer<Serializable>> byId = new HashMap<>();
+		for (final PayloadSerializer<?> serializer : ServiceLoader.load(PayloadSerializer.class)) {
+			log.info("Registering payload serializer {} for {}.", serializer, serializer.payloadClass());
+			checkState(serializer.typeId() > 0, "Type ID of %s must be positive.", serializer);
+			checkState(!byId.containsKey(serializer.typeId()), "Duplicated type ID of %s.", serializer);
+			byClass.put(serializer.payloadClass(), (PayloadSerializer<Serializable>)serializer);
+			byId.put(serializer.typeId(), (PayloadSerializer<Serializable>)serializer);
+		}
+		serializersByClass = ImmutableMap.copyOf(byClass);
+		serializersById = ImmutableMap.copyOf(byId);
+	}
+
+	static void write(@NonNull final ObjectDataOutput out, @Nullable final Serializable payload) throws IOException {
+		if (payload == null) {
+			out.writeByte(NO_PAYLOAD);
+			return;
+		}
+
+		final PayloadSerializer<Serializable> serializer = INSTANCE.serializersByClass.get(payload.getClass());
+		if (serializer == null) {
+			out.writeByte(HAZELCAST_PAYLOAD);
+			out.writeObject(payload);
+		} else {
+			out.writeByte(CUSTOM_PAYLOAD);
+			out.writeInt(serializer.typeId());
+			serializer.write(out, payload);
+		}
+	}
+
+	@Nullable static Serializable read(@NonNull final ObjectDataInput in) throws IOException {
+		final byte kind = in.readByte();
+		switch (kind) {
+			case NO_PAYLOAD:
+				return null;
+			case HAZELCAST_PAYLOAD:
+				return in.readObject();
+			case CUSTOM_PAYLOAD:
+				final int typeId = in.readInt();
+				final PayloadSerializer<Serializable> serializer = INSTANCE.serializersById.get(typeId);
+				if (serializer == null) {
+					throw new IOException("No payload serializer with ID " + typeId + '.');
+				}
+				return serializer.read(in);
+			default:
+				throw new IOException("Unknown payload kind: " + kind + '.');
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.services.worker.ComputationSetup;
+
+import com.google.common.collect.ImmutableList;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.List;
+
+/**
+ * Refreshed contexts of a computation whose ID is not known yet.
+ * <p>
+ * Contexts are prepared in advance, so a computation can be set up without waiting for Spring. Facilities are already
+ * created, but their messages are held until the contexts are bound to a computation (see
+ * {@link ComputationCommunication}).
+ */
+final class PreparedComputation {
+
+	static final String COMMUNICATION_BEAN_NAME = "workerCommunication";
+
+	static final String SETUP_BEAN_NAME = "computationSetup";
+
+	private final String taskKey;
+
+	private final ComputationSetup setup;
+
+	private final GenericApplicationContext context;
+
+	private final ImmutableList<GenericApplicationContext> workerContexts;
+
+	/**
+	 * @param taskKey
+	 * 		the key of the task definitions (see {@link TaskDefinitionCache}).
+	 * @param setup
+	 * 		the setup the contexts were prepared for.
+	 * @param context
+	 * 		an already refreshed context of the computation.
+	 * @param workerContexts
+	 * 		already refreshed contexts of workers (children of the computation context).
+	 */
+	PreparedComputation(@NonNull final String taskKey, @NonNull final ComputationSetup setup,
+	                    @NonNull final GenericApplicationContext context,
+	                    @NonNull final List<GenericApplicationContext> workerContexts) {
+		this.taskKey = requireNonNull(taskKey);
+		this.setup = requireNonNull(setup);
+		this.context = requireNonNull(context);
+		this.workerContexts = ImmutableList.copyOf(workerContexts);
+	}
+
+	/**
+	 * Checks whether these contexts can be used for the given task and setup. Collective operations depend on the
+	 * requested number of workers on every node, not only on this one.
+	 */
+	boolean matches(@NonNull final String taskKey, @NonNull final ComputationSetup setup) {
+		return this.taskKey.equals(taskKey) && (this.setup.workers() == setup.workers());
+	}
+
+	/**
+	 * Binds the contexts to the computation with the given ID. The contexts are owned by the returned computation.
+	 */
+	@NonNull Computation bind(@NonNull final String id) {
+		context.getBean(COMMUNICATION_BEAN_NAME, ComputationCommunication.class).bind(id);
+		return new Computation(id, context, workerContexts);
+	}
+
+	/**
+	 * Closes the contexts if they are not used by any computation.
+	 */
+	void close() {
+		workerContexts.forEach(GenericApplicationContext::close);
+		context.close();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("task", taskKey).add("workers", workerContexts.size()).toString();
+	}
+}
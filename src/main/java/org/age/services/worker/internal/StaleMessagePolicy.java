@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import org.age.services.worker.WorkerMessage;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Handling of messages sent in an older topology epoch than the one installed on the receiver.
+ * <p>
+ * Such messages are in flight during a reconfiguration: their recipients were chosen from the previous neighbourhood
+ * and may not be the neighbours of the sender anymore.
+ */
+public enum StaleMessagePolicy {
+	/**
+	 * Stale messages are delivered as usual.
+	 */
+	ACCEPT,
+	/**
+	 * Stale messages are discarded.
+	 */
+	DROP,
+	/**
+	 * Stale messages are delivered and, if they were routed using the previous topology, forwarded using the current
+	 * one.
+	 */
+	REROUTE;
+
+	/**
+	 * Checks whether the message was sent in an older epoch than the given one. Messages without an epoch are never
+	 * stale.
+	 *
+	 * @param message
+	 * 		a received message.
+	 * @param currentEpoch
+	 * 		the epoch of the topology installed on the receiver.
+	 */
+	static boolean isStale(@NonNull final WorkerMessage<?> message, final long currentEpoch) {
+		assert message != null;
+		final long epoch = message.epoch();
+		return (epoch != WorkerMessage.NO_EPOCH) && (epoch < currentEpoch);
+	}
+}
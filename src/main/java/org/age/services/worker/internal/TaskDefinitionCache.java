@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Cache of bean definitions of tasks.
+ * <p>
+ * Loading a task (parsing its config or scanning its class) is done once per key - new task contexts get copies of
+ * the cached definitions (definitions are modified by post-processors of contexts, so they are never shared). Keys of
+ * configs include the hash of their content, so changed configs are loaded again.
+ */
+@ThreadSafe
+final class TaskDefinitionCache {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskDefinitionCache.class);
+
+	private final Cache<String, ImmutableMap<String, AbstractBeanDefinition>> definitions;
+
+	/**
+	 * @param maximumSize
+	 * 		maximal number of cached tasks.
+	 */
+	TaskDefinitionCache(final int maximumSize) {
+		definitions = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+	}
+
+	@NonNull static String classKey(@NonNull final String className) {
+		return "class:" + requireNonNull(className);
+	}
+
+	/**
+	 * @throws BeanDefinitionStoreException
+	 * 		if the config cannot be read.
+	 */
+	@NonNull static String configKey(@NonNull final String path) {
+		try {
+			return "config:" + path + '#' + Files.hash(new File(path), Hashing.sha1());
+		} catch (final IOException e) {
+			throw new BeanDefinitionStoreException("Cannot read the config " + path + '.', e);
+		}
+	}
+
+	/**
+	 * Creates a new, not refreshed context with copies of the definitions of the task and annotation config
+	 * processors.
+	 *
+	 * @param key
+	 * 		a key created by {@link #classKey} or {@link #configKey}.
+	 * @param loader
+	 * 		creates a not refreshed context with the task definitions, called only if they are not cached.
+	 */
+	@NonNull GenericApplicationContext newContext(@NonNull final String key,
+	                                              @NonNull final Supplier<GenericApplicationContext> loader) {
+		assert nonNull(key) && nonNull(loader);
+
+		final ImmutableMap<String, AbstractBeanDefinition> taskDefinitions;
+		try {
+			taskDefinitions = definitions.get(key, () -> load(key, loader));
+		} catch (final ExecutionException | UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+
+		final GenericApplicationContext context = new GenericApplicationContext();
+		taskDefinitions.forEach((name, definition) -> context.registerBeanDefinition(name,
+		                                                                             definition.cloneBeanDefinition()));
+		// Also sets up the autowire candidate resolver, which is not a part of the definitions
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+		return context;
+	}
+
+	@NonNull private static ImmutableMap<String, AbstractBeanDefinition> load(@NonNull final String key,
+	                                                                 @NonNull final Supplier<GenericApplicationContext>
+			                                                                 loader) {
+		log.debug("Loading task definitions for {}.", key);
+		final GenericApplicationContext context = loader.get();
+		final ImmutableMap.Builder<String, AbstractBeanDefinition> builder = ImmutableMap.builder();
+		for (final String name : context.getBeanDefinitionNames()) {
+			builder.put(name, (AbstractBeanDefinition)context.getBeanDefinition(name));
+		}
+		return builder.build();
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("size", definitions.size()).add("stats", definitions.stats()).toString();
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Payload of {@link org.age.services.worker.WorkerMessage.Type#UNICAST_MESSAGE} messages: a user message together with
+ * its worker-level sender and recipients.
+ */
+@Immutable
+final class UnicastMessage implements Serializable {
+
+	private static final long serialVersionUID = 8710738856544239311L;
+
+	@NonNull private final WorkerAddress sender;
+
+	@NonNull private final Set<WorkerAddress> recipients;
+
+	@NonNull private final Serializable payload;
+
+	UnicastMessage(final WorkerAddress sender, final Set<WorkerAddress> recipients, final Serializable payload) {
+		this.sender = requireNonNull(sender);
+		this.recipients = ImmutableSet.copyOf(requireNonNull(recipients));
+		this.payload = requireNonNull(payload);
+	}
+
+	@NonNull public WorkerAddress sender() {
+		return sender;
+	}
+
+	@NonNull public Set<WorkerAddress> recipients() {
+		return recipients;
+	}
+
+	public boolean isRecipient(@NonNull final WorkerAddress workerAddress) {
+		assert nonNull(workerAddress);
+		return recipients.contains(workerAddress);
+	}
+
+	@NonNull public Serializable payload() {
+		return payload;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("sender", sender).add("recipients", recipients).addValue(payload).toString();
+	}
+}
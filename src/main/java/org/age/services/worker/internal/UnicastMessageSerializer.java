@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.google.common.collect.ImmutableSet;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Hazelcast serializer of {@link UnicastMessage}s.
+ * <p>
+ * Format: sender address, number of recipients (int), recipient addresses, payload.
+ */
+public final class UnicastMessageSerializer implements StreamSerializer<UnicastMessage> {
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final UnicastMessage message)
+			throws IOException {
+		WireFormat.writeAddress(out, message.sender());
+		out.writeInt(message.recipients().size());
+		for (final WorkerAddress recipient : message.recipients()) {
+			WireFormat.writeAddress(out, recipient);
+		}
+		PayloadSerializers.write(out, message.payload());
+	}
+
+	@Override @NonNull public UnicastMessage read(@NonNull final ObjectDataInput in) throws IOException {
+		final WorkerAddress sender = WireFormat.readAddress(in);
+		final int recipientsCount = in.readInt();
+		final ImmutableSet.Builder<WorkerAddress> recipients = ImmutableSet.builder();
+		for (int i = 0; i < recipientsCount; i++) {
+			recipients.add(WireFormat.readAddress(in));
+		}
+		return new UnicastMessage(sender, recipients.build(), PayloadSerializers.read(in));
+	}
+
+	@Override public int getTypeId() {
+		return WireFormat.UNICAST_MESSAGE_TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+import org.age.services.identity.NodeIdentityService;
+import org.age.services.topology.TopologyService;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Forwards unicast messages routed using a previous topology to the current owners of their receivers (see {@link
+ * StaleMessagePolicy#REROUTE}).
+ * <p>
+ * There is a single instance per computation, shared by its local workers, so a stale message is forwarded once by
+ * the node regardless of the number of workers. Messages are still passed to the messengers of the workers.
+ */
+@Named
+@Lazy
+@ThreadSafe
+final class UnicastRerouter implements CommunicationFacility {
+
+	private static final Logger log = LoggerFactory.getLogger(UnicastRerouter.class);
+
+	@Value("${age.worker.stale-messages:ACCEPT}") private @NonNull StaleMessagePolicy stalePolicy =
+			StaleMessagePolicy.ACCEPT;
+
+	@Inject @Named("default") private @MonotonicNonNull TopologyService topologyService;
+
+	@Inject private @MonotonicNonNull WorkerCommunication workerCommunication;
+
+	@Inject private @MonotonicNonNull NodeIdentityService identityService;
+
+	@Inject private @MonotonicNonNull WorkerRoutingTable routingTable;
+
+	@Override public <T extends Serializable> boolean onMessage(@NonNull final WorkerMessage<T> workerMessage) {
+		requireNonNull(workerMessage);
+
+		if ((stalePolicy == StaleMessagePolicy.REROUTE) && workerMessage.hasType(WorkerMessage.Type.UNICAST_MESSAGE)
+		    && StaleMessagePolicy.isStale(workerMessage, topologyService.epoch())) {
+			reroute(workerMessage, (UnicastMessage)workerMessage.requiredPayload());
+		}
+		return false;
+	}
+
+	@Override @NonNull public Set<WorkerMessage.Type> subscribedTypes() {
+		return ImmutableSet.of(WorkerMessage.Type.UNICAST_MESSAGE);
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("policy", stalePolicy).toString();
+	}
+
+	/**
+	 * Such a message may have been sent to several nodes (one per receiver), so only the first of its recipients
+	 * forwards it, to avoid duplicates.
+	 */
+	private void reroute(@NonNull final WorkerMessage<?> workerMessage, @NonNull final UnicastMessage unicastMessage) {
+		assert nonNull(workerMessage) && nonNull(unicastMessage);
+
+		if (!identityService.nodeId().equals(Ordering.natural().min(workerMessage.recipients()))) {
+			return;
+		}
+		final Set<String> owners = newHashSet();
+		for (final WorkerAddress receiver : unicastMessage.recipients()) {
+			routingTable.ownerOf(receiver)
+			            .filter(owner -> !workerMessage.recipients().contains(owner))
+			            .ifPresent(owners::add);
+		}
+		if (owners.isEmpty()) {
+			return;
+		}
+		log.debug("Rerouting the message {} from a stale epoch to {}.", unicastMessage, owners);
+		workerCommunication.sendMessage(
+				WorkerMessage.createWithPayload(WorkerMessage.Type.UNICAST_MESSAGE, owners, unicastMessage));
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Constants and helpers shared by the Hazelcast serializers of the worker messaging layer.
+ * <p>
+ * Serializers must be registered in the Hazelcast configuration of every node (see {@code spring-node.xml}).
+ */
+final class WireFormat {
+
+	// Serializer type IDs (must be unique in the cluster)
+
+	static final int WORKER_MESSAGE_TYPE_ID = 100;
+
+	static final int WORKER_ADDRESS_TYPE_ID = 101;
+
+	static final int UNICAST_MESSAGE_TYPE_ID = 102;
+
+	static final int WORKER_ANNOUNCEMENT_TYPE_ID = 103;
+
+	static final int MESSAGE_BATCH_TYPE_ID = 104;
+
+	static final int CREDIT_GRANT_TYPE_ID = 105;
+
+	static final int GOSSIP_MESSAGE_TYPE_ID = 106;
+
+	static final int COLLECTIVE_MESSAGE_TYPE_ID = 107;
+
+	private static final byte UUID_ID = 0;
+
+	private static final byte STRING_ID = 1;
+
+	private static final byte DEFAULT_ADDRESS = 0;
+
+	private static final byte OTHER_ADDRESS = 1;
+
+	private static final int UUID_STRING_LENGTH = 36;
+
+	private WireFormat() {}
+
+	/**
+	 * Writes a node ID. IDs that are canonical UUIDs are written as 128-bit values.
+	 */
+	static void writeNodeId(@NonNull final ObjectDataOutput out, @NonNull final String id) throws IOException {
+		requireNonNull(id);
+		if (id.length() == UUID_STRING_LENGTH) {
+			try {
+				final UUID uuid = UUID.fromString(id);
+				if (uuid.toString().equals(id)) {
+					out.writeByte(UUID_ID);
+					out.writeLong(uuid.getMostSignificantBits());
+					out.writeLong(uuid.getLeastSignificantBits());
+					return;
+				}
+			} catch (final IllegalArgumentException ignored) {
+				// Not an UUID - falling back to a string
+			}
+		}
+		out.writeByte(STRING_ID);
+		out.writeUTF(id);
+	}
+
+	@NonNull static String readNodeId(@NonNull final ObjectDataInput in) throws IOException {
+		final byte kind = in.readByte();
+		if (kind == UUID_ID) {
+			return new UUID(in.readLong(), in.readLong()).toString();
+		}
+		return in.readUTF();
+	}
+
+	/**
+	 * Writes a worker address. {@link DefaultWorkerAddress}es are written inline as 128-bit values.
+	 */
+	static void writeAddress(@NonNull final ObjectDataOutput out, @NonNull final WorkerAddress address)
+			throws IOException {
+		if (address instanceof DefaultWorkerAddress) {
+			final UUID uuid = ((DefaultWorkerAddress)address).uuid();
+			out.writeByte(DEFAULT_ADDRESS);
+			out.writeLong(uuid.getMostSignificantBits());
+			out.writeLong(uuid.getLeastSignificantBits());
+		} else {
+			out.writeByte(OTHER_ADDRESS);
+			out.writeObject(address);
+		}
+	}
+
+	@NonNull static WorkerAddress readAddress(@NonNull final ObjectDataInput in) throws IOException {
+		final byte kind = in.readByte();
+		if (kind == DEFAULT_ADDRESS) {
+			return new DefaultWorkerAddress(new UUID(in.readLong(), in.readLong()));
+		}
+		return in.readObject();
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+
+import org.checkerframework.checker.igj.qual.Immutable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Serializable;
+
+/**
+ * Payload of {@link org.age.services.worker.WorkerMessage.Type#UNICAST_CONTROL} messages announcing a worker address
+ * together with the node that owns it.
+ */
+@Immutable
+final class WorkerAnnouncement implements Serializable {
+
+	private static final long serialVersionUID = -2750470395387532846L;
+
+	private final WorkerAddress address;
+
+	private final String nodeId;
+
+	WorkerAnnouncement(@NonNull final WorkerAddress address, @NonNull final String nodeId) {
+		this.address = requireNonNull(address);
+		this.nodeId = requireNonNull(nodeId);
+	}
+
+	@NonNull WorkerAddress address() {
+		return address;
+	}
+
+	@NonNull String nodeId() {
+		return nodeId;
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).addValue(address).add("node", nodeId).toString();
+	}
+}
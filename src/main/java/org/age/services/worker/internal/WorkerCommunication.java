@@ -39,6 +39,9 @@ public interface WorkerCommunication {
 	/**
 	 * Send a message to other worker services in the distributed environment.
 	 *
+	 * Messages are stamped with the topology epoch, unless the caller already did it (see
+	 * {@link WorkerMessage#withEpoch}).
+	 *
 	 * @param message
 	 * 		a message to send.
 	 */
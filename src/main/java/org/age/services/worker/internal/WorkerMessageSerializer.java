@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Hazelcast serializer of {@link WorkerMessage}s.
+ * <p>
+ * Format: type (byte), topology epoch (long), computation ID (UTF), number of recipients (int, -1 for broadcasts),
+ * recipients IDs, payload.
+ */
+public final class WorkerMessageSerializer implements StreamSerializer<WorkerMessage<Serializable>> {
+
+	private static final WorkerMessage.Type[] TYPES = WorkerMessage.Type.values();
+
+	private static final int BROADCAST = -1;
+
+	@Override public void write(@NonNull final ObjectDataOutput out, @NonNull final WorkerMessage<Serializable> message)
+			throws IOException {
+		out.writeByte(message.type().ordinal());
+		out.writeLong(message.epoch());
+		out.writeUTF(message.computation());
+		if (message.isBroadcast()) {
+			out.writeInt(BROADCAST);
+		} else {
+			final Set<String> recipients = message.recipients();
+			out.writeInt(recipients.size());
+			for (final String recipient : recipients) {
+				WireFormat.writeNodeId(out, recipient);
+			}
+		}
+		PayloadSerializers.write(out, message.payload().orElse(null));
+	}
+
+	@Override @NonNull public WorkerMessage<Serializable> read(@NonNull final ObjectDataInput in) throws IOException {
+		final WorkerMessage.Type type = TYPES[in.readByte()];
+		final long epoch = in.readLong();
+		final String computation = in.readUTF();
+		final int recipientsCount = in.readInt();
+		final ImmutableSet.Builder<String> recipients = ImmutableSet.builder();
+		for (int i = 0; i < recipientsCount; i++) {
+			recipients.add(WireFormat.readNodeId(in));
+		}
+		final Serializable payload = PayloadSerializers.read(in);
+
+		final WorkerMessage<Serializable> message;
+		if (recipientsCount == BROADCAST) {
+			message = (payload == null) ? WorkerMessage.createBroadcastWithoutPayload(type)
+			                            : WorkerMessage.createBroadcastWithPayload(type, payload);
+		} else {
+			message = (payload == null) ? WorkerMessage.createWithoutPayload(type, recipients.build())
+			                            : WorkerMessage.createWithPayload(type, recipients.build(), payload);
+		}
+		final WorkerMessage<Serializable> stamped = (epoch == WorkerMessage.NO_EPOCH)
+		                                            ? message
+		                                            : message.withEpoch(epoch);
+		return WorkerMessage.DEFAULT_COMPUTATION.equals(computation)
+		       ? stamped
+		       : stamped.withComputation(computation);
+	}
+
+	@Override public int getTypeId() {
+		return WireFormat.WORKER_MESSAGE_TYPE_ID;
+	}
+
+	@Override public void destroy() {
+		// Nothing to destroy
+	}
+}
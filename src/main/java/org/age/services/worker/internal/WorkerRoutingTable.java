@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static java.util.Objects.requireNonNull;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Routing table that maps {@link WorkerAddress}es to IDs of the nodes owning them.
+ * <p>
+ * The table is distributed: every node publishes its own addresses in the Hazelcast map with a limited TTL and must
+ * refresh them periodically. Entries learnt from the announcements of neighbours are cached locally, so resolving
+ * a neighbour does not require a cluster round trip. Local entries expire after the same TTL unless refreshed.
+ * <p>
+ * Addresses missing in the distributed map are remembered for a short time, so resolving an unknown address does not
+ * cause a cluster round trip for every message.
+ */
+@Named
+@ThreadSafe
+public final class WorkerRoutingTable {
+
+	public static final String ROUTING_MAP_NAME = "worker/routing";
+
+	/**
+	 * How long an entry lives without being refreshed by the owner.
+	 */
+	public static final long ENTRY_TTL_SECONDS = 30L;
+
+	/**
+	 * How long a miss in the distributed map is remembered.
+	 */
+	public static final long MISS_TTL_SECONDS = 1L;
+
+	private static final Logger log = LoggerFactory.getLogger(WorkerRoutingTable.class);
+
+	private final Cache<WorkerAddress, String> localRoutes;
+
+	private final Cache<WorkerAddress, Boolean> misses;
+
+	@Inject private @MonotonicNonNull HazelcastInstance hazelcastInstance;
+
+	private @MonotonicNonNull IMap<WorkerAddress, String> routes;
+
+	public WorkerRoutingTable() {
+		this(Ticker.systemTicker());
+	}
+
+	WorkerRoutingTable(@NonNull final Ticker ticker) {
+		localRoutes = CacheBuilder.newBuilder().ticker(ticker).expireAfterWrite(ENTRY_TTL_SECONDS, TimeUnit.SECONDS)
+		                          .build();
+		misses = CacheBuilder.newBuilder().ticker(ticker).expireAfterWrite(MISS_TTL_SECONDS, TimeUnit.SECONDS)
+		                     .build();
+	}
+
+	@PostConstruct private void construct() {
+		routes = hazelcastInstance.getMap(ROUTING_MAP_NAME);
+	}
+
+	/**
+	 * Publishes (or refreshes) the route to a locally owned address in the distributed table.
+	 *
+	 * @param address
+	 * 		a local address.
+	 * @param nodeId
+	 * 		ID of the local node.
+	 */
+	public void publish(@NonNull final WorkerAddress address, @NonNull final String nodeId) {
+		log.debug("Publishing route {} -> {}.", address, nodeId);
+		routes.set(requireNonNull(address), requireNonNull(nodeId), ENTRY_TTL_SECONDS, TimeUnit.SECONDS);
+		localRoutes.put(address, nodeId);
+		misses.invalidate(address);
+	}
+
+	/**
+	 * Records a route learnt from an announcement of another node. The route is stored only locally.
+	 *
+	 * @param address
+	 * 		an announced address.
+	 * @param nodeId
+	 * 		ID of the announcing node.
+	 */
+	public void learn(@NonNull final WorkerAddress address, @NonNull final String nodeId) {
+		localRoutes.put(requireNonNull(address), requireNonNull(nodeId));
+		misses.invalidate(address);
+	}
+
+	/**
+	 * Returns ID of the node that owns the given address.
+	 *
+	 * @param address
+	 * 		an address to resolve.
+	 *
+	 * @return an Optional containing the owner ID or empty if the address is unknown.
+	 */
+	@NonNull public Optional<String> ownerOf(@NonNull final WorkerAddress address) {
+		requireNonNull(address);
+		final String cached = localRoutes.getIfPresent(address);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		if (misses.getIfPresent(address) != null) {
+			return Optional.empty();
+		}
+		final String owner = routes.get(address);
+		if (owner != null) {
+			localRoutes.put(address, owner);
+		} else {
+			misses.put(address, Boolean.TRUE);
+		}
+		return Optional.ofNullable(owner);
+	}
+
+	@Override public String toString() {
+		return toStringHelper(this).add("cached", localRoutes.size()).add("misses", misses.size()).toString();
+	}
+}
@@ -43,12 +43,12 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.EnumSet;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -61,6 +61,11 @@ import javax.annotation.concurrent.ThreadSafe;
  * A FSM-based service implementation.
  * <p>
  * These services should be built with {@link StateMachineServiceBuilder}.
+ * <p>
+ * Events are processed one by one by a dispatcher. In the {@link DispatchMode#SIGNALLED} mode the dispatcher is
+ * submitted to an executor when an event is fired and there is no dispatcher scheduled yet, so idle state machines
+ * do not use any threads. In the {@link DispatchMode#POLLING} mode the dispatcher is run every millisecond by
+ * a thread owned by the service.
  *
  * @param <S>
  * 		the states enumeration.
@@ -80,7 +85,9 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 
 	private final EnumSet<S> terminalStates;
 
-	private final Method eventCreate;
+	private final StateChangedEventFactory<S, E> eventFactory;
+
+	private final NotificationMode notificationMode;
 
 	private final S initialState;
 
@@ -100,6 +107,25 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 
 	@Nullable private final ScheduledFuture<?> dispatcherFuture;
 
+	@Nullable private final Executor dispatchExecutor;
+
+	private final Dispatcher dispatcher = new Dispatcher();
+
+	private final AtomicBoolean dispatchScheduled = new AtomicBoolean(false);
+
+	/**
+	 * Whether the failure event was not processed yet (used only in the signalled mode).
+	 */
+	private final AtomicBoolean failurePending = new AtomicBoolean(false);
+
+	private volatile boolean shutDown;
+
+	private final Queue<StateChangedEvent<S, E>> notifications = newConcurrentLinkedQueue();
+
+	private final AtomicBoolean notificationScheduled = new AtomicBoolean(false);
+
+	@Nullable private final Executor notificationExecutor;
+
 	private final EventBus eventBus;
 
 	private final AtomicBoolean failed = new AtomicBoolean(false);
@@ -126,7 +152,8 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 		initialState = builder.initialState();
 		currentState = initialState;
 		eventBus = builder.eventBus();
-		eventCreate = builder.stateChangedEventCreateMethod();
+		eventFactory = builder.stateChangedEventFactory();
+		notificationMode = builder.notificationMode();
 		terminalStates = builder.terminalStates();
 		failureEvent = builder.getFailureEvent();
 		exceptionHandler = builder.getExceptionHandler();
@@ -135,13 +162,21 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 			synchronous = true;
 			service = null;
 			dispatcherFuture = null;
-		} else {
+			dispatchExecutor = null;
+		} else if (builder.dispatchMode() == DispatchMode.POLLING) {
 			synchronous = false;
 			service = listeningDecorator(newSingleThreadScheduledExecutor(
 					new ThreadFactoryBuilder().setNameFormat("fsm-" + serviceName + "-srv-%d").build()));
-			dispatcherFuture = service.scheduleWithFixedDelay(swallowingRunnable(new Dispatcher()), 0L, 1L,
+			dispatcherFuture = service.scheduleWithFixedDelay(swallowingRunnable(dispatcher), 0L, 1L,
 			                                                  TimeUnit.MILLISECONDS);
+			dispatchExecutor = null;
+		} else {
+			synchronous = false;
+			service = null;
+			dispatcherFuture = null;
+			dispatchExecutor = builder.dispatchExecutor();
 		}
+		notificationExecutor = (notificationMode == NotificationMode.ASYNCHRONOUS) ? builder.dispatchExecutor() : null;
 	}
 
 	/**
@@ -157,10 +192,11 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 		logIfTerminated();
 		if (failureEvent == event) {
 			log.debug("{}: Failure.", serviceName);
-			failed.set(true);
+			markFailed();
 		} else {
 			eventQueue.add(event);
 		}
+		signalDispatcher();
 	}
 
 	@Override public void goTo(@NonNull final S nextState) {
@@ -260,13 +296,14 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 
 	@ForTestsOnly void execute() {
 		assert synchronous;
-		new Dispatcher().run();
+		dispatcher.run();
 	}
 
 	private void internalShutdown() {
 		log.debug("{}: Service is shutting down.", serviceName);
-		if (!synchronous) {
-			assert (dispatcherFuture != null) && (service != null);
+		shutDown = true;
+		if (service != null) {
+			assert dispatcherFuture != null;
 			dispatcherFuture.cancel(false);
 			shutdownAndAwaitTermination(service, 10L, TimeUnit.SECONDS);
 		}
@@ -274,6 +311,76 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 		log.info("{}: Service has been shut down properly.", serviceName);
 	}
 
+	private void notifyStateChanged(@NonNull final StateChangedEvent<S, E> event) {
+		if (notificationMode == NotificationMode.SYNCHRONOUS) {
+			eventBus.post(event);
+			return;
+		}
+		assert notificationExecutor != null;
+		notifications.add(event);
+		if (notificationScheduled.compareAndSet(false, true)) {
+			notificationExecutor.execute(swallowingRunnable(this::postNotifications));
+		}
+	}
+
+	/**
+	 * Posts queued notifications in order. Uses the same scheme as {@link #dispatchPending()}.
+	 */
+	private void postNotifications() {
+		do {
+			try {
+				for (final StateChangedEvent<S, E> event : consumingIterable(notifications)) {
+					eventBus.post(event);
+				}
+			} finally {
+				notificationScheduled.set(false);
+			}
+		} while (!notifications.isEmpty() && notificationScheduled.compareAndSet(false, true));
+	}
+
+	private void markFailed() {
+		failed.set(true);
+		failurePending.set(true);
+	}
+
+	/**
+	 * Schedules the dispatcher unless it is already scheduled (or running).
+	 */
+	private void signalDispatcher() {
+		if ((dispatchExecutor == null) || shutDown || !dispatchScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			dispatchExecutor.execute(swallowingRunnable(this::dispatchPending));
+		} catch (final RejectedExecutionException e) {
+			dispatchScheduled.set(false);
+			log.warn("{}: Cannot schedule the dispatcher.", serviceName, e);
+		}
+	}
+
+	/**
+	 * Processes events until there are none left. An event fired while the flag is being cleared is processed by this
+	 * run (if it wins the flag back) or by a newly scheduled one.
+	 */
+	private void dispatchPending() {
+		do {
+			try {
+				while (hasPendingWork() && !isTerminated()) {
+					dispatcher.run();
+				}
+			} finally {
+				dispatchScheduled.set(false);
+			}
+		} while (hasPendingWork() && !isTerminated() && dispatchScheduled.compareAndSet(false, true));
+	}
+
+	/**
+	 * Events fired after a failure are ignored, as only the failure event is processed then.
+	 */
+	private boolean hasPendingWork() {
+		return failurePending.get() || (!failed.get() && !eventQueue.isEmpty());
+	}
+
 	private void logIfTerminated() {
 		final long stamp = stateLock.readLock();
 		try {
@@ -309,6 +416,7 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 
 				// Prepare the current event
 				if (failed.get()) {
+					failurePending.set(false);
 					currentEvent = failureEvent;
 				} else if (eventQueue.isEmpty()) {
 					// Nothing to process
@@ -340,27 +448,34 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 		}
 
 		public void onSuccess(final TransitionDescriptor<S, E> descriptor) {
+			@Nullable StateChangedEvent<S, E> stateChangedEvent = null;
 			final long stamp = stateLock.writeLock();
 			try {
 				final Set<S> targetSet = descriptor.target();
 				if ((targetSet.size() != 1) && (nextState == null)) {
 					log.error("{}: Transition {} did not set the target state. Possible states: {}.", serviceName,
 					          descriptor, targetSet);
-					failed.set(true);
+					markFailed();
 				} else {
 					currentState = ((targetSet.size() != 1) && (nextState != null)) ? nextState
 					                                                                : getOnlyElement(targetSet);
 					log.info("{}: Transition {} was successful. Selected state: {}.", serviceName, descriptor,
 					         currentState);
-					eventBus.post(eventCreate.invoke(null, descriptor.initial(), descriptor.event(), currentState));
+					if (notificationMode != NotificationMode.DISABLED) {
+						stateChangedEvent = eventFactory.create(descriptor.initial(), descriptor.event(), currentState);
+					}
 				}
-			} catch (final IllegalAccessException | InvocationTargetException e) {
+			} catch (final RuntimeException e) {
 				log.error("{}: Cannot create event object.", serviceName, e);
 			} finally {
 				currentEvent = null;
 				nextState = null;
 				stateLock.unlock(stamp);
 			}
+			// Posted without holding the lock, so subscribers can query the state
+			if (stateChangedEvent != null) {
+				notifyStateChanged(stateChangedEvent);
+			}
 		}
 
 		public void onFailure(final TransitionDescriptor<S, E> descriptor, final Throwable t) {
@@ -368,7 +483,7 @@ public final class DefaultStateMachineService<S extends Enum<S>, E extends Enum<
 			try {
 				log.error("{}: Transition {} failed with exception.", serviceName, descriptor, t);
 				exceptions.add(t);
-				failed.set(true);
+				markFailed();
 			} finally {
 				currentEvent = null;
 				nextState = null;
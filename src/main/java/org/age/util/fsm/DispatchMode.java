@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.util.fsm;
+
+/**
+ * Ways of dispatching events fired on a {@link DefaultStateMachineService}.
+ */
+public enum DispatchMode {
+	/**
+	 * The dispatcher runs every millisecond on a thread owned by the state machine, even if no events were fired.
+	 */
+	POLLING,
+	/**
+	 * The dispatcher is scheduled on a (possibly shared) executor only when an event is fired to an idle state
+	 * machine. It processes queued events one by one until the queue is empty.
+	 */
+	SIGNALLED
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.util.fsm;
+
+/**
+ * Ways of posting {@link StateChangedEvent}s to the event bus of a state machine.
+ */
+public enum NotificationMode {
+	/**
+	 * Events are posted by the dispatcher right after the transition, before the next event is processed.
+	 */
+	SYNCHRONOUS,
+	/**
+	 * Events are posted in order from the executor of the state machine, so slow subscribers do not delay
+	 * transitions.
+	 */
+	ASYNCHRONOUS,
+	/**
+	 * Events are not created nor posted.
+	 */
+	DISABLED
+}
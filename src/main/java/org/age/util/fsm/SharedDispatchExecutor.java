@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.util.fsm;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A small pool shared by all signalled state machines that were not given their own executor.
+ * <p>
+ * The number of threads can be set with the {@code age.fsm.dispatcher-threads} system property. Threads are daemons,
+ * so the pool does not need to be shut down.
+ * <p>
+ * This package does not depend on the node services, so the pool is not a part of their executor registry and is not
+ * reported in its statistics. Services of the node give their machines a pool of the registry (see
+ * {@link StateMachineServiceBuilder#dispatchOn}), so this one serves only machines built without an executor.
+ */
+final class SharedDispatchExecutor {
+
+	private static final int DEFAULT_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private SharedDispatchExecutor() {}
+
+	@NonNull static ExecutorService get() {
+		return Holder.EXECUTOR;
+	}
+
+	private static final class Holder {
+		private static final ExecutorService EXECUTOR = newFixedThreadPool(
+				Integer.getInteger("age.fsm.dispatcher-threads", DEFAULT_THREADS),
+				new ThreadFactoryBuilder().setNameFormat("fsm-dispatcher-%d").setDaemon(true).build());
+	}
+}
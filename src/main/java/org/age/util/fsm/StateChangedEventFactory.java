@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.util.fsm;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Creates events posted after successful transitions of a state machine.
+ *
+ * @param <S>
+ * 		the states enumeration.
+ * @param <E>
+ * 		the events enumeration.
+ *
+ * @see StateMachineServiceBuilder#notifyWith(StateChangedEventFactory)
+ */
+@FunctionalInterface
+public interface StateChangedEventFactory<S extends Enum<S>, E extends Enum<E>> {
+
+	/**
+	 * Creates a new event.
+	 *
+	 * @param previousState
+	 * 		a previous state.
+	 * @param event
+	 * 		an event that caused the transition.
+	 * @param newState
+	 * 		a new state.
+	 *
+	 * @return a new event.
+	 */
+	@NonNull StateChangedEvent<S, E> create(@NonNull S previousState, @NonNull E event, @NonNull S newState);
+}
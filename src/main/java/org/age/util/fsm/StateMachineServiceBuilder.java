@@ -44,11 +44,18 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
@@ -106,8 +113,16 @@ public final class StateMachineServiceBuilder<S extends Enum<S>, E extends Enum<
 
 	private Class<? extends StateChangedEvent> stateChangedEventClass = StateChangedEvent.class;
 
+	@Nullable private StateChangedEventFactory<S, E> stateChangedEventFactory;
+
+	private NotificationMode notificationMode = NotificationMode.SYNCHRONOUS;
+
 	private boolean synchronous = false;
 
+	private DispatchMode dispatchMode = DispatchMode.SIGNALLED;
+
+	@Nullable private Executor dispatchExecutor;
+
 	StateMachineServiceBuilder(@NonNull final Class<S> states, @NonNull final Class<E> events) {
 		stateClass = requireNonNull(states);
 		eventClass = requireNonNull(events);
@@ -125,13 +140,38 @@ public final class StateMachineServiceBuilder<S extends Enum<S>, E extends Enum<
 	}
 
 	/**
-	 * Requests that events will be sent synchronously.
+	 * Requests that state changes are notified with events of the given type. The type must provide a static
+	 * {@code create} method with the same parameters as {@link StateChangedEvent#create}.
+	 * <p>
+	 * The method is resolved once, when the service is built. Prefer {@link #notifyWith(StateChangedEventFactory)}.
 	 *
 	 * @return this builder instance.
 	 */
 	public StateMachineServiceBuilder<S, E> notifyWithType(
 			@NonNull final Class<? extends StateChangedEvent<S, E>> klass) {
 		stateChangedEventClass = requireNonNull(klass);
+		stateChangedEventFactory = null;
+		return this;
+	}
+
+	/**
+	 * Requests that state changes are notified with events created by the given factory.
+	 *
+	 * @return this builder instance.
+	 */
+	public StateMachineServiceBuilder<S, E> notifyWith(@NonNull final StateChangedEventFactory<S, E> factory) {
+		stateChangedEventFactory = requireNonNull(factory);
+		return this;
+	}
+
+	/**
+	 * Selects how state changes are notified. By default, events are posted synchronously
+	 * ({@link NotificationMode#SYNCHRONOUS}).
+	 *
+	 * @return this builder instance.
+	 */
+	public StateMachineServiceBuilder<S, E> withNotificationMode(@NonNull final NotificationMode mode) {
+		notificationMode = requireNonNull(mode);
 		return this;
 	}
 
@@ -205,6 +245,34 @@ public final class StateMachineServiceBuilder<S extends Enum<S>, E extends Enum<
 		return this;
 	}
 
+	/**
+	 * Selects how events are dispatched. By default, the dispatcher is signalled by fired events
+	 * ({@link DispatchMode#SIGNALLED}).
+	 *
+	 * @param mode
+	 * 		a dispatch mode.
+	 *
+	 * @return this builder instance.
+	 */
+	public StateMachineServiceBuilder<S, E> withDispatchMode(@NonNull final DispatchMode mode) {
+		dispatchMode = requireNonNull(mode);
+		return this;
+	}
+
+	/**
+	 * Requests that the dispatcher runs on the given executor instead of the pool shared by all state machines. Used
+	 * only in the {@link DispatchMode#SIGNALLED} mode. The executor is not shut down with the service.
+	 *
+	 * @param executor
+	 * 		an executor to run the dispatcher on.
+	 *
+	 * @return this builder instance.
+	 */
+	public StateMachineServiceBuilder<S, E> dispatchOn(@NonNull final Executor executor) {
+		dispatchExecutor = requireNonNull(executor);
+		return this;
+	}
+
 	/**
 	 * Builds and returns a new service.
 	 *
@@ -263,6 +331,14 @@ public final class StateMachineServiceBuilder<S extends Enum<S>, E extends Enum<
 		return eventBus;
 	}
 
+	@NonNull DispatchMode dispatchMode() {
+		return dispatchMode;
+	}
+
+	@NonNull Executor dispatchExecutor() {
+		return nonNull(dispatchExecutor) ? dispatchExecutor : SharedDispatchExecutor.get();
+	}
+
 	@Nullable Map<E, Set<S>> getAnyTransitions() {
 		return noStateTransitions;
 	}
@@ -271,6 +347,45 @@ public final class StateMachineServiceBuilder<S extends Enum<S>, E extends Enum<
 		return noStateActions;
 	}
 
+	/**
+	 * Returns the notification mode, which is always {@link NotificationMode#DISABLED} without an event bus.
+	 */
+	@NonNull NotificationMode notificationMode() {
+		return nonNull(eventBus) ? notificationMode : NotificationMode.DISABLED;
+	}
+
+	/**
+	 * Returns the factory of state change events. A type given with {@link #notifyWithType} is converted to a factory
+	 * with {@link LambdaMetafactory}, so creating events does not use reflection.
+	 */
+	@NonNull StateChangedEventFactory<S, E> stateChangedEventFactory() {
+		if (nonNull(stateChangedEventFactory)) {
+			return stateChangedEventFactory;
+		}
+		if (stateChangedEventClass == StateChangedEvent.class) {
+			return StateChangedEvent::create;
+		}
+		final Method method = stateChangedEventCreateMethod();
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.lookup();
+			final MethodHandle handle = lookup.unreflect(method);
+			final CallSite callSite = LambdaMetafactory.metafactory(
+					lookup, "create", MethodType.methodType(StateChangedEventFactory.class),
+					MethodType.methodType(StateChangedEvent.class, Enum.class, Enum.class, Enum.class), handle,
+					handle.type());
+			return (StateChangedEventFactory<S, E>)callSite.getTarget().invoke();
+		} catch (final Throwable t) {
+			log.debug("Cannot create a factory from {}. Falling back to reflection.", method, t);
+			return (previousState, event, newState) -> {
+				try {
+					return (StateChangedEvent<S, E>)method.invoke(null, previousState, event, newState);
+				} catch (final IllegalAccessException | InvocationTargetException e) {
+					throw new IllegalStateException("Cannot create event object.", e);
+				}
+			};
+		}
+	}
+
 	@NonNull Method stateChangedEventCreateMethod() {
 		Method eventCreateMethod;
 		try {
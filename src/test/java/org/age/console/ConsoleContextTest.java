@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.console;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.internal.DefaultNodeIdentityService;
+import org.age.services.topology.processors.LocalityAwareTopologyProcessor;
+import org.age.services.topology.processors.RandomRegularTopologyProcessor;
+import org.age.services.topology.processors.SmallWorldTopologyProcessor;
+import org.age.services.topology.processors.TopologyProcessor;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.xml.DefaultNamespaceHandlerResolver;
+import org.springframework.beans.factory.xml.NamespaceHandler;
+import org.springframework.beans.factory.xml.NamespaceHandlerSupport;
+import org.springframework.beans.factory.xml.ParserContext;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.ClassUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+
+import java.util.Arrays;
+
+/**
+ * Refreshes the beans of the console context that do not need a running cluster.
+ */
+public final class ConsoleContextTest {
+
+	private GenericApplicationContext context;
+
+	@BeforeMethod public void setUp() {
+		context = new GenericApplicationContext();
+		final XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(context);
+		// Hazelcast is not started, so its namespace is neither validated nor parsed
+		reader.setValidationMode(XmlBeanDefinitionReader.VALIDATION_NONE);
+		reader.setNamespaceAware(true);
+		reader.setNamespaceHandlerResolver(new WithoutHazelcastResolver(context.getClassLoader()));
+		reader.loadBeanDefinitions("classpath:spring-console.xml");
+		Arrays.stream(context.getBeanDefinitionNames())
+		      .filter(name -> !isStandalone(context.getBeanDefinition(name).getBeanClassName()))
+		      .forEach(context::removeBeanDefinition);
+		context.refresh();
+	}
+
+	@AfterMethod public void tearDown() {
+		context.close();
+	}
+
+	@Test public void testTopologyProcessorsConfigured() {
+		assertThat(context.getBeansOfType(TopologyProcessor.class)).isNotEmpty();
+		assertThat(new DirectFieldAccessor(context.getBean(RandomRegularTopologyProcessor.class)).getPropertyValue(
+				"degree")).isEqualTo(4);
+		assertThat(new DirectFieldAccessor(context.getBean(SmallWorldTopologyProcessor.class)).getPropertyValue(
+				"rewiringProbability")).isEqualTo(0.1);
+	}
+
+	@Test public void testLocationConfigured() {
+		assertThat(new DirectFieldAccessor(context.getBean(LocalityAwareTopologyProcessor.class)).getPropertyValue(
+				"hostClique")).isEqualTo(8);
+		final NodeDescriptor descriptor = context.getBean(DefaultNodeIdentityService.class).descriptor();
+		assertThat(descriptor.host()).isNotEmpty().doesNotContain("${");
+		assertThat(descriptor.rack()).isEmpty();
+	}
+
+	/**
+	 * Post-processors (including the placeholder configurer) and beans without dependencies on other services.
+	 */
+	private static boolean isStandalone(final String className) {
+		if (className == null) {
+			return false;
+		}
+		final Class<?> type = ClassUtils.resolveClassName(className, ConsoleContextTest.class.getClassLoader());
+		return BeanFactoryPostProcessor.class.isAssignableFrom(type) || BeanPostProcessor.class.isAssignableFrom(type)
+		       || TopologyProcessor.class.isAssignableFrom(type) || DefaultNodeIdentityService.class.equals(type);
+	}
+
+	private static final class WithoutHazelcastResolver extends DefaultNamespaceHandlerResolver {
+
+		private static final String HAZELCAST_NAMESPACE = "http://www.hazelcast.com/schema/spring";
+
+		private WithoutHazelcastResolver(final ClassLoader classLoader) {
+			super(classLoader);
+		}
+
+		@Override public NamespaceHandler resolve(final String namespaceUri) {
+			if (HAZELCAST_NAMESPACE.equals(namespaceUri)) {
+				return new NamespaceHandlerSupport() {
+					@Override public void init() {}
+
+					@Override public BeanDefinition parse(final Element element, final ParserContext parserContext) {
+						return null;
+					}
+				};
+			}
+			return super.resolve(namespaceUri);
+		}
+	}
+}
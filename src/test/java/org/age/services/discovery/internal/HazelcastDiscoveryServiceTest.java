@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery.internal;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.age.services.identity.NodeType;
+import org.age.services.identity.internal.NodeDescriptor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.MultiMap;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+
+public final class HazelcastDiscoveryServiceTest {
+
+	private static final String NODE_ID = "1";
+
+	private static final String SUSPECT_ID = "2";
+
+	@Nullable private HazelcastDiscoveryService service;
+
+	@Nullable private IMap<String, NodeDescriptor> members;
+
+	@Nullable private MultiMap<String, String> suspicions;
+
+	@BeforeMethod public void setUp() {
+		members = mock(IMap.class);
+		suspicions = mock(MultiMap.class);
+
+		// The suspect has not sent a heartbeat for a minute
+		final PhiAccrualFailureDetector failureDetector = new PhiAccrualFailureDetector(8.0, 100, 100L, 1000L, 500L);
+		final long start = System.currentTimeMillis() - 60_000L;
+		failureDetector.heartbeat(SUSPECT_ID, start);
+		failureDetector.heartbeat(SUSPECT_ID, start + 500L);
+
+		service = new HazelcastDiscoveryService();
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(service);
+		accessor.setPropertyValue("nodeId", NODE_ID);
+		accessor.setPropertyValue("members", members);
+		accessor.setPropertyValue("suspicions", suspicions);
+		accessor.setPropertyValue("failureDetector", failureDetector);
+		final MemberView view = (MemberView)accessor.getPropertyValue("view");
+		ImmutableSet.of("1", "2", "3", "4").forEach(id -> view.put(new NodeDescriptor(id, NodeType.COMPUTE,
+		                                                                               ImmutableSet.of())));
+	}
+
+	@AfterMethod public void tearDown() {
+		service = null;
+		members = null;
+		suspicions = null;
+	}
+
+	@Test public void testSingleSuspicionDoesNotRemove() {
+		when(suspicions.get(SUSPECT_ID)).thenReturn(ImmutableList.of(NODE_ID));
+
+		invoke(service, "detectFailures");
+
+		verify(suspicions).put(SUSPECT_ID, NODE_ID);
+		verify(members, never()).delete(SUSPECT_ID);
+	}
+
+	@Test public void testMajorityRemoves() {
+		when(suspicions.get(SUSPECT_ID)).thenReturn(ImmutableList.of(NODE_ID, "3"));
+
+		invoke(service, "detectFailures");
+
+		verify(members).delete(SUSPECT_ID);
+		verify(suspicions).remove(SUSPECT_ID);
+	}
+
+	@Test public void testVotesOfDepartedObserversAreIgnored() {
+		when(suspicions.get(SUSPECT_ID)).thenReturn(ImmutableList.of(NODE_ID, "5"));
+
+		invoke(service, "detectFailures");
+
+		verify(members, never()).delete(SUSPECT_ID);
+	}
+
+	private static void invoke(final Object target, final String name) {
+		final Method method = ReflectionUtils.findMethod(target.getClass(), name);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, target);
+	}
+}
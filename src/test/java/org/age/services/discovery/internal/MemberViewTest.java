@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.services.discovery.MembershipSnapshot;
+import org.age.services.identity.NodeType;
+import org.age.services.identity.internal.NodeDescriptor;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+public final class MemberViewTest {
+
+	private static final NodeDescriptor COMPUTE1 = new NodeDescriptor("1", NodeType.COMPUTE,
+	                                                                  ImmutableSet.of("worker", "topology"), "host-a",
+	                                                                  "rack-1", 4, Collections.emptyMap());
+
+	private static final NodeDescriptor COMPUTE2 = new NodeDescriptor("2", NodeType.COMPUTE, ImmutableSet.of("worker"),
+	                                                                  "host-b", "rack-1", 8, Collections.emptyMap());
+
+	private static final NodeDescriptor CONSOLE = new NodeDescriptor("3", NodeType.SATELLITE, ImmutableSet.of());
+
+	@Nullable private MemberView view;
+
+	@BeforeMethod public void setUp() {
+		view = new MemberView();
+		view.put(COMPUTE1);
+		view.put(COMPUTE2);
+		view.put(CONSOLE);
+	}
+
+	@AfterMethod public void tearDown() {
+		view = null;
+	}
+
+	@Test public void testIndexes() {
+		assertThat(view.ofType(NodeType.COMPUTE)).containsOnly(COMPUTE1, COMPUTE2);
+		assertThat(view.ofType(NodeType.SATELLITE)).containsOnly(CONSOLE);
+		assertThat(view.ofType(NodeType.UNKNOWN)).isEmpty();
+		assertThat(view.providing("worker")).containsOnly(COMPUTE1, COMPUTE2);
+		assertThat(view.providing("topology")).containsOnly(COMPUTE1);
+		assertThat(view.providing("missing")).isEmpty();
+		assertThat(view.member("3").get()).isEqualTo(CONSOLE);
+	}
+
+	@Test public void testReplaceUpdatesIndexes() {
+		view.put(new NodeDescriptor("1", NodeType.COMPUTE, ImmutableSet.of("worker")));
+
+		assertThat(view.providing("topology")).isEmpty();
+		assertThat(view.providing("worker")).hasSize(2);
+		assertThat(view.size()).isEqualTo(3);
+	}
+
+	@Test public void testRemove() {
+		view.remove("1");
+
+		assertThat(view.ofType(NodeType.COMPUTE)).containsOnly(COMPUTE2);
+		assertThat(view.providing("topology")).isEmpty();
+		assertThat(view.member("1").isPresent()).isFalse();
+	}
+
+	@Test public void testMatching() {
+		assertThat(view.matching("type = 'compute'")).containsOnly(COMPUTE1, COMPUTE2);
+		assertThat(view.matching("cores > 4")).containsOnly(COMPUTE2);
+		assertThat(view.matching("host = 'host-a' or id = '3'")).containsOnly(COMPUTE1, CONSOLE);
+	}
+
+	@Test public void testCachedResultsInvalidated() {
+		assertThat(view.matching("type = 'compute'")).hasSize(2);
+
+		view.remove("2");
+
+		assertThat(view.matching("type = 'compute'")).containsOnly(COMPUTE1);
+	}
+
+	@Test public void testPutIfAbsentKeepsNewerDescriptor() {
+		view.putIfAbsent(new NodeDescriptor("1", NodeType.COMPUTE, ImmutableSet.of()));
+
+		assertThat(view.providing("topology")).containsOnly(COMPUTE1);
+	}
+
+	@Test public void testVersionIncreasesWithChanges() {
+		final long version = view.version();
+
+		assertThat(view.put(COMPUTE1)).isGreaterThan(version);
+		assertThat(view.remove("2").get()).isEqualTo(COMPUTE2);
+		assertThat(view.version()).isGreaterThan(version + 1);
+	}
+
+	@Test public void testRemoveUnknownMember() {
+		final long version = view.version();
+
+		assertThat(view.remove("missing").isPresent()).isFalse();
+		assertThat(view.version()).isEqualTo(version);
+	}
+
+	@Test public void testSnapshotIsNotAffectedByChanges() {
+		final MembershipSnapshot snapshot = view.snapshot();
+
+		view.remove("1");
+
+		assertThat(snapshot.version()).isLessThan(view.version());
+		assertThat(snapshot.members()).containsOnly(COMPUTE1, COMPUTE2, CONSOLE);
+		assertThat(snapshot.membersOfType(NodeType.COMPUTE)).containsOnly(COMPUTE1, COMPUTE2);
+		assertThat(snapshot.member("1").get()).isEqualTo(COMPUTE1);
+		assertThat(view.snapshot().member("1").isPresent()).isFalse();
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public final class PhiAccrualFailureDetectorTest {
+
+	private static final String NODE = "node";
+
+	private static final long INTERVAL = 500L;
+
+	@Nullable private PhiAccrualFailureDetector detector;
+
+	@BeforeMethod public void setUp() {
+		detector = new PhiAccrualFailureDetector(8.0, 100, 100L, 0L, INTERVAL);
+	}
+
+	@AfterMethod public void tearDown() {
+		detector = null;
+	}
+
+	@Test public void testUnknownNodeIsNotSuspected() {
+		assertThat(detector.phi(NODE, 1_000_000L)).isEqualTo(0.0);
+		assertThat(detector.suspects(1_000_000L)).isEmpty();
+	}
+
+	@Test public void testRegularHeartbeats() {
+		final long last = beat(0L, 20);
+
+		assertThat(detector.isAvailable(NODE, last + INTERVAL)).isTrue();
+		assertThat(detector.phi(NODE, last + INTERVAL)).isLessThan(1.0);
+	}
+
+	@Test public void testPhiGrowsWithDelay() {
+		final long last = beat(0L, 20);
+
+		final double early = detector.phi(NODE, last + INTERVAL);
+		final double late = detector.phi(NODE, last + (2 * INTERVAL));
+		final double later = detector.phi(NODE, last + (3 * INTERVAL));
+
+		assertThat(early).isLessThan(late);
+		assertThat(late).isLessThan(later);
+	}
+
+	@Test public void testMissingHeartbeatsDetectedWithinSeconds() {
+		final long last = beat(0L, 20);
+
+		assertThat(detector.suspects(last + 2000L)).containsOnly(NODE);
+	}
+
+	@Test public void testDetectedWithoutHistory() {
+		detector.heartbeat(NODE, 0L);
+
+		assertThat(detector.isAvailable(NODE, INTERVAL)).isTrue();
+		assertThat(detector.isAvailable(NODE, 3000L)).isFalse();
+	}
+
+	@Test public void testAcceptablePauseDelaysSuspicion() {
+		final PhiAccrualFailureDetector tolerant = new PhiAccrualFailureDetector(8.0, 100, 100L, 5000L, INTERVAL);
+		for (int i = 0; i < 20; i++) {
+			tolerant.heartbeat(NODE, i * INTERVAL);
+		}
+
+		assertThat(tolerant.isAvailable(NODE, (19 * INTERVAL) + 2000L)).isTrue();
+	}
+
+	@Test public void testRemove() {
+		final long last = beat(0L, 5);
+
+		detector.remove(NODE);
+
+		assertThat(detector.suspects(last + 10_000L)).isEmpty();
+		assertThat(detector.monitoredNodes()).isEmpty();
+	}
+
+	private long beat(final long start, final int count) {
+		long timestamp = start;
+		for (int i = 0; i < count; i++) {
+			timestamp = start + (i * INTERVAL);
+			detector.heartbeat(NODE, timestamp);
+		}
+		return timestamp;
+	}
+}
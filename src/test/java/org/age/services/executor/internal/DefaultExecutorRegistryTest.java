@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.executor.internal;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.services.executor.ExecutorStatistics;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public final class DefaultExecutorRegistryTest {
+
+	@Nullable private DefaultExecutorRegistry registry;
+
+	@BeforeMethod public void setUp() {
+		registry = new DefaultExecutorRegistry();
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(registry);
+		accessor.setPropertyValue("scheduledThreads", 1);
+		accessor.setPropertyValue("computeThreads", 2);
+		accessor.setPropertyValue("ioThreads", 1);
+		accessor.setPropertyValue("parallelThreads", 3);
+		invoke("construct");
+	}
+
+	@AfterMethod public void tearDown() {
+		invoke("destroy");
+		registry = null;
+	}
+
+	@Test public void testConfiguredSizes() {
+		assertThat(registry.statistics().get("scheduled").maxThreads()).isEqualTo(1);
+		assertThat(registry.statistics().get("compute").maxThreads()).isEqualTo(2);
+		assertThat(registry.statistics().get("io").maxThreads()).isEqualTo(1);
+		assertThat(registry.statistics().get("parallel").maxThreads()).isEqualTo(3);
+	}
+
+	@Test(timeOut = 5000L) public void testStatistics() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		registry.io().execute(() -> {
+			started.countDown();
+			awaitUninterruptibly(release);
+		});
+		registry.io().execute(() -> {});
+		started.await();
+
+		final ExecutorStatistics busy = registry.statistics().get("io");
+		assertThat(busy.activeThreads()).isEqualTo(1);
+		assertThat(busy.queueDepth()).isEqualTo(1);
+		assertThat(busy.utilization()).isEqualTo(1.0);
+
+		release.countDown();
+		registry.io().submit(() -> {}).get();
+		while (registry.statistics().get("io").completedTasks() < 3) {
+			TimeUnit.MILLISECONDS.sleep(1L);
+		}
+		assertThat(registry.statistics().get("io").queueDepth()).isZero();
+	}
+
+	@Test(timeOut = 5000L) public void testDedicatedPoolReportedUntilTerminated() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final ListeningExecutorService pool = registry.dedicated("worker-test", 2);
+		final ListenableFuture<?> task = pool.submit(() -> awaitUninterruptibly(release));
+
+		assertThat(registry.statistics().get("worker-test").maxThreads()).isEqualTo(2);
+		assertThat(registry.statistics().get("worker-test").threads()).isEqualTo(1);
+
+		pool.shutdown();
+		release.countDown();
+		task.get();
+		assertThat(pool.awaitTermination(1L, TimeUnit.SECONDS)).isTrue();
+		assertThat(registry.statistics()).doesNotContainKey("worker-test");
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testDedicatedPoolNamesAreUnique() {
+		registry.dedicated("worker-test", 1);
+		registry.dedicated("worker-test", 1);
+	}
+
+	private void invoke(final String methodName) {
+		final Method method = ReflectionUtils.findMethod(DefaultExecutorRegistry.class, methodName);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, registry);
+	}
+}
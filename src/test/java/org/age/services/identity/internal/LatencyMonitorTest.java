@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.identity.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.age.services.discovery.DiscoveryService;
+import org.age.services.executor.ExecutorRegistry;
+import org.age.services.identity.NodeType;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public final class LatencyMonitorTest {
+
+	private final List<LatencyProbe> pings = new CopyOnWriteArrayList<>();
+
+	private LatencyMonitor monitor;
+
+	private DefaultNodeIdentityService identityService;
+
+	private ListeningScheduledExecutorService scheduled;
+
+	@BeforeMethod public void setUp() {
+		pings.clear();
+		final ITopic<LatencyProbe> topic = mock(ITopic.class);
+		doAnswer(invocation -> pings.add((LatencyProbe)invocation.getArguments()[0])).when(topic).publish(any());
+		final HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+		when(hazelcastInstance.<LatencyProbe>getTopic(anyString())).thenReturn(topic);
+
+		final DiscoveryService discoveryService = mock(DiscoveryService.class);
+		when(discoveryService.membersOfType(NodeType.COMPUTE)).thenReturn(ImmutableSet.of(
+				new NodeDescriptor("self", NodeType.COMPUTE, ImmutableSet.of()),
+				new NodeDescriptor("a", NodeType.COMPUTE, ImmutableSet.of()),
+				new NodeDescriptor("b", NodeType.COMPUTE, ImmutableSet.of()),
+				new NodeDescriptor("c", NodeType.COMPUTE, ImmutableSet.of())));
+
+		identityService = mock(DefaultNodeIdentityService.class);
+		when(identityService.nodeId()).thenReturn("self");
+		scheduled = mock(ListeningScheduledExecutorService.class);
+		final ExecutorRegistry executors = mock(ExecutorRegistry.class);
+		when(executors.scheduled()).thenReturn(scheduled);
+
+		monitor = new LatencyMonitor();
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(monitor);
+		accessor.setPropertyValue("hazelcastInstance", hazelcastInstance);
+		accessor.setPropertyValue("discoveryService", discoveryService);
+		accessor.setPropertyValue("identityService", identityService);
+		accessor.setPropertyValue("executors", executors);
+		accessor.setPropertyValue("publishedPeers", 2);
+	}
+
+	@Test public void testPublishedWhenAllProbesReturn() {
+		invoke("probe");
+
+		assertThat(pings).hasSize(3);
+		answer(pings.get(0), "a");
+		answer(pings.get(1), "b");
+		verify(identityService, never()).updateRoundTripTimes(anyMap());
+
+		answer(pings.get(2), "c");
+
+		assertThat(published()).hasSize(2);
+	}
+
+	@Test public void testPublishedWhenRoundTimesOut() {
+		invoke("probe");
+		answer(pings.get(0), "a");
+		final ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduled).schedule(timeout.capture(), anyLong(), any(TimeUnit.class));
+
+		timeout.getValue().run();
+
+		assertThat(published()).containsKey("a").hasSize(1);
+	}
+
+	@Test public void testJitterIsNotPublished() {
+		final Map<String, Long> roundTripTimes = (Map<String, Long>)new DirectFieldAccessor(monitor).getPropertyValue(
+				"roundTripTimes");
+		roundTripTimes.putAll(ImmutableMap.of("a", 1000L, "b", 2000L, "c", 5000L));
+		invoke("publishRoundTripTimes");
+		assertThat(published()).containsOnly(entry("a", 1000L), entry("b", 2000L));
+
+		roundTripTimes.putAll(ImmutableMap.of("a", 1100L, "b", 1900L, "c", 4500L));
+		invoke("publishRoundTripTimes");
+		verify(identityService, times(1)).updateRoundTripTimes(anyMap());
+
+		roundTripTimes.put("c", 1500L);
+		invoke("publishRoundTripTimes");
+		verify(identityService, times(2)).updateRoundTripTimes(anyMap());
+		assertThat(published()).containsOnly(entry("a", 1000L), entry("c", 1500L));
+	}
+
+	private Map<String, Long> published() {
+		final ArgumentCaptor<Map> times = ArgumentCaptor.forClass(Map.class);
+		verify(identityService, atLeastOnce()).updateRoundTripTimes(times.capture());
+		return times.getValue();
+	}
+
+	private void answer(final LatencyProbe ping, final String peer) {
+		final Method method = ReflectionUtils.findMethod(LatencyMonitor.class, "onProbe", Message.class);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, monitor, new Message<>("test", ping.pong(peer), 0L, null));
+	}
+
+	private void invoke(final String name) {
+		final Method method = ReflectionUtils.findMethod(LatencyMonitor.class, name);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, monitor);
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public final class TopologySnapshotTest {
+
+	private static final String NODE1_ID = "1";
+
+	private static final String NODE2_ID = "2";
+
+	private static final String NODE3_ID = "3";
+
+	private DirectedGraph<String, DefaultEdge> graph;
+
+	@BeforeMethod public void setUp() {
+		graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+		graph.addVertex(NODE1_ID);
+		graph.addVertex(NODE2_ID);
+		graph.addVertex(NODE3_ID);
+		graph.addEdge(NODE1_ID, NODE2_ID);
+		graph.addEdge(NODE2_ID, NODE3_ID);
+		graph.addEdge(NODE3_ID, NODE1_ID);
+	}
+
+	@Test public void testNeighbours() {
+		final TopologySnapshot snapshot = TopologySnapshot.create(7L, graph, NODE1_ID);
+
+		assertThat(snapshot.epoch()).isEqualTo(7L);
+		assertThat(snapshot.nodes()).containsOnly(NODE1_ID, NODE2_ID, NODE3_ID);
+		assertThat(snapshot.neighbours()).containsOnly(NODE2_ID);
+		assertThat(snapshot.neighboursOf(NODE3_ID)).containsOnly(NODE1_ID);
+		assertThat(snapshot.neighbours()).isSameAs(snapshot.neighbours());
+	}
+
+	@Test public void testNodeOutsideOfTopology() {
+		final TopologySnapshot snapshot = TopologySnapshot.create(1L, graph, "other");
+
+		assertThat(snapshot.neighbours()).isEmpty();
+		assertThat(snapshot.neighboursOf("unknown")).isEmpty();
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void testGraphIsUnmodifiable() {
+		TopologySnapshot.create(1L, graph, NODE1_ID).graph().addVertex("4");
+	}
+}
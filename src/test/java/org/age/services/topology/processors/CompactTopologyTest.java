@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static org.age.services.topology.processors.TopologyDeltaTest.edgesOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class CompactTopologyTest {
+
+	@Test public void testFromGraph() {
+		final DirectedGraph<String, DefaultEdge> graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+		ImmutableList.of("c", "a", "b", "d").forEach(graph::addVertex);
+		graph.addEdge("a", "c");
+		graph.addEdge("a", "b");
+		graph.addEdge("c", "a");
+		graph.addEdge("d", "d");
+
+		final CompactTopology topology = CompactTopology.fromGraph(graph);
+
+		assertThat(topology.isImplicit()).isFalse();
+		assertThat(topology.nodes().asList()).containsExactly("a", "b", "c", "d");
+		assertThat(topology.edgeCount()).isEqualTo(4);
+		assertThat(topology.outDegree(topology.indexOf("a"))).isEqualTo(2);
+		assertThat(topology.outDegree(topology.indexOf("b"))).isEqualTo(0);
+		assertThat(topology.neighboursOf("a")).containsExactly("b", "c");
+		assertThat(topology.containsEdge("c", "a")).isTrue();
+		assertThat(topology.containsEdge("a", "d")).isFalse();
+		assertThat(topology.containsEdge("x", "a")).isFalse();
+		assertThat(topology.indexOf("x")).isEqualTo(-1);
+		assertThat(edgesOf(topology.toGraph())).isEqualTo(edgesOf(graph));
+	}
+
+	@Test public void testFullyConnectedIsImplicit() {
+		final CompactTopology topology = CompactTopology.fullyConnected(ImmutableList.of("1", "2", "3"), false);
+
+		assertThat(topology.isImplicit()).isTrue();
+		assertThat(topology.edgeCount()).isEqualTo(6);
+		assertThat(topology.neighboursOf("2")).containsExactly("1", "3");
+		assertThat(topology.containsEdge("2", "2")).isFalse();
+		assertThat(edgesOf(topology.toGraph())).containsOnly("1->2", "1->3", "2->1", "2->3", "3->1", "3->2");
+
+		final CompactTopology withLoops = CompactTopology.fullyConnected(ImmutableList.of("1", "2"), true);
+		assertThat(withLoops.edgeCount()).isEqualTo(4);
+		assertThat(withLoops.containsEdge("2", "2")).isTrue();
+	}
+
+	@Test public void testBuilderDetectsFullyConnected() {
+		final CompactTopology.Builder builder = CompactTopology.builder(ImmutableList.of("1", "2", "3"));
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				if (i != j) {
+					builder.addEdge(i, j).addEdge(i, j);
+				}
+			}
+		}
+
+		final CompactTopology topology = builder.build();
+
+		assertThat(topology.isImplicit()).isTrue();
+		assertThat(topology.edgeCount()).isEqualTo(6);
+	}
+
+	@Test public void testFullyConnectedStaysImplicitAfterDelta() {
+		final FullyConnectedTopologyProcessor processor = new FullyConnectedTopologyProcessor();
+		final CompactTopology topology = CompactTopology.fullyConnected(ImmutableList.of("1", "2", "3"), false);
+
+		final CompactTopology removed = topology.withDelta(processor.nodeRemoved(topology, "2").get());
+		assertThat(removed.isImplicit()).isTrue();
+		assertThat(removed.nodes()).containsExactly("1", "3");
+
+		final CompactTopology added = removed.withDelta(TopologyDelta.builder()
+		                                                             .addNode("4")
+		                                                             .addEdge("4", "1")
+		                                                             .addEdge("1", "4")
+		                                                             .addEdge("4", "3")
+		                                                             .addEdge("3", "4")
+		                                                             .build());
+		assertThat(added.isImplicit()).isTrue();
+		assertThat(added.edgeCount()).isEqualTo(6);
+
+		final CompactTopology broken = added.withDelta(TopologyDelta.builder().removeEdge("1", "4").build());
+		assertThat(broken.isImplicit()).isFalse();
+		assertThat(broken.edgeCount()).isEqualTo(5);
+		assertThat(broken.containsEdge("1", "4")).isFalse();
+	}
+
+	@Test public void testFullyConnectedIsSmallerThanGraph() throws IOException {
+		final List<String> nodeIds = IntStream.range(0, 200).mapToObj(i -> "node-" + i).collect(Collectors.toList());
+		final CompactTopology topology = CompactTopology.fullyConnected(nodeIds, false);
+
+		final int compactSize = serializedSize(topology);
+		final int graphSize = serializedSize((Serializable)topology.toGraph());
+
+		assertThat(compactSize * 100).isLessThan(graphSize);
+	}
+
+	private static int serializedSize(final Serializable object) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.size();
+	}
+}
@@ -82,4 +82,8 @@ public final class FullyConnectedWithLocalLoopsTopologyProcessorTest {
 		assertThat(graph.getEdge(node2Id, node1Id)).isNotNull();
 		assertThat(graph.getEdge(node2Id, node2Id)).isNotNull();
 	}
+
+	@Test public void testIncrementalChanges() {
+		TopologyDeltaTest.assertIncrementalMatchesRebuild(processor);
+	}
 }
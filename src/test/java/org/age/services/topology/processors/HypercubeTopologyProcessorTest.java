@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static org.age.services.topology.processors.Topologies.diameter;
+import static org.age.services.topology.processors.Topologies.hasLoops;
+import static org.age.services.topology.processors.Topologies.identities;
+import static org.age.services.topology.processors.Topologies.isSymmetric;
+import static org.age.services.topology.processors.Topologies.maxDegree;
+import static org.age.services.topology.processors.Topologies.minDegree;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public final class HypercubeTopologyProcessorTest {
+
+	@Nullable private HypercubeTopologyProcessor processor;
+
+	@BeforeMethod public void setUp() {
+		processor = new HypercubeTopologyProcessor();
+	}
+
+	@AfterMethod public void tearDown() {
+		processor = null;
+	}
+
+	@Test public void testSingleNode() {
+		final CompactTopology topology = processor.createTopologyFrom(identities(1));
+
+		assertThat(topology.size()).isEqualTo(1);
+		assertThat(topology.edgeCount()).isEqualTo(0);
+	}
+
+	@Test public void testCompleteHypercube() {
+		final CompactTopology topology = processor.createTopologyFrom(identities(1024));
+
+		assertThat(minDegree(topology)).isEqualTo(10);
+		assertThat(maxDegree(topology)).isEqualTo(10);
+		assertThat(diameter(topology)).isEqualTo(10);
+	}
+
+	@Test public void testThousandNodes() {
+		final CompactTopology topology = processor.createTopologyFrom(identities(1000));
+
+		assertThat(topology.size()).isEqualTo(1000);
+		assertThat(maxDegree(topology)).isLessThanOrEqualTo(10);
+		assertThat(minDegree(topology)).isGreaterThanOrEqualTo(1);
+		assertThat(hasLoops(topology)).isFalse();
+		assertThat(isSymmetric(topology)).isTrue();
+		assertThat(diameter(topology)).isLessThanOrEqualTo(10);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static org.age.services.topology.processors.Topologies.diameter;
+import static org.age.services.topology.processors.Topologies.hasLoops;
+import static org.age.services.topology.processors.Topologies.isSymmetric;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.services.identity.NodeType;
+import org.age.services.identity.internal.NodeDescriptor;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.DirectFieldAccessor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class LocalityAwareTopologyProcessorTest {
+
+	@Nullable private LocalityAwareTopologyProcessor processor;
+
+	@BeforeMethod public void setUp() {
+		processor = new LocalityAwareTopologyProcessor();
+	}
+
+	@AfterMethod public void tearDown() {
+		processor = null;
+	}
+
+	@Test public void testSingleHost() {
+		final CompactTopology topology = processor.createTopologyFrom(nodes(1, 1, 4));
+
+		assertThat(topology.edgeCount()).isEqualTo(12);
+		assertThat(hasLoops(topology)).isFalse();
+	}
+
+	@Test public void testLargeHostFormsRing() {
+		new DirectFieldAccessor(processor).setPropertyValue("hostClique", 2);
+
+		final CompactTopology topology = processor.createTopologyFrom(nodes(1, 1, 6));
+
+		assertThat(topology.edgeCount()).isEqualTo(12);
+		assertThat(diameter(topology)).isEqualTo(3);
+	}
+
+	@Test public void testFewEdgesCrossHosts() {
+		final Set<NodeDescriptor> nodes = nodes(3, 4, 4);
+		final Map<String, NodeDescriptor> byId = nodes.stream().collect(
+				Collectors.toMap(NodeDescriptor::id, node -> node));
+
+		final CompactTopology topology = processor.createTopologyFrom(nodes);
+
+		long crossHost = 0;
+		long crossRack = 0;
+		for (final String source : topology.nodes()) {
+			for (final String target : topology.neighboursOf(source)) {
+				if (!byId.get(source).host().equals(byId.get(target).host())) {
+					crossHost++;
+				}
+				if (!byId.get(source).rack().equals(byId.get(target).rack())) {
+					crossRack++;
+				}
+			}
+		}
+		// 4 hosts per rack in a ring (4 bridges) times 3 racks, plus 3 bridges between racks, in both directions
+		assertThat(crossHost).isEqualTo(2 * ((3 * 4) + 3));
+		assertThat(crossRack).isEqualTo(2 * 3);
+		assertThat(topology.edgeCount()).isEqualTo((48 * 3) + crossHost);
+		assertThat(isSymmetric(topology)).isTrue();
+		assertThat(diameter(topology)).isLessThan(Integer.MAX_VALUE);
+	}
+
+	@Test public void testBridgeWithLowestRoundTripTime() {
+		final Set<NodeDescriptor> nodes = ImmutableSet.of(node("a1", "a", "", ImmutableMap.of("b1", 900L, "b2", 100L)),
+		                                                  node("a2", "a", "", ImmutableMap.of("b1", 500L)),
+		                                                  node("b1", "b", "", Collections.emptyMap()),
+		                                                  node("b2", "b", "", ImmutableMap.of("a2", 300L)));
+
+		final CompactTopology topology = processor.createTopologyFrom(nodes);
+
+		assertThat(topology.containsEdge("a1", "b2")).isTrue();
+		assertThat(topology.containsEdge("b2", "a1")).isTrue();
+		assertThat(topology.edgeCount()).isEqualTo(2 + 2 + 2);
+	}
+
+	private static @NonNull Set<NodeDescriptor> nodes(final int racks, final int hostsPerRack,
+	                                                  final int nodesPerHost) {
+		return ImmutableSet.copyOf(
+				IntStream.range(0, racks * hostsPerRack * nodesPerHost)
+				         .mapToObj(i -> {
+					         final int host = i / nodesPerHost;
+					         return node(String.format("node-%04d", i), "host-" + host, "rack-" + (host / hostsPerRack),
+					                     Collections.emptyMap());
+				         })
+				         .collect(Collectors.toList()));
+	}
+
+	private static @NonNull NodeDescriptor node(final @NonNull String id, final @NonNull String host,
+	                                            final @NonNull String rack, final @NonNull Map<String, Long> times) {
+		return new NodeDescriptor(id, NodeType.COMPUTE, Collections.emptySet(), host, rack, 1, times);
+	}
+}
@@ -116,4 +116,8 @@ public final class RingTopologyProcessorTest {
 
 		assertThat(counter).isEqualTo(3);
 	}
+
+	@Test public void testIncrementalChanges() {
+		TopologyDeltaTest.assertIncrementalMatchesRebuild(processor);
+	}
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import org.age.services.identity.NodeType;
+import org.age.services.identity.internal.NodeDescriptor;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Helpers for checking properties of generated topologies.
+ */
+final class Topologies {
+
+	private Topologies() {}
+
+	static @NonNull ImmutableSet<NodeDescriptor> identities(final int count) {
+		return ImmutableSet.copyOf(IntStream.range(0, count)
+		                                    .mapToObj(i -> new NodeDescriptor(String.format("node-%04d", i),
+		                                                                      NodeType.COMPUTE, Collections.emptySet()))
+		                                    .collect(Collectors.toList()));
+	}
+
+	static int maxDegree(final @NonNull CompactTopology topology) {
+		return IntStream.range(0, topology.size()).map(topology::outDegree).max().orElse(0);
+	}
+
+	static int minDegree(final @NonNull CompactTopology topology) {
+		return IntStream.range(0, topology.size()).map(topology::outDegree).min().orElse(0);
+	}
+
+	static boolean hasLoops(final @NonNull CompactTopology topology) {
+		return topology.nodes().stream().anyMatch(node -> topology.containsEdge(node, node));
+	}
+
+	static boolean isSymmetric(final @NonNull CompactTopology topology) {
+		for (int i = 0; i < topology.size(); i++) {
+			for (int k = 0; k < topology.outDegree(i); k++) {
+				if (!topology.containsEdge(topology.nodeAt(topology.targetAt(i, k)), topology.nodeAt(i))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the diameter of the topology or {@link Integer#MAX_VALUE} if it is not strongly connected.
+	 */
+	static int diameter(final @NonNull CompactTopology topology) {
+		final int size = topology.size();
+		final int[] distances = new int[size];
+		final Queue<Integer> queue = new ArrayDeque<>();
+		int diameter = 0;
+		for (int source = 0; source < size; source++) {
+			Arrays.fill(distances, -1);
+			distances[source] = 0;
+			queue.add(source);
+			int visited = 1;
+			while (!queue.isEmpty()) {
+				final int current = queue.poll();
+				for (int k = 0; k < topology.outDegree(current); k++) {
+					final int target = topology.targetAt(current, k);
+					if (distances[target] < 0) {
+						distances[target] = distances[current] + 1;
+						diameter = Math.max(diameter, distances[target]);
+						visited++;
+						queue.add(target);
+					}
+				}
+			}
+			if (visited < size) {
+				return Integer.MAX_VALUE;
+			}
+		}
+		return diameter;
+	}
+}
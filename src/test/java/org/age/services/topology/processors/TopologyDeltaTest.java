@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.topology.processors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.services.identity.NodeType;
+import org.age.services.identity.internal.NodeDescriptor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class TopologyDeltaTest {
+
+	private DirectedGraph<String, DefaultEdge> graph;
+
+	@BeforeMethod public void setUp() {
+		graph = new DefaultDirectedGraph<>(DefaultEdge.class);
+		graph.addVertex("1");
+		graph.addVertex("2");
+		graph.addEdge("1", "2");
+		graph.addEdge("2", "1");
+	}
+
+	@Test public void testApply() {
+		TopologyDelta.builder().addNode("3").removeEdge("2", "1").addEdge("2", "3").addEdge("3", "1").build()
+		             .applyTo(graph);
+
+		assertThat(edgesOf(graph)).containsOnly("1->2", "2->3", "3->1");
+	}
+
+	@Test public void testRemovedAndAddedNodeLosesEdges() {
+		final TopologyDelta delta = TopologyDelta.builder()
+		                                         .removeNode("2")
+		                                         .addNode("2")
+		                                         .addEdge("2", "2")
+		                                         .build();
+
+		delta.applyTo(graph);
+
+		assertThat(graph.vertexSet()).containsOnly("1", "2");
+		assertThat(edgesOf(graph)).containsOnly("2->2");
+	}
+
+	@Test public void testMergeComposesOperations() {
+		final TopologyDelta first = TopologyDelta.builder().addNode("3").addEdge("1", "3").removeEdge("1", "2").build();
+		final TopologyDelta second = TopologyDelta.builder().removeEdge("1", "3").addEdge("1", "2").build();
+		final TopologyDelta third = TopologyDelta.builder().removeNode("3").build();
+
+		final TopologyDelta merged = TopologyDelta.builder().merge(first).merge(second).merge(third).build();
+
+		assertThat(merged.addedNodes()).isEmpty();
+		assertThat(merged.addedEdges().containsEntry("1", "3")).isFalse();
+		merged.applyTo(graph);
+		assertThat(graph.vertexSet()).containsOnly("1", "2");
+		assertThat(edgesOf(graph)).containsOnly("1->2", "2->1");
+	}
+
+	@Test public void testEmpty() {
+		assertThat(TopologyDelta.empty().isEmpty()).isTrue();
+		assertThat(TopologyDelta.builder().addNode("1").build().isEmpty()).isFalse();
+	}
+
+	static @NonNull Set<String> edgesOf(final @NonNull DirectedGraph<String, DefaultEdge> graph) {
+		return graph.edgeSet()
+		            .stream()
+		            .map(edge -> graph.getEdgeSource(edge) + "->" + graph.getEdgeTarget(edge))
+		            .collect(Collectors.toSet());
+	}
+
+	/**
+	 * Adds and removes nodes one by one and checks that after every step the incrementally maintained topology is
+	 * equal to the one created from scratch.
+	 */
+	static void assertIncrementalMatchesRebuild(final @NonNull TopologyProcessor processor) {
+		CompactTopology incremental = CompactTopology.empty();
+		final Map<String, NodeDescriptor> members = new HashMap<>();
+		final ImmutableList<String> steps = ImmutableList.of("+4", "+1", "+6", "+2", "+5", "+3", "-1", "-5", "+0",
+		                                                     "+9", "-4", "-0", "-2", "-3", "-6", "-9");
+		for (final String step : steps) {
+			final String nodeId = step.substring(1);
+			final TopologyDelta delta;
+			if (step.startsWith("+")) {
+				final NodeDescriptor descriptor = new NodeDescriptor(nodeId, NodeType.COMPUTE, Collections.emptySet());
+				delta = processor.nodeAdded(incremental, descriptor).get();
+				members.put(nodeId, descriptor);
+			} else {
+				delta = processor.nodeRemoved(incremental, nodeId).get();
+				members.remove(nodeId);
+			}
+			incremental = incremental.withDelta(delta);
+
+			final ImmutableSet<NodeDescriptor> identities = ImmutableSet.copyOf(members.values());
+			final DirectedGraph<String, DefaultEdge> rebuilt = processor.createGraphFrom(identities);
+			assertThat(incremental.nodes()).as(step).isEqualTo(rebuilt.vertexSet());
+			assertThat(edgesOf(incremental.toGraph())).as(step).isEqualTo(edgesOf(rebuilt));
+			assertThat(edgesOf(processor.createTopologyFrom(identities).toGraph())).as(step)
+			                                                                     .isEqualTo(edgesOf(rebuilt));
+		}
+	}
+}
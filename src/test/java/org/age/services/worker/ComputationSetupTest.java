@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+public final class ComputationSetupTest {
+
+	private static final String CLASS_NAME = "org.age.example.Simple";
+
+	@Test public void testExplicitNumberOfWorkers() {
+		assertThat(ComputationSetup.of(CLASS_NAME, 3).workersFor(8)).isEqualTo(3);
+	}
+
+	@Test public void testAllProcessors() {
+		assertThat(ComputationSetup.of(CLASS_NAME, ComputationSetup.ALL_PROCESSORS).workersFor(8)).isEqualTo(8);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testNegativeNumberOfWorkers() {
+		ComputationSetup.of(CLASS_NAME, -1);
+	}
+}
@@ -107,4 +107,33 @@ public final class WorkerMessageTest {
 	public void testUnicastMessage_emptyRecipients()  {
 		new WorkerMessage<>(WorkerMessage.Type.LOAD_CLASS, ImmutableSet.of(), PAYLOAD);
 	}
-}
\ No newline at end of file
+
+	@Test public void testWithRecipients() {
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_MESSAGE, ImmutableSet.of(RECEIVER, OTHER_RECEIVER), PAYLOAD);
+
+		final WorkerMessage<Serializable> readdressed = message.withRecipients(ImmutableSet.of(OTHER_RECEIVER));
+
+		assertThat(readdressed.type()).isEqualTo(WorkerMessage.Type.UNICAST_MESSAGE);
+		assertThat(readdressed.recipients()).containsOnly(OTHER_RECEIVER);
+		assertThat(readdressed.payload().get()).isSameAs(PAYLOAD);
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void testWithRecipients_broadcast() {
+		WorkerMessage.createBroadcastWithPayload(WorkerMessage.Type.LOAD_CLASS, PAYLOAD)
+		             .withRecipients(ImmutableSet.of(RECEIVER));
+	}
+
+	@Test public void testWithComputation() {
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_MESSAGE, ImmutableSet.of(RECEIVER), PAYLOAD);
+
+		final WorkerMessage<Serializable> moved = message.withComputation("other").withEpoch(3L)
+		                                                 .withRecipients(ImmutableSet.of(OTHER_RECEIVER));
+
+		assertThat(message.computation()).isEqualTo(WorkerMessage.DEFAULT_COMPUTATION);
+		assertThat(moved.computation()).isEqualTo("other");
+		assertThat(moved.epoch()).isEqualTo(3L);
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableScheduledFuture;
+
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public final class ComputationCommunicationTest {
+
+	private WorkerCommunication delegate;
+
+	private ComputationCommunication communication;
+
+	@BeforeMethod public void setUp() {
+		delegate = mock(WorkerCommunication.class);
+		communication = new ComputationCommunication(delegate);
+	}
+
+	@Test public void testMessagesHeldUntilBound() {
+		communication.sendMessage(WorkerMessage.createWithPayload(WorkerMessage.Type.BROADCAST_MESSAGE,
+		                                                          ImmutableSet.of("node"), "held"));
+
+		verify(delegate, never()).sendMessage(any());
+
+		communication.bind("computation");
+		communication.sendMessage(WorkerMessage.createWithPayload(WorkerMessage.Type.BROADCAST_MESSAGE,
+		                                                          ImmutableSet.of("node"), "sent"));
+
+		final ArgumentCaptor<WorkerMessage> captor = ArgumentCaptor.forClass(WorkerMessage.class);
+		verify(delegate, times(2)).sendMessage(captor.capture());
+		final List<WorkerMessage> messages = captor.getAllValues();
+		assertThat(messages.stream().map(WorkerMessage::computation).collect(Collectors.toSet())).containsOnly(
+				"computation");
+		assertThat(messages.get(0).payload().get()).isEqualTo((Serializable)"held");
+	}
+
+	@Test public void testPeriodicTasksSkippedUntilBound() {
+		final AtomicInteger runs = new AtomicInteger();
+		doReturn(mock(ListenableScheduledFuture.class)).when(delegate).scheduleAtFixedRate(any(), anyLong(), anyLong(),
+		                                                                                  any());
+		communication.scheduleAtFixedRate(runs::incrementAndGet, 1L, 1L, TimeUnit.SECONDS);
+		final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(delegate).scheduleAtFixedRate(captor.capture(), eq(1L), eq(1L), eq(TimeUnit.SECONDS));
+		final Runnable scheduled = captor.getValue();
+
+		scheduled.run();
+		scheduled.run();
+		assertThat(runs.get()).isZero();
+
+		// Skipped runs are made up for once
+		communication.bind("computation");
+		assertThat(runs.get()).isEqualTo(1);
+
+		scheduled.run();
+		assertThat(runs.get()).isEqualTo(2);
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class) public void testBoundOnlyOnce() {
+		communication.bind("first");
+		communication.bind("second");
+	}
+}
@@ -21,24 +21,36 @@ package org.age.services.worker.internal;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import org.age.compute.api.MessageListener;
+import org.age.services.identity.NodeIdentityService;
 import org.age.services.topology.TopologyService;
+import org.age.services.topology.TopologySnapshot;
+import org.age.services.topology.processors.CompactTopology;
 import org.age.services.worker.WorkerMessage;
 import org.age.services.worker.WorkerMessage.Type;
+import org.age.services.worker.internal.ListenerDispatcher.OverflowPolicy;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.DirectFieldAccessor;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+
 import java.io.Serializable;
+import java.util.Optional;
+import java.util.UUID;
 
 public final class DefaultBroadcastMessengerTest {
 
@@ -48,18 +60,36 @@ public final class DefaultBroadcastMessengerTest {
 
 	private static final String NODE3_ID = "3";
 
+	private static final String NODE4_ID = "4";
+
+	private static final String NODE5_ID = "5";
+
 	private static final Serializable MESSAGE = "message";
 
+	private static final long EPOCH = 3L;
+
 	@Mock private TopologyService topologyService;
 
 	@Mock private WorkerCommunication workerCommunication;
 
+	@Mock private NodeIdentityService identityService;
+
+	@Mock private MessageListener<Serializable> listener;
+
 	@InjectMocks private DefaultBroadcastMessenger messenger;
 
 	@BeforeMethod public void setUp() {
 		MockitoAnnotations.initMocks(this);
 
-		when(topologyService.neighbours()).thenReturn(ImmutableSet.of(NODE2_ID, NODE3_ID));
+		final CompactTopology topology = CompactTopology.builder(
+				ImmutableSet.of(NODE1_ID, NODE2_ID, NODE3_ID, NODE4_ID, NODE5_ID)).addEdge(NODE1_ID, NODE2_ID)
+		                                                                  .addEdge(NODE1_ID, NODE3_ID)
+		                                                                  .build();
+		when(topologyService.snapshot()).thenReturn(Optional.of(TopologySnapshot.create(EPOCH, topology, NODE1_ID)));
+		when(topologyService.epoch()).thenReturn(EPOCH);
+		when(identityService.nodeId()).thenReturn(NODE1_ID);
+		new DirectFieldAccessor(messenger).setPropertyValue("dispatcher", new ListenerDispatcher(
+				10, OverflowPolicy.BLOCK, MoreExecutors.directExecutor()));
 	}
 
 	@Test public void testSend() {
@@ -71,6 +101,42 @@ public final class DefaultBroadcastMessengerTest {
 		verifyNoMoreInteractions(workerCommunication);
 		final WorkerMessage value = captor.getValue();
 		assertThat(value.type()).isEqualTo(Type.BROADCAST_MESSAGE);
+		assertThat(value.recipients()).containsOnly(NODE2_ID, NODE3_ID);
+		assertThat(value.epoch()).isEqualTo(EPOCH);
 		assertThat(value.payload().get()).isEqualTo(MESSAGE);
 	}
+
+	@Test public void testStaleMessageDropped() {
+		new DirectFieldAccessor(messenger).setPropertyValue("stalePolicy", StaleMessagePolicy.DROP);
+		final GossipMessage gossipMessage = new GossipMessage(UUID.randomUUID(), NODE2_ID, 3, MESSAGE);
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				Type.GOSSIP_MESSAGE, ImmutableSet.of(NODE1_ID), gossipMessage);
+
+		assertThat(messenger.onMessage(message.withEpoch(EPOCH - 1))).isTrue();
+
+		verify(workerCommunication, never()).sendMessage(any());
+	}
+
+	@Test public void testGossip() {
+		final ArgumentCaptor<WorkerMessage> captor = ArgumentCaptor.forClass(WorkerMessage.class);
+
+		messenger.gossip(MESSAGE);
+
+		verify(workerCommunication).sendMessage(captor.capture());
+		verifyNoMoreInteractions(workerCommunication);
+		final WorkerMessage value = captor.getValue();
+		assertThat(value.type()).isEqualTo(Type.GOSSIP_MESSAGE);
+		assertThat(value.recipients()).containsOnly(NODE2_ID, NODE3_ID, NODE4_ID);
+		final GossipMessage gossipMessage = (GossipMessage)value.requiredPayload();
+		assertThat(gossipMessage.origin()).isEqualTo(NODE1_ID);
+		assertThat(gossipMessage.payload()).isEqualTo(MESSAGE);
+	}
+
+	@Test public void testGossipDeliveredOnOrigin() {
+		messenger.registerListener(listener);
+
+		messenger.gossip(MESSAGE);
+
+		verify(listener).onMessage(MESSAGE);
+	}
 }
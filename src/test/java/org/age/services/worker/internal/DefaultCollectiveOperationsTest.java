@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.age.services.discovery.DiscoveryService;
+import org.age.services.identity.NodeDescriptor;
+import org.age.services.identity.NodeIdentityService;
+import org.age.services.topology.TopologyService;
+import org.age.services.topology.processors.CompactTopology;
+import org.age.services.worker.ComputationSetup;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs collective operations on a simulated cluster of nodes connected by an in-memory transport. Nodes have different
+ * numbers of cores and run one worker per core.
+ */
+public final class DefaultCollectiveOperationsTest {
+
+	private static final int NODES = 7;
+
+	private static final String MASTER_ID = "node-3";
+
+	private final Map<String, CollectiveGroup> groups = new ConcurrentHashMap<>();
+
+	private ListeningExecutorService executorService;
+
+	private List<String> nodeIds;
+
+	private List<DefaultCollectiveOperations> workers;
+
+	@BeforeMethod public void setUp() {
+		executorService = listeningDecorator(Executors.newCachedThreadPool());
+		nodeIds = IntStream.range(0, NODES).mapToObj(i -> "node-" + i).collect(Collectors.toList());
+		final CompactTopology topology = CompactTopology.builder(nodeIds).build();
+
+		final WorkerCommunication transport = mock(WorkerCommunication.class);
+		doAnswer(invocation -> {
+			final WorkerMessage<Serializable> message = (WorkerMessage<Serializable>)invocation.getArguments()[0];
+			message.recipients()
+			       .forEach(recipient -> executorService.execute(() -> groups.get(recipient).onMessage(message)));
+			return null;
+		}).when(transport).sendMessage(any());
+
+		final DiscoveryService discoveryService = mock(DiscoveryService.class);
+		for (final String nodeId : nodeIds) {
+			final NodeDescriptor descriptor = mock(NodeDescriptor.class);
+			when(descriptor.cores()).thenReturn(coresOf(nodeId));
+			when(discoveryService.member(nodeId)).thenReturn(Optional.of(descriptor));
+		}
+
+		workers = nodeIds.stream().flatMap(nodeId -> {
+			final TopologyService topologyService = mock(TopologyService.class);
+			when(topologyService.topology()).thenReturn(Optional.of(topology));
+			when(topologyService.masterId()).thenReturn(Optional.of(MASTER_ID));
+			final NodeIdentityService identityService = mock(NodeIdentityService.class);
+			when(identityService.nodeId()).thenReturn(nodeId);
+
+			final CollectiveGroup group = new CollectiveGroup();
+			final DirectFieldAccessor accessor = new DirectFieldAccessor(group);
+			accessor.setPropertyValue("topologyService", topologyService);
+			accessor.setPropertyValue("identityService", identityService);
+			accessor.setPropertyValue("discoveryService", discoveryService);
+			accessor.setPropertyValue("workerCommunication", transport);
+			accessor.setPropertyValue("setup", ComputationSetup.of("task", ComputationSetup.ALL_PROCESSORS));
+			accessor.setPropertyValue("timeoutSeconds", 5L);
+			groups.put(nodeId, group);
+
+			return IntStream.range(0, coresOf(nodeId)).mapToObj(i -> {
+				final DefaultCollectiveOperations operations = new DefaultCollectiveOperations();
+				new DirectFieldAccessor(operations).setPropertyValue("group", group);
+				invoke(operations, "construct");
+				return operations;
+			});
+		}).collect(Collectors.toList());
+	}
+
+	@AfterMethod public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test public void testRanks() {
+		assertThat(workers).hasSize(13);
+		assertThat(workers.stream().map(DefaultCollectiveOperations::rank).collect(Collectors.toList()))
+				.containsOnlyElementsOf(IntStream.range(0, 13).boxed().collect(Collectors.toList()))
+				.doesNotHaveDuplicates();
+		assertThat(workers.stream().map(DefaultCollectiveOperations::size).collect(Collectors.toSet()))
+				.containsOnly(13);
+	}
+
+	@Test public void testMasterHasFirstRank() {
+		assertThat(workers.stream().filter(operations -> operations.rank() == 0).findFirst().get())
+				.isSameAs(workers.get(firstWorkerOf(MASTER_ID)));
+	}
+
+	@Test public void testAllReduce() throws Exception {
+		final List<Integer> results = runOnAllWorkers(operations -> () -> operations.allReduce(1, Integer::sum));
+
+		assertThat(results).containsOnly(13);
+	}
+
+	@Test public void testAllReduceCombinesInRankOrder() throws Exception {
+		final List<String> results = runOnAllWorkers(
+				operations -> () -> operations.allReduce(Integer.toString(operations.rank()), String::concat));
+
+		assertThat(results).containsOnly("0123456789101112");
+	}
+
+	@Test public void testGather() throws Exception {
+		final List<Optional<List<Integer>>> results = runOnAllWorkers(
+				operations -> () -> operations.gather(operations.rank() * 10));
+
+		final Optional<List<Integer>> masterResult = results.get(firstWorkerOf(MASTER_ID));
+		assertThat(masterResult.get()).containsExactly(0, 10, 20, 30, 40, 50, 60, 70, 80, 90, 100, 110, 120);
+		assertThat(results.stream().filter(Optional::isPresent).count()).isEqualTo(1);
+	}
+
+	@Test public void testScatter() throws Exception {
+		final List<Integer> values = IntStream.range(0, 13).map(i -> i * 10).boxed().collect(Collectors.toList());
+
+		final List<Boolean> results = runOnAllWorkers(operations -> () -> {
+			final List<Integer> input = (operations.rank() == 0) ? values : ImmutableList.of();
+			return operations.scatter(input) == (operations.rank() * 10);
+		});
+
+		assertThat(results).containsOnly(true);
+	}
+
+	@Test public void testBarrierSynchronizesLocalWorkers() throws Exception {
+		final AtomicInteger arrived = new AtomicInteger();
+
+		final List<Integer> results = runOnAllWorkers(operations -> () -> {
+			arrived.incrementAndGet();
+			operations.barrier();
+			return arrived.get();
+		});
+
+		assertThat(results).containsOnly(13);
+	}
+
+	@Test public void testSuccessiveOperations() throws Exception {
+		final List<Integer> results = runOnAllWorkers(operations -> () -> {
+			operations.barrier();
+			final int max = operations.allReduce(operations.rank(), Math::max);
+			operations.barrier();
+			return operations.allReduce(max, Integer::sum);
+		});
+
+		assertThat(results).containsOnly(12 * 13);
+	}
+
+	@Test public void testLateMessagesAreDropped() throws Exception {
+		runOnAllWorkers(operations -> () -> operations.allReduce(1, Integer::sum));
+
+		final CollectiveGroup group = groups.get(MASTER_ID);
+		group.onMessage(WorkerMessage.createWithPayload(
+				WorkerMessage.Type.COLLECTIVE_MESSAGE, ImmutableSet.of(MASTER_ID),
+				new CollectiveMessage(1L, CollectiveMessage.Direction.UP, "node-0", 1)));
+
+		assertThat((Map<?, ?>)new DirectFieldAccessor(group).getPropertyValue("mailboxes")).isEmpty();
+	}
+
+	/**
+	 * Nodes have 1, 2 or 3 cores - 13 workers in total.
+	 */
+	private int coresOf(final String nodeId) {
+		return (nodeIds.indexOf(nodeId) % 3) + 1;
+	}
+
+	private int firstWorkerOf(final String nodeId) {
+		return nodeIds.subList(0, nodeIds.indexOf(nodeId)).stream().mapToInt(this::coresOf).sum();
+	}
+
+	private <T> List<T> runOnAllWorkers(final Function<DefaultCollectiveOperations, Callable<T>> task)
+			throws Exception {
+		final List<ListenableFuture<T>> futures = workers.stream()
+		                                                 .map(operations -> executorService.submit(
+				                                                 task.apply(operations)))
+		                                                 .collect(Collectors.toList());
+		return Futures.allAsList(futures).get(10L, TimeUnit.SECONDS);
+	}
+
+	private static void invoke(final Object target, final String name) {
+		final Method method = ReflectionUtils.findMethod(target.getClass(), name);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, target);
+	}
+}
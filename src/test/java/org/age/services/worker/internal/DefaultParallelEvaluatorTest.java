@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.age.services.identity.NodeIdentityService;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class DefaultParallelEvaluatorTest {
+
+	private static final String LOCAL_ID = "local";
+
+	private static final String REMOTE_ID = "remote";
+
+	private static final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, DefaultParallelEvaluator> nodes = new ConcurrentHashMap<>();
+
+	private ExecutorService transportExecutor;
+
+	private ForkJoinPool localPool;
+
+	private ForkJoinPool remotePool;
+
+	@BeforeMethod public void setUp() {
+		threads.clear();
+		transportExecutor = Executors.newCachedThreadPool();
+		localPool = new ForkJoinPool(2);
+		remotePool = new ForkJoinPool(2);
+
+		final WorkerCommunication transport = mock(WorkerCommunication.class);
+		doAnswer(invocation -> {
+			final WorkerMessage<Serializable> message = (WorkerMessage<Serializable>)invocation.getArguments()[0];
+			message.recipients()
+			       .forEach(recipient -> transportExecutor.execute(() -> nodes.get(recipient).onMessage(message)));
+			return null;
+		}).when(transport).sendMessage(any());
+
+		nodes.put(LOCAL_ID, createEvaluator(LOCAL_ID, localPool, transport));
+		nodes.put(REMOTE_ID, createEvaluator(REMOTE_ID, remotePool, transport));
+	}
+
+	@AfterMethod public void tearDown() {
+		transportExecutor.shutdownNow();
+		localPool.shutdownNow();
+		remotePool.shutdownNow();
+		nodes.clear();
+	}
+
+	@Test public void testResultsKeepOrder() {
+		final List<Integer> candidates = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+		final List<Integer> results = nodes.get(LOCAL_ID).evaluate(candidates, i -> i * 2);
+
+		assertThat(results).hasSize(candidates.size());
+		for (int i = 0; i < candidates.size(); i++) {
+			assertThat(results.get(i)).isEqualTo(i * 2);
+		}
+	}
+
+	@Test public void testEmptyBatch() {
+		assertThat(nodes.get(LOCAL_ID).evaluate(Collections.<Integer>emptyList(), i -> i)).isEmpty();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class) public void testFailurePropagated() {
+		final List<Integer> candidates = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+		nodes.get(LOCAL_ID).evaluate(candidates, i -> {
+			if (i == 500) {
+				throw new IllegalArgumentException();
+			}
+			return i;
+		});
+	}
+
+	@Test public void testCheapBatchEvaluatedByCaller() {
+		final DefaultParallelEvaluator evaluator = nodes.get(LOCAL_ID);
+		new DirectFieldAccessor(evaluator).setPropertyValue("evaluationNanos", 1.0);
+		final List<Integer> candidates = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+		evaluator.evaluate(candidates, DefaultParallelEvaluatorTest::recordThread);
+
+		assertThat(threads).containsOnly(Thread.currentThread());
+	}
+
+	@Test(timeOut = 10000L) public void testSaturatedNodeSpillsToIdleNeighbour() {
+		final DefaultParallelEvaluator evaluator = nodes.get(LOCAL_ID);
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(evaluator);
+		accessor.setPropertyValue("spill", true);
+		// The local part is cheap enough to be evaluated by the caller while the pool is busy
+		accessor.setPropertyValue("evaluationNanos", 1.0);
+		evaluator.onMessage(WorkerMessage.createWithPayload(WorkerMessage.Type.EVALUATION_MESSAGE,
+		                                                    ImmutableSet.of(LOCAL_ID),
+		                                                    EvaluationMessage.load(REMOTE_ID, 2)));
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountDownLatch started = new CountDownLatch(2);
+		IntStream.range(0, 2).forEach(i -> localPool.execute(() -> {
+			started.countDown();
+			awaitUninterruptibly(release);
+		}));
+		awaitUninterruptibly(started);
+
+		final List<Integer> candidates = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+		final List<Integer> results = evaluator.evaluate(candidates, (Function<Integer, Integer> & Serializable)
+				DefaultParallelEvaluatorTest::recordThread);
+		release.countDown();
+
+		assertThat(results).isEqualTo(candidates);
+		assertThat(threads).contains(Thread.currentThread());
+		assertThat(threads.stream().anyMatch(thread -> (thread instanceof ForkJoinWorkerThread)
+		                                               && (((ForkJoinWorkerThread)thread).getPool() == remotePool)))
+				.isTrue();
+	}
+
+	private static Integer recordThread(final Integer candidate) {
+		threads.add(Thread.currentThread());
+		return candidate;
+	}
+
+	private static DefaultParallelEvaluator createEvaluator(final String nodeId, final ForkJoinPool pool,
+	                                                        final WorkerCommunication transport) {
+		final NodeIdentityService identityService = mock(NodeIdentityService.class);
+		when(identityService.nodeId()).thenReturn(nodeId);
+
+		final DefaultParallelEvaluator evaluator = new DefaultParallelEvaluator();
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(evaluator);
+		accessor.setPropertyValue("identityService", identityService);
+		accessor.setPropertyValue("workerCommunication", transport);
+		accessor.setPropertyValue("pool", pool);
+		accessor.setPropertyValue("spillTimeoutSeconds", 5L);
+		return evaluator;
+	}
+}
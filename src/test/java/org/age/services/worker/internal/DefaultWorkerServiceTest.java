@@ -0,0 +1,376 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.age.compute.api.ParallelEvaluator;
+import org.age.compute.api.UnicastMessenger;
+import org.age.compute.api.WorkerAddress;
+import org.age.services.discovery.DiscoveryService;
+import org.age.services.discovery.MemberRemovedEvent;
+import org.age.services.executor.internal.DefaultExecutorRegistry;
+import org.age.services.identity.NodeIdentityService;
+import org.age.services.identity.NodeType;
+import org.age.services.identity.internal.NodeDescriptor;
+import org.age.services.topology.TopologyService;
+import org.age.services.worker.ComputationSetup;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.EventBus;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.ReflectionUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Inject;
+
+public final class DefaultWorkerServiceTest {
+
+	private static final String NODE_ID = "1";
+
+	@Nullable private AnnotationConfigApplicationContext nodeContext;
+
+	@Nullable private DefaultExecutorRegistry executors;
+
+	@Nullable private DefaultWorkerService service;
+
+	@BeforeMethod public void setUp() {
+		BlockingTask.reset(2);
+
+		executors = new DefaultExecutorRegistry();
+		final DirectFieldAccessor executorsAccessor = new DirectFieldAccessor(executors);
+		executorsAccessor.setPropertyValue("scheduledThreads", 1);
+		executorsAccessor.setPropertyValue("computeThreads", 2);
+		executorsAccessor.setPropertyValue("ioThreads", 1);
+		executorsAccessor.setPropertyValue("parallelThreads", 2);
+		invoke(executors, "construct");
+
+		final HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+		final IMap<WorkerAddress, String> routes = mock(IMap.class);
+		when(hazelcastInstance.<WorkerAddress, String>getMap(anyString())).thenReturn(routes);
+		final TopologyService topologyService = mock(TopologyService.class);
+		when(topologyService.snapshot()).thenReturn(Optional.empty());
+		final NodeIdentityService identityService = mock(NodeIdentityService.class);
+		when(identityService.nodeId()).thenReturn(NODE_ID);
+
+		// Mirrors the node context: facilities are lazy and must not be instantiated there
+		nodeContext = new AnnotationConfigApplicationContext();
+		nodeContext.getBeanFactory().registerSingleton("hazelcastInstance", hazelcastInstance);
+		nodeContext.getBeanFactory().registerSingleton("default", topologyService);
+		nodeContext.getBeanFactory().registerSingleton("identityService", identityService);
+		nodeContext.getBeanFactory().registerSingleton("executors", executors);
+		nodeContext.getBeanFactory().registerSingleton("discoveryService", mock(DiscoveryService.class));
+		nodeContext.registerBeanDefinition("workerRoutingTable", BeanDefinitionBuilder.rootBeanDefinition(
+				WorkerRoutingTable.class).getBeanDefinition());
+		ImmutableSet.of(DefaultUnicastMessenger.class, DefaultBroadcastMessenger.class,
+		                DefaultCollectiveOperations.class, CollectiveGroup.class, DefaultParallelEvaluator.class,
+		                UnicastRerouter.class)
+		            .forEach(type -> {
+			final AbstractBeanDefinition definition = BeanDefinitionBuilder.rootBeanDefinition(type)
+			                                                               .getBeanDefinition();
+			definition.setLazyInit(true);
+			nodeContext.registerBeanDefinition(type.getSimpleName(), definition);
+		});
+		nodeContext.refresh();
+
+		service = new DefaultWorkerService();
+		final DirectFieldAccessor serviceAccessor = new DirectFieldAccessor(service);
+		serviceAccessor.setPropertyValue("applicationContext", nodeContext);
+		serviceAccessor.setPropertyValue("executors", executors);
+		serviceAccessor.setPropertyValue("identityService", identityService);
+		serviceAccessor.setPropertyValue("topologyService", topologyService);
+	}
+
+	@AfterMethod public void tearDown() {
+		BlockingTask.release.countDown();
+		// The service is not started, so only the computations are closed
+		final Map<String, Computation> computations = (Map<String, Computation>)new DirectFieldAccessor(
+				service).getPropertyValue("computations");
+		computations.values().forEach(Computation::close);
+		nodeContext.close();
+		invoke(executors, "destroy");
+		service = null;
+		nodeContext = null;
+		executors = null;
+	}
+
+	@Test(timeOut = 10000L) public void testConcurrentComputations() throws Exception {
+		handle(loadClass("first"));
+		handle(loadClass("second"));
+
+		assertThat(service.computationIds()).containsOnly("first", "second");
+		assertThat(service.isTaskRunning()).isFalse();
+
+		handle(start("first"));
+		handle(start("second"));
+		BlockingTask.started.await();
+
+		assertThat(service.isTaskRunning("first")).isTrue();
+		assertThat(service.isTaskRunning("second")).isTrue();
+		assertThat(BlockingTask.messengers).hasSize(2);
+
+		BlockingTask.release.countDown();
+		while (service.isSetUp()) {
+			TimeUnit.MILLISECONDS.sleep(10L);
+		}
+		assertThat(service.isTaskRunning()).isFalse();
+	}
+
+	@Test(timeOut = 10000L) public void testWorkerPool() throws Exception {
+		BlockingTask.reset(3);
+		final WorkerMessage<Serializable> message = WorkerMessage.createBroadcastWithPayload(
+				WorkerMessage.Type.LOAD_CLASS, ComputationSetup.of(BlockingTask.class.getName(), 3));
+		handle(message.withComputation("pool"));
+
+		handle(start("pool"));
+		BlockingTask.started.await();
+
+		assertThat(BlockingTask.messengers).hasSize(3);
+		assertThat(BlockingTask.messengers.stream().map(UnicastMessenger::address).distinct().count()).isEqualTo(3L);
+		assertThat(BlockingTask.evaluators).hasSize(1);
+		assertThat(service.isTaskRunning("pool")).isTrue();
+
+		BlockingTask.release.countDown();
+		while (service.isSetUp()) {
+			TimeUnit.MILLISECONDS.sleep(10L);
+		}
+	}
+
+	@Test public void testFacilitiesAreNotCreatedInNodeContext() {
+		handle(loadClass("first"));
+
+		assertThat(service.isSetUp("first")).isTrue();
+		assertThat(nodeContext.getBeanFactory().containsSingleton(DefaultUnicastMessenger.class.getSimpleName()))
+				.isFalse();
+	}
+
+	@Test(timeOut = 10000L) public void testWarmModeReusesPreparedContexts() throws Exception {
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(service);
+		accessor.setPropertyValue("warmContexts", true);
+		((AtomicBoolean)accessor.getPropertyValue("running")).set(true);
+		final AtomicReference<?> prepared = (AtomicReference<?>)accessor.getPropertyValue("preparedComputation");
+
+		handle(loadClass("first"));
+		while (prepared.get() == null) {
+			TimeUnit.MILLISECONDS.sleep(10L);
+		}
+		assertThat(BlockingTask.instances.get()).isEqualTo(2);
+
+		accessor.setPropertyValue("warmContexts", false);
+		handle(loadClass("second"));
+
+		assertThat(service.computationIds()).containsOnly("first", "second");
+		assertThat(BlockingTask.instances.get()).isEqualTo(2);
+		assertThat(prepared.get()).isNull();
+	}
+
+	@Test public void testDuplicateSetupIgnored() {
+		handle(loadClass("first"));
+		handle(loadClass("first"));
+
+		assertThat(service.computationIds()).containsOnly("first");
+	}
+
+	@Test public void testStartOfUnknownComputationIgnored() {
+		handle(start("missing"));
+
+		assertThat(service.isSetUp()).isFalse();
+		assertThat(service.isTaskRunning()).isFalse();
+	}
+
+	@Test public void testInboxRouting() {
+		final HazelcastInstance hazelcastInstance = connect();
+		final ITopic<WorkerMessage<Serializable>> channel = hazelcastInstance.getTopic(
+				DefaultWorkerService.CHANNEL_NAME);
+		final ITopic<WorkerMessage<Serializable>> inbox2 = hazelcastInstance.getTopic(inboxName("2"));
+		final ITopic<WorkerMessage<Serializable>> inbox3 = hazelcastInstance.getTopic(inboxName("3"));
+
+		service.sendMessage(WorkerMessage.createWithPayload(WorkerMessage.Type.UNICAST_MESSAGE,
+		                                                    ImmutableSet.of("2", "3"), "payload"));
+
+		verify(inbox2).publish(any());
+		verify(inbox3).publish(any());
+		verify(channel, never()).publish(any());
+	}
+
+	@Test public void testInboxForgottenWhenMemberLeaves() throws Exception {
+		final HazelcastInstance hazelcastInstance = connect();
+		final ITopic<WorkerMessage<Serializable>> inbox2 = hazelcastInstance.getTopic(inboxName("2"));
+		final CountDownLatch destroyed = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			destroyed.countDown();
+			return null;
+		}).when(inbox2).destroy();
+		service.sendMessage(WorkerMessage.createWithPayload(WorkerMessage.Type.UNICAST_MESSAGE, ImmutableSet.of("2"),
+		                                                    "payload"));
+		final Map<String, ?> inboxes = (Map<String, ?>)new DirectFieldAccessor(service).getPropertyValue("inboxes");
+		assertThat(inboxes).containsOnlyKeys("2");
+
+		final EventBus eventBus = (EventBus)new DirectFieldAccessor(service).getPropertyValue("eventBus");
+		eventBus.post(new MemberRemovedEvent(new NodeDescriptor("2", NodeType.COMPUTE, ImmutableSet.of()), 1L));
+
+		assertThat(inboxes).isEmpty();
+		assertThat(destroyed.await(1L, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test public void testStaleMessageReroutedOncePerNode() {
+		nodeContext.getEnvironment().getPropertySources().addFirst(
+				new MapPropertySource("test", ImmutableMap.of("age.worker.stale-messages", "REROUTE")));
+		when(nodeContext.getBean("default", TopologyService.class).epoch()).thenReturn(2L);
+		final WorkerAddress receiver = new DefaultWorkerAddress();
+		final IMap<WorkerAddress, String> routes = nodeContext.getBean(HazelcastInstance.class).getMap(
+				WorkerRoutingTable.ROUTING_MAP_NAME);
+		when(routes.get(receiver)).thenReturn("2");
+		final HazelcastInstance hazelcastInstance = connect();
+		final ITopic<WorkerMessage<Serializable>> inbox2 = hazelcastInstance.getTopic(inboxName("2"));
+		BlockingTask.reset(3);
+		final WorkerMessage<Serializable> setup = WorkerMessage.createBroadcastWithPayload(
+				WorkerMessage.Type.LOAD_CLASS, ComputationSetup.of(BlockingTask.class.getName(), 3));
+		handle(setup.withComputation("pool"));
+		final Map<String, Computation> computations = (Map<String, Computation>)new DirectFieldAccessor(
+				service).getPropertyValue("computations");
+
+		final UnicastMessage unicastMessage = new UnicastMessage(new DefaultWorkerAddress(),
+		                                                         ImmutableSet.of(receiver), "payload");
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_MESSAGE, ImmutableSet.of(NODE_ID), unicastMessage);
+		computations.get("pool").onMessage(message.withEpoch(1L).withComputation("pool"));
+
+		assertThat(computations.get("pool").workers()).isEqualTo(3);
+		verify(inbox2, times(1)).publish(any());
+	}
+
+	/**
+	 * Initializes the service with mocked topics and without batching.
+	 */
+	private HazelcastInstance connect() {
+		final HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+		final Map<String, ITopic<?>> topics = new ConcurrentHashMap<>();
+		when(hazelcastInstance.getTopic(anyString())).thenAnswer(
+				invocation -> topics.computeIfAbsent((String)invocation.getArguments()[0], name -> mock(ITopic.class)));
+		final DirectFieldAccessor accessor = new DirectFieldAccessor(service);
+		accessor.setPropertyValue("hazelcastInstance", hazelcastInstance);
+		accessor.setPropertyValue("eventBus", new EventBus());
+		accessor.setPropertyValue("maxBatchSize", 1);
+		invoke(service, "construct");
+		return hazelcastInstance;
+	}
+
+	private static String inboxName(final String nodeId) {
+		return DefaultWorkerService.INBOX_PREFIX + nodeId;
+	}
+
+	private static WorkerMessage<Serializable> loadClass(final String computation) {
+		final WorkerMessage<Serializable> message = WorkerMessage.createBroadcastWithPayload(
+				WorkerMessage.Type.LOAD_CLASS, BlockingTask.class.getName());
+		return message.withComputation(computation);
+	}
+
+	private static WorkerMessage<Serializable> start(final String computation) {
+		return WorkerMessage.createBroadcastWithoutPayload(WorkerMessage.Type.START_COMPUTATION)
+		                    .withComputation(computation);
+	}
+
+	private void handle(final WorkerMessage<Serializable> message) {
+		final Method method = ReflectionUtils.findMethod(DefaultWorkerService.class, "handleMessage",
+		                                                 WorkerMessage.class);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, service, message);
+	}
+
+	private static void invoke(final Object target, final String name) {
+		final Method method = ReflectionUtils.findMethod(target.getClass(), name);
+		ReflectionUtils.makeAccessible(method);
+		ReflectionUtils.invokeMethod(method, target);
+	}
+
+	public static final class BlockingTask implements Runnable {
+
+		private static volatile CountDownLatch started;
+
+		private static volatile CountDownLatch release;
+
+		private static final Set<UnicastMessenger> messengers = ConcurrentHashMap.newKeySet();
+
+		private static final Set<ParallelEvaluator> evaluators = ConcurrentHashMap.newKeySet();
+
+		private static final AtomicInteger instances = new AtomicInteger();
+
+		@Inject private UnicastMessenger messenger;
+
+		@Inject private ParallelEvaluator evaluator;
+
+		static void reset(final int workers) {
+			started = new CountDownLatch(workers);
+			release = new CountDownLatch(1);
+			messengers.clear();
+			evaluators.clear();
+			instances.set(0);
+		}
+
+		public BlockingTask() {
+			instances.incrementAndGet();
+		}
+
+		@Override public void run() {
+			messengers.add(messenger);
+			evaluators.add(evaluator);
+			started.countDown();
+			awaitUninterruptibly(release);
+		}
+	}
+}
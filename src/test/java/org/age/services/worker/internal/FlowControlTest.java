@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.testng.annotations.Test;
+
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+public final class FlowControlTest {
+
+	private static final int WINDOW = 4;
+
+	private final WorkerAddress receiver1 = new DefaultWorkerAddress();
+
+	private final WorkerAddress receiver2 = new DefaultWorkerAddress();
+
+	private final WorkerAddress receiver3 = new DefaultWorkerAddress();
+
+	private final Set<WorkerAddress> receiver1Only = ImmutableSet.of(receiver1);
+
+	@Test public void testTryAcquireRespectsWindow() {
+		final FlowControl flowControl = new FlowControl(WINDOW);
+
+		for (int i = 0; i < WINDOW; i++) {
+			assertThat(flowControl.tryAcquire(receiver1Only)).isTrue();
+		}
+
+		assertThat(flowControl.tryAcquire(receiver1Only)).isFalse();
+		assertThat(flowControl.availableCredits(receiver1)).isZero();
+		assertThat(flowControl.tryAcquire(ImmutableSet.of(receiver2))).isTrue();
+	}
+
+	@Test public void testTryAcquireIsAllOrNothing() {
+		final FlowControl flowControl = new FlowControl(WINDOW);
+		for (int i = 0; i < WINDOW; i++) {
+			flowControl.acquire(receiver1Only);
+		}
+
+		assertThat(flowControl.tryAcquire(ImmutableSet.of(receiver1, receiver2))).isFalse();
+		assertThat(flowControl.availableCredits(receiver2)).isEqualTo(WINDOW);
+	}
+
+	@Test public void testGrantIsCumulative() {
+		final FlowControl flowControl = new FlowControl(WINDOW);
+		for (int i = 0; i < WINDOW; i++) {
+			flowControl.acquire(receiver1Only);
+		}
+
+		flowControl.onGrant(receiver1, 3L);
+		flowControl.onGrant(receiver1, 2L);
+
+		assertThat(flowControl.availableCredits(receiver1)).isEqualTo(3L);
+	}
+
+	@Test public void testAsyncSendsCompleteInOrder() {
+		final FlowControl flowControl = new FlowControl(1);
+		final ListenableFuture<Void> first = flowControl.acquireAsync(receiver1Only);
+		final ListenableFuture<Void> second = flowControl.acquireAsync(receiver1Only);
+		final ListenableFuture<Void> third = flowControl.acquireAsync(receiver1Only);
+
+		assertThat(first.isDone()).isTrue();
+		assertThat(second.isDone()).isFalse();
+		assertThat(flowControl.tryAcquire(receiver1Only)).isFalse();
+
+		flowControl.onGrant(receiver1, 1L);
+
+		assertThat(second.isDone()).isTrue();
+		assertThat(third.isDone()).isFalse();
+		assertThat(flowControl.pendingSends()).isEqualTo(1);
+	}
+
+	@Test public void testWaitingSendsDoNotBlockOtherReceivers() {
+		final FlowControl flowControl = new FlowControl(1);
+		flowControl.acquire(receiver1Only);
+		final ListenableFuture<Void> toBoth = flowControl.acquireAsync(ImmutableSet.of(receiver1, receiver2));
+
+		assertThat(flowControl.tryAcquire(ImmutableSet.of(receiver3))).isTrue();
+		// The send to both receivers is waiting for the second one too
+		assertThat(flowControl.tryAcquire(ImmutableSet.of(receiver2))).isFalse();
+
+		flowControl.onGrant(receiver1, 1L);
+
+		assertThat(toBoth.isDone()).isTrue();
+		assertThat(flowControl.pendingSends()).isZero();
+	}
+
+	@Test public void testForgetFailsWaitingSendsAndReclaimsCredits() throws Exception {
+		final FlowControl flowControl = new FlowControl(1);
+		flowControl.acquire(receiver1Only);
+		final ListenableFuture<Void> pending = flowControl.acquireAsync(receiver1Only);
+		flowControl.onDelivered(receiver2);
+
+		flowControl.forget(receiver1);
+		flowControl.forget(receiver2);
+
+		assertThat(pending.isDone()).isTrue();
+		assertThat(catchCause(pending)).isInstanceOf(IllegalStateException.class);
+		assertThat(flowControl.workers()).isEmpty();
+		assertThat(flowControl.availableCredits(receiver1)).isEqualTo(1L);
+		// A late grant from a forgotten receiver does not add credits
+		flowControl.onGrant(receiver1, 1L);
+		assertThat(flowControl.availableCredits(receiver1)).isEqualTo(1L);
+	}
+
+	@Test public void testTimeOut() throws Exception {
+		final FlowControl flowControl = new FlowControl(1);
+		flowControl.acquire(receiver1Only);
+		final ListenableFuture<Void> first = flowControl.acquireAsync(receiver1Only);
+		final ListenableFuture<Void> second = flowControl.acquireAsync(receiver1Only);
+
+		flowControl.timeOut(first);
+		flowControl.onGrant(receiver1, 1L);
+
+		assertThat(catchCause(first)).isInstanceOf(TimeoutException.class);
+		assertThat(second.isDone()).isTrue();
+		assertThat(flowControl.pendingSends()).isZero();
+	}
+
+	@Test public void testRelease() {
+		final FlowControl flowControl = new FlowControl(1);
+		flowControl.acquire(receiver1Only);
+		final ListenableFuture<Void> pending = flowControl.acquireAsync(receiver1Only);
+
+		flowControl.release(receiver1Only);
+
+		assertThat(pending.isDone()).isTrue();
+	}
+
+	@Test public void testGrantsAfterHalfOfWindow() {
+		final FlowControl flowControl = new FlowControl(WINDOW);
+
+		assertThat(flowControl.onDelivered(receiver1)).isEqualTo(OptionalLong.empty());
+		assertThat(flowControl.onDelivered(receiver1)).isEqualTo(OptionalLong.of(2L));
+		assertThat(flowControl.onDelivered(receiver1)).isEqualTo(OptionalLong.empty());
+		assertThat(flowControl.onDelivered(receiver1)).isEqualTo(OptionalLong.of(4L));
+	}
+
+	private static Throwable catchCause(final ListenableFuture<Void> future) throws InterruptedException {
+		try {
+			future.get();
+		} catch (final ExecutionException e) {
+			return e.getCause();
+		}
+		throw new AssertionError("The future did not fail.");
+	}
+}
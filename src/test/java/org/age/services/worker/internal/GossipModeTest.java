@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class GossipModeTest {
+
+	private static final int MEMBERS_COUNT = 1000;
+
+	private static final int FANOUT = 3;
+
+	private final List<String> members = GossipMode.members(
+			IntStream.range(0, MEMBERS_COUNT).mapToObj(i -> String.format("node-%04d", i)).collect(Collectors.toSet()));
+
+	@Test public void testTreeReachesAllMembersOnce() {
+		final String origin = members.get(MEMBERS_COUNT / 2);
+		final Map<String, Integer> received = newHashMap();
+
+		final int rounds = simulate(GossipMode.TREE, origin, member -> ImmutableSet.of(), received);
+
+		assertThat(received).hasSize(MEMBERS_COUNT - 1).doesNotContainKey(origin);
+		assertThat(received.values()).containsOnly(1);
+		assertThat(rounds).isEqualTo(6); // Depth of a complete ternary tree with 1000 nodes
+	}
+
+	@Test public void testEpidemicReachesAllMembersOnRing() {
+		final String origin = members.get(0);
+		final Function<String, Set<String>> ring = member -> ImmutableSet.of(
+				members.get((members.indexOf(member) + 1) % MEMBERS_COUNT));
+		final Map<String, Integer> received = newHashMap();
+
+		final int rounds = simulate(GossipMode.EPIDEMIC, origin, ring, received);
+
+		assertThat(received).hasSize(MEMBERS_COUNT - 1).doesNotContainKey(origin);
+		assertThat(rounds).isLessThan(20);
+	}
+
+	@Test public void testTreeWithUnknownOrigin() {
+		assertThat(GossipMode.TREE.nextHops(members, ImmutableSet.of(), "unknown", members.get(0), FANOUT)).isEmpty();
+	}
+
+	/**
+	 * Simulates the gossip in synchronous rounds.
+	 *
+	 * @return the number of rounds until the last member received the message.
+	 */
+	private int simulate(final GossipMode mode, final String origin, final Function<String, Set<String>> neighbours,
+	                     final Map<String, Integer> received) {
+		final Set<String> relayed = newHashSet(origin);
+		Deque<String> current = new ArrayDeque<>(ImmutableSet.of(origin));
+		int rounds = 0;
+		while (true) {
+			final Deque<String> next = new ArrayDeque<>();
+			for (final String member : current) {
+				for (final String hop : mode.nextHops(members, neighbours.apply(member), origin, member, FANOUT)) {
+					received.merge(hop, 1, Integer::sum);
+					if (relayed.add(hop)) {
+						next.add(hop);
+					}
+				}
+			}
+			if (next.isEmpty()) {
+				return rounds;
+			}
+			rounds++;
+			current = next;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.compute.api.MessageListener;
+import org.age.services.worker.internal.ListenerDispatcher.OverflowPolicy;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public final class ListenerDispatcherTest {
+
+	private final List<Runnable> pendingTasks = new ArrayList<>();
+
+	private final List<Serializable> received = new CopyOnWriteArrayList<>();
+
+	private final MessageListener<Serializable> listener = received::add;
+
+	@BeforeMethod public void setUp() {
+		pendingTasks.clear();
+		received.clear();
+	}
+
+	@Test public void testDeliversInOrder() {
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(1000, OverflowPolicy.BLOCK,
+		                                                             MoreExecutors.directExecutor());
+		dispatcher.register(listener);
+
+		IntStream.range(0, 100).forEach(dispatcher::dispatch);
+
+		assertThat(received).hasSize(100);
+		assertThat(received).isSortedAccordingTo((o1, o2) -> Integer.compare((Integer)o1, (Integer)o2));
+	}
+
+	@Test public void testDropNewest() {
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(3, OverflowPolicy.DROP_NEWEST,
+		                                                             pendingTasks::add);
+		dispatcher.register(listener);
+
+		IntStream.rangeClosed(1, 5).forEach(dispatcher::dispatch);
+
+		assertThat(dispatcher.queueDepths()).containsEntry(listener, 3);
+		assertThat(dispatcher.droppedMessages()).containsEntry(listener, 2L);
+		runPendingTasks();
+		assertThat(received).containsExactly(1, 2, 3);
+		assertThat(dispatcher.queueDepths()).containsEntry(listener, 0);
+	}
+
+	@Test public void testDropOldest() {
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(3, OverflowPolicy.DROP_OLDEST,
+		                                                             pendingTasks::add);
+		dispatcher.register(listener);
+
+		IntStream.rangeClosed(1, 5).forEach(dispatcher::dispatch);
+
+		assertThat(dispatcher.droppedMessages()).containsEntry(listener, 2L);
+		runPendingTasks();
+		assertThat(received).containsExactly(3, 4, 5);
+	}
+
+	@Test public void testLanesAreIndependent() {
+		final List<Serializable> failing = new ArrayList<>();
+		final MessageListener<Serializable> failingListener = message -> {
+			failing.add(message);
+			throw new IllegalStateException("Listener failure.");
+		};
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(10, OverflowPolicy.BLOCK,
+		                                                             MoreExecutors.directExecutor());
+		dispatcher.register(failingListener);
+		dispatcher.register(listener);
+
+		dispatcher.dispatch(1);
+		dispatcher.dispatch(2);
+
+		assertThat(failing).containsExactly(1, 2);
+		assertThat(received).containsExactly(1, 2);
+	}
+
+	@Test public void testRemove() {
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(10, OverflowPolicy.BLOCK, pendingTasks::add);
+		dispatcher.register(listener);
+		dispatcher.dispatch(1);
+
+		dispatcher.remove(listener);
+		dispatcher.dispatch(2);
+		runPendingTasks();
+
+		assertThat(received).isEmpty();
+		assertThat(dispatcher.queueDepths()).isEmpty();
+	}
+
+	@Test public void testAcceptQueuesBeyondCapacity() {
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(3, OverflowPolicy.ACCEPT, pendingTasks::add);
+		dispatcher.register(listener);
+
+		IntStream.rangeClosed(1, 5).forEach(dispatcher::dispatch);
+
+		assertThat(dispatcher.queueDepths()).containsEntry(listener, 5);
+		runPendingTasks();
+		assertThat(received).containsExactly(1, 2, 3, 4, 5);
+		assertThat(dispatcher.droppedMessages()).containsEntry(listener, 0L);
+	}
+
+	@Test public void testCallbackRunsWhenAllListenersHandledMessage() {
+		final List<Serializable> other = new ArrayList<>();
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(10, OverflowPolicy.ACCEPT, pendingTasks::add);
+		dispatcher.register(listener);
+		dispatcher.register(other::add);
+		final AtomicInteger handled = new AtomicInteger();
+
+		dispatcher.dispatch(1, handled::incrementAndGet);
+
+		assertThat(handled.get()).isZero();
+		pendingTasks.remove(0).run();
+		assertThat(handled.get()).isZero();
+		runPendingTasks();
+		assertThat(handled.get()).isEqualTo(1);
+	}
+
+	@Test public void testDroppedMessagesAreHandled() {
+		final ListenerDispatcher dispatcher = new ListenerDispatcher(1, OverflowPolicy.DROP_NEWEST, pendingTasks::add);
+		dispatcher.register(listener);
+		final AtomicInteger handled = new AtomicInteger();
+
+		dispatcher.dispatch(1, handled::incrementAndGet);
+		dispatcher.dispatch(2, handled::incrementAndGet);
+		assertThat(handled.get()).isEqualTo(1);
+
+		dispatcher.remove(listener);
+		assertThat(handled.get()).isEqualTo(2);
+	}
+
+	private void runPendingTasks() {
+		while (!pendingTasks.isEmpty()) {
+			pendingTasks.remove(0).run();
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class MemberTreeTest {
+
+	private static final int SIZE = 1000;
+
+	private final Set<String> members = IntStream.range(0, SIZE)
+	                                             .mapToObj(i -> String.format("node-%04d", i))
+	                                             .collect(Collectors.toSet());
+
+	@Test public void testStructure() {
+		final String root = "node-0500";
+		final MemberTree tree = MemberTree.create(members, root, 3).get();
+
+		assertThat(tree.size()).isEqualTo(SIZE);
+		assertThat(tree.rankOf(root)).isZero();
+		assertThat(tree.parentOf(root).isPresent()).isFalse();
+		assertThat(tree.subtreeSizeOf(root)).isEqualTo(SIZE);
+		for (final String member : members) {
+			final List<String> children = tree.childrenOf(member);
+			assertThat(children.size()).isLessThanOrEqualTo(3);
+			int expectedRank = tree.rankOf(member) + 1;
+			int subtreeSize = 1;
+			for (final String child : children) {
+				assertThat(tree.parentOf(child).get()).isEqualTo(member);
+				// Subtrees occupy contiguous ranges of ranks
+				assertThat(tree.rankOf(child)).isEqualTo(expectedRank);
+				expectedRank += tree.subtreeSizeOf(child);
+				subtreeSize += tree.subtreeSizeOf(child);
+			}
+			assertThat(tree.subtreeSizeOf(member)).isEqualTo(subtreeSize);
+		}
+		assertThat(members.stream().map(tree::rankOf).collect(Collectors.toSet())).hasSize(SIZE);
+		final List<String> byRank = tree.membersByRank();
+		for (int rank = 0; rank < SIZE; rank++) {
+			assertThat(tree.rankOf(byRank.get(rank))).isEqualTo(rank);
+		}
+	}
+
+	@Test public void testDepthIsLogarithmic() {
+		final MemberTree tree = MemberTree.create(members, "node-0000", 2).get();
+
+		final int maxDepth = members.stream().mapToInt(member -> {
+			int depth = 0;
+			String current = member;
+			while (tree.parentOf(current).isPresent()) {
+				current = tree.parentOf(current).get();
+				depth++;
+			}
+			return depth;
+		}).max().getAsInt();
+
+		assertThat(maxDepth).isEqualTo(9); // floor(log2(1000))
+	}
+
+	@Test public void testUnknownRoot() {
+		assertThat(MemberTree.create(ImmutableSet.of("a", "b"), "c", 2).isPresent()).isFalse();
+	}
+
+	@Test public void testSingleMember() {
+		final MemberTree tree = MemberTree.create(ImmutableSet.of("a"), "a", 2).get();
+
+		assertThat(tree.childrenOf("a")).isEmpty();
+		assertThat(tree.rankOf("a")).isZero();
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class OutboundMessagePipelineTest {
+
+	private static final String NODE1_ID = "1";
+
+	private static final String NODE2_ID = "2";
+
+	private final List<List<WorkerMessage<Serializable>>> flushed = new CopyOnWriteArrayList<>();
+
+	private ScheduledExecutorService executorService;
+
+	@BeforeMethod public void setUp() {
+		flushed.clear();
+		executorService = Executors.newSingleThreadScheduledExecutor();
+	}
+
+	@AfterMethod public void tearDown() {
+		executorService.shutdownNow();
+	}
+
+	@Test public void testFlushWhenBatchIsFull() {
+		final OutboundMessagePipeline pipeline = new OutboundMessagePipeline(3, TimeUnit.SECONDS.toMicros(10),
+		                                                                     executorService, this::collect);
+
+		final WorkerMessage<Serializable> message1 = message(1);
+		final WorkerMessage<Serializable> message2 = message(2);
+		final WorkerMessage<Serializable> message3 = message(3);
+
+		pipeline.send(NODE1_ID, message1);
+		pipeline.send(NODE1_ID, message2);
+		assertThat(flushed).isEmpty();
+
+		pipeline.send(NODE1_ID, message3);
+
+		assertThat(flushed).hasSize(1);
+		assertThat(flushed.get(0)).containsExactly(message1, message2, message3);
+		assertThat(pipeline.sentBatches()).isEqualTo(1);
+		assertThat(pipeline.sentMessages()).isEqualTo(3);
+	}
+
+	@Test public void testFlushAfterLinger() throws InterruptedException {
+		final OutboundMessagePipeline pipeline = new OutboundMessagePipeline(100, 50_000L, executorService,
+		                                                                     this::collect);
+
+		final WorkerMessage<Serializable> message1 = message(1);
+		final WorkerMessage<Serializable> message2 = message(2);
+
+		pipeline.send(NODE1_ID, message1);
+		pipeline.send(NODE1_ID, message2);
+		assertThat(flushed).isEmpty();
+		TimeUnit.MILLISECONDS.sleep(500L);
+
+		assertThat(flushed).hasSize(1);
+		assertThat(flushed.get(0)).containsExactly(message1, message2);
+	}
+
+	@Test public void testDestinationsAreBatchedSeparately() {
+		final OutboundMessagePipeline pipeline = new OutboundMessagePipeline(2, TimeUnit.SECONDS.toMicros(10),
+		                                                                     executorService, this::collect);
+
+		pipeline.send(NODE1_ID, message(1));
+		pipeline.send(NODE2_ID, message(2));
+		assertThat(flushed).isEmpty();
+
+		pipeline.flush();
+
+		assertThat(flushed).hasSize(2);
+		assertThat(pipeline.batchSizeHistogram()).containsEntry(1, 2L);
+	}
+
+	@Test public void testDiscard() throws InterruptedException {
+		final OutboundMessagePipeline pipeline = new OutboundMessagePipeline(100, 50_000L, executorService,
+		                                                                     this::collect);
+
+		pipeline.send(NODE1_ID, message(1));
+		pipeline.send(NODE1_ID, message(2));
+		final WorkerMessage<Serializable> message3 = message(3);
+		pipeline.send(NODE2_ID, message3);
+
+		assertThat(pipeline.discard(NODE1_ID)).isEqualTo(2);
+		assertThat(pipeline.discard(NODE1_ID)).isZero();
+		TimeUnit.MILLISECONDS.sleep(500L);
+
+		assertThat(flushed).hasSize(1);
+		assertThat(flushed.get(0)).containsExactly(message3);
+	}
+
+	@Test public void testBatchingDisabled() {
+		final OutboundMessagePipeline pipeline = new OutboundMessagePipeline(1, 0L, executorService, this::collect);
+
+		pipeline.send(NODE1_ID, message(1));
+		pipeline.send(NODE1_ID, message(2));
+
+		assertThat(pipeline.isBatching()).isFalse();
+		assertThat(flushed).hasSize(2);
+	}
+
+	@Test public void testHistogramBuckets() {
+		final OutboundMessagePipeline pipeline = new OutboundMessagePipeline(5, TimeUnit.SECONDS.toMicros(10),
+		                                                                     executorService, this::collect);
+
+		for (int i = 0; i < 5; i++) {
+			pipeline.send(NODE1_ID, message(i));
+		}
+
+		assertThat(pipeline.batchSizeHistogram()).containsEntry(4, 1L).containsEntry(1, 0L);
+	}
+
+	private void collect(final String destination, final List<WorkerMessage<Serializable>> messages) {
+		flushed.add(messages);
+	}
+
+	private static WorkerMessage<Serializable> message(final int i) {
+		return WorkerMessage.createWithPayload(WorkerMessage.Type.BROADCAST_MESSAGE, ImmutableSet.of(NODE1_ID), i);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.io.Files;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.support.GenericApplicationContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public final class TaskDefinitionCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private TaskDefinitionCache cache;
+
+	private File config;
+
+	@BeforeMethod public void setUp() throws IOException {
+		loads.set(0);
+		cache = new TaskDefinitionCache(2);
+		config = File.createTempFile("task", ".xml");
+	}
+
+	@AfterMethod public void tearDown() {
+		config.delete();
+	}
+
+	@Test public void testDefinitionsLoadedOnce() {
+		final String key = TaskDefinitionCache.classKey(StringBuilder.class.getName());
+
+		final GenericApplicationContext first = cache.newContext(key, this::loadTask);
+		final GenericApplicationContext second = cache.newContext(key, this::loadTask);
+
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(first.getBeanDefinition(Computation.TASK_BEAN_NAME)).isNotSameAs(
+				second.getBeanDefinition(Computation.TASK_BEAN_NAME));
+		first.refresh();
+		second.refresh();
+		assertThat(first.getBean(Computation.TASK_BEAN_NAME)).isInstanceOf(StringBuilder.class)
+		                                                     .isNotSameAs(second.getBean(Computation.TASK_BEAN_NAME));
+		first.close();
+		second.close();
+	}
+
+	@Test public void testDifferentKeysLoadedSeparately() {
+		cache.newContext(TaskDefinitionCache.classKey("first"), this::loadTask);
+		cache.newContext(TaskDefinitionCache.classKey("second"), this::loadTask);
+
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test public void testConfigKeyChangesWithContent() throws IOException {
+		Files.write("<beans/>", config, StandardCharsets.UTF_8);
+		final String key = TaskDefinitionCache.configKey(config.getPath());
+
+		assertThat(TaskDefinitionCache.configKey(config.getPath())).isEqualTo(key);
+
+		Files.write("<beans></beans>", config, StandardCharsets.UTF_8);
+
+		assertThat(TaskDefinitionCache.configKey(config.getPath())).isNotEqualTo(key);
+	}
+
+	@Test(expectedExceptions = BeanDefinitionStoreException.class) public void testMissingConfig() {
+		config.delete();
+
+		TaskDefinitionCache.configKey(config.getPath());
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class) public void testLoaderFailurePropagated() {
+		final Supplier<GenericApplicationContext> loader = () -> {
+			throw new IllegalStateException();
+		};
+
+		cache.newContext(TaskDefinitionCache.classKey("broken"), loader);
+	}
+
+	private GenericApplicationContext loadTask() {
+		loads.incrementAndGet();
+		final GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition(Computation.TASK_BEAN_NAME, BeanDefinitionBuilder.rootBeanDefinition(
+				StringBuilder.class).getBeanDefinition());
+		return context;
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.age.compute.api.WorkerAddress;
+import org.age.services.worker.WorkerMessage;
+
+import com.google.common.collect.ImmutableSet;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public final class WireFormatTest {
+
+	private static final String PAYLOAD = "payload";
+
+	private final Set<String> recipients = ImmutableSet.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+	                                                       "not-an-uuid");
+
+	private final WorkerAddress sender = new DefaultWorkerAddress();
+
+	private SerializationService compactService;
+
+	private SerializationService javaService;
+
+	@BeforeMethod public void setUp() {
+		final SerializationConfig config = new SerializationConfig();
+		config.addSerializerConfig(serializer(WorkerMessage.class, new WorkerMessageSerializer()));
+		config.addSerializerConfig(serializer(DefaultWorkerAddress.class, new DefaultWorkerAddressSerializer()));
+		config.addSerializerConfig(serializer(UnicastMessage.class, new UnicastMessageSerializer()));
+		config.addSerializerConfig(serializer(WorkerAnnouncement.class, new WorkerAnnouncementSerializer()));
+		config.addSerializerConfig(serializer(MessageBatch.class, new MessageBatchSerializer()));
+		config.addSerializerConfig(serializer(CreditGrant.class, new CreditGrantSerializer()));
+		compactService = new DefaultSerializationServiceBuilder().setConfig(config).build();
+		javaService = new DefaultSerializationServiceBuilder().build();
+	}
+
+	@Test public void testUnicastMessageRoundTrip() {
+		final Set<WorkerAddress> addresses = ImmutableSet.of(new DefaultWorkerAddress(), new DefaultWorkerAddress());
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_MESSAGE, recipients, new UnicastMessage(sender, addresses, PAYLOAD));
+
+		final WorkerMessage<Serializable> copy = compactService.toObject(compactService.toData(message));
+
+		assertThat(copy.type()).isEqualTo(WorkerMessage.Type.UNICAST_MESSAGE);
+		assertThat(copy.isBroadcast()).isFalse();
+		assertThat(copy.recipients()).isEqualTo(recipients);
+		final UnicastMessage unicastMessage = copy.requiredPayload();
+		assertThat(unicastMessage.sender()).isEqualTo(sender);
+		assertThat(unicastMessage.recipients()).isEqualTo(addresses);
+		assertThat(unicastMessage.payload()).isEqualTo(PAYLOAD);
+	}
+
+	@Test public void testCreditGrantRoundTrip() {
+		final WorkerAddress receiver = new DefaultWorkerAddress();
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_CREDIT, recipients, new CreditGrant(receiver, sender, 42L));
+
+		final WorkerMessage<Serializable> copy = compactService.toObject(compactService.toData(message));
+
+		final CreditGrant grant = copy.requiredPayload();
+		assertThat(grant.receiver()).isEqualTo(receiver);
+		assertThat(grant.sender()).isEqualTo(sender);
+		assertThat(grant.delivered()).isEqualTo(42L);
+	}
+
+	@Test public void testBroadcastWithoutPayloadRoundTrip() {
+		final WorkerMessage<Serializable> message = WorkerMessage.createBroadcastWithoutPayload(
+				WorkerMessage.Type.START_COMPUTATION);
+
+		final WorkerMessage<Serializable> copy = compactService.toObject(compactService.toData(message));
+
+		assertThat(copy.type()).isEqualTo(WorkerMessage.Type.START_COMPUTATION);
+		assertThat(copy.isBroadcast()).isTrue();
+		assertThat(copy.payload().isPresent()).isFalse();
+	}
+
+	@Test public void testEpochRoundTrip() {
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.BROADCAST_MESSAGE, recipients, PAYLOAD);
+
+		final WorkerMessage<Serializable> copy = compactService.toObject(compactService.toData(message.withEpoch(7L)));
+
+		assertThat(copy.epoch()).isEqualTo(7L);
+		assertThat(copy.recipients()).isEqualTo(recipients);
+		assertThat(copy.<Serializable>requiredPayload()).isEqualTo(PAYLOAD);
+	}
+
+	@Test public void testComputationRoundTrip() {
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.BROADCAST_MESSAGE, recipients, PAYLOAD);
+
+		final WorkerMessage<Serializable> copy = compactService.toObject(
+				compactService.toData(message.withComputation("experiment-2")));
+
+		assertThat(copy.computation()).isEqualTo("experiment-2");
+		assertThat(copy.<Serializable>requiredPayload()).isEqualTo(PAYLOAD);
+	}
+
+	@Test public void testBatchRoundTrip() {
+		final WorkerMessage<Serializable> first = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_CONTROL, recipients,
+				new WorkerAnnouncement(new DefaultWorkerAddress(), UUID.randomUUID().toString()));
+		final WorkerMessage<Serializable> second = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.BROADCAST_MESSAGE, recipients, PAYLOAD);
+		final WorkerMessage<Serializable> batch = WorkerMessage.createBroadcastWithPayload(
+				WorkerMessage.Type.BATCH, new MessageBatch(ImmutableSet.of(first, second).asList()));
+
+		final WorkerMessage<Serializable> copy = compactService.toObject(compactService.toData(batch));
+
+		final List<WorkerMessage<Serializable>> messages = copy.<MessageBatch>requiredPayload().messages();
+		assertThat(messages).hasSize(2);
+		assertThat(messages.get(0).<WorkerAnnouncement>requiredPayload().address()).isEqualTo(
+				first.<WorkerAnnouncement>requiredPayload().address());
+		assertThat(messages.get(1).<Serializable>requiredPayload()).isEqualTo(PAYLOAD);
+	}
+
+	@Test public void testCompactFormatIsSmaller() {
+		final Set<WorkerAddress> addresses = ImmutableSet.of(new DefaultWorkerAddress());
+		final WorkerMessage<Serializable> message = WorkerMessage.createWithPayload(
+				WorkerMessage.Type.UNICAST_MESSAGE, recipients, new UnicastMessage(sender, addresses, PAYLOAD));
+
+		final Data compact = compactService.toData(message);
+		final Data java = javaService.toData(message);
+
+		assertThat(compact.dataSize() * 5).isLessThan(java.dataSize());
+	}
+
+	private static SerializerConfig serializer(final Class<?> type,
+	                                           final com.hazelcast.nio.serialization.Serializer serializer) {
+		return new SerializerConfig().setTypeClass(type).setImplementation(serializer);
+	}
+}
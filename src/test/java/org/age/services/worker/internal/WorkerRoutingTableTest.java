@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2014 Intelligent Information Systems Group.
+ *
+ * This file is part of AgE.
+ *
+ * AgE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * AgE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with AgE.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+/*
+ * Created: 2026-10-17
+ */
+
+package org.age.services.worker.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.age.compute.api.WorkerAddress;
+
+import com.google.common.base.Ticker;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class WorkerRoutingTableTest {
+
+	private static final String NODE_ID = "node";
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final WorkerAddress address = new DefaultWorkerAddress();
+
+	private IMap<WorkerAddress, String> routes;
+
+	private WorkerRoutingTable routingTable;
+
+	@BeforeMethod public void setUp() {
+		nanos.set(0L);
+		routes = mock(IMap.class);
+		final HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+		when(hazelcastInstance.<WorkerAddress, String>getMap(anyString())).thenReturn(routes);
+
+		routingTable = new WorkerRoutingTable(new Ticker() {
+			@Override public long read() {
+				return nanos.get();
+			}
+		});
+		new DirectFieldAccessor(routingTable).setPropertyValue("hazelcastInstance", hazelcastInstance);
+		final Method construct = ReflectionUtils.findMethod(WorkerRoutingTable.class, "construct");
+		ReflectionUtils.makeAccessible(construct);
+		ReflectionUtils.invokeMethod(construct, routingTable);
+	}
+
+	@Test public void testPublishedWithTtl() {
+		routingTable.publish(address, NODE_ID);
+
+		verify(routes).set(address, NODE_ID, WorkerRoutingTable.ENTRY_TTL_SECONDS, TimeUnit.SECONDS);
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.of(NODE_ID));
+	}
+
+	@Test public void testLearntRoutesResolvedLocally() {
+		routingTable.learn(address, NODE_ID);
+
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.of(NODE_ID));
+		verify(routes, never()).get(address);
+	}
+
+	@Test public void testRemoteRoutesCached() {
+		when(routes.get(address)).thenReturn(NODE_ID);
+
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.of(NODE_ID));
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.of(NODE_ID));
+		verify(routes, times(1)).get(address);
+	}
+
+	@Test public void testMissesCachedBriefly() {
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.empty());
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.empty());
+		verify(routes, times(1)).get(address);
+
+		advance(WorkerRoutingTable.MISS_TTL_SECONDS);
+		when(routes.get(address)).thenReturn(NODE_ID);
+
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.of(NODE_ID));
+	}
+
+	@Test public void testLearningOverridesMiss() {
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.empty());
+
+		routingTable.learn(address, NODE_ID);
+
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.of(NODE_ID));
+	}
+
+	@Test public void testLearntRoutesExpire() {
+		routingTable.learn(address, NODE_ID);
+
+		advance(WorkerRoutingTable.ENTRY_TTL_SECONDS);
+
+		assertThat(routingTable.ownerOf(address)).isEqualTo(Optional.empty());
+		verify(routes).get(address);
+	}
+
+	private void advance(final long seconds) {
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+	}
+}
@@ -21,15 +21,23 @@ package org.age.util.fsm;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.util.Lists.newArrayList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.MoreExecutors;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public final class DefaultStateMachineServiceTest {
@@ -64,13 +72,20 @@ public final class DefaultStateMachineServiceTest {
 
 	private DefaultStateMachineService<State, Event> fsmService;
 
-	@SuppressWarnings({"ProhibitedExceptionThrown", "CastToConcreteClass"}) @BeforeMethod
+	@SuppressWarnings("CastToConcreteClass") @BeforeMethod
 	public void setUp() {
 		MockitoAnnotations.initMocks(this);
 
 		collectedThrowables.clear();
-		builder = StateMachineServiceBuilder.withStatesAndEvents(State.class, Event.class);
-		builder.withName(SERVICE_NAME)
+		builder = createBuilder();
+		builder.synchronous();
+		fsmService = (DefaultStateMachineService<State, Event>)builder.build();
+	}
+
+	@SuppressWarnings("ProhibitedExceptionThrown")
+	private StateMachineServiceBuilder<State, Event> createBuilder() {
+		return StateMachineServiceBuilder.withStatesAndEvents(State.class, Event.class)
+				.withName(SERVICE_NAME)
 				.startWith(State.STATE1)
 				.withEventBus(eventBus)
 				.terminateIn(State.END, State.ERROR)
@@ -80,9 +95,7 @@ public final class DefaultStateMachineServiceTest {
 				.in(State.STATE2).on(Event.EVENT2).execute((fsm) -> {}).goTo(State.STATE3).commit()
 				.in(State.STATE1).on(Event.EVENT2).goTo(State.STATE2).execute(fsm -> {
 					throw new RuntimeException("FAILED");
-				}).commit()
-				.synchronous();
-		fsmService = (DefaultStateMachineService<State, Event>)builder.build();
+				}).commit();
 	}
 
 	@Test public void testInitialState() {
@@ -124,4 +137,74 @@ public final class DefaultStateMachineServiceTest {
 
 		assertThat(collectedThrowables).isNotNull().hasSize(0);
 	}
-}
\ No newline at end of file
+
+	@Test public void testSignalledDispatchProcessesAllEvents() {
+		final StateMachineService<State, Event> service = createBuilder().dispatchOn(MoreExecutors.directExecutor())
+		                                                                 .build();
+
+		service.fire(Event.EVENT1);
+		service.fire(Event.EVENT2);
+
+		assertThat(service.isInState(State.STATE3)).isTrue();
+	}
+
+	@Test public void testSignalledDispatchProcessesFailure() {
+		final StateMachineService<State, Event> service = createBuilder().dispatchOn(MoreExecutors.directExecutor())
+		                                                                 .build();
+
+		service.fire(Event.EVENT2);
+
+		assertThat(service.isInState(State.ERROR)).isTrue();
+		assertThat(collectedThrowables).hasSize(1);
+	}
+
+	@Test public void testSignalledDispatchScheduledOncePerEvent() {
+		final AtomicInteger executions = new AtomicInteger();
+		final StateMachineService<State, Event> service = createBuilder().dispatchOn(runnable -> {
+			executions.incrementAndGet();
+			runnable.run();
+		}).build();
+
+		service.fire(Event.EVENT1);
+
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(service.isInState(State.STATE2)).isTrue();
+	}
+
+	@Test(timeOut = 5000L) public void testSignalledDispatchOnSharedPool() throws InterruptedException {
+		final StateMachineService<State, Event> service = createBuilder().build();
+
+		service.fire(Event.EVENT1);
+		service.fire(Event.EVENT2);
+
+		while (!service.isInState(State.STATE3)) {
+			TimeUnit.MILLISECONDS.sleep(1L);
+		}
+	}
+
+	@Test public void testDisabledNotification() {
+		final StateMachineService<State, Event> service =
+				createBuilder().dispatchOn(MoreExecutors.directExecutor())
+				               .withNotificationMode(NotificationMode.DISABLED)
+				               .build();
+
+		service.fire(Event.EVENT1);
+
+		assertThat(service.isInState(State.STATE2)).isTrue();
+		verify(eventBus, never()).post(any());
+	}
+
+	@Test public void testAsynchronousNotificationKeepsOrder() {
+		final StateMachineService<State, Event> service =
+				createBuilder().dispatchOn(MoreExecutors.directExecutor())
+				               .withNotificationMode(NotificationMode.ASYNCHRONOUS)
+				               .build();
+		final ArgumentCaptor<StateChangedEvent> captor = ArgumentCaptor.forClass(StateChangedEvent.class);
+
+		service.fire(Event.EVENT1);
+		service.fire(Event.EVENT2);
+
+		verify(eventBus, times(2)).post(captor.capture());
+		assertThat(captor.getAllValues()).extracting("newState").containsExactly(State.STATE2, State.STATE3);
+	}
+}
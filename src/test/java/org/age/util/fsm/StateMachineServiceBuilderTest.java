@@ -57,6 +57,11 @@ public final class StateMachineServiceBuilderTest {
 		protected StateChangedEvent_Helper(final State previousState, final Event event, final State newState) {
 			super(previousState, event, newState);
 		}
+
+		public static StateChangedEvent_Helper create(final State previousState, final Event event,
+		                                              final State newState) {
+			return new StateChangedEvent_Helper(previousState, event, newState);
+		}
 	}
 
 	@BeforeMethod public void setUp() {
@@ -81,6 +86,24 @@ public final class StateMachineServiceBuilderTest {
 		assertThat(builder.getStateChangedEventClass()).isEqualTo(StateChangedEvent_Helper.class);
 	}
 
+	@Test public void testNotifyWithTypeCreatesEventsWithFactory() {
+		builder.notifyWithType(StateChangedEvent_Helper.class);
+
+		final StateChangedEvent<State, Event> event = builder.stateChangedEventFactory()
+		                                                     .create(State.STATE1, Event.EVENT1, State.STATE2);
+
+		assertThat(event).isInstanceOf(StateChangedEvent_Helper.class);
+		assertThat(event.newState()).isEqualTo(State.STATE2);
+	}
+
+	@Test public void testNotifyWith() {
+		final StateChangedEventFactory<State, Event> factory = StateChangedEvent_Helper::create;
+
+		builder.notifyWith(factory);
+
+		assertThat(builder.stateChangedEventFactory()).isSameAs(factory);
+	}
+
 	@Test public void testWithName() throws Exception {
 		builder.withName(SERVICE_NAME);
 		assertThat(builder.name()).isEqualTo(SERVICE_NAME);